@@ -0,0 +1,65 @@
+package com.jeopardy;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+/**
+ * A bot that answers correctly with a fixed probability, optionally different per category.
+ * A wrong answer is one of the other option letters.
+ */
+public class AccuracyProfile implements BotStrategy {
+    private static final String[] LETTERS = { "A", "B", "C", "D" };
+
+    private final double defaultAccuracy;
+    private final Map<String, Double> categoryAccuracy = new HashMap<>();
+
+    /**
+     * Constructs an AccuracyProfile that is equally strong in every category.
+     * @param defaultAccuracy the chance of a correct answer, from 0 to 1
+     */
+    public AccuracyProfile(double defaultAccuracy) {
+        this.defaultAccuracy = checkAccuracy(defaultAccuracy);
+    }
+
+    /**
+     * Sets the accuracy for one category. Configure the profile before handing it to a simulator.
+     * @param categoryName the category's name exactly as in the bank
+     * @param accuracy the chance of a correct answer in that category, from 0 to 1
+     * @return this profile
+     */
+    public AccuracyProfile setAccuracy(String categoryName, double accuracy) {
+        categoryAccuracy.put(categoryName, checkAccuracy(accuracy));
+        return this;
+    }
+
+    /**
+     * Retrieves the accuracy used for a category.
+     * @param categoryName the category's name
+     * @return the chance of a correct answer
+     */
+    public double getAccuracy(String categoryName) {
+        Double accuracy = categoryAccuracy.get(categoryName);
+        return accuracy == null ? defaultAccuracy : accuracy;
+    }
+
+    @Override
+    public String answer(Category category, Question question, SplittableRandom random) {
+        String correct = question.getCorrectAnswer();
+        if (random.nextDouble() < getAccuracy(category.getName())) {
+            return correct;
+        }
+        String wrong;
+        do {
+            wrong = LETTERS[random.nextInt(LETTERS.length)];
+        } while (wrong.equalsIgnoreCase(correct));
+        return wrong;
+    }
+
+    private static double checkAccuracy(double accuracy) {
+        if (!(accuracy >= 0 && accuracy <= 1)) {
+            throw new IllegalArgumentException("Accuracy must be between 0 and 1: " + accuracy);
+        }
+        return accuracy;
+    }
+}
@@ -16,5 +16,8 @@ public enum ActivityType {
     SCORE_UPDATED,
     GENERATE_REPORT,
     GENERATE_EVENT_LOG,
-    EXIT_GAME
+    EXIT_GAME,
+    BUZZ_IN,
+    BUZZ_REJECTED,
+    QUESTION_TIMEOUT
 }
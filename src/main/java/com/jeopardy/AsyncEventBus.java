@@ -0,0 +1,358 @@
+package com.jeopardy;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A preallocated single-producer ring buffer that delivers game events to listeners on background threads.
+ * <p>
+ * Each distinct Listener forms its own group with a private read sequence and a virtual consumer thread,
+ * so a slow listener only holds back itself. Publishing costs the producer a sequence claim, two slot
+ * writes and a cursor store; consumers drain every available slot in one batch before committing their
+ * sequence. All publishing methods ({@link #publish}, {@link #flush}, {@link #close}) must be called from
+ * a single thread at a time, normally the game thread.
+ */
+public class AsyncEventBus {
+    private static final long PARK_NANOS = 50_000_000L;
+    private static final int SPIN_TRIES = 100;
+
+    private final int capacity;
+    private final int mask;
+    private final BackpressurePolicy policy;
+
+    // Slot storage, written only by the producer
+    private final ActivityType[] types;
+    private final GameEvent[] events;
+    private final AtomicLongArray slotSequences;
+    private final AtomicLong cursor = new AtomicLong(-1);
+
+    // Producer-local state
+    private long cachedGate = -1;
+    private final ArrayDeque<ActivityType> spilledTypes = new ArrayDeque<>();
+    private final ArrayDeque<GameEvent> spilledEvents = new ArrayDeque<>();
+
+    private volatile Consumer[] consumers = new Consumer[0];
+    private final AtomicInteger sleepers = new AtomicInteger();
+    private volatile boolean running = true;
+
+    /**
+     * Constructs an AsyncEventBus with the given ring size and backpressure policy.
+     * @param capacity the number of slots in the ring, rounded up to a power of two
+     * @param policy what the producer does when the ring is full
+     */
+    public AsyncEventBus(int capacity, BackpressurePolicy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("capacity must be positive");
+        }
+        int size = 1;
+        while (size < capacity) {
+            size <<= 1;
+        }
+        this.capacity = size;
+        this.mask = this.capacity - 1;
+        this.policy = policy;
+        this.types = new ActivityType[this.capacity];
+        this.events = new GameEvent[this.capacity];
+        this.slotSequences = new AtomicLongArray(this.capacity);
+        for (int i = 0; i < this.capacity; i++) {
+            slotSequences.set(i, -1);
+        }
+    }
+
+    /**
+     * Adds an event type to a listener's group, starting the group's consumer on first use.
+     * The listener only receives events published after this call. Listeners are told apart with
+     * equals, and like a synchronous EventManager, a listener subscribed to a type more than once
+     * receives each of its events once per subscription.
+     * @param type the ActivityType to deliver to the listener
+     * @param listener the Listener to deliver events to
+     */
+    public synchronized void subscribe(ActivityType type, Listener listener) {
+        Consumer consumer = findConsumer(listener);
+        if (consumer == null) {
+            consumer = new Consumer(listener, cursor.get());
+            Consumer[] current = consumers;
+            Consumer[] updated = new Consumer[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = consumer;
+            consumers = updated;
+            consumer.start();
+        }
+        int[] counts = consumer.typeCounts.clone();
+        counts[type.ordinal()]++;
+        consumer.typeCounts = counts;
+    }
+
+    /**
+     * Removes one subscription of a listener to an event type. Once a listener has no
+     * subscriptions left, its group leaves the ring and its consumer thread stops, so it no longer
+     * holds back the producer or {@link #flush}. The thread finishes the event it is delivering,
+     * if any, but is not waited for.
+     * @param type the ActivityType to stop delivering
+     * @param listener the Listener to stop delivering to
+     */
+    public synchronized void unsubscribe(ActivityType type, Listener listener) {
+        Consumer consumer = findConsumer(listener);
+        if (consumer == null || consumer.typeCounts[type.ordinal()] == 0) {
+            return;
+        }
+        int[] counts = consumer.typeCounts.clone();
+        counts[type.ordinal()]--;
+        consumer.typeCounts = counts;
+        for (int count : counts) {
+            if (count > 0) {
+                return;
+            }
+        }
+        Consumer[] current = consumers;
+        Consumer[] updated = new Consumer[current.length - 1];
+        for (int i = 0, j = 0; i < current.length; i++) {
+            if (current[i] != consumer) {
+                updated[j++] = current[i];
+            }
+        }
+        consumers = updated;
+        consumer.retired = true;
+        LockSupport.unpark(consumer.thread);
+    }
+
+    /**
+     * Publishes an event into the next ring slot.
+     * @param type the ActivityType of the event
+     * @param event the GameEvent to deliver
+     */
+    public void publish(ActivityType type, GameEvent event) {
+        if (!running) {
+            throw new IllegalStateException("Event bus is closed");
+        }
+        if (policy == BackpressurePolicy.SPILL) {
+            if (!spilledEvents.isEmpty()) {
+                drainSpill(false);
+            }
+            if (!spilledEvents.isEmpty() || isFull()) {
+                spilledTypes.add(type);
+                spilledEvents.add(event);
+                return;
+            }
+        } else if (policy == BackpressurePolicy.BLOCK) {
+            while (isFull()) {
+                waitForConsumers();
+            }
+        }
+        write(type, event);
+    }
+
+    /**
+     * Blocks until every event published so far, including spilled ones, has been delivered.
+     */
+    public void flush() {
+        drainSpill(true);
+        long target = cursor.get();
+        while (minimumSequence(target) < target) {
+            waitForConsumers();
+        }
+    }
+
+    /**
+     * Delivers outstanding events and stops all consumer threads.
+     */
+    public void close() {
+        if (!running) {
+            return;
+        }
+        flush();
+        running = false;
+        for (Consumer consumer : consumers) {
+            LockSupport.unpark(consumer.thread);
+        }
+        for (Consumer consumer : consumers) {
+            try {
+                consumer.thread.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of slots in the ring.
+     * @return the ring capacity
+     */
+    public int getCapacity() {
+        return capacity;
+    }
+
+    /**
+     * Retrieves the number of events currently waiting in the overflow queue (SPILL policy only).
+     * @return the spilled event count
+     */
+    public int getSpilledCount() {
+        return spilledEvents.size();
+    }
+
+    /**
+     * Retrieves the total number of events skipped by lagging listener groups (DROP_OLDEST policy only).
+     * @return the dropped event count summed over all groups
+     */
+    public long getDroppedCount() {
+        long dropped = 0;
+        for (Consumer consumer : consumers) {
+            dropped += consumer.dropped;
+        }
+        return dropped;
+    }
+
+    private Consumer findConsumer(Listener listener) {
+        for (Consumer consumer : consumers) {
+            if (consumer.listener.equals(listener)) {
+                return consumer;
+            }
+        }
+        return null;
+    }
+
+    private boolean isFull() {
+        long wrapPoint = cursor.get() + 1 - capacity;
+        if (wrapPoint <= cachedGate) {
+            return false;
+        }
+        cachedGate = minimumSequence(cursor.get());
+        return wrapPoint > cachedGate;
+    }
+
+    private long minimumSequence(long ceiling) {
+        long minimum = ceiling;
+        for (Consumer consumer : consumers) {
+            minimum = Math.min(minimum, consumer.sequence.get());
+        }
+        return minimum;
+    }
+
+    private void drainSpill(boolean block) {
+        while (!spilledEvents.isEmpty()) {
+            if (isFull()) {
+                if (!block) {
+                    return;
+                }
+                waitForConsumers();
+                continue;
+            }
+            write(spilledTypes.poll(), spilledEvents.poll());
+        }
+    }
+
+    private void write(ActivityType type, GameEvent event) {
+        long next = cursor.get() + 1;
+        int index = (int) next & mask;
+
+        // Mark the slot as being rewritten so a lapped reader can't mistake a torn slot for a valid one
+        slotSequences.setOpaque(index, Long.MIN_VALUE);
+        VarHandle.storeStoreFence();
+        types[index] = type;
+        events[index] = event;
+        slotSequences.setRelease(index, next);
+        cursor.set(next);
+
+        if (sleepers.get() != 0) {
+            wakeConsumers();
+        }
+    }
+
+    private void wakeConsumers() {
+        for (Consumer consumer : consumers) {
+            if (consumer.parked) {
+                LockSupport.unpark(consumer.thread);
+            }
+        }
+    }
+
+    private void waitForConsumers() {
+        wakeConsumers();
+        Thread.onSpinWait();
+        Thread.yield();
+    }
+
+    /**
+     * A listener group: one listener, its subscriptions per type and its read position in the ring.
+     */
+    private final class Consumer implements Runnable {
+        private final Listener listener;
+        private final AtomicLong sequence;
+        private volatile int[] typeCounts = new int[ActivityType.values().length]; // replaced, never written
+        private volatile boolean parked;
+        private volatile boolean retired; // left the ring; the thread exits at its next check
+        private volatile long dropped;
+        private Thread thread;
+
+        private Consumer(Listener listener, long startSequence) {
+            this.listener = listener;
+            this.sequence = new AtomicLong(startSequence);
+        }
+
+        private void start() {
+            thread = Thread.ofVirtual().name("event-consumer-" + listener.getClass().getSimpleName()).start(this);
+        }
+
+        @Override
+        public void run() {
+            long next = sequence.get() + 1;
+            int idle = 0;
+            while (!retired) {
+                long available = cursor.get();
+                if (available < next) {
+                    if (!running) {
+                        return;
+                    }
+                    if (++idle < SPIN_TRIES) {
+                        Thread.onSpinWait();
+                    } else {
+                        park(next);
+                    }
+                    continue;
+                }
+                idle = 0;
+
+                // Deliver the whole batch, then publish our progress once
+                while (next <= available) {
+                    int index = (int) next & mask;
+                    long slotSequence = slotSequences.getAcquire(index);
+                    ActivityType type = types[index];
+                    GameEvent event = events[index];
+                    VarHandle.loadLoadFence();
+                    if (slotSequence != next || slotSequences.getOpaque(index) != next) {
+                        // The producer lapped us (DROP_OLDEST): resume at the oldest slot still intact
+                        long oldest = Math.max(next + 1, cursor.get() - capacity + 1);
+                        dropped += oldest - next;
+                        next = oldest;
+                        available = Math.max(available, cursor.get());
+                        continue;
+                    }
+                    for (int times = typeCounts[type.ordinal()]; times > 0; times--) {
+                        try {
+                            listener.update(event);
+                        } catch (RuntimeException e) {
+                            e.printStackTrace();
+                        }
+                    }
+                    next++;
+                }
+                sequence.set(next - 1);
+            }
+        }
+
+        private void park(long next) {
+            parked = true;
+            sleepers.incrementAndGet();
+            if (cursor.get() < next && running && !retired) {
+                LockSupport.parkNanos(this, PARK_NANOS);
+            }
+            sleepers.decrementAndGet();
+            parked = false;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.jeopardy;
+
+/**
+ * Enumeration of the ways an asynchronous EventManager can react when its ring buffer is full,
+ * i.e. when the slowest listener group has fallen a whole ring behind the game thread.
+ */
+public enum BackpressurePolicy {
+    /** The game thread waits until the slowest listener group frees a slot. */
+    BLOCK,
+    /** The oldest unread event is overwritten; lagging listener groups skip ahead and count the loss. */
+    DROP_OLDEST,
+    /** Events that don't fit are kept in an unbounded overflow queue and moved into the ring as it drains. */
+    SPILL
+}
@@ -0,0 +1,434 @@
+package com.jeopardy;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+
+/**
+ * Renders a report per game from archived event logs, where the lines of many games are interleaved
+ * and one game may run on across files.
+ * <p>
+ * The logs are read in two passes so that memory does not grow with the archive. The first pass
+ * streams every line, unparsed, into one of a number of partition files chosen by a hash of its
+ * case ID, so all of a game's lines land in the same partition in logged order. There are enough
+ * partitions that each holds about {@value #PARTITION_BYTES} bytes of log; since each is an open
+ * file, there are at most {@value #MAX_PARTITIONS} at once, and on archives too big for that any
+ * partition over twice its share is split again, with a different hash, until it fits or holds a
+ * single game. Every worker thus holds about one partition's games in memory. The second pass reads
+ * one partition at a time per worker with a {@link GameEventLogReader}, rebuilds each game with a
+ * {@link GameReplayer} and writes its reports with the registered {@link ReportGenerator}s, named
+ * "report-" plus the case ID as {@link ReportService} names them.
+ * <p>
+ * Progress is appended to a manifest in the output directory: when partitioning is complete, when
+ * a game's reports are written and when a partition is finished. A run that is interrupted can be
+ * started again with the same logs and output directory; it skips the partitioning if it was
+ * finished, and then every partition and game the manifest already lists.
+ */
+public class BatchReportGenerator {
+    static final String MANIFEST_FILE = "batch-manifest.txt";
+    static final String WORK_DIRECTORY = ".batch-partitions";
+    static final long PARTITION_BYTES = 16L * 1024 * 1024;
+    static final int MAX_PARTITIONS = 512; // each is an open file during the first pass
+
+    private static final String PARTITIONED = "PARTITIONED";
+    private static final String SESSION = "SESSION";
+    private static final String PARTITION = "PARTITION";
+    private static final String COMPLETE = "COMPLETE";
+    private static final int READ_BUFFER_SIZE = 64 * 1024;
+    private static final int SPILL_BUFFER_SIZE = 16 * 1024;
+
+    private final ReportGeneratorFactory factory;
+    private final GameReplayer replayer;
+    private final int parallelism;
+    private final long partitionBytes;
+    private final int maxPartitions;
+
+    /**
+     * Constructs a BatchReportGenerator with the built-in formats. Banks named in the logs are
+     * loaded once each through the shared bank cache.
+     * @param parallelism the number of partitions to render at once
+     */
+    public BatchReportGenerator(int parallelism) {
+        this(new ReportGeneratorFactory(), new GameReplayer(onceEach(new DataLoaderFactory())), parallelism);
+    }
+
+    /**
+     * Constructs a BatchReportGenerator.
+     * @param factory the formats that can be requested
+     * @param replayer rebuilds each game from its events; called from several threads at once
+     * @param parallelism the number of partitions to render at once
+     */
+    public BatchReportGenerator(ReportGeneratorFactory factory, GameReplayer replayer, int parallelism) {
+        this(factory, replayer, parallelism, PARTITION_BYTES, MAX_PARTITIONS);
+    }
+
+    /**
+     * Constructs a BatchReportGenerator with a custom partition size.
+     * @param factory the formats that can be requested
+     * @param replayer rebuilds each game from its events; called from several threads at once
+     * @param parallelism the number of partitions to render at once
+     * @param partitionBytes the bytes of log each partition should hold
+     * @param maxPartitions the most partitions written at once
+     */
+    BatchReportGenerator(ReportGeneratorFactory factory, GameReplayer replayer, int parallelism,
+            long partitionBytes, int maxPartitions) {
+        this.factory = factory;
+        this.replayer = replayer;
+        this.parallelism = parallelism;
+        this.partitionBytes = partitionBytes;
+        this.maxPartitions = maxPartitions;
+    }
+
+    // A bank missing from this machine would otherwise be retried, and reported, for every game
+    private static Function<String, QuestionBank> onceEach(DataLoaderFactory loaders) {
+        Map<String, Optional<QuestionBank>> banks = new ConcurrentHashMap<>();
+        return fileName -> banks.computeIfAbsent(fileName, f -> Optional.ofNullable(loaders.loadBank(f)))
+                .orElse(null);
+    }
+
+    /**
+     * Writes the reports of every game in the logs, or of those a previous, interrupted run over the
+     * same logs and directory did not finish.
+     * @param logs the event log files, oldest first
+     * @param outputDirectory the directory to write the reports and the manifest to
+     * @param formats the format names, e.g. "TXT", "PDF"
+     * @return the number of games reported by this run
+     * @throws IOException if a log cannot be read or the partitions or manifest cannot be written
+     * @throws IllegalArgumentException if a format is not supported
+     */
+    public long run(List<Path> logs, Path outputDirectory, String... formats) throws IOException {
+        for (String format : formats) {
+            if (factory.getGenerator(format) == null) {
+                throw new IllegalArgumentException("Unsupported report format: " + format);
+            }
+        }
+        Files.createDirectories(outputDirectory);
+        Path work = outputDirectory.resolve(WORK_DIRECTORY);
+        try (Manifest manifest = Manifest.open(outputDirectory.resolve(MANIFEST_FILE))) {
+            if (manifest.complete) {
+                System.out.println("Batch in " + outputDirectory + " is already complete.");
+                return 0;
+            }
+            int partitions = manifest.partitions;
+            if (partitions == 0) {
+                long events = partition(logs, work);
+                partitions = partitionNames(work).size();
+                manifest.append(PARTITIONED + " " + partitions);
+                System.out.println("Partitioned " + events + " events from " + logs.size() + " logs into "
+                        + partitions + " partitions.");
+            } else {
+                System.out.println("Resuming batch: " + manifest.finishedPartitions.size() + " of " + partitions
+                        + " partitions and " + manifest.sessions.size() + " games already reported.");
+            }
+
+            AtomicInteger threadSequence = new AtomicInteger();
+            ExecutorService workers = Executors.newFixedThreadPool(parallelism, r -> {
+                Thread t = new Thread(r, "batch-report-" + threadSequence.incrementAndGet());
+                t.setDaemon(true);
+                return t;
+            });
+            AtomicLong failures = new AtomicLong();
+            List<Future<Long>> results = new ArrayList<>();
+            for (String partition : partitionNames(work)) {
+                if (!manifest.finishedPartitions.contains(partition)) {
+                    results.add(workers.submit(() -> render(partition, work, outputDirectory, manifest, failures,
+                            formats)));
+                }
+            }
+            long reported = 0;
+            try {
+                for (Future<Long> result : results) {
+                    try {
+                        reported += result.get();
+                    } catch (ExecutionException e) {
+                        e.getCause().printStackTrace();
+                        failures.incrementAndGet();
+                    }
+                }
+            } catch (InterruptedException e) {
+                workers.shutdownNow();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Batch interrupted; run it again to resume");
+            } finally {
+                workers.shutdown();
+            }
+
+            if (failures.get() == 0) {
+                manifest.append(COMPLETE);
+                deleteWorkDirectory(work);
+            } else {
+                System.out.println(failures.get() + " failures; run the batch again to retry the games not yet reported.");
+            }
+            return reported;
+        }
+    }
+
+    private int partitionCount(long bytes) {
+        return (int) Math.max(1, Math.min(maxPartitions, (bytes + partitionBytes - 1) / partitionBytes));
+    }
+
+    /**
+     * Copies every line of the logs into the partition of its case ID, then splits any partition
+     * that came out over twice its share, in rounds, until none is left to split. Starts afresh,
+     * since a run interrupted while partitioning never recorded its partitions.
+     */
+    private long partition(List<Path> logs, Path work) throws IOException {
+        deleteWorkDirectory(work);
+        Files.createDirectories(work);
+        long bytes = 0;
+        for (Path log : logs) {
+            bytes += Files.size(log);
+        }
+        long events = spill(logs, work, "", partitionCount(bytes), 0);
+
+        List<String> round = partitionNames(work);
+        for (int level = 1; !round.isEmpty(); level++) {
+            List<String> next = new ArrayList<>();
+            for (String name : round) {
+                Path parent = partitionFile(work, name);
+                long size = Files.size(parent);
+                if (size <= 2 * partitionBytes) {
+                    continue;
+                }
+                int children = partitionCount(size);
+                spill(List.of(parent), work, name + "-", children, level);
+                Files.delete(parent);
+                for (int c = 0; c < children; c++) {
+                    String child = name + "-" + String.format("%04d", c);
+                    long childSize = Files.size(partitionFile(work, child));
+                    if (childSize == 0) {
+                        Files.delete(partitionFile(work, child));
+                    } else if (childSize < size) {
+                        next.add(child); // one as big as its parent is usually a single game, which cannot be split
+                    }
+                }
+            }
+            round = next;
+        }
+        return events;
+    }
+
+    /**
+     * Copies every line of the given files into one of a number of partitions named by a prefix.
+     * Lines are not parsed beyond finding the case ID, so malformed ones are left for the reader to report.
+     */
+    private static long spill(List<Path> files, Path work, String prefix, int partitions, int level)
+            throws IOException {
+        Writer[] spills = new Writer[partitions];
+        long events = 0;
+        try {
+            for (int p = 0; p < partitions; p++) {
+                spills[p] = new BufferedWriter(Files.newBufferedWriter(
+                        partitionFile(work, prefix + String.format("%04d", p)), StandardCharsets.UTF_8),
+                        SPILL_BUFFER_SIZE);
+            }
+            for (Path file : files) {
+                try (BufferedReader reader = new BufferedReader(Files.newBufferedReader(file, StandardCharsets.UTF_8),
+                        READ_BUFFER_SIZE)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        int end = line.indexOf(',');
+                        if (end < 0) {
+                            continue; // blank or torn beyond use
+                        }
+                        Writer spill = spills[partitionOf(line, end, partitions, level)];
+                        spill.write(line);
+                        spill.write('\n');
+                        events++;
+                    }
+                }
+            }
+        } finally {
+            for (Writer spill : spills) {
+                if (spill != null) {
+                    spill.close();
+                }
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Picks the partition of a case ID, given as the first {@code length} characters of a line.
+     * Matches the case ID's String hash, so it is stable across runs. Each level of splitting
+     * remixes the hash, since the lines of one partition all agree on the previous level's choice.
+     */
+    static int partitionOf(String line, int length, int partitions, int level) {
+        int h = 0;
+        for (int i = 0; i < length; i++) {
+            h = 31 * h + line.charAt(i);
+        }
+        h ^= h >>> 16;
+        if (level > 0) {
+            h = (h + level) * 0x9E3779B9;
+            h ^= h >>> 16;
+        }
+        return Math.floorMod(h, partitions);
+    }
+
+    private static Path partitionFile(Path work, String partition) {
+        return work.resolve("partition-" + partition + ".csv");
+    }
+
+    /**
+     * Lists the partitions left in the work directory, in name order.
+     */
+    private static List<String> partitionNames(Path work) throws IOException {
+        List<String> names = new ArrayList<>();
+        if (Files.isDirectory(work)) {
+            try (var files = Files.list(work)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    String name = file.getFileName().toString();
+                    if (name.startsWith("partition-") && name.endsWith(".csv")) {
+                        names.add(name.substring("partition-".length(), name.length() - ".csv".length()));
+                    }
+                }
+            }
+        }
+        names.sort(null);
+        return names;
+    }
+
+    private long render(String partition, Path work, Path outputDirectory, Manifest manifest, AtomicLong failures,
+            String[] formats) throws IOException {
+        Path file = partitionFile(work, partition);
+        Map<String, List<GameEvent>> games = new GameEventLogReader().read(file.toString());
+        long reported = 0;
+        boolean finished = true;
+        for (Map.Entry<String, List<GameEvent>> game : games.entrySet()) {
+            String caseId = game.getKey();
+            if (manifest.sessions.contains(caseId)) {
+                continue;
+            }
+            try {
+                ReportModel model = ReportModel.from(replayer.replay(game.getValue()));
+                for (String format : formats) {
+                    ReportGenerator generator = factory.getGenerator(format);
+                    ReportService.write(generator, model,
+                            outputDirectory.resolve("report-" + caseId + "." + generator.getExtension()));
+                }
+            } catch (RuntimeException e) {
+                System.out.println("Failed to report game " + caseId + ": " + e);
+                failures.incrementAndGet();
+                finished = false;
+                continue;
+            }
+            manifest.append(SESSION + " " + caseId);
+            reported++;
+        }
+        if (finished) {
+            manifest.append(PARTITION + " " + partition);
+            Files.deleteIfExists(file);
+        }
+        return reported;
+    }
+
+    private static void deleteWorkDirectory(Path work) throws IOException {
+        if (Files.isDirectory(work)) {
+            try (var files = Files.list(work)) {
+                for (Path file : (Iterable<Path>) files::iterator) {
+                    Files.delete(file);
+                }
+            }
+            Files.delete(work);
+        }
+    }
+
+    /**
+     * The progress record of a batch: one line per step, appended and flushed as it happens.
+     */
+    private static final class Manifest implements AutoCloseable {
+        private final Writer writer;
+        private int partitions; // 0 until partitioning is complete
+        private final Set<String> finishedPartitions = new HashSet<>();
+        private final Set<String> sessions = new HashSet<>();
+        private boolean complete;
+
+        private Manifest(Writer writer) {
+            this.writer = writer;
+        }
+
+        static Manifest open(Path file) throws IOException {
+            List<String> lines = Files.exists(file) ? Files.readAllLines(file, StandardCharsets.UTF_8) : List.of();
+            Manifest manifest = new Manifest(Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND));
+            for (String line : lines) {
+                int space = line.indexOf(' ');
+                String step = space < 0 ? line : line.substring(0, space);
+                String argument = space < 0 ? "" : line.substring(space + 1);
+                switch (step) {
+                    case PARTITIONED:
+                        manifest.partitions = Integer.parseInt(argument);
+                        break;
+                    case SESSION:
+                        manifest.sessions.add(argument);
+                        break;
+                    case PARTITION:
+                        manifest.finishedPartitions.add(argument);
+                        break;
+                    case COMPLETE:
+                        manifest.complete = true;
+                        break;
+                    default:
+                        break; // a line torn by the interruption
+                }
+            }
+            return manifest;
+        }
+
+        synchronized void append(String line) throws IOException {
+            writer.write(line);
+            writer.write('\n');
+            writer.flush();
+        }
+
+        @Override
+        public void close() throws IOException {
+            writer.close();
+        }
+    }
+
+    /**
+     * Renders reports from archived event logs on the command line.
+     * Usage: BatchReportGenerator &lt;output dir&gt; &lt;parallelism&gt; &lt;formats&gt; &lt;log file&gt;...
+     * @param args the output directory, the number of workers, comma-separated formats and the logs
+     */
+    public static void main(String[] args) {
+        if (args.length < 4) {
+            System.out.println("Usage: BatchReportGenerator <output dir> <parallelism> <formats> <log file>...");
+            return;
+        }
+        List<Path> logs = new ArrayList<>();
+        for (int i = 3; i < args.length; i++) {
+            logs.add(Path.of(args[i]));
+        }
+        long start = System.nanoTime();
+        try {
+            long games = new BatchReportGenerator(Integer.parseInt(args[1])).run(logs, Path.of(args[0]),
+                    args[2].split(","));
+            System.out.printf("Reported %d games in %.2f s%n", games, (System.nanoTime() - start) / 1e9);
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("Error: " + e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.jeopardy;
+
+import java.util.SplittableRandom;
+
+/**
+ * Decides how a simulated player answers questions in a {@link GameSimulator} run.
+ * Implementations are shared by every worker thread, so they must not keep mutable state;
+ * all randomness should come from the generator passed in.
+ */
+public interface BotStrategy {
+    /**
+     * Chooses the answer a simulated player gives.
+     * @param category the category the question belongs to
+     * @param question the question being answered
+     * @param random the generator for the current game
+     * @return the answer, e.g. an option letter
+     */
+    String answer(Category category, Question question, SplittableRandom random);
+}
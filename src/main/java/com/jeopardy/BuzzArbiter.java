@@ -0,0 +1,249 @@
+package com.jeopardy;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Decides which player claims a question in buzz-in mode.
+ * <p>
+ * The state of a round is one AtomicLong holding the round number and the winner. A buzz is
+ * stamped with System.nanoTime() and wins only by compare-and-set of that word from "open" to its
+ * own player, so exactly one buzz wins each round no matter how many threads race, with no locks.
+ * Buzzing before the buzzers are armed locks a player out for the lockout window; a player who
+ * answers wrongly is shut out for the penalty window. Every buzz's outcome is recorded per player
+ * so the game thread can log it once the round is decided.
+ * <p>
+ * Each round's records are a fresh Round object, published before the claim word that opens it.
+ * A buzz only proceeds once it has read a claim and a Round with the same number, so a buzz that
+ * straddles a reopen records into the round it was decided in, never into the next one. A buzz
+ * stamps itself in the round before it tries to claim, so the winner's stamp is visible to
+ * whoever sees the winner.
+ * <p>
+ * {@link #buzz} may be called from any thread. The other methods belong to the game thread.
+ */
+public class BuzzArbiter {
+    /** The outcome of one buzz. */
+    public enum Result {
+        /** The buzz claimed the question. */
+        WON,
+        /** Another player had already claimed the question. */
+        LATE,
+        /** The buzzers were not armed yet; the player is locked out for a while. */
+        EARLY,
+        /** The player is serving an early-buzz lockout or a wrong-answer penalty. */
+        LOCKED_OUT,
+        /** No question is open for buzzing. */
+        CLOSED
+    }
+
+    private static final int WINNER_BITS = 16;
+    private static final long WINNER_MASK = (1L << WINNER_BITS) - 1;
+    private static final long CLOSED_MARK = WINNER_MASK;
+    private static final int NO_BUZZ = -1;
+
+    private final long armDelayNanos;
+    private final long lockoutNanos;
+    private final long penaltyNanos;
+
+    private final AtomicLong claim = new AtomicLong(CLOSED_MARK); // round << 16 | winner index + 1
+    private volatile Round current = new Round(0, 0, 0);
+
+    // Written by buzzers, read by the game thread once the question is decided
+    private volatile AtomicLongArray lockedUntil = new AtomicLongArray(0);
+
+    /**
+     * Constructs a BuzzArbiter.
+     * @param armDelayNanos time after a question opens before buzzing is allowed
+     * @param lockoutNanos how long an early buzz keeps a player out
+     * @param penaltyNanos how long a wrong answer keeps a player out of the same question
+     */
+    public BuzzArbiter(long armDelayNanos, long lockoutNanos, long penaltyNanos) {
+        this.armDelayNanos = armDelayNanos;
+        this.lockoutNanos = lockoutNanos;
+        this.penaltyNanos = penaltyNanos;
+    }
+
+    /**
+     * Opens a new question for buzzing. Lockouts and penalties from earlier questions are cleared.
+     * @param playerCount the number of players who may buzz
+     * @param nowNanos the current System.nanoTime()
+     */
+    public void open(int playerCount, long nowNanos) {
+        if (playerCount >= WINNER_MASK) {
+            throw new IllegalArgumentException("Too many players for buzz-in: " + playerCount);
+        }
+        lockedUntil = new AtomicLongArray(playerCount);
+        startRound(playerCount, nowNanos + armDelayNanos);
+    }
+
+    /**
+     * Reopens the current question after a wrong answer. The player who answered is penalized;
+     * everyone else may buzz again at once.
+     * @param playerIndex the index of the player who answered wrongly
+     * @param nowNanos the current System.nanoTime()
+     */
+    public void reopen(int playerIndex, long nowNanos) {
+        extendLockout(lockedUntil, playerIndex, nowNanos + penaltyNanos);
+        startRound(lockedUntil.length(), nowNanos);
+    }
+
+    private void startRound(int playerCount, long armedAtNanos) {
+        Round next = new Round(current.number + 1, playerCount, armedAtNanos);
+        current = next;
+        claim.set(next.number << WINNER_BITS); // opens the round published above
+    }
+
+    /**
+     * Closes the current question; later buzzes return CLOSED.
+     */
+    public void close() {
+        claim.set(current.number << WINNER_BITS | CLOSED_MARK);
+    }
+
+    /**
+     * Registers a buzz. Safe to call from any thread.
+     * @param playerIndex the index of the buzzing player
+     * @param nowNanos the System.nanoTime() at which the player buzzed
+     * @return the outcome of the buzz
+     */
+    public Result buzz(int playerIndex, long nowNanos) {
+        Round r;
+        long c;
+        while (true) {
+            r = current;
+            c = claim.get();
+            if (c >>> WINNER_BITS == r.number) {
+                break;
+            }
+            Thread.onSpinWait(); // a new round is being opened; wait for its claim word
+        }
+        long winner = c & WINNER_MASK;
+        AtomicLongArray locks = lockedUntil;
+        if (winner == CLOSED_MARK || playerIndex < 0 || playerIndex >= locks.length()
+                || playerIndex >= r.buzzCounts.length()) {
+            return Result.CLOSED;
+        }
+
+        Result result;
+        if (isLocked(locks, playerIndex, nowNanos)) {
+            result = Result.LOCKED_OUT;
+        } else if (nowNanos - r.armedAt < 0) {
+            extendLockout(locks, playerIndex, nowNanos + lockoutNanos);
+            result = Result.EARLY;
+        } else if (winner != 0) {
+            result = Result.LATE;
+        } else {
+            r.claimStamps.set(playerIndex, nowNanos); // before the claim, so the winner's stamp is never stale
+            if (claim.compareAndSet(c, c | (playerIndex + 1))) {
+                result = Result.WON;
+            } else {
+                result = (claim.get() & WINNER_MASK) == CLOSED_MARK ? Result.CLOSED : Result.LATE;
+            }
+        }
+
+        if (result != Result.CLOSED) {
+            r.record(playerIndex, nowNanos, result);
+        }
+        return result;
+    }
+
+    // nanoTime values are compared by difference, which stays correct across numeric overflow;
+    // 0 marks a player with no lockout
+    private static boolean isLocked(AtomicLongArray locks, int playerIndex, long nowNanos) {
+        long until = locks.get(playerIndex);
+        return until != 0 && nowNanos - until < 0;
+    }
+
+    private static void extendLockout(AtomicLongArray locks, int playerIndex, long until) {
+        locks.accumulateAndGet(playerIndex, until | 1,
+                (current, next) -> current == 0 || next - current > 0 ? next : current);
+    }
+
+    /**
+     * Retrieves the winner of the current round.
+     * @return the winning player's index, or -1 if nobody has claimed the question
+     */
+    public int getWinner() {
+        long winner = claim.get() & WINNER_MASK;
+        return winner == 0 || winner == CLOSED_MARK ? -1 : (int) winner - 1;
+    }
+
+    /**
+     * Checks whether a player is still allowed to buzz on the current question at the given time.
+     * @param playerIndex the player's index
+     * @param nowNanos the current System.nanoTime()
+     * @return true if the player is not locked out or penalized
+     */
+    public boolean canBuzz(int playerIndex, long nowNanos) {
+        return !isLocked(lockedUntil, playerIndex, nowNanos);
+    }
+
+    /**
+     * Retrieves how a player's first buzz of the current round was decided (or the winning buzz).
+     * @param playerIndex the player's index
+     * @return the outcome, or null if the player has not buzzed this round
+     */
+    public Result getOutcome(int playerIndex) {
+        int outcome = current.outcomes.get(playerIndex);
+        return outcome == NO_BUZZ ? null : Result.values()[outcome];
+    }
+
+    /**
+     * Retrieves how many times a player buzzed in the current round.
+     * @param playerIndex the player's index
+     * @return the buzz count
+     */
+    public int getBuzzCount(int playerIndex) {
+        return current.buzzCounts.get(playerIndex);
+    }
+
+    /**
+     * Retrieves when the winning buzz of the current round was stamped.
+     * @return the System.nanoTime() of the winning buzz; meaningless while {@link #getWinner()} is -1
+     */
+    public long getWinnerStamp() {
+        int winner = getWinner();
+        return winner < 0 ? 0 : current.claimStamps.get(winner);
+    }
+
+    /**
+     * Retrieves how long after the winning buzz a player buzzed.
+     * @param playerIndex the player's index
+     * @return the delay in nanoseconds, negative for buzzes that came before the winner's
+     */
+    public long getDelayAfterWinner(int playerIndex) {
+        return current.stamps.get(playerIndex) - getWinnerStamp();
+    }
+
+    /**
+     * The records of one round, written by buzzers and read by the game thread once it is decided.
+     */
+    private static final class Round {
+        final long number;
+        final long armedAt;
+        final AtomicLongArray stamps;
+        final AtomicLongArray claimStamps;
+        final AtomicIntegerArray outcomes;
+        final AtomicIntegerArray buzzCounts;
+
+        Round(long number, int playerCount, long armedAt) {
+            this.number = number;
+            this.armedAt = armedAt;
+            this.stamps = new AtomicLongArray(playerCount);
+            this.claimStamps = new AtomicLongArray(playerCount);
+            this.outcomes = new AtomicIntegerArray(playerCount);
+            this.buzzCounts = new AtomicIntegerArray(playerCount);
+            for (int i = 0; i < playerCount; i++) {
+                outcomes.set(i, NO_BUZZ);
+            }
+        }
+
+        void record(int playerIndex, long nowNanos, Result result) {
+            if (buzzCounts.getAndIncrement(playerIndex) == 0 || result == Result.WON) {
+                stamps.set(playerIndex, nowNanos);
+                outcomes.set(playerIndex, result.ordinal());
+            }
+        }
+    }
+}
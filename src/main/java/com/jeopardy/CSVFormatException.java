@@ -0,0 +1,42 @@
+package com.jeopardy;
+
+import java.io.IOException;
+
+/**
+ * Signals a malformed record in a CSV file.
+ * Carries the 1-based row and column at which the problem was found so it can be reported to the user.
+ */
+public class CSVFormatException extends IOException {
+    private static final long serialVersionUID = 1L;
+
+    private final long row;
+    private final int column;
+
+    /**
+     * Constructs a CSVFormatException for the given position.
+     * @param message a description of the problem
+     * @param row the 1-based line number where the problem was found
+     * @param column the 1-based character position within that line
+     */
+    public CSVFormatException(String message, long row, int column) {
+        super("Row " + row + ", column " + column + ": " + message);
+        this.row = row;
+        this.column = column;
+    }
+
+    /**
+     * Retrieves the line number where the problem was found.
+     * @return the 1-based row
+     */
+    public long getRow() {
+        return row;
+    }
+
+    /**
+     * Retrieves the character position within the line where the problem was found.
+     * @return the 1-based column
+     */
+    public int getColumn() {
+        return column;
+    }
+}
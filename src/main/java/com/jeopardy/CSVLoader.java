@@ -1,73 +1,133 @@
 package com.jeopardy;
 
-import java.io.BufferedReader;
-import java.io.FileReader;
+import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ForkJoinPool;
 
 /**
  * Loads game data from CSV files.
  * Expects CSV format: Category, Value, Question, OptionA, OptionB, OptionC,
  * OptionD, CorrectAnswer
+ * <p>
+ * Fields follow RFC 4180, so they may be quoted to contain commas, line breaks or
+ * doubled quotes. Malformed rows are reported with their row and column and skipped; a malformed
+ * header row makes the whole file unreadable.
+ * <p>
+ * By default the file is streamed through a {@link CSVTokenizer}. For very large banks the loader can
+ * instead memory-map the file and parse newline-aligned chunks in parallel on a ForkJoinPool; the
+ * result is identical, with categories in order of first appearance and questions in file order.
  */
 public class CSVLoader implements GameDataLoader {
+    private static final int FIELDS_PER_ROW = 8;
+
+    private final ForkJoinPool pool;
+
+    /**
+     * Constructs a CSVLoader that streams the file on the calling thread.
+     */
+    public CSVLoader() {
+        this.pool = null;
+    }
+
+    /**
+     * Constructs a CSVLoader that memory-maps the file and parses it in parallel.
+     *
+     * @param pool the ForkJoinPool that parses the chunks, e.g. ForkJoinPool.commonPool()
+     */
+    public CSVLoader(ForkJoinPool pool) {
+        this.pool = pool;
+    }
 
     /**
      * Loads categories and questions from a CSV file.
-     * 
+     *
      * @param fileName the path to the CSV file to load
      * @return a List of Category objects parsed from the CSV
      */
     @Override
     public List<Category> load(String fileName) {
+        try {
+            return loadFully(fileName);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Loads categories and questions from a CSV file. Malformed rows are still reported and
+     * skipped, but a file that cannot be read in full is an error.
+     *
+     * @param fileName the path to the CSV file to load
+     * @return a List of Category objects parsed from the CSV
+     * @throws IOException if the file cannot be read
+     */
+    @Override
+    public List<Category> loadFully(String fileName) throws IOException {
+        if (pool != null) {
+            return new MappedCSVParser(fileName, pool).parse();
+        }
+
         List<Category> categories = new ArrayList<>();
         Map<String, Category> categoryMap = new HashMap<>();
 
-        try (BufferedReader br = new BufferedReader(new FileReader(fileName))) {
-            String line;
+        try (CSVTokenizer csv = new CSVTokenizer(
+                new InputStreamReader(new FileInputStream(fileName), StandardCharsets.UTF_8))) {
             boolean isHeader = true;
-            while ((line = br.readLine()) != null) {
+            while (true) {
+                try {
+                    if (!csv.nextRecord()) {
+                        break;
+                    }
+                } catch (CSVFormatException e) {
+                    if (isHeader) {
+                        throw e; // skipping it would take the first question for the header
+                    }
+                    reportSkippedRow(fileName, e.getMessage());
+                    continue;
+                }
                 if (isHeader) {
                     isHeader = false;
                     continue;
                 }
-                String[] values = line.split(",(?=(?:[^\"]*\"[^\"]*\")*[^\"]*$)", -1);
 
-                if (values.length < 8)
+                if (csv.getFieldCount() < FIELDS_PER_ROW) {
+                    reportSkippedRow(fileName, "Row " + csv.getRow() + ": expected " + FIELDS_PER_ROW
+                            + " fields but found " + csv.getFieldCount());
                     continue;
-
-                String categoryName = values[0].trim();
-                int value = Integer.parseInt(values[1].trim());
-                String questionText = values[2].replace("\"", "").trim();
-                String optionA = values[3].trim();
-                String optionB = values[4].trim();
-                String optionC = values[5].trim();
-                String optionD = values[6].trim();
-                String correctAnswer = values[7].trim();
-
-                Category category = categoryMap.get(categoryName);
-                if (category == null) {
-                    category = new Category(categoryName);
-                    categoryMap.put(categoryName, category);
-                    categories.add(category);
                 }
 
-                Map<String, String> options = new HashMap<>();
-                options.put("A", optionA);
-                options.put("B", optionB);
-                options.put("C", optionC);
-                options.put("D", optionD);
+                int value;
+                try {
+                    value = Integer.parseInt(csv.getField(1).trim());
+                } catch (NumberFormatException e) {
+                    reportSkippedRow(fileName, "Row " + csv.getRow() + ", column " + csv.getFieldColumn(1)
+                            + ": value is not a number: " + csv.getField(1));
+                    continue;
+                }
 
-                Question question = new Question(questionText, value, options, correctAnswer);
-                category.addQuestion(question);
+                Categories.addQuestion(categories, categoryMap,
+                        csv.getField(0).trim(),
+                        value,
+                        csv.getField(2).trim(),
+                        csv.getField(3).trim(),
+                        csv.getField(4).trim(),
+                        csv.getField(5).trim(),
+                        csv.getField(6).trim(),
+                        csv.getField(7).trim());
             }
-        } catch (IOException e) {
-            e.printStackTrace();
         }
 
         return categories;
     }
+
+    private static void reportSkippedRow(String fileName, String problem) {
+        System.err.println("Skipping malformed row in " + fileName + ": " + problem);
+    }
 }
@@ -0,0 +1,290 @@
+package com.jeopardy;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Arrays;
+
+/**
+ * A single-pass RFC 4180 CSV tokenizer.
+ * <p>
+ * Characters are read through a fixed-size buffer and fed to a small state machine, so quoted fields
+ * may contain commas, line breaks and doubled ({@code ""}) quotes. The characters of the current record
+ * are kept in one reusable array; a field only becomes a String when {@link #getField(int)} asks for it,
+ * which keeps memory flat no matter how many rows the file has.
+ * <p>
+ * A malformed record is reported as a {@link CSVFormatException} carrying its row and column. The rest
+ * of the offending line is skipped, so the caller may report the error and keep reading.
+ */
+public class CSVTokenizer implements AutoCloseable {
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private static final int FIELD_START = 0;
+    private static final int UNQUOTED = 1;
+    private static final int QUOTED = 2;
+    private static final int QUOTE_IN_QUOTED = 3;
+    private static final int AFTER_QUOTED = 4;
+
+    private final Reader reader;
+    private final char[] buffer = new char[BUFFER_SIZE];
+    private int position;
+    private int limit;
+    private boolean pendingLineFeed;
+
+    // Current record: all field characters back to back, delimited by start/end offsets
+    private char[] record = new char[256];
+    private int recordLength;
+    private int[] fieldStarts = new int[16];
+    private int[] fieldEnds = new int[16];
+    private int[] fieldColumns = new int[16];
+    private int fieldCount;
+
+    private long line = 1;
+    private int column;
+    private long recordRow;
+
+    /**
+     * Constructs a CSVTokenizer over the given character stream.
+     * @param reader the source of CSV text; it is closed when the tokenizer is closed
+     */
+    public CSVTokenizer(Reader reader) {
+        this.reader = reader;
+    }
+
+    /**
+     * Advances to the next record, skipping blank lines.
+     * @return true if a record was read, false at the end of the input
+     * @throws CSVFormatException if the record is malformed; the tokenizer is positioned after its line
+     * @throws IOException if the underlying reader fails
+     */
+    public boolean nextRecord() throws IOException {
+        recordLength = 0;
+        fieldCount = 0;
+
+        int state = FIELD_START;
+        int quoteColumn = 0;
+        boolean onlyWhitespace = false;
+
+        while (true) {
+            if (position == limit && !fill()) {
+                // End of input
+                if (state == QUOTED) {
+                    throw new CSVFormatException("Unterminated quoted field", recordRow, quoteColumn);
+                }
+                if (state == FIELD_START) {
+                    if (fieldCount == 0) {
+                        return false;
+                    }
+                    startField(); // trailing empty field after a final comma
+                }
+                endField();
+                return true;
+            }
+
+            char c = buffer[position++];
+            if (c == '\n' && pendingLineFeed) {
+                // Second half of a \r\n pair that was already counted as a line break
+                pendingLineFeed = false;
+                if (state == QUOTED) {
+                    append(c);
+                }
+                continue;
+            }
+            pendingLineFeed = false;
+            column++;
+
+            if (fieldCount == 0 && recordLength == 0 && state == FIELD_START) {
+                if (c == '\r' || c == '\n') {
+                    newLine(c);
+                    continue; // blank line
+                }
+                recordRow = line;
+            }
+
+            switch (state) {
+                case FIELD_START:
+                    startField();
+                    if (c == '"') {
+                        state = QUOTED;
+                        quoteColumn = column;
+                    } else if (c == ',') {
+                        endField();
+                    } else if (c == '\r' || c == '\n') {
+                        endField();
+                        newLine(c);
+                        return true;
+                    } else {
+                        append(c);
+                        onlyWhitespace = c == ' ' || c == '\t';
+                        state = UNQUOTED;
+                    }
+                    break;
+
+                case UNQUOTED:
+                    if (c == ',') {
+                        endField();
+                        state = FIELD_START;
+                    } else if (c == '\r' || c == '\n') {
+                        endField();
+                        newLine(c);
+                        return true;
+                    } else if (c == '"') {
+                        if (onlyWhitespace) {
+                            // Only padding so far: treat  "abc" as a quoted field
+                            recordLength = fieldStarts[fieldCount];
+                            state = QUOTED;
+                            quoteColumn = column;
+                        } else {
+                            throw malformed("Quote inside an unquoted field");
+                        }
+                    } else {
+                        append(c);
+                        onlyWhitespace &= c == ' ' || c == '\t';
+                    }
+                    break;
+
+                case QUOTED:
+                    if (c == '"') {
+                        state = QUOTE_IN_QUOTED;
+                    } else {
+                        append(c);
+                        if (c == '\r' || c == '\n') {
+                            newLine(c);
+                        }
+                    }
+                    break;
+
+                case QUOTE_IN_QUOTED:
+                    if (c == '"') {
+                        append('"'); // escaped quote
+                        state = QUOTED;
+                    } else if (c == ',') {
+                        endField();
+                        state = FIELD_START;
+                    } else if (c == '\r' || c == '\n') {
+                        endField();
+                        newLine(c);
+                        return true;
+                    } else if (c == ' ' || c == '\t') {
+                        state = AFTER_QUOTED;
+                    } else {
+                        throw malformed("Unexpected character after closing quote");
+                    }
+                    break;
+
+                default: // AFTER_QUOTED
+                    if (c == ',') {
+                        endField();
+                        state = FIELD_START;
+                    } else if (c == '\r' || c == '\n') {
+                        endField();
+                        newLine(c);
+                        return true;
+                    } else if (c != ' ' && c != '\t') {
+                        throw malformed("Unexpected character after closing quote");
+                    }
+                    break;
+            }
+        }
+    }
+
+    /**
+     * Retrieves the number of fields in the current record.
+     * @return the field count
+     */
+    public int getFieldCount() {
+        return fieldCount;
+    }
+
+    /**
+     * Retrieves a field of the current record, with surrounding quotes removed and doubled quotes unescaped.
+     * @param index the 0-based field index
+     * @return the field text
+     */
+    public String getField(int index) {
+        if (index < 0 || index >= fieldCount) {
+            throw new IndexOutOfBoundsException("Field " + index + " of " + fieldCount);
+        }
+        return new String(record, fieldStarts[index], fieldEnds[index] - fieldStarts[index]);
+    }
+
+    /**
+     * Retrieves the line on which the current record starts.
+     * @return the 1-based row
+     */
+    public long getRow() {
+        return recordRow;
+    }
+
+    /**
+     * Retrieves the position at which a field of the current record starts.
+     * @param index the 0-based field index
+     * @return the 1-based column of the field's first character
+     */
+    public int getFieldColumn(int index) {
+        return fieldColumns[index];
+    }
+
+    /**
+     * Closes the underlying reader.
+     * @throws IOException if the reader cannot be closed
+     */
+    @Override
+    public void close() throws IOException {
+        reader.close();
+    }
+
+    private boolean fill() throws IOException {
+        int read = reader.read(buffer, 0, buffer.length);
+        if (read <= 0) {
+            return false;
+        }
+        position = 0;
+        limit = read;
+        return true;
+    }
+
+    private void newLine(char c) {
+        line++;
+        column = 0;
+        pendingLineFeed = c == '\r';
+    }
+
+    private void startField() {
+        if (fieldCount == fieldStarts.length) {
+            int size = fieldStarts.length * 2;
+            fieldStarts = Arrays.copyOf(fieldStarts, size);
+            fieldEnds = Arrays.copyOf(fieldEnds, size);
+            fieldColumns = Arrays.copyOf(fieldColumns, size);
+        }
+        fieldStarts[fieldCount] = recordLength;
+        fieldColumns[fieldCount] = column;
+    }
+
+    private void endField() {
+        fieldEnds[fieldCount] = recordLength;
+        fieldCount++;
+    }
+
+    private void append(char c) {
+        if (recordLength == record.length) {
+            record = Arrays.copyOf(record, record.length * 2);
+        }
+        record[recordLength++] = c;
+    }
+
+    private CSVFormatException malformed(String message) throws IOException {
+        CSVFormatException error = new CSVFormatException(message, line, column);
+        skipLine();
+        return error;
+    }
+
+    private void skipLine() throws IOException {
+        while (position < limit || fill()) {
+            char c = buffer[position++];
+            if (c == '\r' || c == '\n') {
+                newLine(c);
+                return;
+            }
+        }
+    }
+}
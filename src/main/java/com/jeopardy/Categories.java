@@ -0,0 +1,37 @@
+package com.jeopardy;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Helpers shared by the loaders that build a category list row by row.
+ */
+final class Categories {
+
+    private Categories() {
+    }
+
+    /**
+     * Adds one parsed row to the category list, creating its category on first appearance.
+     */
+    static void addQuestion(List<Category> categories, Map<String, Category> categoryMap, String categoryName,
+            int value, String questionText, String optionA, String optionB, String optionC, String optionD,
+            String correctAnswer) {
+        Category category = categoryMap.get(categoryName);
+        if (category == null) {
+            category = new Category(categoryName);
+            categoryMap.put(categoryName, category);
+            categories.add(category);
+        }
+
+        Map<String, String> options = new HashMap<>();
+        options.put("A", optionA);
+        options.put("B", optionB);
+        options.put("C", optionC);
+        options.put("D", optionD);
+
+        Question question = new Question(questionText, value, options, correctAnswer);
+        category.addQuestion(question);
+    }
+}
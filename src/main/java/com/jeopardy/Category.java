@@ -1,15 +1,28 @@
 package com.jeopardy;
 
 import java.util.List;
+import java.util.AbstractList;
 import java.util.ArrayList;
+import java.util.RandomAccess;
 
 /**
  * Represents a category of questions in a Jeopardy game.
  * Each category contains multiple questions of varying difficulty (value).
+ * <p>
+ * Questions are looked up by value through an open-addressing table that is kept in step with
+ * the question list, so {@link #getQuestion(int)} is constant time and allocation-free. The list
+ * counts its modifications, so any change made through it, including replacing a question, is
+ * seen; questions appended since the last lookup are indexed incrementally.
  */
 public class Category {
+    private static final Question[] EMPTY_SLOTS = new Question[1];
+
     private String name;
     private List<Question> questions;
+    private Question[] valueSlots = EMPTY_SLOTS;
+    private int[] valueKeys = new int[1];
+    private int indexed;
+    private int indexedVersion;
 
     /**
      * Constructs a Category with the given name.
@@ -17,7 +30,18 @@ public class Category {
      */
     public Category(String name) {
         this.name = name;
-        this.questions = new ArrayList<>();
+        this.questions = new QuestionList();
+    }
+
+    /**
+     * Constructs a Category over an existing question list, such as a view of a compiled bank.
+     * The list must not be changed afterwards except by appending.
+     * @param name the category's name
+     * @param questions the questions of this category
+     */
+    Category(String name, List<Question> questions) {
+        this.name = name;
+        this.questions = questions;
     }
 
     /**
@@ -46,15 +70,130 @@ public class Category {
     
     /**
      * Retrieves a question in this category by its point value.
+     * If several questions share a value, the first one added is returned.
      * @param value the point value of the question to find
      * @return the Question with the matching value, or null if not found
      */
     public Question getQuestion(int value) {
-        for (Question q : questions) {
-            if (q.getValue() == value) {
+        if (indexedVersion != version()) {
+            buildIndex();
+        }
+        Question[] slots = valueSlots;
+        int mask = slots.length - 1;
+        int i = slot(value, mask);
+        Question q;
+        while ((q = slots[i]) != null) {
+            if (valueKeys[i] == value) {
                 return q;
             }
+            i = (i + 1) & mask;
         }
         return null;
     }
+
+    /**
+     * Brings the value table up to date with the question list.
+     * Shared categories call this once before publication so lookups never write.
+     */
+    void buildIndex() {
+        int size = questions.size();
+        int firstChanged = size;
+        if (questions instanceof QuestionList list) {
+            firstChanged = list.firstChanged;
+            list.firstChanged = Integer.MAX_VALUE;
+        }
+        if (size < indexed || firstChanged < indexed) {
+            indexed = 0; // indexed questions were removed or replaced, start over
+            valueSlots = EMPTY_SLOTS;
+        }
+        if (valueSlots.length < size * 2) {
+            int capacity = Integer.highestOneBit(Math.max(4, size * 2 - 1)) << 1;
+            Question[] oldSlots = valueSlots;
+            int[] oldKeys = valueKeys;
+            valueSlots = new Question[capacity];
+            valueKeys = new int[capacity];
+            for (int i = 0; i < oldSlots.length; i++) {
+                if (oldSlots[i] != null) {
+                    insert(oldKeys[i], oldSlots[i]);
+                }
+            }
+        }
+        for (int i = indexed; i < size; i++) {
+            Question q = questions.get(i);
+            insert(q.getValue(), q);
+        }
+        indexed = size;
+        indexedVersion = version();
+    }
+
+    private int version() {
+        return questions instanceof QuestionList list ? list.modifications() : questions.size();
+    }
+
+    private void insert(int value, Question question) {
+        int mask = valueSlots.length - 1;
+        int i = slot(value, mask);
+        while (valueSlots[i] != null) {
+            if (valueKeys[i] == value) {
+                return; // keep the earlier question
+            }
+            i = (i + 1) & mask;
+        }
+        valueSlots[i] = question;
+        valueKeys[i] = value;
+    }
+
+    private static int slot(int value, int mask) {
+        int h = value * 0x9E3779B9;
+        return (h ^ (h >>> 16)) & mask;
+    }
+
+    /**
+     * The question list of a category built question by question. Every change goes through
+     * set, add or remove, including those made through iterators and sub-lists, so the
+     * category can tell when and from where its value table went out of date.
+     */
+    private static final class QuestionList extends AbstractList<Question> implements RandomAccess {
+        private final ArrayList<Question> questions = new ArrayList<>();
+        private int firstChanged = Integer.MAX_VALUE;
+
+        @Override
+        public Question get(int index) {
+            return questions.get(index);
+        }
+
+        @Override
+        public int size() {
+            return questions.size();
+        }
+
+        @Override
+        public Question set(int index, Question question) {
+            Question old = questions.set(index, question);
+            changed(index);
+            return old;
+        }
+
+        @Override
+        public void add(int index, Question question) {
+            questions.add(index, question);
+            changed(index);
+        }
+
+        @Override
+        public Question remove(int index) {
+            Question old = questions.remove(index);
+            changed(index);
+            return old;
+        }
+
+        private void changed(int index) {
+            modCount++;
+            firstChanged = Math.min(firstChanged, index);
+        }
+
+        int modifications() {
+            return modCount;
+        }
+    }
 }
@@ -0,0 +1,84 @@
+package com.jeopardy;
+
+import java.util.List;
+
+/**
+ * A case-insensitive lookup table from category name to Category.
+ * <p>
+ * Names are hashed by folding each code point the same way String.equalsIgnoreCase compares
+ * them, and collisions are resolved by linear probing in a power-of-two table. Lookups allocate
+ * nothing. When two categories have names that differ only in case, the first one wins, matching
+ * a front-to-back scan of the category list.
+ */
+public class CategoryIndex {
+    private final Category[] slots;
+    private final int[] hashes;
+    private final int mask;
+
+    /**
+     * Builds an index over the given categories.
+     * @param categories the categories to index, in board order
+     */
+    public CategoryIndex(List<Category> categories) {
+        int capacity = Integer.highestOneBit(Math.max(4, categories.size() * 2 - 1)) << 1;
+        this.slots = new Category[capacity];
+        this.hashes = new int[capacity];
+        this.mask = capacity - 1;
+        for (Category category : categories) {
+            insert(category);
+        }
+    }
+
+    private void insert(Category category) {
+        String name = category.getName();
+        int hash = foldedHash(name);
+        int i = spread(hash) & mask;
+        while (slots[i] != null) {
+            if (hashes[i] == hash && slots[i].getName().equalsIgnoreCase(name)) {
+                return; // keep the earlier category
+            }
+            i = (i + 1) & mask;
+        }
+        slots[i] = category;
+        hashes[i] = hash;
+    }
+
+    /**
+     * Finds a category by name, ignoring case.
+     * @param name the category name to look up
+     * @return the matching Category, or null if there is none
+     */
+    public Category get(String name) {
+        if (name == null) {
+            return null;
+        }
+        int hash = foldedHash(name);
+        int i = spread(hash) & mask;
+        Category candidate;
+        while ((candidate = slots[i]) != null) {
+            if (hashes[i] == hash && candidate.getName().equalsIgnoreCase(name)) {
+                return candidate;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    /**
+     * Hashes a string so that strings equal under equalsIgnoreCase hash alike.
+     */
+    static int foldedHash(String s) {
+        int h = 0;
+        for (int i = 0; i < s.length(); ) {
+            int cp = s.codePointAt(i);
+            h = 31 * h + Character.toLowerCase(Character.toUpperCase(cp));
+            i += Character.charCount(cp);
+        }
+        return h;
+    }
+
+    private static int spread(int h) {
+        h *= 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
@@ -1,84 +1,139 @@
 package com.jeopardy;
 
-import org.apache.poi.xwpf.usermodel.XWPFDocument;
-import org.apache.poi.xwpf.usermodel.XWPFParagraph;
-import org.apache.poi.xwpf.usermodel.XWPFRun;
-
-import java.io.FileOutputStream;
+import java.io.BufferedWriter;
 import java.io.IOException;
-import java.util.List;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
 
 /**
  * Generates a DOCX (Microsoft Word) summary report of a Jeopardy game.
  * Writes player names, gameplay details, and final scores to a DOCX file.
+ * <p>
+ * The package is written straight into a ZipOutputStream: the content types and relationships
+ * parts are fixed text, and word/document.xml is streamed one paragraph per turn, so memory does
+ * not grow with the session. The paragraphs and runs are the ones a POI XWPFDocument would hold
+ * for the same report: a bold 16pt title, the players in one run, bold section headers, one
+ * paragraph per turn with line breaks between its lines, and one paragraph per final score.
  */
 public class DOCXReport implements ReportGenerator {
+    private static final String CONTENT_TYPES = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+            + "<Types xmlns=\"http://schemas.openxmlformats.org/package/2006/content-types\">"
+            + "<Default Extension=\"rels\" ContentType=\"application/vnd.openxmlformats-package.relationships+xml\"/>"
+            + "<Default Extension=\"xml\" ContentType=\"application/xml\"/>"
+            + "<Override PartName=\"/word/document.xml\" ContentType=\""
+            + "application/vnd.openxmlformats-officedocument.wordprocessingml.document.main+xml\"/>"
+            + "</Types>";
+    private static final String PACKAGE_RELATIONSHIPS = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+            + "<Relationships xmlns=\"http://schemas.openxmlformats.org/package/2006/relationships\">"
+            + "<Relationship Id=\"rId1\" Type=\""
+            + "http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument\""
+            + " Target=\"word/document.xml\"/>"
+            + "</Relationships>";
+    private static final String DOCUMENT_START = "<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+            + "<w:document xmlns:w=\"http://schemas.openxmlformats.org/wordprocessingml/2006/main\"><w:body>";
+    private static final String DOCUMENT_END = "<w:sectPr/></w:body></w:document>";
 
     /**
-     * Generates a DOCX report for the given game and writes it to report.docx.
-     * @param game the Game to generate a report for
+     * Writes a DOCX report.
+     * @param model the report content
+     * @param out the stream to write the report to
+     * @throws IOException if the report cannot be written
      */
     @Override
-    public void generateReport(Game game) {
-        try (XWPFDocument document = new XWPFDocument()) {
-            XWPFParagraph title = document.createParagraph();
-            XWPFRun titleRun = title.createRun();
-            titleRun.setText("JEOPARDY PROGRAMMING GAME REPORT");
-            titleRun.setBold(true);
-            titleRun.setFontSize(16);
+    public void render(ReportModel model, OutputStream out) throws IOException {
+        ZipOutputStream zip = new ZipOutputStream(out, StandardCharsets.UTF_8);
+        Writer xml = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8), 16 * 1024);
 
-            XWPFParagraph players = document.createParagraph();
-            XWPFRun playersRun = players.createRun();
-            playersRun.setText("Players: ");
-            for (Player p : game.getPlayers()) {
-                playersRun.setText(p.getName() + " ");
-            }
+        zip.putNextEntry(new ZipEntry("[Content_Types].xml"));
+        xml.write(CONTENT_TYPES);
+        xml.flush();
+        zip.closeEntry();
+        zip.putNextEntry(new ZipEntry("_rels/.rels"));
+        xml.write(PACKAGE_RELATIONSHIPS);
+        xml.flush();
+        zip.closeEntry();
 
-            XWPFParagraph summaryHeader = document.createParagraph();
-            XWPFRun summaryHeaderRun = summaryHeader.createRun();
-            summaryHeaderRun.setText("Gameplay Summary:");
-            summaryHeaderRun.setBold(true);
+        zip.putNextEntry(new ZipEntry("word/document.xml"));
+        xml.write(DOCUMENT_START);
+        xml.write("<w:p><w:r><w:rPr><w:b/><w:sz w:val=\"32\"/></w:rPr>");
+        text(xml, "JEOPARDY PROGRAMMING GAME REPORT");
+        xml.write("</w:r></w:p>");
 
-            List<GameEvent> events = game.getEventLog();
-            int turn = 1;
-            for (GameEvent event : events) {
-                if (event.getActivity() == ActivityType.ANSWER_QUESTION) {
-                    XWPFParagraph p = document.createParagraph();
-                    XWPFRun r = p.createRun();
-                    r.setText("Turn " + turn + ": " + getPlayerName(game, event.getPlayerId()) + " selected "
-                            + event.getCategory() + " for " + event.getQuestionValue() + " pts");
-                    r.addBreak();
-                    r.setText("Answer: " + event.getAnswerGiven() + " - " + event.getResult());
-                    r.addBreak();
-                    r.setText("Score after turn: " + event.getScoreAfterPlay());
-                    turn++;
-                }
-            }
-
-            XWPFParagraph finalScores = document.createParagraph();
-            XWPFRun finalScoresRun = finalScores.createRun();
-            finalScoresRun.setText("Final Scores:");
-            finalScoresRun.setBold(true);
+        xml.write("<w:p><w:r>");
+        text(xml, "Players: ");
+        for (ReportModel.PlayerSummary p : model.getPlayers()) {
+            text(xml, p.getName() + " ");
+        }
+        xml.write("</w:r></w:p>");
 
-            for (Player p : game.getPlayers()) {
-                XWPFParagraph scoreP = document.createParagraph();
-                XWPFRun scoreR = scoreP.createRun();
-                scoreR.setText(p.getName() + ": " + p.getScore());
-            }
+        boldParagraph(xml, "Gameplay Summary:");
+        for (ReportModel.Turn turn : model.getTurns()) {
+            xml.write("<w:p><w:r>");
+            text(xml, "Turn " + turn.getNumber() + ": " + turn.getPlayerName() + " selected "
+                    + turn.getCategory() + " for " + turn.getValue() + " pts");
+            xml.write("<w:br/>");
+            text(xml, "Answer: " + turn.getAnswer() + " - " + turn.getResult());
+            xml.write("<w:br/>");
+            text(xml, "Score after turn: " + turn.getScoreAfter());
+            xml.write("</w:r></w:p>");
+        }
 
-            try (FileOutputStream out = new FileOutputStream("report.docx")) {
-                document.write(out);
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+        boldParagraph(xml, "Final Scores:");
+        for (ReportModel.PlayerSummary p : model.getPlayers()) {
+            xml.write("<w:p><w:r>");
+            text(xml, p.getName() + ": " + p.getFinalScore());
+            xml.write("</w:r></w:p>");
         }
+        xml.write(DOCUMENT_END);
+        xml.flush();
+        zip.closeEntry();
+        zip.finish(); // the caller owns the stream
+    }
+
+    /**
+     * Retrieves the file extension of DOCX reports.
+     * @return "docx"
+     */
+    @Override
+    public String getExtension() {
+        return "docx";
     }
 
-    private String getPlayerName(Game game, int playerId) {
-        for (Player p : game.getPlayers()) {
-            if (p.getId() == playerId)
-                return p.getName();
+    private static void boldParagraph(Writer xml, String value) throws IOException {
+        xml.write("<w:p><w:r><w:rPr><w:b/></w:rPr>");
+        text(xml, value);
+        xml.write("</w:r></w:p>");
+    }
+
+    private static void text(Writer xml, String value) throws IOException {
+        xml.write("<w:t xml:space=\"preserve\">");
+        escape(xml, value);
+        xml.write("</w:t>");
+    }
+
+    private static void escape(Writer xml, String value) throws IOException {
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            switch (c) {
+                case '&':
+                    xml.write("&amp;");
+                    break;
+                case '<':
+                    xml.write("&lt;");
+                    break;
+                case '>':
+                    xml.write("&gt;");
+                    break;
+                default:
+                    // Control characters other than tab and newlines are not allowed in XML 1.0
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        xml.write(c);
+                    }
+            }
         }
-        return "Unknown";
     }
 }
@@ -1,13 +1,46 @@
 package com.jeopardy;
 
+import java.io.IOException;
+import java.util.ArrayList;
+
 /**
  * Factory class for creating appropriate GameDataLoader instances.
  * Uses file extension to determine which loader implementation to return.
+ * <p>
+ * Parsed banks are kept in a {@link QuestionBankCache} shared by every factory in the process
+ * unless another cache is supplied, so games started against the same file parse it only once.
  */
 public class DataLoaderFactory {
+    private static final QuestionBankCache SHARED_CACHE = new QuestionBankCache();
+
+    private final QuestionBankCache cache;
+
+    /**
+     * Constructs a DataLoaderFactory that uses the process-wide bank cache.
+     */
+    public DataLoaderFactory() {
+        this(SHARED_CACHE);
+    }
+
+    /**
+     * Constructs a DataLoaderFactory that uses the given bank cache.
+     * @param cache the cache to keep parsed banks in
+     */
+    public DataLoaderFactory(QuestionBankCache cache) {
+        this.cache = cache;
+    }
+
+    /**
+     * Retrieves the process-wide bank cache, e.g. to read its metrics.
+     * @return the shared QuestionBankCache
+     */
+    public static QuestionBankCache getSharedCache() {
+        return SHARED_CACHE;
+    }
+
     /**
      * Returns a GameDataLoader implementation based on the file extension.
-     * Supports CSV, JSON, and XML file formats.
+     * Supports CSV, JSON, XML and compiled .jqb file formats.
      * @param fileName the name of the file to load
      * @return a GameDataLoader appropriate for the file type, or null if unsupported
      */
@@ -18,7 +51,28 @@ public class DataLoaderFactory {
             return new JSONLoader();
         } else if (fileName.toLowerCase().endsWith(".xml")) {
             return new XMLLoader();
+        } else if (fileName.toLowerCase().endsWith(".jqb")) {
+            return new JQBLoader();
         }
         return null;
     }
+
+    /**
+     * Returns the parsed bank for a file, from the cache if this version of the file has been
+     * loaded before.
+     * @param fileName the name of the file to load
+     * @return the shared QuestionBank, an empty bank if the file cannot be read, or null if unsupported
+     */
+    public QuestionBank loadBank(String fileName) {
+        GameDataLoader loader = getLoader(fileName);
+        if (loader == null) {
+            return null;
+        }
+        try {
+            return cache.get(fileName, loader);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new QuestionBank(new ArrayList<>());
+        }
+    }
 }
@@ -0,0 +1,67 @@
+package com.jeopardy;
+
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * The clock that stamps game events, as a plain long of local wall-clock nanoseconds since
+ * 1970-01-01T00:00 (the value {@code LocalDateTime.toEpochSecond(ZoneOffset.UTC)} gives, in
+ * nanoseconds).
+ * <p>
+ * {@code LocalDateTime.now()} reads the wall clock, looks up the zone offset and builds four
+ * objects for every event. This clock instead adds {@link System#nanoTime()} to a calibration point
+ * that pairs a wall-clock reading with its zone offset, so reading it allocates nothing. The
+ * calibration is renewed once a second, which bounds drift from the wall clock and picks up
+ * daylight saving changes. When a renewal finds the wall clock slightly behind the extrapolated
+ * time, readings hold at the last value until it catches up, so ordinary drift correction never
+ * makes the clock go backwards; a jump back of more than a second (a clock or zone change) is
+ * followed, as {@code LocalDateTime.now()} would.
+ */
+final class EventClock {
+    private static final long RECALIBRATE_NANOS = 1_000_000_000L;
+
+    private static volatile Calibration calibration = calibrate();
+
+    private static final class Calibration {
+        final long localNanos;
+        final long nanoTime;
+        final long floor; // the latest reading before this calibration
+
+        Calibration(long localNanos, long nanoTime, long floor) {
+            this.localNanos = localNanos;
+            this.nanoTime = nanoTime;
+            this.floor = floor;
+        }
+    }
+
+    private EventClock() {
+    }
+
+    /**
+     * Reads the clock.
+     * @return the current local time in nanoseconds since 1970-01-01T00:00
+     */
+    static long now() {
+        Calibration c = calibration;
+        long elapsed = System.nanoTime() - c.nanoTime;
+        if (elapsed >= RECALIBRATE_NANOS) {
+            long before = c.localNanos + elapsed;
+            Calibration renewed = calibrate();
+            if (renewed.localNanos < before && before - renewed.localNanos < RECALIBRATE_NANOS) {
+                renewed = new Calibration(renewed.localNanos, renewed.nanoTime, before);
+            }
+            calibration = renewed;
+            c = renewed;
+            elapsed = System.nanoTime() - c.nanoTime;
+        }
+        return Math.max(c.floor, c.localNanos + elapsed);
+    }
+
+    private static Calibration calibrate() {
+        Instant instant = Instant.now();
+        long nanoTime = System.nanoTime();
+        long offsetSeconds = ZoneId.systemDefault().getRules().getOffset(instant).getTotalSeconds();
+        long localNanos = (instant.getEpochSecond() + offsetSeconds) * 1_000_000_000L + instant.getNano();
+        return new Calibration(localNanos, nanoTime, Long.MIN_VALUE);
+    }
+}
@@ -0,0 +1,514 @@
+package com.jeopardy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.zip.CRC32C;
+
+/**
+ * A binary, append-only event journal: a Listener that records every GameEvent in memory-mapped
+ * segment files, as a faster and lossless alternative to the CSV {@link GameEventLogger}.
+ * <p>
+ * Each segment is a fixed-size file mapped once and filled with records laid out as
+ * <pre>
+ * int   body length (0 marks the end of the segment)
+ * int   CRC-32C of the body
+ * long  timestamp, seconds of local wall-clock time since 1970-01-01T00:00
+ * int   timestamp nanoseconds
+ * int   player ID
+ * int   activity ordinal
+ * int   question value
+ * int   score after play
+ * str   case ID, category, answer, result (int byte length, -1 for null, then UTF-8)
+ * </pre>
+ * Timestamps are local date-times counted as if they were UTC, as {@link GameEvent#getTimeNanos()}
+ * holds them. They are not instants: converting them back with {@code ZoneOffset.UTC} recovers
+ * the logged local date-time, not the moment the event happened in UTC.
+ * <p>
+ * When a record does not fit, the segment is forced to disk and the next one is started. The
+ * active segment is forced whenever an EXIT_GAME or GENERATE_REPORT event arrives or
+ * {@link #sync()} is called; between those the OS writes pages back on its own schedule.
+ * <p>
+ * For each segment the journal keeps a sparse in-memory index: the span of every case ID
+ * in it, and every {@link #INDEX_STRIDE}th record's offset with the latest timestamp seen so far.
+ * The index is rebuilt by one sequential scan when a journal is opened. That scan also recovers
+ * from a crash: the last segment is cut at the first record whose length or checksum is wrong,
+ * and everything after it is zeroed so no stale record can resurface behind new ones.
+ */
+public class EventJournal implements Listener, AutoCloseable {
+    /** Default size of one segment file. */
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;
+    /** Number of records between entries of the sparse timestamp index. */
+    public static final int INDEX_STRIDE = 1024;
+
+    private static final String SUFFIX = ".journal";
+    private static final int FRAME_BYTES = 8;
+    private static final int FIXED_BODY_BYTES = 8 + 4 * 5;
+    private static final int STRING_COUNT = 4;
+    private static final ActivityType[] ACTIVITIES = ActivityType.values();
+
+    private final Path directory;
+    private final int segmentBytes;
+    private final List<Segment> segments = new ArrayList<>();
+    private final CRC32C crc = new CRC32C();
+    private Segment active;
+    private long eventCount;
+    private boolean closed;
+
+    // The case ID of consecutive events is usually the same, so its encoding is reused
+    private String lastCaseId;
+    private byte[] lastCaseIdBytes;
+
+    /**
+     * Opens or creates a journal with the default segment size.
+     * @param directory the directory holding the segment files; created if missing
+     * @throws IOException if the directory or its segments cannot be opened
+     */
+    public EventJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_BYTES);
+    }
+
+    /**
+     * Opens or creates a journal, recovering the end of the last segment after a crash.
+     * @param directory the directory holding the segment files; created if missing
+     * @param segmentBytes the size of each new segment file
+     * @throws IOException if the directory or its segments cannot be opened
+     */
+    public EventJournal(Path directory, int segmentBytes) throws IOException {
+        if (segmentBytes < 4096) {
+            throw new IllegalArgumentException("segmentBytes must be at least 4096");
+        }
+        this.directory = Files.createDirectories(directory);
+        this.segmentBytes = segmentBytes;
+
+        List<Path> files = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : stream) {
+                files.add(file);
+            }
+        }
+        files.sort(null); // zero-padded numbers sort in creation order
+        for (int i = 0; i < files.size(); i++) {
+            boolean last = i == files.size() - 1;
+            Segment segment = Segment.open(files.get(i), segmentNumber(files.get(i)), last);
+            eventCount += segment.scan(last);
+            segments.add(segment);
+        }
+        if (segments.isEmpty()) {
+            startSegment(0);
+        } else {
+            active = segments.get(segments.size() - 1);
+        }
+    }
+
+    private static long segmentNumber(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(0, name.length() - SUFFIX.length()));
+    }
+
+    private void startSegment(long number) throws IOException {
+        Path file = directory.resolve(String.format("%020d%s", number, SUFFIX));
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW, StandardOpenOption.READ,
+                StandardOpenOption.WRITE)) {
+            active = new Segment(file, number, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+        }
+        segments.add(active);
+    }
+
+    /**
+     * Appends an event to the journal.
+     * @param event the GameEvent to record
+     */
+    @Override
+    public synchronized void update(GameEvent event) {
+        if (closed) {
+            return;
+        }
+        try {
+            append(event);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return;
+        }
+        ActivityType activity = event.getActivity();
+        if (activity == ActivityType.EXIT_GAME || activity == ActivityType.GENERATE_REPORT) {
+            active.buffer.force();
+        }
+    }
+
+    private void append(GameEvent event) throws IOException {
+        String caseId = event.getCaseId();
+        if (caseId != lastCaseId) {
+            lastCaseId = caseId;
+            lastCaseIdBytes = caseId == null ? null : caseId.getBytes(StandardCharsets.UTF_8);
+        }
+        long bound = FRAME_BYTES + FIXED_BODY_BYTES + 4L * STRING_COUNT
+                + (lastCaseIdBytes == null ? 0 : lastCaseIdBytes.length) + maxBytes(event.getCategory())
+                + maxBytes(event.getAnswerGiven()) + maxBytes(event.getResult());
+        if (bound > segmentBytes - FRAME_BYTES) {
+            throw new IOException("Event too large for a journal segment: " + bound + " bytes");
+        }
+        if (active.end + bound > active.buffer.capacity() - FRAME_BYTES) { // keep room for the zero end marker
+            active.buffer.force();
+            startSegment(active.number + 1);
+        }
+
+        MappedByteBuffer buffer = active.buffer;
+        int start = active.end;
+        int body = start + FRAME_BYTES;
+        buffer.position(body);
+        long time = event.getTimeNanos();
+        long seconds = Math.floorDiv(time, 1_000_000_000L);
+        int nanos = (int) Math.floorMod(time, 1_000_000_000L);
+        buffer.putLong(seconds);
+        buffer.putInt(nanos);
+        buffer.putInt(event.getPlayerId());
+        buffer.putInt(event.getActivity().ordinal());
+        buffer.putInt(event.getQuestionValue());
+        buffer.putInt(event.getScoreAfterPlay());
+        if (lastCaseIdBytes == null) {
+            buffer.putInt(-1);
+        } else {
+            buffer.putInt(lastCaseIdBytes.length);
+            buffer.put(lastCaseIdBytes);
+        }
+        putString(buffer, event.getCategory());
+        putString(buffer, event.getAnswerGiven());
+        putString(buffer, event.getResult());
+        int end = buffer.position();
+
+        crc.reset();
+        crc.update(buffer.slice(body, end - body));
+        buffer.putInt(start, end - body);
+        buffer.putInt(start + 4, (int) crc.getValue());
+        active.end = end;
+        active.index(caseId, seconds, nanos, start, end);
+        eventCount++;
+    }
+
+    private static int maxBytes(String s) {
+        return s == null ? 0 : s.length() * 3;
+    }
+
+    private static void putString(ByteBuffer buffer, String s) {
+        if (s == null) {
+            buffer.putInt(-1);
+            return;
+        }
+        int lengthAt = buffer.position();
+        buffer.putInt(0);
+        int n = s.length();
+        for (int i = 0; i < n; i++) {
+            char c = s.charAt(i);
+            if (c >= 0x80) {
+                buffer.position(lengthAt + 4); // not ASCII after all; let the encoder handle it
+                byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+                buffer.put(bytes);
+                buffer.putInt(lengthAt, bytes.length);
+                return;
+            }
+            buffer.put((byte) c);
+        }
+        buffer.putInt(lengthAt, n);
+    }
+
+    /**
+     * Forces every recorded event to disk.
+     */
+    public synchronized void sync() {
+        if (!closed) {
+            active.buffer.force();
+        }
+    }
+
+    /**
+     * Retrieves the number of events in the journal, including those recovered when it was opened.
+     * @return the event count
+     */
+    public synchronized long getEventCount() {
+        return eventCount;
+    }
+
+    /**
+     * Retrieves the number of segment files in the journal.
+     * @return the segment count
+     */
+    public synchronized int getSegmentCount() {
+        return segments.size();
+    }
+
+    /**
+     * Reads every event in the journal in the order it was recorded.
+     * @param consumer receives each event
+     */
+    public synchronized void scan(Consumer<GameEvent> consumer) {
+        for (Segment segment : segments) {
+            segment.read(0, consumer);
+        }
+    }
+
+    /**
+     * Reads the events recorded at or after a point in time, skipping whole stretches of the
+     * journal with the sparse index.
+     * @param from the earliest timestamp to return, in the same local time the events were logged in
+     * @param consumer receives each matching event, in recorded order
+     */
+    public synchronized void scanFrom(LocalDateTime from, Consumer<GameEvent> consumer) {
+        long seconds = from.toEpochSecond(ZoneOffset.UTC);
+        int nanos = from.getNano();
+        long fromNanos = seconds * 1_000_000_000L + nanos;
+        Consumer<GameEvent> filter = e -> {
+            if (e.getTimeNanos() >= fromNanos) {
+                consumer.accept(e);
+            }
+        };
+        for (Segment segment : segments) {
+            int offset = segment.offsetBefore(seconds, nanos);
+            if (offset >= 0) {
+                segment.read(offset, filter);
+            }
+        }
+    }
+
+    /**
+     * Reads the events of one game, starting in each segment at the game's first record.
+     * @param caseId the case ID of the game
+     * @return the game's events in recorded order
+     */
+    public synchronized List<GameEvent> readGame(String caseId) {
+        List<GameEvent> events = new ArrayList<>();
+        for (Segment segment : segments) {
+            int[] span = segment.caseSpans.get(caseId);
+            if (span != null) {
+                segment.read(span[0], span[1], caseId.getBytes(StandardCharsets.UTF_8), events::add);
+            }
+        }
+        return events;
+    }
+
+    /**
+     * Forces the journal to disk and stops recording. Events received after closing are ignored.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        active.buffer.force();
+        closed = true;
+    }
+
+    /**
+     * One mapped segment file and its sparse index.
+     */
+    private static final class Segment {
+        final Path file;
+        final long number;
+        final MappedByteBuffer buffer;
+        final Map<String, int[]> caseSpans = new HashMap<>(); // first record offset, end of last record
+        int end;
+        private long count;
+        private long maxSeconds = Long.MIN_VALUE;
+        private int maxNanos;
+        private long[] indexSeconds = new long[16];
+        private int[] indexNanos = new int[16];
+        private int[] indexOffsets = new int[16];
+        private int indexSize;
+
+        Segment(Path file, long number, MappedByteBuffer buffer) {
+            this.file = file;
+            this.number = number;
+            this.buffer = buffer;
+        }
+
+        static Segment open(Path file, long number, boolean writable) throws IOException {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                MappedByteBuffer buffer = channel.map(
+                        writable ? FileChannel.MapMode.READ_WRITE : FileChannel.MapMode.READ_ONLY, 0, channel.size());
+                return new Segment(file, number, buffer);
+            }
+        }
+
+        /**
+         * Indexes every valid record and returns how many there are. A writable segment is cut at
+         * the first invalid record and zeroed from there on.
+         */
+        long scan(boolean writable) {
+            CRC32C check = new CRC32C();
+            String caseId = null;
+            byte[] caseIdBytes = null;
+            int offset = 0;
+            int limit = buffer.capacity();
+            while (offset + FRAME_BYTES <= limit) {
+                int length = buffer.getInt(offset);
+                if (length <= FIXED_BODY_BYTES || length > limit - offset - FRAME_BYTES) {
+                    break;
+                }
+                check.reset();
+                check.update(buffer.slice(offset + FRAME_BYTES, length));
+                if ((int) check.getValue() != buffer.getInt(offset + 4)) {
+                    break;
+                }
+                int body = offset + FRAME_BYTES;
+                if (caseIdBytes == null || !equalsString(buffer, body + FIXED_BODY_BYTES, caseIdBytes)) {
+                    caseId = decodeString(buffer, body + FIXED_BODY_BYTES);
+                    caseIdBytes = caseId == null ? null : caseId.getBytes(StandardCharsets.UTF_8);
+                }
+                index(caseId, buffer.getLong(body), buffer.getInt(body + 8), offset, body + length);
+                offset = body + length;
+            }
+            end = offset;
+            if (writable) {
+                boolean dirty = false;
+                for (int i = offset; i < limit; i++) {
+                    if (buffer.get(i) != 0) {
+                        buffer.put(i, (byte) 0);
+                        dirty = true;
+                    }
+                }
+                if (dirty) {
+                    System.out.println("Recovered journal segment " + file + ": discarded a torn tail after byte "
+                            + offset);
+                    buffer.force();
+                }
+            }
+            return count;
+        }
+
+        void index(String caseId, long seconds, int nanos, int offset, int next) {
+            if (caseId != null) {
+                int[] span = caseSpans.get(caseId);
+                if (span == null) {
+                    caseSpans.put(caseId, new int[] { offset, next });
+                } else {
+                    span[1] = next;
+                }
+            }
+            if (count % INDEX_STRIDE == 0) {
+                if (indexSize == indexOffsets.length) {
+                    indexSeconds = Arrays.copyOf(indexSeconds, indexSize * 2);
+                    indexNanos = Arrays.copyOf(indexNanos, indexSize * 2);
+                    indexOffsets = Arrays.copyOf(indexOffsets, indexSize * 2);
+                }
+                // Each entry holds the latest time before its record, so timestamps need not be ordered
+                indexSeconds[indexSize] = maxSeconds;
+                indexNanos[indexSize] = maxNanos;
+                indexOffsets[indexSize] = offset;
+                indexSize++;
+            }
+            if (seconds > maxSeconds || (seconds == maxSeconds && nanos > maxNanos)) {
+                maxSeconds = seconds;
+                maxNanos = nanos;
+            }
+            count++;
+        }
+
+        /**
+         * Finds the offset of the last index entry before which every record is older than the
+         * given time, or -1 if the whole segment is.
+         */
+        int offsetBefore(long seconds, int nanos) {
+            if (count == 0 || maxSeconds < seconds || (maxSeconds == seconds && maxNanos < nanos)) {
+                return -1;
+            }
+            int found = 0;
+            for (int i = 0; i < indexSize; i++) {
+                if (indexSeconds[i] > seconds || (indexSeconds[i] == seconds && indexNanos[i] >= nanos)) {
+                    break;
+                }
+                found = indexOffsets[i];
+            }
+            return found;
+        }
+
+        void read(int offset, Consumer<GameEvent> consumer) {
+            String caseId = null;
+            byte[] caseIdBytes = null;
+            while (offset < end) {
+                int length = buffer.getInt(offset);
+                int body = offset + FRAME_BYTES;
+                if (caseIdBytes == null || !equalsString(buffer, body + FIXED_BODY_BYTES, caseIdBytes)) {
+                    caseId = decodeString(buffer, body + FIXED_BODY_BYTES);
+                    caseIdBytes = caseId == null ? null : caseId.getBytes(StandardCharsets.UTF_8);
+                }
+                consumer.accept(decode(buffer, body, caseId));
+                offset = body + length;
+            }
+        }
+
+        /**
+         * Reads the records of one case ID between two offsets, comparing case IDs without decoding them.
+         */
+        void read(int offset, int limit, byte[] caseIdBytes, Consumer<GameEvent> consumer) {
+            String caseId = null;
+            while (offset < limit) {
+                int length = buffer.getInt(offset);
+                int body = offset + FRAME_BYTES;
+                if (equalsString(buffer, body + FIXED_BODY_BYTES, caseIdBytes)) {
+                    if (caseId == null) {
+                        caseId = new String(caseIdBytes, StandardCharsets.UTF_8);
+                    }
+                    consumer.accept(decode(buffer, body, caseId));
+                }
+                offset = body + length;
+            }
+        }
+
+        private static GameEvent decode(ByteBuffer buffer, int body, String caseId) {
+            long time = buffer.getLong(body) * 1_000_000_000L + buffer.getInt(body + 8);
+            int playerId = buffer.getInt(body + 12);
+            ActivityType activity = ACTIVITIES[buffer.getInt(body + 16)];
+            int value = buffer.getInt(body + 20);
+            int score = buffer.getInt(body + 24);
+            int at = body + FIXED_BODY_BYTES;
+            at = skipString(buffer, at);
+            String category = decodeString(buffer, at);
+            at = skipString(buffer, at);
+            String answer = decodeString(buffer, at);
+            at = skipString(buffer, at);
+            String result = decodeString(buffer, at);
+            return new GameEvent(caseId, playerId, activity, time, category, value, answer, result, score);
+        }
+
+        private static int skipString(ByteBuffer buffer, int at) {
+            int length = buffer.getInt(at);
+            return at + 4 + Math.max(0, length);
+        }
+
+        private static boolean equalsString(ByteBuffer buffer, int at, byte[] bytes) {
+            if (buffer.getInt(at) != bytes.length) {
+                return false;
+            }
+            for (int i = 0; i < bytes.length; i++) {
+                if (buffer.get(at + 4 + i) != bytes[i]) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        private static String decodeString(ByteBuffer buffer, int at) {
+            int length = buffer.getInt(at);
+            if (length < 0) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            buffer.get(at + 4, bytes);
+            return new String(bytes, StandardCharsets.UTF_8);
+        }
+    }
+}
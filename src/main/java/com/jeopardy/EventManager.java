@@ -1,51 +1,93 @@
 package com.jeopardy;
 
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
 
 /**
  * Manages event subscription and notification for a Jeopardy game.
  * Implements the Observer pattern to allow multiple listeners to receive game events.
+ * <p>
+ * By default listeners are called synchronously on the notifying thread. An asynchronous manager
+ * instead hands each event to an {@link AsyncEventBus}, so the game thread only pays for a ring slot
+ * write and every listener runs on its own consumer thread.
+ * <p>
+ * Subscribers are kept in an array indexed by {@link ActivityType#ordinal()} whose entries are
+ * immutable listener arrays. Subscribing or unsubscribing publishes a fresh copy of one entry, so
+ * notifying is a single array load and a plain loop, and subscriptions may change from any thread
+ * while events are being delivered. A notification in progress keeps using the listeners it started with.
+ * <p>
+ * Both modes treat subscriptions alike: listeners are matched with equals, a listener subscribed
+ * twice to a type receives its events twice, and unsubscribing removes one subscription.
  */
 public class EventManager {
-    private Map<ActivityType, List<Listener>> listeners = new HashMap<>();
+    private static final Listener[] NONE = new Listener[0];
+    private static final VarHandle SLOT = MethodHandles.arrayElementVarHandle(Listener[][].class);
+
+    private final Listener[][] listeners = new Listener[ActivityType.values().length][];
+    private final AsyncEventBus bus;
 
     /**
-     * Constructs an EventManager with the given initial operation types.
+     * Constructs a synchronous EventManager with the given initial operation types.
+     * Every ActivityType can be subscribed to, so the operations only document intent.
      * @param operations the ActivityTypes to initialize the manager with
      */
     public EventManager(ActivityType... operations) {
-        for (ActivityType operation : operations) {
-            this.listeners.put(operation, new ArrayList<>());
+        this(null, operations);
+    }
+
+    /**
+     * Constructs an asynchronous EventManager that dispatches through a ring buffer.
+     * Events must be published from one thread at a time.
+     * @param ringCapacity the number of ring slots, rounded up to a power of two
+     * @param policy what to do when the slowest listener falls a full ring behind
+     * @param operations the ActivityTypes to initialize the manager with
+     */
+    public EventManager(int ringCapacity, BackpressurePolicy policy, ActivityType... operations) {
+        this(new AsyncEventBus(ringCapacity, policy), operations);
+    }
+
+    private EventManager(AsyncEventBus bus, ActivityType... operations) {
+        this.bus = bus;
+        for (int i = 0; i < listeners.length; i++) {
+            listeners[i] = NONE;
         }
     }
 
     /**
      * Subscribes a listener to events of a specific type.
-     * If the type is not yet registered, it will be added automatically.
+     * Safe to call from any thread, including from inside a listener.
      * @param type the ActivityType to subscribe to
      * @param listener the Listener to be notified of events
      */
-    public void subscribe(ActivityType type, Listener listener) {
-        List<Listener> users = listeners.get(type);
-        if (users == null) {
-            users = new ArrayList<>();
-            listeners.put(type, users);
+    public synchronized void subscribe(ActivityType type, Listener listener) {
+        Listener[] users = listeners(type);
+        Listener[] updated = new Listener[users.length + 1];
+        System.arraycopy(users, 0, updated, 0, users.length);
+        updated[users.length] = listener;
+        SLOT.setRelease(listeners, type.ordinal(), updated);
+        if (bus != null) {
+            bus.subscribe(type, listener);
         }
-        users.add(listener);
     }
 
     /**
      * Unsubscribes a listener from events of a specific type.
+     * Safe to call from any thread, including from inside a listener.
      * @param type the ActivityType to unsubscribe from
      * @param listener the Listener to remove
      */
-    public void unsubscribe(ActivityType type, Listener listener) {
-        List<Listener> users = listeners.get(type);
-        if (users != null) {
-            users.remove(listener);
+    public synchronized void unsubscribe(ActivityType type, Listener listener) {
+        Listener[] users = listeners(type);
+        int index = indexOf(users, listener);
+        if (index < 0) {
+            return;
+        }
+        Listener[] updated = new Listener[users.length - 1];
+        System.arraycopy(users, 0, updated, 0, index);
+        System.arraycopy(users, index + 1, updated, index, updated.length - index);
+        SLOT.setRelease(listeners, type.ordinal(), updated.length == 0 ? NONE : updated);
+        if (bus != null) {
+            bus.unsubscribe(type, listener);
         }
     }
 
@@ -55,11 +97,54 @@ public class EventManager {
      * @param event the GameEvent to notify listeners about
      */
     public void notify(ActivityType type, GameEvent event) {
-        List<Listener> users = listeners.get(type);
-        if (users != null) {
-            for (Listener listener : users) {
-                listener.update(event);
+        if (bus != null) {
+            bus.publish(type, event);
+            return;
+        }
+        Listener[] users = listeners(type);
+        for (int i = 0; i < users.length; i++) {
+            users[i].update(event);
+        }
+    }
+
+    /**
+     * Checks whether this manager delivers events on background threads.
+     * @return true if events are dispatched through an AsyncEventBus
+     */
+    public boolean isAsync() {
+        return bus != null;
+    }
+
+    /**
+     * Blocks until every event notified so far has reached its listeners.
+     * Does nothing for a synchronous manager.
+     */
+    public void flush() {
+        if (bus != null) {
+            bus.flush();
+        }
+    }
+
+    /**
+     * Delivers outstanding events and stops the asynchronous consumers.
+     * Does nothing for a synchronous manager.
+     */
+    public void close() {
+        if (bus != null) {
+            bus.close();
+        }
+    }
+
+    private Listener[] listeners(ActivityType type) {
+        return (Listener[]) SLOT.getAcquire(listeners, type.ordinal());
+    }
+
+    private static int indexOf(Listener[] users, Listener listener) {
+        for (int i = 0; i < users.length; i++) {
+            if (users[i].equals(listener)) {
+                return i;
             }
         }
+        return -1;
     }
 }
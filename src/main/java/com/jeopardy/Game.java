@@ -1,26 +1,54 @@
 package com.jeopardy;
 
-import java.time.LocalDateTime;
+import com.zaxxer.sparsebits.SparseBitSet;
+
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Scanner;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
 
 /**
  * Represents a Jeopardy game session.
  * Manages players, categories, questions, scoring, and event notifications.
+ * <p>
+ * The categories and questions belong to a shared {@link QuestionBank} that is read-only once
+ * built; the only per-game question state is a sparse bitset of answered bank positions.
  */
 public class Game {
+    private static final QuestionBank EMPTY_BANK = new QuestionBank(new ArrayList<>());
+    private static final AtomicLong CASE_SEQUENCE = new AtomicLong();
+    private static final String PLAYER_PREFIX = "Added player: ";
+    static final String LOAD_FILE_PREFIX = "Loading file: ";
+
     private Player currentPlayer;
     private List<Player> players;
     private List<Category> categories;
+    private QuestionBank bank;
+    private String bankFile; // where the bank was loaded from, for checkpoints
+    private SparseBitSet answered;
     private EventManager eventManager;
     private List<GameEvent> eventLog;
     private String currentCaseId;
+    private GameEventLogger sharedLogger; // the process-wide log, given back on release(); null otherwise
+    private boolean recording = true;
+    private boolean replayBuzzRound; // apply() saw buzzes for the selected question
 
     // Current state tracking
     private int currentPlayerIndex = 0;
     private Category selectedCategory;
     private Question selectedQuestion;
+    private volatile BuzzArbiter buzzArbiter; // read by buzz() on any thread
+
+    // Question time limits; see enableTimers()
+    private TimingWheel timers;
+    private volatile Executor timerOwner; // read by buzz() on any thread
+    private long answerWindowMillis;
+    private long buzzWindowMillis;
+    private TimingWheel.Timeout questionTimer;
+    private long questionDeadline; // System.nanoTime() at which questionTimer fires
+    private long timerGeneration; // bumped whenever the timer is replaced, so stale expiries are ignored
 
     /**
      * Constructs a Game instance.
@@ -28,45 +56,322 @@ public class Game {
      * logging.
      */
     public Game() {
+        this(new EventManager(ActivityType.values()));
+    }
+
+    /**
+     * Constructs a Game instance that dispatches its events through the given manager.
+     * Pass an asynchronous EventManager to keep slow listeners such as the file logger
+     * off the game thread. Events are logged by the process-wide event log, which is closed
+     * once every game using it has closed.
+     * 
+     * @param eventManager the EventManager to notify of game events
+     */
+    public Game(EventManager eventManager) {
+        this(eventManager, GameEventLogger.acquireShared(), true);
+    }
+
+    /**
+     * Constructs a Game instance that reports its events to a logger shared with other games.
+     * The logger is not closed when this game closes; its owner closes it once every game
+     * using it has finished.
+     * 
+     * @param eventManager the EventManager to notify of game events
+     * @param logger the listener to receive every event, or null for no event log file
+     */
+    public Game(EventManager eventManager, Listener logger) {
+        this(eventManager, logger, false);
+    }
+
+    private Game(EventManager eventManager, Listener logger, boolean sharesLogger) {
         this.players = new ArrayList<>();
-        this.categories = new ArrayList<>();
+        this.bank = EMPTY_BANK;
+        this.categories = bank.getCategories();
+        this.answered = new SparseBitSet();
         this.eventLog = new ArrayList<>();
-        this.eventManager = new EventManager(ActivityType.values());
+        this.eventManager = eventManager;
+
+        this.sharedLogger = sharesLogger ? (GameEventLogger) logger : null;
+        if (logger != null) {
+            for (ActivityType type : ActivityType.values()) {
+                this.eventManager.subscribe(type, logger);
+            }
+        }
+
+        // The in-memory log used for reporting is recorded directly in notify() so it
+        // is always current on the game thread, whichever dispatch mode is in use.
+
+        // The sequence keeps IDs unique when many games start in the same millisecond
+        this.currentCaseId = "GAME" + System.currentTimeMillis() + "-" + CASE_SEQUENCE.incrementAndGet();
+    }
+
+    /**
+     * Rebuilds a game from a captured state, dispatching through the given manager.
+     * 
+     * @param state the state captured by {@link #capture()}
+     * @param eventManager the EventManager to notify of game events
+     * @param logger the listener to receive every event, or null for no event log file
+     * @return a Game that continues where the captured one stopped
+     */
+    public static Game restore(GameState state, EventManager eventManager, Listener logger) {
+        Game game = new Game(eventManager, logger);
+        game.currentCaseId = state.caseId;
+        game.bank = state.bank;
+        game.bankFile = state.bankFile;
+        game.categories = state.bank.getCategories();
+        game.answered = state.answered.clone();
+        game.players = state.players();
+        game.currentPlayerIndex = state.currentPlayerIndex;
+        if (state.started && !game.players.isEmpty()) {
+            game.currentPlayer = game.players.get(state.currentPlayerIndex);
+        }
+        if (state.selectedCategory != null) {
+            game.selectedCategory = state.bank.getCategory(state.selectedCategory);
+            if (game.selectedCategory != null && state.selectedValue != 0) {
+                game.selectedQuestion = game.selectedCategory.getQuestion(state.selectedValue);
+            }
+        }
+        if (state.handsOverLog) {
+            game.eventLog = state.eventLog;
+        } else {
+            game.eventLog.addAll(state.eventLog);
+        }
+        game.buzzArbiter = state.buzzArbiter;
+        game.recording = state.recording;
+        if (state.timers != null) {
+            game.enableTimers(state.timers, state.timerOwner, state.answerWindowMillis, state.buzzWindowMillis);
+            if (state.questionTimed && game.selectedQuestion != null) {
+                // Only what was left of the window when the game was captured
+                long left = state.questionDeadline - System.nanoTime();
+                game.startQuestionTimer(Math.max(0, TimeUnit.NANOSECONDS.toMillis(left)));
+            }
+        }
+        return game;
+    }
+
+    /**
+     * Captures this game's state so it can be rebuilt later with {@link #restore}.
+     * 
+     * The snapshot has its own copies of the players, answered questions and event log. It shares
+     * the read-only bank and, in buzz-in mode, the game's BuzzArbiter, which is handed over as it
+     * is, open round included, so only one of the game and its restored copy should go on being played.
+     * 
+     * @return a snapshot of the game
+     */
+    public GameState capture() {
+        return capture(new ArrayList<>(eventLog), false);
+    }
+
+    /**
+     * Captures this game's state for passivation and releases the game, as {@link #release()}
+     * does. The event log is moved into the state rather than copied, and moves back into the
+     * game the state is restored to, so a passivated game holds one copy of its history. The
+     * state must be restored at most once, and this game must not be used again.
+     * 
+     * @return the captured state
+     */
+    GameState park() {
+        GameState state = capture(eventLog, true);
+        eventLog = new ArrayList<>();
+        release();
+        return state;
+    }
+
+    private GameState capture(List<GameEvent> log, boolean handOver) {
+        return new GameState(currentCaseId, bank, bankFile, players, currentPlayer != null, currentPlayerIndex,
+                answered, selectedCategory, selectedQuestion, log, buzzArbiter, recording, timers, timerOwner,
+                answerWindowMillis, buzzWindowMillis, questionTimer != null, questionDeadline, handOver);
+    }
+
+    /**
+     * Takes a checkpoint of this game for {@link GameCheckpointer}. Unlike {@link #capture()} it
+     * records only the position in the event log, not the events, so it is cheap enough to take
+     * on the game thread every few seconds.
+     * 
+     * @return a checkpoint that shares nothing mutable with the game
+     */
+    public GameCheckpoint checkpoint() {
+        return new GameCheckpoint(currentCaseId, bankFile, bank, players, currentPlayer != null,
+                currentPlayerIndex, answered, selectedCategory, selectedQuestion, eventLog.size());
+    }
+
+    /**
+     * Applies one logged event directly to this game's state, as {@link GameReplayer} does. The
+     * event is appended to the event log; listeners are not notified and no timers or arbiter
+     * are involved. Loading a bank is left to the caller (see {@link #useBank}).
+     * <p>
+     * Logged scores are taken as they are rather than recomputed. In buzz-in mode a wrong answer
+     * leaves the question open, and it only counts as answered once another question is selected
+     * or a timeout closes it, since the log does not say when the arbiter closed it.
+     * 
+     * @param event the event to apply, in the order it was logged
+     */
+    void apply(GameEvent event) {
+        eventLog.add(event);
+        switch (event.getActivity()) {
+            case ENTER_PLAYER_NAME: {
+                String details = event.getCategory();
+                String name = details != null && details.startsWith(PLAYER_PREFIX)
+                        ? details.substring(PLAYER_PREFIX.length())
+                        : details;
+                players.add(new Player(event.getPlayerId(), name));
+                break;
+            }
+            case START_GAME:
+                if (!players.isEmpty()) {
+                    currentPlayerIndex = 0;
+                    currentPlayer = players.get(0);
+                }
+                break;
+            case SELECT_CATEGORY:
+                closeReplayedBuzzRound();
+                selectedCategory = bank.getCategory(event.getCategory());
+                selectedQuestion = null;
+                break;
+            case SELECT_QUESTION:
+                closeReplayedBuzzRound();
+                selectedCategory = bank.getCategory(event.getCategory());
+                selectedQuestion = selectedCategory == null ? null : selectedCategory.getQuestion(event.getQuestionValue());
+                break;
+            case BUZZ_IN:
+            case BUZZ_REJECTED:
+                replayBuzzRound = true;
+                break;
+            case ANSWER_QUESTION:
+                applyAnswer(event);
+                break;
+            case SCORE_UPDATED:
+                setReplayedScore(event.getPlayerId(), event.getQuestionValue()); // the score rides in the value field
+                break;
+            case QUESTION_TIMEOUT:
+                if (!replayBuzzRound) {
+                    markReplayedAnswered();
+                    passTurnAfter(event.getPlayerId());
+                    selectedCategory = null;
+                    selectedQuestion = null;
+                } else if (event.getPlayerId() == 0) {
+                    closeReplayedBuzzRound(); // nobody buzzed; the selector keeps control
+                }
+                break;
+            default:
+                break;
+        }
+    }
+
+    private void applyAnswer(GameEvent event) {
+        setReplayedScore(event.getPlayerId(), event.getScoreAfterPlay());
+        boolean correct = "Correct".equals(event.getResult());
+        if (!replayBuzzRound) {
+            markReplayedAnswered();
+            passTurnAfter(event.getPlayerId());
+            selectedCategory = null;
+            selectedQuestion = null;
+        } else if (correct) {
+            currentPlayerIndex = event.getPlayerId() - 1;
+            currentPlayer = players.get(currentPlayerIndex);
+            closeReplayedBuzzRound();
+        }
+    }
 
-        // Default observer
-        GameEventLogger logger = new GameEventLogger();
-        for (ActivityType type : ActivityType.values()) {
-            this.eventManager.subscribe(type, logger);
+    private void closeReplayedBuzzRound() {
+        if (replayBuzzRound) {
+            markReplayedAnswered();
+            replayBuzzRound = false;
+            selectedCategory = null;
+            selectedQuestion = null;
         }
+    }
 
-        // Also subscribe internal logger to keep track of events in memory for
-        // reporting
-        Listener internalLogger = event -> eventLog.add(event);
-        for (ActivityType type : ActivityType.values()) {
-            this.eventManager.subscribe(type, internalLogger);
+    private void markReplayedAnswered() {
+        if (selectedQuestion != null && selectedQuestion.getBankIndex() >= 0) {
+            answered.set(selectedQuestion.getBankIndex());
         }
+    }
 
-        this.currentCaseId = "GAME" + System.currentTimeMillis(); // Simple ID generation
+    private void passTurnAfter(int playerId) {
+        if (playerId > 0 && !players.isEmpty()) {
+            currentPlayerIndex = playerId % players.size(); // IDs are 1..n, so this is the next index
+            currentPlayer = players.get(currentPlayerIndex);
+        }
+    }
+
+    private void setReplayedScore(int playerId, int score) {
+        if (playerId > 0 && playerId <= players.size()) {
+            Player p = players.get(playerId - 1);
+            p.addPoints(score - p.getScore());
+        }
+    }
+
+    /**
+     * Gives this game the case ID of the game it is being rebuilt from.
+     * 
+     * @param caseId the case ID
+     */
+    void setCaseId(String caseId) {
+        this.currentCaseId = caseId;
     }
 
     /**
      * Loads game data from a file.
-     * Determines the file format and uses the appropriate loader.
+     * Determines the file format and uses the appropriate loader, reusing an already parsed
+     * bank when the same file has been loaded before.
      * 
      * @param fileName the path to the file to load
      */
     public void loadGameData(String fileName) {
-        notify(ActivityType.LOAD_FILE, 0, "Loading file: " + fileName, null, 0);
+        notify(ActivityType.LOAD_FILE, 0, LOAD_FILE_PREFIX + fileName, null, 0);
         DataLoaderFactory factory = new DataLoaderFactory();
-        GameDataLoader loader = factory.getLoader(fileName);
-        if (loader != null) {
-            this.categories = loader.load(fileName);
+        QuestionBank bank = factory.loadBank(fileName);
+        if (bank != null) {
+            this.bank = bank;
+            this.bankFile = fileName;
+            this.categories = bank.getCategories();
+            this.answered = new SparseBitSet();
             notify(ActivityType.FILE_LOADED_SUCCESSFULLY, 0, "Loaded " + categories.size() + " categories", null, 0);
         } else {
             System.out.println("Error: Unsupported file format.");
         }
     }
 
+    /**
+     * Plays this game on an already loaded bank without logging a file load, e.g. for simulation.
+     * 
+     * @param bank the bank to play
+     * @param fileName the file the bank was loaded from, or null if it has none
+     */
+    void useBank(QuestionBank bank, String fileName) {
+        this.bank = bank;
+        this.bankFile = fileName;
+        this.categories = bank.getCategories();
+        this.answered = new SparseBitSet();
+    }
+
+    /**
+     * Turns event recording on or off. A game that does not record skips both the in-memory log
+     * and its listeners, so headless runs pay nothing per event.
+     * 
+     * @param recording false to drop every event
+     */
+    void setRecording(boolean recording) {
+        this.recording = recording;
+    }
+
+    /**
+     * Resets the board and every score so the same players can play the bank again from the start.
+     * The event log is kept.
+     */
+    void rematch() {
+        cancelQuestionTimer();
+        answered.clear();
+        for (Player p : players) {
+            p.resetScore();
+        }
+        currentPlayerIndex = 0;
+        currentPlayer = players.isEmpty() ? null : players.get(0);
+        selectedCategory = null;
+        selectedQuestion = null;
+    }
+
     /**
      * Adds a new player to the game.
      * 
@@ -75,7 +380,7 @@ public class Game {
     public void addPlayer(String name) {
         Player player = new Player(players.size() + 1, name);
         players.add(player);
-        notify(ActivityType.ENTER_PLAYER_NAME, player.getId(), "Added player: " + name, null, 0);
+        notify(ActivityType.ENTER_PLAYER_NAME, player.getId(), PLAYER_PREFIX + name, null, 0);
     }
 
     /**
@@ -98,14 +403,32 @@ public class Game {
      * @return true if the category exists and was selected, false otherwise
      */
     public boolean selectCategory(String categoryName) {
-        for (Category c : categories) {
-            if (c.getName().equalsIgnoreCase(categoryName)) {
-                selectedCategory = c;
-                notify(ActivityType.SELECT_CATEGORY, currentPlayer.getId(), categoryName, null, 0);
-                return true;
-            }
+        Category c = bank.getCategory(categoryName);
+        if (c == null) {
+            return false;
         }
-        return false;
+        selectedCategory = c;
+        notify(ActivityType.SELECT_CATEGORY, currentPlayer.getId(), categoryName, null, 0);
+        return true;
+    }
+
+    /**
+     * Finds a category of this game by name, ignoring case.
+     * 
+     * @param categoryName the name of the category to find
+     * @return the matching Category, or null if there is none
+     */
+    public Category getCategory(String categoryName) {
+        return bank.getCategory(categoryName);
+    }
+
+    /**
+     * Retrieves the bank the game is played from.
+     * 
+     * @return the question bank, or null if no data has been loaded
+     */
+    QuestionBank getBank() {
+        return bank;
     }
 
     /**
@@ -120,9 +443,15 @@ public class Game {
             return null;
         }
         Question q = selectedCategory.getQuestion(value);
-        if (q != null && !q.isAnswered()) {
+        if (q != null && !isAnswered(q)) {
             selectedQuestion = q;
             notify(ActivityType.SELECT_QUESTION, currentPlayer.getId(), selectedCategory.getName(), null, value);
+            if (buzzArbiter != null) {
+                buzzArbiter.open(players.size(), System.nanoTime());
+                startQuestionTimer(buzzWindowMillis);
+            } else {
+                startQuestionTimer(answerWindowMillis);
+            }
             return q;
         } else {
             return null;
@@ -140,6 +469,11 @@ public class Game {
         if (selectedQuestion == null) {
             return;
         }
+        if (buzzArbiter != null) {
+            answerBuzzedQuestion(answer);
+            return;
+        }
+        cancelQuestionTimer();
 
         boolean correct = selectedQuestion.checkAnswer(answer);
         String result = correct ? "Correct" : "Incorrect";
@@ -149,7 +483,9 @@ public class Game {
             currentPlayer.addPoints(selectedQuestion.getValue());
         }
 
-        selectedQuestion.setAnswered(true);
+        if (selectedQuestion.getBankIndex() >= 0) {
+            answered.set(selectedQuestion.getBankIndex());
+        }
 
         notify(ActivityType.ANSWER_QUESTION, currentPlayer.getId(), selectedCategory.getName(), answer,
                 selectedQuestion.getValue(), result, currentPlayer.getScore());
@@ -164,42 +500,314 @@ public class Game {
     }
 
     /**
-     * Generates a summary report of the game in the specified format.
+     * Switches the game to buzz-in mode: after a question is selected every player races to buzz,
+     * and the first valid buzz earns the right to answer. A correct answer gives the buzzer the
+     * points and control of the board; a wrong one reopens the question to the other players.
      * 
-     * @param format the report format ("TXT", "PDF", or "DOCX")
+     * @param arbiter the arbiter that decides buzzes, configured with the arm delay, lockout and penalty windows
      */
-    public void generateSummaryReport(String format) {
-        ReportGenerator generator = null;
-        if (format.equalsIgnoreCase("TXT")) {
-            generator = new TXTReport();
-        } else if (format.equalsIgnoreCase("PDF")) {
-            generator = new PDFReport();
-        } else if (format.equalsIgnoreCase("DOCX")) {
-            generator = new DOCXReport();
+    public void enableBuzzIn(BuzzArbiter arbiter) {
+        this.buzzArbiter = arbiter;
+    }
+
+    /**
+     * Registers a buzz from a player on the selected question. Safe to call from any thread.
+     * 
+     * @param playerId the ID of the buzzing player
+     * @return the outcome of the buzz; CLOSED if buzz-in mode is off or no question is open
+     */
+    public BuzzArbiter.Result buzz(int playerId) {
+        BuzzArbiter arbiter = buzzArbiter;
+        if (arbiter == null) {
+            return BuzzArbiter.Result.CLOSED;
+        }
+        // Player IDs are assigned 1..n in order
+        BuzzArbiter.Result result = arbiter.buzz(playerId - 1, System.nanoTime());
+        Executor owner = timerOwner;
+        if (result == BuzzArbiter.Result.WON && owner != null) {
+            // The timer belongs to the game thread, so the answer window is started there
+            owner.execute(this::startAnswerWindow);
+        }
+        return result;
+    }
+
+    /**
+     * Replaces the buzz window with what is left of the winner's answer window, counted from
+     * the winning buzz. Does nothing once the question has been answered or closed.
+     */
+    private void startAnswerWindow() {
+        if (selectedQuestion == null || buzzArbiter == null || buzzArbiter.getWinner() < 0) {
+            return;
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(answerWindowMillis)
+                - (System.nanoTime() - buzzArbiter.getWinnerStamp());
+        startQuestionTimer(Math.max(0, TimeUnit.NANOSECONDS.toMillis(remaining)) + 1);
+    }
+
+    /**
+     * Retrieves the player who has claimed the selected question in buzz-in mode.
+     * 
+     * @return the winning Player, or null if nobody has buzzed in successfully
+     */
+    public Player getBuzzWinner() {
+        if (buzzArbiter == null) {
+            return null;
+        }
+        int winner = buzzArbiter.getWinner();
+        return winner < 0 ? null : players.get(winner);
+    }
+
+    private void answerBuzzedQuestion(String answer) {
+        int winner = buzzArbiter.getWinner();
+        if (winner < 0) {
+            return; // nobody has the right to answer yet
+        }
+        cancelQuestionTimer();
+        logBuzzes();
+
+        Player answering = players.get(winner);
+        boolean correct = selectedQuestion.checkAnswer(answer);
+        if (correct) {
+            answering.addPoints(selectedQuestion.getValue());
+        }
+        notify(ActivityType.ANSWER_QUESTION, answering.getId(), selectedCategory.getName(), answer,
+                selectedQuestion.getValue(), correct ? "Correct" : "Incorrect", answering.getScore());
+        notify(ActivityType.SCORE_UPDATED, answering.getId(), "Score updated", null, answering.getScore());
+
+        long now = System.nanoTime();
+        if (correct) {
+            // The player who answered correctly picks next
+            currentPlayerIndex = winner;
+            currentPlayer = answering;
+        } else if (reopenAfterMiss(winner, now)) {
+            return;
+        }
+        closeBuzzedQuestion();
+    }
+
+    /**
+     * Reopens the selected question after the given player missed it.
+     * @return true if someone may still buzz in
+     */
+    private boolean reopenAfterMiss(int winner, long now) {
+        buzzArbiter.reopen(winner, now);
+        for (int i = 0; i < players.size(); i++) {
+            if (buzzArbiter.canBuzz(i, now)) {
+                startQuestionTimer(buzzWindowMillis);
+                return true;
+            }
         }
+        return false;
+    }
 
+    private void closeBuzzedQuestion() {
+        if (selectedQuestion.getBankIndex() >= 0) {
+            answered.set(selectedQuestion.getBankIndex());
+        }
+        buzzArbiter.close();
+        selectedCategory = null;
+        selectedQuestion = null;
+    }
+
+    /**
+     * Puts a time limit on every question. In classic mode the current player has the answer
+     * window to answer once a question is selected; in buzz-in mode the players have the buzz
+     * window to buzz in, and whoever wins has the answer window, counted from the winning buzz.
+     * A question that runs out of time is logged as QUESTION_TIMEOUT: in classic mode it is
+     * closed and the turn passes on, in buzz-in mode a silent winner is treated as a wrong answer
+     * and a question nobody buzzes on is closed with control staying where it was.
+     * <p>
+     * Timers only hand the expiry to {@code owner}, which must run it on the thread that drives
+     * this game, e.g. {@link GameActor#executor()}.
+     * 
+     * @param wheel the timing wheel to schedule on, usually shared by many games
+     * @param owner runs expiries on the game's thread
+     * @param answerWindowMillis time allowed to answer
+     * @param buzzWindowMillis time allowed to buzz in; ignored in classic mode
+     */
+    public void enableTimers(TimingWheel wheel, Executor owner, long answerWindowMillis, long buzzWindowMillis) {
+        this.timers = wheel;
+        this.timerOwner = owner;
+        this.answerWindowMillis = answerWindowMillis;
+        this.buzzWindowMillis = buzzWindowMillis;
+    }
+
+    private void startQuestionTimer(long millis) {
+        cancelQuestionTimer();
+        if (timers == null) {
+            return;
+        }
+        long generation = timerGeneration;
+        Executor owner = timerOwner;
+        questionDeadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(millis);
+        questionTimer = timers.schedule(millis, TimeUnit.MILLISECONDS,
+                () -> owner.execute(() -> onQuestionTimeout(generation)));
+    }
+
+    private void cancelQuestionTimer() {
+        timerGeneration++;
+        if (questionTimer != null) {
+            questionTimer.cancel();
+            questionTimer = null;
+        }
+    }
+
+    private void onQuestionTimeout(long generation) {
+        if (generation != timerGeneration || selectedQuestion == null) {
+            return; // answered or replaced while the expiry was on its way
+        }
+        questionTimer = null;
+        if (buzzArbiter == null) {
+            notify(ActivityType.QUESTION_TIMEOUT, currentPlayer.getId(), selectedCategory.getName(), null,
+                    selectedQuestion.getValue(), "No answer", currentPlayer.getScore());
+            if (selectedQuestion.getBankIndex() >= 0) {
+                answered.set(selectedQuestion.getBankIndex());
+            }
+            currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+            currentPlayer = players.get(currentPlayerIndex);
+            selectedCategory = null;
+            selectedQuestion = null;
+            return;
+        }
+
+        long now = System.nanoTime();
+        int winner = buzzArbiter.getWinner();
+        if (winner < 0) {
+            logBuzzes();
+            notify(ActivityType.QUESTION_TIMEOUT, 0, selectedCategory.getName(), null, selectedQuestion.getValue(),
+                    "No buzz", 0);
+            closeBuzzedQuestion();
+            return;
+        }
+        long remaining = TimeUnit.MILLISECONDS.toNanos(answerWindowMillis) - (now - buzzArbiter.getWinnerStamp());
+        if (remaining > 0) {
+            // The buzz window ran out before the winner's answer window was started; start it now
+            startAnswerWindow();
+            return;
+        }
+        logBuzzes();
+        Player silent = players.get(winner);
+        notify(ActivityType.QUESTION_TIMEOUT, silent.getId(), selectedCategory.getName(), null,
+                selectedQuestion.getValue(), "No answer", silent.getScore());
+        if (!reopenAfterMiss(winner, now)) {
+            closeBuzzedQuestion();
+        }
+    }
+
+    /**
+     * Records the outcome of every player's buzz in the round that just ended.
+     */
+    private void logBuzzes() {
+        for (int i = 0; i < players.size(); i++) {
+            BuzzArbiter.Result outcome = buzzArbiter.getOutcome(i);
+            if (outcome == null) {
+                continue;
+            }
+            String result;
+            if (outcome == BuzzArbiter.Result.WON) {
+                result = "Won";
+            } else if (outcome == BuzzArbiter.Result.LATE) {
+                result = "Late by " + buzzArbiter.getDelayAfterWinner(i) / 1000 + " us";
+            } else if (outcome == BuzzArbiter.Result.EARLY) {
+                result = "Early";
+            } else {
+                result = "Locked out";
+            }
+            int count = buzzArbiter.getBuzzCount(i);
+            if (count > 1) {
+                result += " (" + count + " buzzes)";
+            }
+            notify(outcome == BuzzArbiter.Result.WON ? ActivityType.BUZZ_IN : ActivityType.BUZZ_REJECTED,
+                    players.get(i).getId(), selectedCategory.getName(), null, selectedQuestion.getValue(), result, 0);
+        }
+    }
+
+    /**
+     * Checks if a question has been answered in this game.
+     * 
+     * @param question a question from this game's categories
+     * @return true if the question has been answered, false otherwise
+     */
+    public boolean isAnswered(Question question) {
+        int index = question.getBankIndex();
+        return index >= 0 && answered.get(index);
+    }
+
+    /**
+     * Generates a summary report of the game in the specified format, on this thread.
+     * Use a {@link ReportService} to render several formats without blocking the game.
+     * 
+     * @param format the report format ("TXT", "PDF", or "DOCX")
+     */
+    public void generateSummaryReport(String format) {
+        ReportGenerator generator = new ReportGeneratorFactory().getGenerator(format);
         if (generator != null) {
             generator.generateReport(this);
-            notify(ActivityType.GENERATE_REPORT, 0, "Generated " + format + " report", null, 0);
+            reportGenerated(format);
+        }
+    }
+
+    /**
+     * Logs that a report of this game has been written.
+     * 
+     * @param format the report format
+     */
+    void reportGenerated(String format) {
+        notify(ActivityType.GENERATE_REPORT, 0, "Generated " + format + " report", null, 0);
+    }
+
+    /**
+     * Ends the game session.
+     * Fires an EXIT_GAME event, which forces the event log to disk, waits for asynchronous
+     * listeners to catch up and then gives back the shared event log.
+     */
+    public void close() {
+        notify(ActivityType.EXIT_GAME, 0, "Game Exited", null, 0);
+        release();
+    }
+
+    /**
+     * Shuts down this game's event dispatch without ending the game, e.g. after its state has been
+     * captured for passivation. Waits for asynchronous listeners to catch up.
+     */
+    void release() {
+        cancelQuestionTimer();
+        eventManager.close();
+        if (sharedLogger != null) {
+            GameEventLogger.releaseShared(sharedLogger);
+            sharedLogger = null;
         }
     }
 
+    /**
+     * Retrieves the case ID that identifies this game in the event log.
+     * 
+     * @return the case ID
+     */
+    public String getCaseId() {
+        return currentCaseId;
+    }
+
     private void notify(ActivityType type, int playerId, String details, String answer, int value) {
         notify(type, playerId, details, answer, value, null, 0);
     }
 
     private void notify(ActivityType type, int playerId, String category, String answer, int value, String result,
             int score) {
+        if (!recording) {
+            return;
+        }
         GameEvent event = new GameEvent(
                 currentCaseId,
                 playerId,
                 type,
-                LocalDateTime.now(),
+                EventClock.now(),
                 category, // reusing category field for details/category
                 value,
                 answer,
                 result,
                 score);
+        eventLog.add(event);
         eventManager.notify(type, event);
     }
 
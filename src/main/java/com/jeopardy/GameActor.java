@@ -0,0 +1,325 @@
+package com.jeopardy;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * Runs a Game as a single-writer actor so it can be driven safely from any number of threads.
+ * <p>
+ * Commands are appended to a lock-free mailbox and executed one at a time, in submission order,
+ * by a virtual thread that is started when the mailbox goes from empty to non-empty and exits once
+ * it has drained it. An idle actor therefore holds no thread, and thousands of actors share the
+ * carrier threads of the virtual thread scheduler. Every command returns a CompletableFuture that
+ * completes with its result, or exceptionally if the command threw; a failing command does not
+ * stop the actor.
+ * <p>
+ * Only the actor's thread may touch the Game once it is wrapped. Reads such as scores or the
+ * event log should also be submitted, e.g. {@code actor.submit(Game::capture)}.
+ * <p>
+ * An actor built with a restorer can be passivated: on the actor's thread, the game is captured
+ * as a {@link GameState} and released. The next command rebuilds it first, so a caller holding
+ * the actor never notices, and no command can reach the released game. If a timed question was
+ * open, the game is rebuilt when its time runs out, so the timeout is logged as if the game had
+ * never been passivated.
+ */
+public class GameActor implements AutoCloseable {
+    /** Commands run per turn on a carrier before the actor yields to other actors. */
+    private static final int BATCH_LIMIT = 64;
+
+    private static final ExecutorService DRAINERS = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("game-actor-", 0).factory());
+
+    private final String caseId;
+    private final Function<GameState, Game> restorer;
+    private Game game; // only touched on the actor's thread; null while passivated
+    private GameState parked; // only touched on the actor's thread
+    private TimingWheel.Timeout wake; // rebuilds a parked game when its open question times out
+    private volatile boolean passivated;
+    private final ConcurrentLinkedQueue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean draining = new AtomicBoolean();
+    private final AtomicBoolean closed = new AtomicBoolean();
+    private boolean gameClosed; // only touched on the actor's thread
+    private volatile long lastActive = System.currentTimeMillis();
+
+    /**
+     * Wraps a game in an actor. The caller must not use the game directly afterwards.
+     * @param game the Game this actor owns
+     */
+    public GameActor(Game game) {
+        this(game, null);
+    }
+
+    /**
+     * Wraps a game in an actor that can be passivated.
+     * @param game the Game this actor owns
+     * @param restorer rebuilds the game from its captured state after passivation, or null if it never is
+     */
+    GameActor(Game game, Function<GameState, Game> restorer) {
+        this.game = game;
+        this.caseId = game.getCaseId();
+        this.restorer = restorer;
+    }
+
+    /**
+     * Queues a command to run against the game on the actor's thread.
+     * @param command the command to run
+     * @param <T> the command's result type
+     * @return a future completed with the command's result
+     */
+    public <T> CompletableFuture<T> submit(Function<Game, T> command) {
+        CompletableFuture<T> result = new CompletableFuture<>();
+        if (closed.get()) {
+            result.completeExceptionally(rejected());
+            return result;
+        }
+        enqueue(command, result);
+        return result;
+    }
+
+    private <T> void enqueue(Function<Game, T> command, CompletableFuture<T> result) {
+        mailbox.add(() -> {
+            if (gameClosed) {
+                result.completeExceptionally(rejected()); // raced with shutdown()
+                return;
+            }
+            lastActive = System.currentTimeMillis();
+            try {
+                result.complete(command.apply(live()));
+            } catch (Throwable t) {
+                result.completeExceptionally(t);
+            }
+        });
+        schedule();
+    }
+
+    private RejectedExecutionException rejected() {
+        return new RejectedExecutionException("Game " + caseId + " is closed");
+    }
+
+    private Game live() {
+        if (game == null) {
+            if (wake != null) {
+                wake.cancel();
+                wake = null;
+            }
+            game = restorer.apply(parked);
+            parked = null;
+            passivated = false;
+        }
+        return game;
+    }
+
+    /**
+     * Queues a passivation behind every command already submitted: the game is captured and
+     * released, and rebuilt by the next command.
+     * @return a future completed with true if the game was passivated, false if it already was or is closed
+     */
+    CompletableFuture<Boolean> passivate() {
+        CompletableFuture<Boolean> done = new CompletableFuture<>();
+        if (restorer == null || closed.get()) {
+            done.complete(false);
+            return done;
+        }
+        mailbox.add(() -> {
+            if (gameClosed || game == null) {
+                done.complete(false);
+                return;
+            }
+            try {
+                parked = game.park();
+                game = null;
+                wake = parked.scheduleQuestionDeadline(() -> submit(g -> null));
+                passivated = true;
+                done.complete(true);
+            } catch (Throwable t) {
+                done.completeExceptionally(t);
+            }
+        });
+        schedule();
+        return done;
+    }
+
+    /**
+     * Tells when the actor last ran a command against the game. Passivations and checkpoints do
+     * not count. Safe from any thread.
+     * @return the time in milliseconds since the epoch
+     */
+    long getLastActive() {
+        return lastActive;
+    }
+
+    /**
+     * Tells whether the game is currently passivated. Safe from any thread.
+     * @return true if the game has been released and not yet rebuilt
+     */
+    boolean isPassivated() {
+        return passivated;
+    }
+
+    /**
+     * Queues a checkpoint of the game, taken on the actor's thread without rebuilding a passivated game.
+     * @return a future completed with the checkpoint
+     */
+    CompletableFuture<GameCheckpoint> checkpoint() {
+        CompletableFuture<GameCheckpoint> done = new CompletableFuture<>();
+        mailbox.add(() -> {
+            try {
+                done.complete(game != null ? game.checkpoint() : parked.checkpoint());
+            } catch (Throwable t) {
+                done.completeExceptionally(t);
+            }
+        });
+        schedule();
+        return done;
+    }
+
+    /**
+     * Queues {@link Game#addPlayer(String)}.
+     * @param name the name of the player to add
+     * @return a future completed once the player has been added
+     */
+    public CompletableFuture<Void> addPlayer(String name) {
+        return submit(g -> {
+            g.addPlayer(name);
+            return null;
+        });
+    }
+
+    /**
+     * Queues {@link Game#loadGameData(String)}.
+     * @param fileName the path to the file to load
+     * @return a future completed once the bank has been loaded
+     */
+    public CompletableFuture<Void> loadGameData(String fileName) {
+        return submit(g -> {
+            g.loadGameData(fileName);
+            return null;
+        });
+    }
+
+    /**
+     * Queues {@link Game#startGame()}.
+     * @return a future completed once the game has started
+     */
+    public CompletableFuture<Void> startGame() {
+        return submit(g -> {
+            g.startGame();
+            return null;
+        });
+    }
+
+    /**
+     * Queues {@link Game#selectCategory(String)}.
+     * @param categoryName the name of the category to select
+     * @return a future completed with true if the category was selected
+     */
+    public CompletableFuture<Boolean> selectCategory(String categoryName) {
+        return submit(g -> g.selectCategory(categoryName));
+    }
+
+    /**
+     * Queues {@link Game#selectQuestion(int)}.
+     * @param value the point value of the question to select
+     * @return a future completed with the selected Question, or null if it is unavailable
+     */
+    public CompletableFuture<Question> selectQuestion(int value) {
+        return submit(g -> g.selectQuestion(value));
+    }
+
+    /**
+     * Queues {@link Game#answerQuestion(String)}.
+     * @param answer the answer provided by the player
+     * @return a future completed once the answer has been scored
+     */
+    public CompletableFuture<Void> answerQuestion(String answer) {
+        return submit(g -> {
+            g.answerQuestion(answer);
+            return null;
+        });
+    }
+
+    /**
+     * Queues {@link Game#generateSummaryReport(String)}.
+     * @param format the report format ("TXT", "PDF", or "DOCX")
+     * @return a future completed once the report has been written
+     */
+    public CompletableFuture<Void> generateSummaryReport(String format) {
+        return submit(g -> {
+            g.generateSummaryReport(format);
+            return null;
+        });
+    }
+
+    /**
+     * Retrieves an Executor that runs tasks on the actor's thread, in mailbox order, e.g. as the
+     * owner passed to {@link Game#enableTimers}. Tasks submitted after close are dropped.
+     * @return an Executor backed by this actor's mailbox
+     */
+    public Executor executor() {
+        return task -> submit(g -> {
+            task.run();
+            return null;
+        });
+    }
+
+    /**
+     * Retrieves the case ID of the wrapped game. Safe from any thread; the ID never changes.
+     * @return the case ID
+     */
+    public String getCaseId() {
+        return caseId;
+    }
+
+    /**
+     * Queues {@link Game#close()} behind every command already submitted and rejects any later
+     * command. Does not wait; use {@link #shutdown()} for a future.
+     */
+    @Override
+    public void close() {
+        shutdown();
+    }
+
+    /**
+     * Queues {@link Game#close()} behind every command already submitted and rejects any later command.
+     * @return a future completed once the game has closed
+     */
+    public CompletableFuture<Void> shutdown() {
+        CompletableFuture<Void> done = new CompletableFuture<>();
+        if (!closed.compareAndSet(false, true)) {
+            done.completeExceptionally(rejected());
+            return done;
+        }
+        enqueue(g -> {
+            g.close();
+            gameClosed = true;
+            return null;
+        }, done);
+        return done;
+    }
+
+    private void schedule() {
+        if (draining.compareAndSet(false, true)) {
+            DRAINERS.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        int ran = 0;
+        Runnable command;
+        while (ran < BATCH_LIMIT && (command = mailbox.poll()) != null) {
+            command.run();
+            ran++;
+        }
+        draining.set(false);
+        // A command may have arrived after the last poll but before the flag was cleared
+        if (!mailbox.isEmpty()) {
+            schedule();
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.jeopardy;
+
+import com.zaxxer.sparsebits.SparseBitSet;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.util.List;
+import java.util.zip.CRC32;
+
+/**
+ * A compact checkpoint of a game's session state: players and scores, turn, answered questions,
+ * selection, the file its bank came from, that file's content hash and how many events it had logged.
+ * <p>
+ * Checkpoints are taken on the game thread with {@link Game#checkpoint()} and written out by a
+ * {@link GameCheckpointer}. The events themselves are not included; a restore replays whatever
+ * the event log holds beyond {@link #getEventPosition()} on top of the checkpoint
+ * (see {@link GameReplayer#resume}).
+ * <p>
+ * Binary layout, big-endian: magic, version, body length, body, CRC-32 of the body. The body holds
+ * the case ID, bank file, bank content hash, bank question count, started flag, turn index, players (ID, name, score),
+ * selected category and value, event position, and the answered bank positions.
+ */
+public class GameCheckpoint {
+    static final int MAGIC = 0x4A434B31; // "JCK1"
+    static final int VERSION = 1;
+    private static final int MAX_BODY_BYTES = 64 * 1024 * 1024;
+
+    final String caseId;
+    final String bankFile;
+    final String bankHash;
+    final int questionCount;
+    final int[] playerIds;
+    final String[] playerNames;
+    final int[] playerScores;
+    final boolean started;
+    final int currentPlayerIndex;
+    final SparseBitSet answered;
+    final String selectedCategory;
+    final int selectedValue;
+    final int eventPosition;
+
+    GameCheckpoint(String caseId, String bankFile, QuestionBank bank, List<Player> players, boolean started,
+            int currentPlayerIndex, SparseBitSet answered, Category selectedCategory, Question selectedQuestion,
+            int eventPosition) {
+        this.caseId = caseId;
+        this.bankFile = bankFile;
+        this.bankHash = bank.getContentHash();
+        this.questionCount = bank.getQuestionCount();
+        this.playerIds = new int[players.size()];
+        this.playerNames = new String[players.size()];
+        this.playerScores = new int[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            playerIds[i] = p.getId();
+            playerNames[i] = p.getName();
+            playerScores[i] = p.getScore();
+        }
+        this.started = started;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.answered = answered.clone();
+        this.selectedCategory = selectedCategory == null ? null : selectedCategory.getName();
+        this.selectedValue = selectedQuestion == null ? 0 : selectedQuestion.getValue();
+        this.eventPosition = eventPosition;
+    }
+
+    private GameCheckpoint(DataInputStream in) throws IOException {
+        this.caseId = in.readUTF();
+        this.bankFile = readOptional(in);
+        this.bankHash = in.readUTF();
+        this.questionCount = in.readInt();
+        this.started = in.readBoolean();
+        this.currentPlayerIndex = in.readInt();
+        int playerCount = in.readInt();
+        if (playerCount < 0) {
+            throw new IOException("Corrupt checkpoint: negative player count");
+        }
+        this.playerIds = new int[playerCount];
+        this.playerNames = new String[playerCount];
+        this.playerScores = new int[playerCount];
+        for (int i = 0; i < playerCount; i++) {
+            playerIds[i] = in.readInt();
+            playerNames[i] = in.readUTF();
+            playerScores[i] = in.readInt();
+        }
+        this.selectedCategory = readOptional(in);
+        this.selectedValue = in.readInt();
+        this.eventPosition = in.readInt();
+        this.answered = new SparseBitSet();
+        int answeredCount = in.readInt();
+        for (int i = 0; i < answeredCount; i++) {
+            int index = in.readInt();
+            if (index < 0 || index >= questionCount) {
+                throw new IOException("Corrupt checkpoint: answered position " + index + " out of range");
+            }
+            answered.set(index);
+        }
+    }
+
+    /**
+     * Retrieves the case ID of the checkpointed game.
+     * @return the case ID
+     */
+    public String getCaseId() {
+        return caseId;
+    }
+
+    /**
+     * Retrieves the file the game's bank was loaded from.
+     * @return the bank file, or null if the game had no file-backed bank
+     */
+    public String getBankFile() {
+        return bankFile;
+    }
+
+    /**
+     * Retrieves the content hash of the game's bank, which must match for the checkpoint to be used.
+     * @return the hash from {@link QuestionBank#getContentHash()}
+     */
+    public String getBankHash() {
+        return bankHash;
+    }
+
+    /**
+     * Retrieves the number of events the game had logged when the checkpoint was taken.
+     * @return the index of the first event not covered by this checkpoint
+     */
+    public int getEventPosition() {
+        return eventPosition;
+    }
+
+    /**
+     * Encodes this checkpoint in its binary layout.
+     * @return the encoded bytes
+     */
+    byte[] toBytes() {
+        try {
+            ByteArrayOutputStream body = new ByteArrayOutputStream(128 + 32 * playerIds.length);
+            DataOutputStream out = new DataOutputStream(body);
+            out.writeUTF(caseId);
+            writeOptional(out, bankFile);
+            out.writeUTF(bankHash);
+            out.writeInt(questionCount);
+            out.writeBoolean(started);
+            out.writeInt(currentPlayerIndex);
+            out.writeInt(playerIds.length);
+            for (int i = 0; i < playerIds.length; i++) {
+                out.writeInt(playerIds[i]);
+                out.writeUTF(playerNames[i]);
+                out.writeInt(playerScores[i]);
+            }
+            writeOptional(out, selectedCategory);
+            out.writeInt(selectedValue);
+            out.writeInt(eventPosition);
+            out.writeInt(answered.cardinality());
+            for (int i = answered.nextSetBit(0); i >= 0; i = answered.nextSetBit(i + 1)) {
+                out.writeInt(i);
+            }
+            out.flush();
+            byte[] bodyBytes = body.toByteArray();
+
+            CRC32 crc = new CRC32();
+            crc.update(bodyBytes);
+            ByteArrayOutputStream file = new ByteArrayOutputStream(bodyBytes.length + 16);
+            DataOutputStream framed = new DataOutputStream(file);
+            framed.writeInt(MAGIC);
+            framed.writeInt(VERSION);
+            framed.writeInt(bodyBytes.length);
+            framed.write(bodyBytes);
+            framed.writeInt((int) crc.getValue());
+            framed.flush();
+            return file.toByteArray();
+        } catch (IOException e) {
+            throw new IllegalStateException(e); // in-memory streams do not fail
+        }
+    }
+
+    /**
+     * Decodes a checkpoint, checking its header and checksum.
+     * @param in the stream positioned at the start of a checkpoint
+     * @return the checkpoint
+     * @throws IOException if the data is not a valid checkpoint
+     */
+    static GameCheckpoint read(DataInputStream in) throws IOException {
+        if (in.readInt() != MAGIC) {
+            throw new IOException("Not a game checkpoint");
+        }
+        int version = in.readInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported checkpoint version " + version);
+        }
+        int length = in.readInt();
+        if (length < 0 || length > MAX_BODY_BYTES) {
+            throw new IOException("Corrupt checkpoint: body length " + length);
+        }
+        byte[] body = new byte[length];
+        in.readFully(body);
+        CRC32 crc = new CRC32();
+        crc.update(body);
+        if (in.readInt() != (int) crc.getValue()) {
+            throw new IOException("Corrupt checkpoint: checksum mismatch");
+        }
+        return new GameCheckpoint(new DataInputStream(new ByteArrayInputStream(body)));
+    }
+
+    private static void writeOptional(DataOutputStream out, String value) throws IOException {
+        out.writeBoolean(value != null);
+        if (value != null) {
+            out.writeUTF(value);
+        }
+    }
+
+    private static String readOptional(DataInputStream in) throws IOException {
+        return in.readBoolean() ? in.readUTF() : null;
+    }
+}
@@ -0,0 +1,208 @@
+package com.jeopardy;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Writes game checkpoints to a directory in the background, one file per case ID.
+ * <p>
+ * The game thread only takes the checkpoint, which copies a few fields and the answered bitset;
+ * encoding and I/O happen on a single writer thread. If a game is checkpointed again before its
+ * previous checkpoint has been written, only the newest is written. Each file is written to a
+ * temporary name, forced to disk and then atomically renamed over the previous checkpoint, so a
+ * crash leaves either the old checkpoint or the new one, never a mix.
+ * <p>
+ * After a restart, {@link #readAll()} returns every saved checkpoint; pass each to
+ * {@link GameReplayer#resume} with the game's events from the log to rebuild it.
+ */
+public class GameCheckpointer implements AutoCloseable {
+    private static final String SUFFIX = ".ckpt";
+    private static final String TEMP_SUFFIX = ".ckpt.tmp";
+
+    private final Path directory;
+    private final boolean force;
+    private final ExecutorService writer = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "game-checkpoint-writer");
+        t.setDaemon(true);
+        return t;
+    });
+    private final ConcurrentHashMap<String, GameCheckpoint> pending = new ConcurrentHashMap<>();
+    private final AtomicLong written = new AtomicLong();
+    private final AtomicLong coalesced = new AtomicLong();
+
+    /**
+     * Constructs a GameCheckpointer that forces every checkpoint to disk.
+     * @param directory the directory to keep checkpoints in; created if missing
+     * @throws IOException if the directory cannot be created
+     */
+    public GameCheckpointer(Path directory) throws IOException {
+        this(directory, true);
+    }
+
+    /**
+     * Constructs a GameCheckpointer.
+     * @param directory the directory to keep checkpoints in; created if missing
+     * @param force whether to force each checkpoint to disk before renaming it into place; without
+     *              it a power failure may lose recent checkpoints, though never corrupt them
+     * @throws IOException if the directory cannot be created
+     */
+    public GameCheckpointer(Path directory, boolean force) throws IOException {
+        this.directory = Files.createDirectories(directory);
+        this.force = force;
+    }
+
+    /**
+     * Checkpoints a game. Must be called on the game's thread; returns once the state is copied.
+     * @param game the game to checkpoint
+     */
+    public void checkpoint(Game game) {
+        submit(game.checkpoint());
+    }
+
+    /**
+     * Queues a checkpoint to be written, replacing any unwritten checkpoint of the same game.
+     * @param checkpoint the checkpoint to write
+     */
+    public void submit(GameCheckpoint checkpoint) {
+        if (pending.put(checkpoint.getCaseId(), checkpoint) != null) {
+            coalesced.incrementAndGet();
+            return; // the queued write will pick up this newer checkpoint
+        }
+        writer.execute(() -> write(checkpoint.getCaseId()));
+    }
+
+    private void write(String caseId) {
+        GameCheckpoint checkpoint = pending.remove(caseId);
+        if (checkpoint == null) {
+            return;
+        }
+        Path target = directory.resolve(caseId + SUFFIX);
+        Path temp = directory.resolve(caseId + TEMP_SUFFIX);
+        try {
+            try (FileChannel channel = FileChannel.open(temp, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.TRUNCATE_EXISTING)) {
+                ByteBuffer bytes = ByteBuffer.wrap(checkpoint.toBytes());
+                while (bytes.hasRemaining()) {
+                    channel.write(bytes);
+                }
+                if (force) {
+                    channel.force(false);
+                }
+            }
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            written.incrementAndGet();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Waits until every checkpoint submitted so far has been written.
+     */
+    public void flush() {
+        try {
+            writer.submit(() -> { }).get();
+        } catch (Exception e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Reads the latest checkpoint of one game.
+     * @param caseId the case ID of the game
+     * @return the checkpoint, or null if the game has none
+     * @throws IOException if the checkpoint exists but cannot be read
+     */
+    public GameCheckpoint read(String caseId) throws IOException {
+        Path file = directory.resolve(caseId + SUFFIX);
+        if (!Files.exists(file)) {
+            return null;
+        }
+        return readFile(file);
+    }
+
+    /**
+     * Reads every checkpoint in the directory. Unreadable checkpoints are reported and skipped.
+     * @return the checkpoints, in no particular order
+     * @throws IOException if the directory cannot be listed
+     */
+    public List<GameCheckpoint> readAll() throws IOException {
+        List<GameCheckpoint> checkpoints = new ArrayList<>();
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + SUFFIX)) {
+            for (Path file : files) {
+                try {
+                    checkpoints.add(readFile(file));
+                } catch (IOException e) {
+                    System.out.println("Skipping checkpoint " + file + ": " + e.getMessage());
+                }
+            }
+        }
+        return checkpoints;
+    }
+
+    private static GameCheckpoint readFile(Path file) throws IOException {
+        try (InputStream in = Files.newInputStream(file)) {
+            return GameCheckpoint.read(new DataInputStream(new BufferedInputStream(in)));
+        }
+    }
+
+    /**
+     * Deletes a game's checkpoint, e.g. once the game has ended.
+     * @param caseId the case ID of the game
+     */
+    public void delete(String caseId) {
+        writer.execute(() -> {
+            pending.remove(caseId);
+            try {
+                Files.deleteIfExists(directory.resolve(caseId + SUFFIX));
+            } catch (IOException e) {
+                e.printStackTrace();
+            }
+        });
+    }
+
+    /**
+     * Retrieves the number of checkpoint files written.
+     * @return the write count
+     */
+    public long getWrittenCount() {
+        return written.get();
+    }
+
+    /**
+     * Retrieves the number of checkpoints replaced by a newer one before they were written.
+     * @return the coalesced count
+     */
+    public long getCoalescedCount() {
+        return coalesced.get();
+    }
+
+    /**
+     * Writes every pending checkpoint and stops the writer thread.
+     */
+    @Override
+    public void close() {
+        writer.shutdown();
+        try {
+            writer.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
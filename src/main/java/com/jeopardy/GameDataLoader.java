@@ -1,5 +1,6 @@
 package com.jeopardy;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -13,4 +14,16 @@ public interface GameDataLoader {
      * @return a List of Category objects loaded from the file
      */
     List<Category> load(String fileName);
+
+    /**
+     * Loads game categories and questions from a file, failing instead of returning whatever could
+     * be read. Callers that keep the result, such as {@link QuestionBankCache}, use this so a read
+     * error is never mistaken for a small bank.
+     * @param fileName the path to the file to load
+     * @return a List of Category objects loaded from the file
+     * @throws IOException if the file cannot be read in full
+     */
+    default List<Category> loadFully(String fileName) throws IOException {
+        return load(fileName);
+    }
 }
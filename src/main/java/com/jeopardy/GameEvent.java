@@ -1,16 +1,22 @@
 package com.jeopardy;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 
 /**
  * Represents an event that occurs during a Jeopardy game.
  * GameEvents are used to track all activities and enable event-driven logging and reporting.
+ * <p>
+ * Events raised by a Game carry their time as a long from {@link EventClock}; the LocalDateTime is
+ * only built, once, when {@link #getTimestamp()} is first called. Listeners that can work with the
+ * raw value, such as the CSV logger and the journal, never build it.
  */
 public class GameEvent {
     private String caseId;
     private int playerId;
     private ActivityType activity;
-    private LocalDateTime timestamp;
+    private final long timeNanos;
+    private LocalDateTime timestamp; // built on first use
     private String category;
     private int questionValue;
     private String answerGiven;
@@ -34,6 +40,7 @@ public class GameEvent {
         this.caseId = caseId;
         this.playerId = playerId;
         this.activity = activity;
+        this.timeNanos = timestamp.toEpochSecond(ZoneOffset.UTC) * 1_000_000_000L + timestamp.getNano();
         this.timestamp = timestamp;
         this.category = category;
         this.questionValue = questionValue;
@@ -42,6 +49,23 @@ public class GameEvent {
         this.scoreAfterPlay = scoreAfterPlay;
     }
 
+    /**
+     * Constructs a GameEvent stamped with a time from {@link EventClock}.
+     * @param timeNanos the local time in nanoseconds since 1970-01-01T00:00
+     */
+    GameEvent(String caseId, int playerId, ActivityType activity, long timeNanos,
+            String category, int questionValue, String answerGiven, String result, int scoreAfterPlay) {
+        this.caseId = caseId;
+        this.playerId = playerId;
+        this.activity = activity;
+        this.timeNanos = timeNanos;
+        this.category = category;
+        this.questionValue = questionValue;
+        this.answerGiven = answerGiven;
+        this.result = result;
+        this.scoreAfterPlay = scoreAfterPlay;
+    }
+
     /**
      * Retrieves the case ID for this game session.
      * @return the case ID
@@ -71,7 +95,22 @@ public class GameEvent {
      * @return the LocalDateTime when this event occurred
      */
     public LocalDateTime getTimestamp() {
-        return timestamp;
+        LocalDateTime t = timestamp;
+        if (t == null) {
+            // A race only builds an equal value twice
+            t = LocalDateTime.ofEpochSecond(Math.floorDiv(timeNanos, 1_000_000_000L),
+                    (int) Math.floorMod(timeNanos, 1_000_000_000L), ZoneOffset.UTC);
+            timestamp = t;
+        }
+        return t;
+    }
+
+    /**
+     * Retrieves the timestamp as local nanoseconds since 1970-01-01T00:00, without building a LocalDateTime.
+     * @return the timestamp in nanoseconds
+     */
+    long getTimeNanos() {
+        return timeNanos;
     }
 
     /**
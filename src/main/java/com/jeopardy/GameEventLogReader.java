@@ -0,0 +1,248 @@
+package com.jeopardy;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads back the CSV event log written by {@link GameEventLogger}.
+ * <p>
+ * Category and detail text is not escaped in the log, so a line is split on its first four and
+ * last four commas and whatever lies between is the category. Timestamps in the logger's ISO
+ * format are decoded by hand, falling back to the full parser for anything unusual. Empty columns
+ * come back as null. Lines that cannot be read, such as one torn by a crash, are reported and skipped.
+ */
+public class GameEventLogReader {
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final int[] POWERS_OF_TEN = { 1, 10, 100, 1000, 10000, 100000, 1000000, 10000000, 100000000 };
+    private static final int STRING_POOL_SIZE = 1024;
+    private static final ActivityType[] ACTIVITIES = activityTable();
+
+    // Case IDs, categories and results repeat on almost every line, so each distinct value is kept
+    // once in a small direct-mapped table instead of being copied out of every line
+    private final String[] strings = new String[STRING_POOL_SIZE];
+    private String lastDateLine; // the line lastDate was decoded from
+    private int lastDateFrom;
+    private LocalDate lastDate;
+
+    private static ActivityType[] activityTable() {
+        ActivityType[] table = new ActivityType[256];
+        for (ActivityType type : ActivityType.values()) {
+            int slot = activitySlot(type.name(), 0, type.name().length());
+            while (table[slot] != null) {
+                slot = (slot + 1) & (table.length - 1);
+            }
+            table[slot] = type;
+        }
+        return table;
+    }
+
+    private static int activitySlot(String s, int from, int to) {
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + s.charAt(i);
+        }
+        return (h ^ (h >>> 8)) & 255;
+    }
+
+    /**
+     * Reads every event in a log file, grouped by game.
+     * @param fileName the CSV log file
+     * @return each case ID's events in logged order, in order of first appearance
+     * @throws IOException if the file cannot be read
+     */
+    public Map<String, List<GameEvent>> read(String fileName) throws IOException {
+        return read(fileName, null);
+    }
+
+    /**
+     * Reads the events of one game from a log file.
+     * @param fileName the CSV log file
+     * @param caseId the case ID of the game
+     * @return the game's events in logged order
+     * @throws IOException if the file cannot be read
+     */
+    public List<GameEvent> readGame(String fileName, String caseId) throws IOException {
+        List<GameEvent> events = read(fileName, caseId).get(caseId);
+        return events == null ? new ArrayList<>() : events;
+    }
+
+    private Map<String, List<GameEvent>> read(String fileName, String onlyCaseId) throws IOException {
+        Map<String, List<GameEvent>> games = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(
+                Files.newBufferedReader(Path.of(fileName), StandardCharsets.UTF_8), BUFFER_SIZE)) {
+            String line;
+            int lineNumber = 0;
+            List<GameEvent> last = null;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (line.isEmpty()) {
+                    continue;
+                }
+                if (onlyCaseId != null && !line.startsWith(onlyCaseId + ",")) {
+                    continue;
+                }
+                GameEvent event;
+                try {
+                    event = parse(line);
+                } catch (IllegalArgumentException | DateTimeException e) {
+                    System.out.println("Skipping unreadable event log line " + lineNumber + ": " + e.getMessage());
+                    continue;
+                }
+                // Consecutive lines usually belong to the same game
+                if (last == null || !last.get(0).getCaseId().equals(event.getCaseId())) {
+                    last = games.computeIfAbsent(event.getCaseId(), k -> new ArrayList<>());
+                }
+                last.add(event);
+            }
+        }
+        return games;
+    }
+
+    /**
+     * Parses one log line.
+     * @param line a line without its terminator
+     * @return the event
+     * @throws IllegalArgumentException if the line does not have the logger's layout
+     */
+    GameEvent parse(String line) {
+        int[] left = new int[4];
+        int from = 0;
+        for (int i = 0; i < 4; i++) {
+            left[i] = line.indexOf(',', from);
+            if (left[i] < 0) {
+                throw new IllegalArgumentException("Too few columns");
+            }
+            from = left[i] + 1;
+        }
+        int[] right = new int[4];
+        int to = line.length();
+        for (int i = 3; i >= 0; i--) {
+            right[i] = line.lastIndexOf(',', to - 1);
+            if (right[i] <= left[3]) {
+                throw new IllegalArgumentException("Too few columns");
+            }
+            to = right[i];
+        }
+
+        String caseId = text(line, 0, left[0]);
+        int playerId = parseInt(line, left[0] + 1, left[1]);
+        ActivityType activity = activity(line, left[1] + 1, left[2]);
+        LocalDateTime timestamp = parseTimestamp(line, left[2] + 1, left[3]);
+        String category = text(line, left[3] + 1, right[0]);
+        int value = parseInt(line, right[0] + 1, right[1]);
+        String answer = text(line, right[1] + 1, right[2]);
+        String result = text(line, right[2] + 1, right[3]);
+        int score = parseInt(line, right[3] + 1, line.length());
+        return new GameEvent(caseId, playerId, activity, timestamp, category, value, answer, result, score);
+    }
+
+    private String text(String line, int from, int to) {
+        if (from == to) {
+            return null;
+        }
+        int h = 0;
+        for (int i = from; i < to; i++) {
+            h = 31 * h + line.charAt(i);
+        }
+        int slot = (h ^ (h >>> 16)) & (STRING_POOL_SIZE - 1);
+        String pooled = strings[slot];
+        if (pooled != null && pooled.length() == to - from && line.startsWith(pooled, from)) {
+            return pooled;
+        }
+        pooled = line.substring(from, to);
+        strings[slot] = pooled;
+        return pooled;
+    }
+
+    private static ActivityType activity(String line, int from, int to) {
+        int length = to - from;
+        for (int slot = activitySlot(line, from, to);; slot = (slot + 1) & (ACTIVITIES.length - 1)) {
+            ActivityType type = ACTIVITIES[slot];
+            if (type == null) {
+                throw new IllegalArgumentException("Unknown activity: " + line.substring(from, to));
+            }
+            if (type.name().length() == length && line.startsWith(type.name(), from)) {
+                return type;
+            }
+        }
+    }
+
+    private static int parseInt(String s, int from, int to) {
+        boolean negative = from < to && s.charAt(from) == '-';
+        int i = negative ? from + 1 : from;
+        if (i == to) {
+            throw new IllegalArgumentException("Missing number");
+        }
+        long n = 0;
+        for (; i < to; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                throw new IllegalArgumentException("Bad number: " + s.substring(from, to));
+            }
+            n = n * 10 + (c - '0');
+            if (n > Integer.MAX_VALUE + 1L) {
+                throw new IllegalArgumentException("Number out of range: " + s.substring(from, to));
+            }
+        }
+        return (int) (negative ? -n : n);
+    }
+
+    /**
+     * Decodes yyyy-MM-ddTHH:mm:ss with an optional fraction, the shape ISO_LOCAL_DATE_TIME prints.
+     */
+    LocalDateTime parseTimestamp(String s, int from, int to) {
+        int length = to - from;
+        if (length >= 19 && s.charAt(from + 4) == '-' && s.charAt(from + 7) == '-' && s.charAt(from + 10) == 'T'
+                && s.charAt(from + 13) == ':' && s.charAt(from + 16) == ':'
+                && (length == 19 || (s.charAt(from + 19) == '.' && length > 20 && length <= 29))) {
+            int year = digits(s, from, 4);
+            int month = digits(s, from + 5, 2);
+            int day = digits(s, from + 8, 2);
+            int hour = digits(s, from + 11, 2);
+            int minute = digits(s, from + 14, 2);
+            int second = digits(s, from + 17, 2);
+            int nanos = 0;
+            if (length > 19) {
+                int fraction = digits(s, from + 20, length - 20);
+                nanos = fraction < 0 ? -1 : fraction * POWERS_OF_TEN[29 - length];
+            }
+            if ((year | month | day | hour | minute | second | nanos) >= 0) {
+                return LocalDateTime.of(date(s, from, year, month, day), LocalTime.of(hour, minute, second, nanos));
+            }
+        }
+        return LocalDateTime.parse(s.substring(from, to));
+    }
+
+    // Events are logged in time order, so most lines fall on the same day as the one before
+    private LocalDate date(String s, int from, int year, int month, int day) {
+        if (lastDate == null || !s.regionMatches(from, lastDateLine, lastDateFrom, 10)) {
+            lastDate = LocalDate.of(year, month, day);
+            lastDateLine = s;
+            lastDateFrom = from;
+        }
+        return lastDate;
+    }
+
+    private static int digits(String s, int from, int count) {
+        int n = 0;
+        for (int i = from; i < from + count; i++) {
+            char c = s.charAt(i);
+            if (c < '0' || c > '9') {
+                return -1;
+            }
+            n = n * 10 + (c - '0');
+        }
+        return n;
+    }
+}
@@ -1,60 +1,349 @@
 package com.jeopardy;
 
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.PrintWriter;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 
 /**
  * Logs game events to a CSV file.
  * Implements the Listener interface to receive GameEvent updates and writes them to game_event_log.csv.
+ * <p>
+ * The log file is opened once and kept open until {@link #close()} is called. Formatted lines are
+ * collected in a reusable buffer and written out as a group when the batch reaches
+ * {@code maxBatchEvents} lines, when the oldest buffered line is older than {@code maxDelayMillis},
+ * or when an {@link ActivityType#EXIT_GAME} or {@link ActivityType#GENERATE_REPORT} event arrives,
+ * in which case the file is also forced to disk.
+ * <p>
+ * Games built without a logger of their own share one default logger per process, see
+ * {@link #acquireShared()}, so a game that is never closed holds no file or flush task of its own.
  */
-public class GameEventLogger implements Listener {
-    private String logFileName = "game_event_log.csv";
+public final class GameEventLogger implements Listener, AutoCloseable {
+    /** Default number of buffered events that triggers a write. */
+    public static final int DEFAULT_MAX_BATCH_EVENTS = 256;
+    /** Default maximum time, in milliseconds, an event may sit in the buffer. */
+    public static final long DEFAULT_MAX_DELAY_MILLIS = 200;
+
+    private static final String DEFAULT_LOG_FILE = "game_event_log.csv";
+    private static final int BUFFER_SIZE = 64 * 1024;
+    private static final String LINE_SEPARATOR = System.lineSeparator();
     private static final DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+    private static final long SECONDS_PER_DAY = 86_400L;
+    private static final int[] POWERS_OF_TEN = { 1, 10, 100, 1_000, 10_000, 100_000, 1_000_000, 10_000_000,
+            100_000_000 };
+
+    // Shared by every logger so that time-based commits don't cost a thread per game.
+    private static final ScheduledExecutorService flusher = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "game-event-log-flusher");
+        t.setDaemon(true);
+        return t;
+    });
+    private static final Set<GameEventLogger> openLoggers = ConcurrentHashMap.newKeySet();
+    private static GameEventLogger shared; // guarded by GameEventLogger.class
+    private static int sharedUsers;
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            for (GameEventLogger logger : openLoggers) {
+                logger.flush();
+            }
+        }, "game-event-log-shutdown"));
+    }
+
+    private final Path logPath;
+    private final int maxBatchEvents;
+    private final long maxDelayNanos;
+
+    private final StringBuilder line = new StringBuilder(256);
+    private long cachedDay = Long.MIN_VALUE;
+    private String cachedDate;
+    private char[] lineChars = new char[256];
+    private CharBuffer lineBuffer = CharBuffer.wrap(lineChars);
+    // Replaces unpaired surrogates as a Writer would, so a line is never encoded halfway
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE).onUnmappableCharacter(CodingErrorAction.REPLACE);
+    private final ByteBuffer buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+
+    private FileChannel channel;
+    private ScheduledFuture<?> flushTask;
+    private int pendingEvents;
+    private long oldestPendingNanos;
+    private boolean closed;
 
     /**
      * Constructs a GameEventLogger.
-     * Initializes the CSV log file for appending events.
+     * Opens game_event_log.csv for appending with the default group-commit policy.
      */
     public GameEventLogger() {
-        // Initialize file with header if it doesn't exist or just append?
-        // The diagram says "Writes to game_event_log.csv"
-        // Let's write the header if we are starting a new session or just append.
-        // For simplicity, we'll append, but maybe we should check if file exists to
-        // write header.
-        try (PrintWriter writer = new PrintWriter(new FileWriter(logFileName, true))) {
-            // Check if file is empty to write header?
-            // For now, let's assume we just append.
+        this(DEFAULT_LOG_FILE, DEFAULT_MAX_BATCH_EVENTS, DEFAULT_MAX_DELAY_MILLIS);
+    }
+
+    /**
+     * Constructs a GameEventLogger with a custom log file and group-commit policy.
+     * @param logFileName the CSV file to append events to
+     * @param maxBatchEvents the number of buffered events that triggers a write (1 writes every event)
+     * @param maxDelayMillis the maximum age of a buffered event before it is written, or 0 to disable
+     */
+    public GameEventLogger(String logFileName, int maxBatchEvents, long maxDelayMillis) {
+        if (maxBatchEvents < 1) {
+            throw new IllegalArgumentException("maxBatchEvents must be at least 1");
+        }
+        this.logPath = Path.of(logFileName);
+        this.maxBatchEvents = maxBatchEvents;
+        this.maxDelayNanos = TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+
+        try {
+            this.channel = FileChannel.open(logPath, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                    StandardOpenOption.APPEND);
         } catch (IOException e) {
             e.printStackTrace();
+            this.closed = true;
+            return;
+        }
+
+        openLoggers.add(this);
+        if (maxDelayMillis > 0) {
+            this.flushTask = flusher.scheduleWithFixedDelay(this::flushIfDue, maxDelayMillis, maxDelayMillis,
+                    TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * Retrieves the process-wide logger for game_event_log.csv, opening it if no game is using it.
+     * Every call must be matched by a {@link #releaseShared(GameEventLogger)}.
+     * @return the shared logger
+     */
+    static synchronized GameEventLogger acquireShared() {
+        if (shared == null) {
+            shared = new GameEventLogger();
+        }
+        sharedUsers++;
+        return shared;
+    }
+
+    /**
+     * Gives back the shared logger, closing it once no game is using it.
+     * @param logger the logger returned by {@link #acquireShared()}
+     */
+    static synchronized void releaseShared(GameEventLogger logger) {
+        if (logger == shared && --sharedUsers == 0) {
+            shared.close();
+            shared = null;
         }
     }
 
     /**
-     * Writes a game event to the CSV log file.
+     * Buffers a game event as a CSV line, writing the batch out when the commit policy says so.
      * @param event the GameEvent to log
      */
     @Override
-    public void update(GameEvent event) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter(logFileName, true))) {
-            // Format: CaseID, PlayerID, Activity, Timestamp, Category, QuestionValue,
-            // AnswerGiven, Result, ScoreAfter
-            StringBuilder sb = new StringBuilder();
-            sb.append(event.getCaseId()).append(",");
-            sb.append(event.getPlayerId()).append(",");
-            sb.append(event.getActivity()).append(",");
-            sb.append(event.getTimestamp().format(formatter)).append(",");
-            sb.append(event.getCategory() != null ? event.getCategory() : "").append(",");
-            sb.append(event.getQuestionValue()).append(",");
-            sb.append(event.getAnswerGiven() != null ? event.getAnswerGiven().replace(",", ";") : "").append(","); // Escape
-                                                                                                                   // commas
-            sb.append(event.getResult() != null ? event.getResult() : "").append(",");
-            sb.append(event.getScoreAfterPlay());
-
-            writer.println(sb.toString());
+    public synchronized void update(GameEvent event) {
+        if (closed) {
+            return;
+        }
+
+        // Format: CaseID, PlayerID, Activity, Timestamp, Category, QuestionValue,
+        // AnswerGiven, Result, ScoreAfter
+        StringBuilder sb = line;
+        sb.setLength(0);
+        sb.append(event.getCaseId()).append(",");
+        sb.append(event.getPlayerId()).append(",");
+        sb.append(event.getActivity()).append(",");
+        appendTimestamp(sb, event);
+        sb.append(",");
+        sb.append(event.getCategory() != null ? event.getCategory() : "").append(",");
+        sb.append(event.getQuestionValue()).append(",");
+        appendEscaped(sb, event.getAnswerGiven());
+        sb.append(",");
+        sb.append(event.getResult() != null ? event.getResult() : "").append(",");
+        sb.append(event.getScoreAfterPlay());
+        sb.append(LINE_SEPARATOR);
+
+        try {
+            encodeLine();
         } catch (IOException e) {
             e.printStackTrace();
+            return;
+        }
+
+        if (pendingEvents++ == 0) {
+            oldestPendingNanos = System.nanoTime();
+        }
+
+        ActivityType activity = event.getActivity();
+        if (activity == ActivityType.EXIT_GAME || activity == ActivityType.GENERATE_REPORT) {
+            sync();
+        } else if (pendingEvents >= maxBatchEvents
+                || (maxDelayNanos > 0 && System.nanoTime() - oldestPendingNanos >= maxDelayNanos)) {
+            flush();
+        }
+    }
+
+    /**
+     * Writes any buffered events to the log file without forcing them to disk. If the write fails,
+     * the events stay buffered and are retried by the next flush.
+     */
+    public synchronized void flush() {
+        if (closed || pendingEvents == 0) {
+            return;
+        }
+        try {
+            drainBuffer();
+            pendingEvents = 0;
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes any buffered events and forces the log file's contents to disk.
+     */
+    public synchronized void sync() {
+        if (closed) {
+            return;
+        }
+        flush();
+        try {
+            channel.force(false);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes any buffered events, forces them to disk and releases the log file.
+     * Events received after closing are ignored.
+     */
+    @Override
+    public synchronized void close() {
+        if (closed) {
+            return;
+        }
+        sync();
+        closed = true;
+        openLoggers.remove(this);
+        if (flushTask != null) {
+            flushTask.cancel(false);
+        }
+        try {
+            channel.close();
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    private synchronized void flushIfDue() {
+        if (pendingEvents > 0 && System.nanoTime() - oldestPendingNanos >= maxDelayNanos) {
+            flush();
+        }
+    }
+
+    /**
+     * Appends the event's time as ISO_LOCAL_DATE_TIME would, working from the raw nanoseconds so
+     * no LocalDateTime is built. The date part only changes at midnight and is cached.
+     */
+    private void appendTimestamp(StringBuilder sb, GameEvent event) {
+        long time = event.getTimeNanos();
+        long seconds = Math.floorDiv(time, NANOS_PER_SECOND);
+        int nanos = (int) Math.floorMod(time, NANOS_PER_SECOND);
+        long day = Math.floorDiv(seconds, SECONDS_PER_DAY);
+        if (day != cachedDay) {
+            LocalDate date = LocalDate.ofEpochDay(day);
+            if (date.getYear() < 0 || date.getYear() > 9999) {
+                formatter.formatTo(event.getTimestamp(), sb); // needs a sign or extra year digits
+                return;
+            }
+            cachedDay = day;
+            cachedDate = DateTimeFormatter.ISO_LOCAL_DATE.format(date) + "T";
+        }
+        sb.append(cachedDate);
+        int secondOfDay = (int) Math.floorMod(seconds, SECONDS_PER_DAY);
+        appendTwoDigits(sb, secondOfDay / 3600);
+        sb.append(':');
+        appendTwoDigits(sb, secondOfDay / 60 % 60);
+        sb.append(':');
+        appendTwoDigits(sb, secondOfDay % 60);
+        if (nanos != 0) {
+            // As many fraction digits as needed, without trailing zeros
+            int digits = 9;
+            while (nanos % 10 == 0) {
+                nanos /= 10;
+                digits--;
+            }
+            sb.append('.');
+            for (int scale = POWERS_OF_TEN[digits - 1]; scale > 0; scale /= 10) {
+                sb.append((char) ('0' + nanos / scale % 10));
+            }
+        }
+    }
+
+    private static void appendTwoDigits(StringBuilder sb, int value) {
+        sb.append((char) ('0' + value / 10)).append((char) ('0' + value % 10));
+    }
+
+    private static void appendEscaped(StringBuilder sb, String answer) {
+        if (answer == null) {
+            return;
+        }
+        // Commas would break the column layout, so they are stored as semicolons
+        for (int i = 0; i < answer.length(); i++) {
+            char c = answer.charAt(i);
+            sb.append(c == ',' ? ';' : c);
+        }
+    }
+
+    private void encodeLine() throws IOException {
+        int length = line.length();
+        if (lineChars.length < length) {
+            lineChars = new char[Math.max(length, lineChars.length * 2)];
+            lineBuffer = CharBuffer.wrap(lineChars);
+        }
+        line.getChars(0, length, lineChars, 0);
+        CharBuffer chars = lineBuffer;
+        chars.clear().limit(length);
+        if (buffer.remaining() < length * 3) {
+            drainBuffer(); // make room for the whole line so it is never written in two parts
+        }
+
+        encoder.reset();
+        while (true) {
+            CoderResult result = encoder.encode(chars, buffer, true);
+            if (result.isOverflow()) {
+                drainBuffer();
+            } else if (result.isUnderflow()) {
+                break;
+            } else {
+                result.throwException();
+            }
+        }
+        while (encoder.flush(buffer).isOverflow()) {
+            drainBuffer();
+        }
+    }
+
+    private void drainBuffer() throws IOException {
+        buffer.flip();
+        try {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } finally {
+            buffer.compact(); // keeps whatever was not written for the next attempt
         }
     }
 }
@@ -0,0 +1,151 @@
+package com.jeopardy;
+
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * Rebuilds a Game from its event history, e.g. after a crash or to show a spectator the board as it
+ * stood after a given number of plays.
+ * <p>
+ * Events are applied straight to the game's state with {@link Game#apply(GameEvent)}: nothing is
+ * re-validated, no listener or logger is notified, and scores are taken from the log. The bank
+ * named by the LOAD_FILE event is resolved once per replay, through the shared bank cache by
+ * default, so a replay costs little more than walking the list. Given a {@link GameCheckpoint},
+ * only the events logged after it are applied.
+ */
+public class GameReplayer {
+    private final Function<String, QuestionBank> banks;
+
+    /**
+     * Constructs a GameReplayer that loads banks through a DataLoaderFactory and its shared cache.
+     */
+    public GameReplayer() {
+        this(new DataLoaderFactory()::loadBank);
+    }
+
+    /**
+     * Constructs a GameReplayer with a custom way of finding the bank a game was played with.
+     * @param banks maps the file name logged by LOAD_FILE to its bank, or to null if it is unavailable
+     */
+    public GameReplayer(Function<String, QuestionBank> banks) {
+        this.banks = banks;
+    }
+
+    /**
+     * Rebuilds a game from all of its events.
+     * @param events the game's events in logged order, e.g. from {@link Game#getEventLog()} or a GameEventLogReader
+     * @return a Game in the state the events leave it in, with no listeners
+     */
+    public Game replay(List<GameEvent> events) {
+        return replay(events, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Rebuilds a game as it stood after a number of plays, where a play is an answer or a timeout.
+     * @param events the game's events in logged order
+     * @param plays the number of plays to apply; 0 gives the game before the first selection
+     * @return a Game in the state after that many plays, with no listeners
+     */
+    public Game replay(List<GameEvent> events, int plays) {
+        return replay(events, plays, new EventManager(ActivityType.values()), null);
+    }
+
+    /**
+     * Rebuilds a game as it stood after a number of plays, ready to continue with the given event
+     * dispatch. The replayed events themselves are not dispatched.
+     * @param events the game's events in logged order
+     * @param plays the number of plays to apply
+     * @param eventManager the EventManager the rebuilt game notifies of new events
+     * @param logger the listener to receive new events, or null for none
+     * @return a Game in the state after that many plays
+     */
+    public Game replay(List<GameEvent> events, int plays, EventManager eventManager, Listener logger) {
+        Game game = new Game(eventManager, logger);
+        if (!events.isEmpty()) {
+            game.setCaseId(events.get(0).getCaseId());
+        }
+        apply(game, events, 0, plays, null);
+        return game;
+    }
+
+    /**
+     * Rebuilds a game from its latest checkpoint and the events logged after it.
+     * @param checkpoint the game's checkpoint
+     * @param events every event of the game in logged order; those before the checkpoint's position
+     *               are only copied into the event log
+     * @return a Game in the state the events leave it in, with no listeners
+     */
+    public Game resume(GameCheckpoint checkpoint, List<GameEvent> events) {
+        return resume(checkpoint, events, new EventManager(ActivityType.values()), null);
+    }
+
+    /**
+     * Rebuilds a game from its latest checkpoint and the events logged after it, ready to continue
+     * with the given event dispatch. If the checkpoint cannot be used, because the log is shorter
+     * than it or its bank file has changed since, the game is replayed from the events alone.
+     * The bank is compared by content hash, or by question count for checkpoints that have none.
+     * @param checkpoint the game's checkpoint
+     * @param events every event of the game in logged order
+     * @param eventManager the EventManager the rebuilt game notifies of new events
+     * @param logger the listener to receive new events, or null for none
+     * @return a Game in the state the events leave it in
+     */
+    public Game resume(GameCheckpoint checkpoint, List<GameEvent> events, EventManager eventManager,
+            Listener logger) {
+        QuestionBank bank = checkpoint.bankFile == null ? null : banks.apply(checkpoint.bankFile);
+        int position = checkpoint.eventPosition;
+        if (position > events.size() || bank == null || !checkpoint.bankHash.equals(bank.getContentHash())) {
+            System.out.println("Checkpoint of " + checkpoint.caseId + " is unusable; replaying its full log.");
+            return replay(events, Integer.MAX_VALUE, eventManager, logger);
+        }
+        Game game = Game.restore(new GameState(checkpoint, bank, events.subList(0, position)), eventManager, logger);
+        apply(game, events, position, Integer.MAX_VALUE, checkpoint.bankFile);
+        return game;
+    }
+
+    private void apply(Game game, List<GameEvent> events, int from, int plays, String pendingFile) {
+        int played = 0;
+        for (int i = from; i < events.size(); i++) {
+            GameEvent event = events.get(i);
+            ActivityType type = event.getActivity();
+            if (played >= plays && startsPlay(type)) {
+                break;
+            }
+            if (type == ActivityType.LOAD_FILE) {
+                pendingFile = fileName(event.getCategory());
+            } else if (type == ActivityType.FILE_LOADED_SUCCESSFULLY && pendingFile != null) {
+                QuestionBank bank = banks.apply(pendingFile);
+                if (bank != null) {
+                    game.useBank(bank, pendingFile);
+                } else {
+                    System.out.println("Error: Cannot reload " + pendingFile + " for replay.");
+                }
+            }
+            game.apply(event);
+            if (type == ActivityType.ANSWER_QUESTION || type == ActivityType.QUESTION_TIMEOUT) {
+                played++;
+            }
+        }
+    }
+
+    private static boolean startsPlay(ActivityType type) {
+        switch (type) {
+            case SELECT_CATEGORY:
+            case SELECT_QUESTION:
+            case BUZZ_IN:
+            case BUZZ_REJECTED:
+            case ANSWER_QUESTION:
+            case QUESTION_TIMEOUT:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static String fileName(String details) {
+        if (details == null) {
+            return null;
+        }
+        return details.startsWith(Game.LOAD_FILE_PREFIX) ? details.substring(Game.LOAD_FILE_PREFIX.length()) : details;
+    }
+}
@@ -0,0 +1,361 @@
+package com.jeopardy;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Hosts many concurrent Game sessions in one JVM, keyed by case ID.
+ * <p>
+ * Sessions live in a fixed number of shards, each a plain HashMap guarded by its own lock, so
+ * lookups on different shards never contend. Every game shares one event log listener instead
+ * of opening its own file. Each session is a {@link GameActor}, so it may be played from any
+ * thread. A session that has been neither looked up nor sent a command for the idle timeout is
+ * passivated through its actor: on the actor's thread, its state is captured as a {@link GameState} and the live Game,
+ * with its event manager, is released. The next command sent to the actor rebuilds it
+ * transparently, so callers may hold on to the actor across passivations.
+ */
+public final class GameSessionManager implements AutoCloseable {
+    /** Default time a session may sit unused before it is passivated. */
+    public static final long DEFAULT_IDLE_MILLIS = 5 * 60 * 1000;
+
+    private static final ScheduledExecutorService SWEEPER = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "game-session-sweeper");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Shard[] shards;
+    private final long idleMillis;
+    private final Supplier<EventManager> eventManagers;
+    private final Listener logger;
+    private final GameEventLogger ownedLogger;
+    private final ScheduledFuture<?> sweep;
+
+    /**
+     * Constructs a GameSessionManager with one shard per four hardware threads (at least 16),
+     * synchronous event dispatch, the default idle timeout and its own event log file.
+     */
+    public GameSessionManager() {
+        this(Math.max(16, Runtime.getRuntime().availableProcessors() * 4), DEFAULT_IDLE_MILLIS,
+                () -> new EventManager(ActivityType.values()), new GameEventLogger(), true);
+    }
+
+    /**
+     * Constructs a GameSessionManager.
+     * @param shardCount the number of shards, rounded up to a power of two
+     * @param idleMillis how long a session may go unused before it is passivated, or 0 to never passivate
+     * @param eventManagers creates the EventManager of each new or restored session
+     * @param logger the listener every session reports to, or null for none; not closed by this manager
+     */
+    public GameSessionManager(int shardCount, long idleMillis, Supplier<EventManager> eventManagers,
+            Listener logger) {
+        this(shardCount, idleMillis, eventManagers, logger, false);
+    }
+
+    private GameSessionManager(int shardCount, long idleMillis, Supplier<EventManager> eventManagers,
+            Listener logger, boolean ownsLogger) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("shardCount must be positive");
+        }
+        int count = Integer.highestOneBit(shardCount);
+        if (count < shardCount) {
+            count <<= 1;
+        }
+        this.shards = new Shard[count];
+        for (int i = 0; i < count; i++) {
+            shards[i] = new Shard();
+        }
+        this.idleMillis = idleMillis;
+        this.eventManagers = eventManagers;
+        this.logger = logger;
+        this.ownedLogger = ownsLogger ? (GameEventLogger) logger : null;
+
+        if (idleMillis > 0) {
+            long period = Math.max(10, idleMillis / 4);
+            this.sweep = SWEEPER.scheduleWithFixedDelay(() -> {
+                try {
+                    passivateIdle();
+                } catch (RuntimeException e) {
+                    e.printStackTrace(); // an exception would cancel the sweep for good
+                }
+            }, period, period, TimeUnit.MILLISECONDS);
+        } else {
+            this.sweep = null;
+        }
+    }
+
+    /**
+     * Creates a new session and registers it under its case ID.
+     * @return the new session's actor
+     */
+    public GameActor create() {
+        Game game = new Game(eventManagers.get(), logger);
+        Shard shard = shardFor(game.getCaseId());
+        GameActor actor = new GameActor(game, state -> restore(shard, state));
+        synchronized (shard) {
+            shard.sessions.put(game.getCaseId(), new Session(actor));
+            shard.created++;
+        }
+        return actor;
+    }
+
+    private Game restore(Shard shard, GameState state) {
+        synchronized (shard) {
+            shard.restores++;
+        }
+        return Game.restore(state, eventManagers.get(), logger);
+    }
+
+    /**
+     * Looks up a session. A passivated session is rebuilt by the first command sent to it.
+     * @param caseId the case ID of the session
+     * @return the session's actor, or null if there is no such session
+     */
+    public GameActor get(String caseId) {
+        Shard shard = shardFor(caseId);
+        synchronized (shard) {
+            shard.lookups++;
+            Session session = shard.sessions.get(caseId);
+            if (session == null) {
+                return null;
+            }
+            session.lastAccess = System.currentTimeMillis();
+            return session.actor;
+        }
+    }
+
+    /**
+     * Ends a session: its actor is shut down, which closes the game and logs its exit, and the
+     * session is forgotten. Does not wait for the game to close.
+     * @param caseId the case ID of the session
+     * @return true if the session existed
+     */
+    public boolean expire(String caseId) {
+        return remove(caseId) != null;
+    }
+
+    private CompletableFuture<Void> remove(String caseId) {
+        Shard shard = shardFor(caseId);
+        Session session;
+        synchronized (shard) {
+            session = shard.sessions.remove(caseId);
+        }
+        return session == null ? null : session.actor.shutdown();
+    }
+
+    /**
+     * Passivates every live session that has been neither looked up nor used for the idle timeout.
+     * Runs periodically in the background; may also be called directly. Each passivation is
+     * queued on the session's actor, behind the commands already sent to it.
+     * @return the number of sessions queued for passivation
+     */
+    public int passivateIdle() {
+        List<CompletableFuture<Boolean>> queued = queuePassivations(System.currentTimeMillis() - idleMillis);
+        return queued.size();
+    }
+
+    /**
+     * Passivates every live session last looked up and last used before the given time.
+     * @param cutoffMillis sessions last looked up and last used before this time are passivated
+     * @return a future completed with the number of sessions passivated
+     */
+    CompletableFuture<Integer> passivateOlderThan(long cutoffMillis) {
+        List<CompletableFuture<Boolean>> queued = queuePassivations(cutoffMillis);
+        return CompletableFuture.allOf(queued.toArray(CompletableFuture<?>[]::new))
+                .thenApply(v -> (int) queued.stream().filter(CompletableFuture::join).count());
+    }
+
+    private List<CompletableFuture<Boolean>> queuePassivations(long cutoffMillis) {
+        List<CompletableFuture<Boolean>> queued = new ArrayList<>();
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                for (Session session : shard.sessions.values()) {
+                    // A caller may hold the actor and never look the session up again
+                    long lastUsed = Math.max(session.lastAccess, session.actor.getLastActive());
+                    if (!session.actor.isPassivated() && lastUsed < cutoffMillis) {
+                        queued.add(session.actor.passivate());
+                    }
+                }
+            }
+        }
+        return queued;
+    }
+
+    /**
+     * Checkpoints every hosted session, live or passivated. Each checkpoint is taken on the
+     * session's actor, so sessions may go on being played meanwhile.
+     * @param checkpointer the checkpointer that writes the checkpoints in the background
+     * @return the number of sessions queued for a checkpoint
+     */
+    public int checkpointAll(GameCheckpointer checkpointer) {
+        int total = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                for (Session session : shard.sessions.values()) {
+                    session.actor.checkpoint().thenAccept(checkpointer::submit);
+                    total++;
+                }
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Retrieves the number of sessions currently hosted, live or passivated.
+     * @return the session count
+     */
+    public int size() {
+        int total = 0;
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                total += shard.sessions.size();
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Reports the load of every shard.
+     * @return one ShardLoad per shard, in shard order
+     */
+    public List<ShardLoad> getShardLoad() {
+        List<ShardLoad> load = new ArrayList<>(shards.length);
+        for (Shard shard : shards) {
+            synchronized (shard) {
+                int passivated = 0;
+                for (Session session : shard.sessions.values()) {
+                    if (session.actor.isPassivated()) {
+                        passivated++;
+                    }
+                }
+                load.add(new ShardLoad(shard.sessions.size() - passivated, passivated, shard.created,
+                        shard.lookups, shard.restores));
+            }
+        }
+        return load;
+    }
+
+    /**
+     * Closes every hosted game, waiting for each to close, and stops the idle sweep. Closes the
+     * event log if this manager created it.
+     */
+    @Override
+    public void close() {
+        if (sweep != null) {
+            sweep.cancel(false);
+        }
+        List<CompletableFuture<Void>> closing = new ArrayList<>();
+        for (Shard shard : shards) {
+            List<String> ids;
+            synchronized (shard) {
+                ids = new ArrayList<>(shard.sessions.keySet());
+            }
+            for (String id : ids) {
+                CompletableFuture<Void> done = remove(id);
+                if (done != null) {
+                    closing.add(done);
+                }
+            }
+        }
+        for (CompletableFuture<Void> done : closing) {
+            try {
+                done.join();
+            } catch (RuntimeException e) {
+                e.printStackTrace();
+            }
+        }
+        if (ownedLogger != null) {
+            ownedLogger.close();
+        }
+    }
+
+    private Shard shardFor(String caseId) {
+        int h = caseId.hashCode();
+        return shards[(h ^ (h >>> 16)) & (shards.length - 1)];
+    }
+
+    private static final class Shard {
+        final Map<String, Session> sessions = new HashMap<>();
+        long created;
+        long lookups;
+        long restores;
+    }
+
+    private static final class Session {
+        final GameActor actor;
+        long lastAccess;
+
+        Session(GameActor actor) {
+            this.actor = actor;
+            this.lastAccess = System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * A point-in-time view of one shard's sessions and traffic.
+     */
+    public static final class ShardLoad {
+        private final int active;
+        private final int passivated;
+        private final long created;
+        private final long lookups;
+        private final long restores;
+
+        ShardLoad(int active, int passivated, long created, long lookups, long restores) {
+            this.active = active;
+            this.passivated = passivated;
+            this.created = created;
+            this.lookups = lookups;
+            this.restores = restores;
+        }
+
+        /**
+         * @return the number of live sessions in the shard
+         */
+        public int getActive() {
+            return active;
+        }
+
+        /**
+         * @return the number of passivated sessions in the shard
+         */
+        public int getPassivated() {
+            return passivated;
+        }
+
+        /**
+         * @return the number of sessions ever created in the shard
+         */
+        public long getCreated() {
+            return created;
+        }
+
+        /**
+         * @return the number of lookups served by the shard
+         */
+        public long getLookups() {
+            return lookups;
+        }
+
+        /**
+         * @return the number of passivated sessions rebuilt by a command
+         */
+        public long getRestores() {
+            return restores;
+        }
+
+        @Override
+        public String toString() {
+            return "active=" + active + " passivated=" + passivated + " created=" + created + " lookups=" + lookups
+                    + " restores=" + restores;
+        }
+    }
+}
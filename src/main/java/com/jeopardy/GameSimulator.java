@@ -0,0 +1,189 @@
+package com.jeopardy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Plays complete games against a question bank with bots, without a console or files, and
+ * aggregates the results so a designer can see how balanced a bank is.
+ * <p>
+ * The games are cut into batches that run on a fork-join pool. Each batch owns one Game with event
+ * recording switched off and replays it with {@link Game#rematch()}, so a game costs only its
+ * moves. Every game draws from its own generator seeded by the run seed and the game's number,
+ * so a run gives the same statistics whatever the pool size. In each game the current player picks
+ * a random unanswered question and every question on the board is played once.
+ */
+public class GameSimulator {
+    private static final long SEED_STEP = 0x9E3779B97F4A7C15L;
+
+    private final QuestionBank bank;
+    private final List<BotStrategy> players;
+    private final ForkJoinPool pool;
+    private final Category[] boardCategories;
+    private final Question[] boardQuestions;
+
+    /**
+     * Constructs a GameSimulator that runs on the common fork-join pool.
+     * @param bank the bank to play
+     * @param players one strategy per seat, in turn order
+     */
+    public GameSimulator(QuestionBank bank, List<BotStrategy> players) {
+        this(bank, players, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Constructs a GameSimulator.
+     * @param bank the bank to play
+     * @param players one strategy per seat, in turn order
+     * @param pool the pool that plays the games
+     */
+    public GameSimulator(QuestionBank bank, List<BotStrategy> players, ForkJoinPool pool) {
+        if (players.isEmpty()) {
+            throw new IllegalArgumentException("At least one player is required");
+        }
+        this.bank = bank;
+        this.players = new ArrayList<>(players);
+        this.pool = pool;
+
+        // Only what a real game can select is on the board: the first category with a name and
+        // the first question of each value in it
+        List<Category> categories = new ArrayList<>();
+        List<Question> questions = new ArrayList<>();
+        for (Category c : bank.getCategories()) {
+            if (bank.getCategory(c.getName()) != c) {
+                continue;
+            }
+            for (Question q : c.getQuestions()) {
+                if (c.getQuestion(q.getValue()) == q) {
+                    categories.add(c);
+                    questions.add(q);
+                }
+            }
+        }
+        this.boardCategories = categories.toArray(new Category[0]);
+        this.boardQuestions = questions.toArray(new Question[0]);
+    }
+
+    /**
+     * Plays a number of games and aggregates the results.
+     * @param games the number of games to play
+     * @param seed the seed that makes the run repeatable
+     * @return the statistics of every game
+     */
+    public SimulationStats run(long games, long seed) {
+        int batchCount = (int) Math.max(1, Math.min(games, pool.getParallelism() * 4L));
+        long batchSize = (games + batchCount - 1) / batchCount;
+        List<ForkJoinTask<SimulationStats>> tasks = new ArrayList<>(batchCount);
+        for (long from = 0; from < games; from += batchSize) {
+            long start = from;
+            long end = Math.min(games, from + batchSize);
+            tasks.add(pool.submit(() -> playBatch(start, end, seed)));
+        }
+
+        SimulationStats total = new SimulationStats(bank, players.size());
+        for (ForkJoinTask<SimulationStats> task : tasks) {
+            total.merge(task.join());
+        }
+        return total;
+    }
+
+    private SimulationStats playBatch(long from, long to, long seed) {
+        Game game = new Game(new EventManager(), null);
+        game.setRecording(false);
+        game.useBank(bank, null);
+        for (int i = 0; i < players.size(); i++) {
+            game.addPlayer("Bot " + (i + 1));
+        }
+        game.startGame();
+
+        SimulationStats stats = new SimulationStats(bank, players.size());
+        int[] order = new int[boardQuestions.length];
+        int[] finalScores = new int[players.size()];
+        int[] halfwayScores = new int[players.size()];
+        List<Player> seats = game.getPlayers();
+        for (long g = from; g < to; g++) {
+            SplittableRandom random = new SplittableRandom(seed + g * SEED_STEP);
+            game.rematch();
+            playGame(game, random, order, stats, seats, halfwayScores);
+            for (int seat = 0; seat < finalScores.length; seat++) {
+                finalScores[seat] = seats.get(seat).getScore();
+            }
+            stats.recordGame(finalScores, halfwayScores);
+        }
+        game.close();
+        return stats;
+    }
+
+    private void playGame(Game game, SplittableRandom random, int[] order, SimulationStats stats, List<Player> seats,
+            int[] halfwayScores) {
+        for (int i = 0; i < order.length; i++) {
+            order[i] = i;
+        }
+        int halfway = order.length / 2;
+        for (int i = 0; i < order.length; i++) {
+            if (i == halfway) {
+                snapshotScores(seats, halfwayScores);
+            }
+            // Partial Fisher-Yates: the next question is a random one from those left
+            int pick = i + random.nextInt(order.length - i);
+            int board = order[pick];
+            order[pick] = order[i];
+            order[i] = board;
+
+            Category category = boardCategories[board];
+            Question question = boardQuestions[board];
+            int seat = game.getCurrentPlayer().getId() - 1;
+            game.selectCategory(category.getName());
+            game.selectQuestion(question.getValue());
+            String answer = players.get(seat).answer(category, question, random);
+            stats.recordAnswer(question.getBankIndex(), question.checkAnswer(answer));
+            game.answerQuestion(answer);
+        }
+        if (halfway == order.length) {
+            snapshotScores(seats, halfwayScores);
+        }
+    }
+
+    private static void snapshotScores(List<Player> seats, int[] scores) {
+        for (int seat = 0; seat < scores.length; seat++) {
+            scores[seat] = seats.get(seat).getScore();
+        }
+    }
+
+    /**
+     * Simulates games on a bank from the command line and prints the statistics.
+     * @param args the bank file, the number of games, the number of players, and optionally
+     *             each player's accuracy (default 0.6)
+     */
+    public static void main(String[] args) {
+        if (args.length < 3) {
+            System.out.println("Usage: GameSimulator <bank file> <games> <players> [accuracy...]");
+            return;
+        }
+        QuestionBank bank = new DataLoaderFactory().loadBank(args[0]);
+        if (bank == null) {
+            System.out.println("Error: Unsupported file format.");
+            return;
+        }
+        long games = Long.parseLong(args[1]);
+        int playerCount = Integer.parseInt(args[2]);
+        List<BotStrategy> players = new ArrayList<>();
+        for (int i = 0; i < playerCount; i++) {
+            double accuracy = args.length > 3 + i ? Double.parseDouble(args[3 + i]) : 0.6;
+            players.add(new AccuracyProfile(accuracy));
+        }
+
+        long start = System.nanoTime();
+        SimulationStats stats = new GameSimulator(bank, players).run(games, System.nanoTime());
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.print(stats);
+        System.out.printf("Played %d games in %.2f s (%.0f games/s)%n", games, seconds, games / seconds);
+        System.out.println("Hardest questions:");
+        for (Question q : stats.getHardestQuestions(5)) {
+            System.out.printf("  %.1f%% wrong: %s%n", stats.getDifficulty(q) * 100, q.getQuestionText());
+        }
+    }
+}
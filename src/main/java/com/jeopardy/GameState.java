@@ -0,0 +1,154 @@
+package com.jeopardy;
+
+import com.zaxxer.sparsebits.SparseBitSet;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A snapshot of everything a Game needs to resume: its case ID, bank, players and scores, turn,
+ * answered questions, selection, event log, buzz-in arbiter and question time limits, including
+ * when the open question runs out of time.
+ * <p>
+ * The buzz-in arbiter is the captured game's own, not a copy. Snapshots hold no event manager,
+ * listeners or threads, so a host can keep an idle game as a GameState and rebuild the Game when
+ * it is next used (see {@link Game#capture()}).
+ */
+public class GameState {
+    final String caseId;
+    final QuestionBank bank;
+    final String bankFile;
+    final int[] playerIds;
+    final String[] playerNames;
+    final int[] playerScores;
+    final boolean started;
+    final int currentPlayerIndex;
+    final SparseBitSet answered;
+    final String selectedCategory;
+    final int selectedValue;
+    final List<GameEvent> eventLog;
+    final boolean handsOverLog; // the log moves into the restored game, so the state is restored only once
+    final BuzzArbiter buzzArbiter;
+    final boolean recording;
+    final TimingWheel timers;
+    final Executor timerOwner;
+    final long answerWindowMillis;
+    final long buzzWindowMillis;
+    final boolean questionTimed;
+    final long questionDeadline; // System.nanoTime() at which the open question times out
+
+    GameState(String caseId, QuestionBank bank, String bankFile, List<Player> players, boolean started,
+            int currentPlayerIndex, SparseBitSet answered, Category selectedCategory, Question selectedQuestion,
+            List<GameEvent> eventLog, BuzzArbiter buzzArbiter, boolean recording, TimingWheel timers,
+            Executor timerOwner, long answerWindowMillis, long buzzWindowMillis, boolean questionTimed,
+            long questionDeadline, boolean handsOverLog) {
+        this.caseId = caseId;
+        this.bank = bank;
+        this.bankFile = bankFile;
+        this.playerIds = new int[players.size()];
+        this.playerNames = new String[players.size()];
+        this.playerScores = new int[players.size()];
+        for (int i = 0; i < players.size(); i++) {
+            Player p = players.get(i);
+            playerIds[i] = p.getId();
+            playerNames[i] = p.getName();
+            playerScores[i] = p.getScore();
+        }
+        this.started = started;
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.answered = answered.clone();
+        this.selectedCategory = selectedCategory == null ? null : selectedCategory.getName();
+        this.selectedValue = selectedQuestion == null ? 0 : selectedQuestion.getValue();
+        this.eventLog = eventLog; // already a copy, or handed over
+        this.handsOverLog = handsOverLog;
+        this.buzzArbiter = buzzArbiter;
+        this.recording = recording;
+        this.timers = timers;
+        this.timerOwner = timerOwner;
+        this.answerWindowMillis = answerWindowMillis;
+        this.buzzWindowMillis = buzzWindowMillis;
+        this.questionTimed = questionTimed;
+        this.questionDeadline = questionDeadline;
+    }
+
+    /**
+     * Builds a state from a checkpoint and the events logged before it.
+     */
+    GameState(GameCheckpoint checkpoint, QuestionBank bank, List<GameEvent> eventLog) {
+        this.caseId = checkpoint.caseId;
+        this.bank = bank;
+        this.bankFile = checkpoint.bankFile;
+        this.playerIds = checkpoint.playerIds.clone();
+        this.playerNames = checkpoint.playerNames.clone();
+        this.playerScores = checkpoint.playerScores.clone();
+        this.started = checkpoint.started;
+        this.currentPlayerIndex = checkpoint.currentPlayerIndex;
+        this.answered = checkpoint.answered.clone();
+        this.selectedCategory = checkpoint.selectedCategory;
+        this.selectedValue = checkpoint.selectedValue;
+        this.eventLog = new ArrayList<>(eventLog);
+        this.handsOverLog = true;
+        this.buzzArbiter = null;
+        this.recording = true;
+        this.timers = null;
+        this.timerOwner = null;
+        this.answerWindowMillis = 0;
+        this.buzzWindowMillis = 0;
+        this.questionTimed = false;
+        this.questionDeadline = 0;
+    }
+
+    /**
+     * Retrieves the case ID of the captured game.
+     * @return the case ID
+     */
+    public String getCaseId() {
+        return caseId;
+    }
+
+    /**
+     * Retrieves the number of events the captured game had logged.
+     * @return the event count
+     */
+    public int getEventCount() {
+        return eventLog.size();
+    }
+
+    /**
+     * Schedules a task for when the question that was open at capture runs out of time, so a host
+     * holding only this state can rebuild the game in time to close the question.
+     * @param task the task to run on the timing wheel's thread; keep it short
+     * @return the timer, or null if no question was being timed
+     */
+    TimingWheel.Timeout scheduleQuestionDeadline(Runnable task) {
+        if (timers == null || !questionTimed) {
+            return null;
+        }
+        return timers.schedule(questionDeadline - System.nanoTime(), TimeUnit.NANOSECONDS, task);
+    }
+
+    /**
+     * Takes a checkpoint of the captured game, as {@link Game#checkpoint()} would have.
+     */
+    GameCheckpoint checkpoint() {
+        Category category = selectedCategory == null ? null : bank.getCategory(selectedCategory);
+        Question question = category == null || selectedValue == 0 ? null : category.getQuestion(selectedValue);
+        return new GameCheckpoint(caseId, bankFile, bank, players(), started, currentPlayerIndex,
+                answered, category, question, eventLog.size());
+    }
+
+    /**
+     * Rebuilds the players as they were when the state was captured.
+     */
+    List<Player> players() {
+        List<Player> players = new ArrayList<>(playerIds.length);
+        for (int i = 0; i < playerIds.length; i++) {
+            Player p = new Player(playerIds[i], playerNames[i]);
+            p.addPoints(playerScores[i]);
+            players.add(p);
+        }
+        return players;
+    }
+}
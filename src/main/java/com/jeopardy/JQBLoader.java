@@ -0,0 +1,255 @@
+package com.jeopardy;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Loads game data from compiled .jqb question banks (see {@link QuestionBankCompiler}).
+ * <p>
+ * The file is memory-mapped and nothing is parsed up front beyond the header and category table.
+ * Each category's question list is a view over the mapped records: a Question is created the
+ * first time it is fetched and then kept, so the same object comes back on every later call, and
+ * its strings are decoded from the shared string table on first use.
+ * <p>
+ * Every string index in the category table and the question records is checked against the
+ * string table when the bank is loaded, without decoding anything, so a corrupt bank is
+ * rejected up front rather than failing when a question is first shown.
+ */
+public class JQBLoader implements GameDataLoader {
+    static final int MAGIC = 0x4A514231; // "JQB1"
+    static final int VERSION = 1;
+    static final int HEADER_BYTES = 5 * Integer.BYTES;
+    static final int CATEGORY_FIELDS = 3;
+    static final int QUESTION_FIELDS = 7;
+
+    // Rough per-object costs used for cache sizing, not exact layouts
+    private static final int STRING_BYTES = 56;
+    private static final int QUESTION_BYTES = 40;
+
+    /**
+     * Loads categories and questions from a .jqb file.
+     * @param fileName the path to the .jqb file to load
+     * @return a List of Category objects backed by the mapped file
+     */
+    @Override
+    public List<Category> load(String fileName) {
+        try {
+            return loadFully(fileName);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Loads categories and questions from a .jqb file, failing if it is not a valid bank.
+     * @param fileName the path to the .jqb file to load
+     * @return a List of Category objects backed by the mapped file
+     * @throws IOException if the file cannot be mapped or is corrupt
+     */
+    @Override
+    public List<Category> loadFully(String fileName) throws IOException {
+        List<Category> categories = new ArrayList<>();
+        MappedBank bank = new MappedBank(fileName);
+        for (int c = 0; c < bank.categoryCount; c++) {
+            int entry = HEADER_BYTES + c * CATEGORY_FIELDS * Integer.BYTES;
+            String name = bank.string(bank.checkString(bank.buffer.getInt(entry)));
+            int first = bank.buffer.getInt(entry + Integer.BYTES);
+            int count = bank.buffer.getInt(entry + 2 * Integer.BYTES);
+            if (first < 0 || count < 0 || (long) first + count > bank.questionCount) {
+                throw new IOException("Corrupt category table in " + fileName);
+            }
+            categories.add(new Category(name, new QuestionList(bank, first, count)));
+        }
+        for (int q = 0; q < bank.questionCount; q++) {
+            for (int field = 1; field < QUESTION_FIELDS; field++) {
+                bank.checkString(bank.field(q, field));
+            }
+        }
+        return categories;
+    }
+
+    /**
+     * The mapped file plus a cache of the strings decoded from it so far.
+     */
+    private static final class MappedBank {
+        final String fileName;
+        final ByteBuffer buffer;
+        final int categoryCount;
+        final int questionCount;
+        final int recordsOffset;
+        final int stringOffsetsOffset;
+        final int stringDataOffset;
+        final String[] strings;
+
+        MappedBank(String fileName) throws IOException {
+            this.fileName = fileName;
+            try (FileChannel channel = FileChannel.open(Paths.get(fileName), StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size < HEADER_BYTES || size > Integer.MAX_VALUE) {
+                    throw new IOException("Not a question bank: " + fileName);
+                }
+                this.buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            }
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException("Not a question bank: " + fileName);
+            }
+            if (buffer.getInt(4) != VERSION) {
+                throw new IOException("Unsupported question bank version " + buffer.getInt(4) + " in " + fileName);
+            }
+            int stringCount = buffer.getInt(8);
+            this.categoryCount = buffer.getInt(12);
+            this.questionCount = buffer.getInt(16);
+
+            long records = HEADER_BYTES + (long) categoryCount * CATEGORY_FIELDS * Integer.BYTES;
+            long offsets = records + (long) questionCount * QUESTION_FIELDS * Integer.BYTES;
+            long data = offsets + ((long) stringCount + 1) * Integer.BYTES;
+            if (stringCount < 0 || categoryCount < 0 || questionCount < 0 || data > buffer.capacity()
+                    || data + buffer.getInt((int) data - Integer.BYTES) != buffer.capacity()) {
+                throw new IOException("Corrupt question bank: " + fileName);
+            }
+            this.recordsOffset = (int) records;
+            this.stringOffsetsOffset = (int) offsets;
+            this.stringDataOffset = (int) data;
+            this.strings = new String[stringCount];
+            int previous = 0;
+            for (int i = 0; i <= stringCount; i++) {
+                int offset = buffer.getInt(stringOffsetsOffset + i * Integer.BYTES);
+                if (offset < previous) {
+                    throw new IOException("Corrupt string table in " + fileName);
+                }
+                previous = offset; // the last offset was checked against the file size above
+            }
+        }
+
+        /**
+         * Checks that a string index read from the file is inside the string table.
+         * @return the index
+         * @throws IOException if it is not
+         */
+        int checkString(int index) throws IOException {
+            if (index < 0 || index >= strings.length) {
+                throw new IOException("String index " + index + " out of range in " + fileName);
+            }
+            return index;
+        }
+
+        /**
+         * Estimates the heap taken by the string table once every string has been decoded.
+         */
+        long decodedBytes() {
+            return (long) strings.length * STRING_BYTES + 2L * (buffer.capacity() - stringDataOffset);
+        }
+
+        int field(int question, int field) {
+            return buffer.getInt(recordsOffset + (question * QUESTION_FIELDS + field) * Integer.BYTES);
+        }
+
+        String string(int index) throws IOException {
+            String s = strings[checkString(index)];
+            if (s == null) {
+                int start = buffer.getInt(stringOffsetsOffset + index * Integer.BYTES);
+                int end = buffer.getInt(stringOffsetsOffset + (index + 1) * Integer.BYTES);
+                byte[] bytes = new byte[end - start];
+                buffer.get(stringDataOffset + start, bytes);
+                s = new String(bytes, StandardCharsets.UTF_8);
+                strings[index] = s; // racing decoders store equal strings, so no lock is needed
+            }
+            return s;
+        }
+    }
+
+    /**
+     * One category's questions, materialized lazily from the mapped records.
+     */
+    private static final class QuestionList extends AbstractList<Question> implements QuestionBank.NumberedQuestions {
+        private final MappedBank bank;
+        private final int first;
+        private final Question[] questions;
+
+        QuestionList(MappedBank bank, int first, int count) {
+            this.bank = bank;
+            this.first = first;
+            this.questions = new Question[count];
+        }
+
+        @Override
+        public synchronized Question get(int index) {
+            Question q = questions[index];
+            if (q == null) {
+                q = new MappedQuestion(bank, first + index);
+                questions[index] = q;
+            }
+            return q;
+        }
+
+        @Override
+        public int size() {
+            return questions.length;
+        }
+
+        @Override
+        public int firstBankIndex() {
+            return first; // records are stored in category order
+        }
+
+        @Override
+        public long estimatedBytes() {
+            // This list's share of the decoded strings, plus a slot and a small object per question
+            long share = bank.questionCount == 0 ? 0 : bank.decodedBytes() * questions.length / bank.questionCount;
+            return share + questions.length * (long) QUESTION_BYTES;
+        }
+    }
+
+    /**
+     * A Question whose text, options and answer are read from the string table on demand.
+     */
+    private static final class MappedQuestion extends Question {
+        private final MappedBank bank;
+        private final int record;
+
+        MappedQuestion(MappedBank bank, int record) {
+            super(null, bank.field(record, 0), null, null, record);
+            this.bank = bank;
+            this.record = record;
+        }
+
+        @Override
+        public String getQuestionText() {
+            return text(1);
+        }
+
+        @Override
+        public Map<String, String> getOptions() {
+            Map<String, String> options = new HashMap<>();
+            options.put("A", text(2));
+            options.put("B", text(3));
+            options.put("C", text(4));
+            options.put("D", text(5));
+            return options;
+        }
+
+        @Override
+        public String getCorrectAnswer() {
+            return text(6);
+        }
+
+        private String text(int field) {
+            try {
+                return bank.string(bank.field(record, field));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e); // only if the file changed after it was checked
+            }
+        }
+    }
+}
@@ -1,11 +1,13 @@
 package com.jeopardy;
 
-import org.json.JSONArray;
-import org.json.JSONObject;
+import org.json.JSONException;
 import org.json.JSONTokener;
 
+import java.io.BufferedReader;
 import java.io.FileInputStream;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -14,6 +16,10 @@ import java.util.Map;
 /**
  * Loads game data from JSON files.
  * Expects JSON array format with objects containing Category, Value, Question, Options, and CorrectAnswer.
+ * <p>
+ * The file is read as a stream of tokens rather than as a document tree: each element of the
+ * top-level array is turned into a Question as soon as its closing brace is read, so memory use
+ * does not grow with the size of the file beyond the questions themselves.
  */
 public class JSONLoader implements GameDataLoader {
 
@@ -24,43 +30,188 @@ public class JSONLoader implements GameDataLoader {
      */
     @Override
     public List<Category> load(String fileName) {
+        try {
+            return loadFully(fileName);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Loads categories and questions from a JSON file, failing if it cannot be read in full.
+     * @param fileName the path to the JSON file to load
+     * @return a List of Category objects parsed from the JSON
+     * @throws IOException if the file cannot be read
+     */
+    @Override
+    public List<Category> loadFully(String fileName) throws IOException {
         List<Category> categories = new ArrayList<>();
         Map<String, Category> categoryMap = new HashMap<>();
 
-        try (FileInputStream fis = new FileInputStream(fileName)) {
-            JSONTokener tokener = new JSONTokener(fis);
-            JSONArray jsonArray = new JSONArray(tokener);
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(new FileInputStream(fileName), StandardCharsets.UTF_8))) {
+            JSONTokener tokener = new JSONTokener(reader);
 
-            for (int i = 0; i < jsonArray.length(); i++) {
-                JSONObject obj = jsonArray.getJSONObject(i);
+            if (tokener.nextClean() != '[') {
+                throw tokener.syntaxError("A JSONArray text must start with '['");
+            }
+            char c = tokener.nextClean();
+            if (c != ']') {
+                tokener.back();
+                while (true) {
+                    readQuestion(tokener, categories, categoryMap);
+                    c = tokener.nextClean();
+                    if (c == ']') {
+                        break;
+                    }
+                    if (c != ',') {
+                        throw tokener.syntaxError("Expected a ',' or ']'");
+                    }
+                }
+            }
+        }
 
-                String categoryName = obj.getString("Category");
-                int value = obj.getInt("Value");
-                String questionText = obj.getString("Question");
-                JSONObject optionsObj = obj.getJSONObject("Options");
-                String correctAnswer = obj.getString("CorrectAnswer");
+        return categories;
+    }
 
-                Category category = categoryMap.get(categoryName);
-                if (category == null) {
-                    category = new Category(categoryName);
-                    categoryMap.put(categoryName, category);
-                    categories.add(category);
-                }
+    /**
+     * Reads one question object and adds it to its category.
+     */
+    private void readQuestion(JSONTokener tokener, List<Category> categories, Map<String, Category> categoryMap) {
+        if (tokener.nextClean() != '{') {
+            throw tokener.syntaxError("A JSONObject text must begin with '{'");
+        }
 
-                Map<String, String> options = new HashMap<>();
-                options.put("A", optionsObj.getString("A"));
-                options.put("B", optionsObj.getString("B"));
-                options.put("C", optionsObj.getString("C"));
-                options.put("D", optionsObj.getString("D"));
+        String categoryName = null;
+        Integer value = null;
+        String questionText = null;
+        Map<String, String> options = null;
+        String correctAnswer = null;
 
-                Question question = new Question(questionText, value, options, correctAnswer);
-                category.addQuestion(question);
+        String key;
+        for (boolean first = true; (key = nextKey(tokener, first)) != null; first = false) {
+            switch (key) {
+                case "Category":
+                    categoryName = nextString(tokener, key);
+                    break;
+                case "Value":
+                    value = nextInt(tokener, key);
+                    break;
+                case "Question":
+                    questionText = nextString(tokener, key);
+                    break;
+                case "Options":
+                    options = readOptions(tokener);
+                    break;
+                case "CorrectAnswer":
+                    correctAnswer = nextString(tokener, key);
+                    break;
+                default:
+                    tokener.nextValue(); // unknown field, skip it
+                    break;
             }
+        }
 
-        } catch (IOException e) {
-            e.printStackTrace();
+        Category category = categoryMap.get(require(categoryName, "Category"));
+        if (category == null) {
+            category = new Category(categoryName);
+            categoryMap.put(categoryName, category);
+            categories.add(category);
         }
 
-        return categories;
+        Question question = new Question(require(questionText, "Question"), require(value, "Value"),
+                require(options, "Options"), require(correctAnswer, "CorrectAnswer"));
+        category.addQuestion(question);
+    }
+
+    private Map<String, String> readOptions(JSONTokener tokener) {
+        if (tokener.nextClean() != '{') {
+            throw tokener.syntaxError("JSONObject[\"Options\"] is not a JSONObject");
+        }
+        String a = null;
+        String b = null;
+        String c = null;
+        String d = null;
+        String key;
+        for (boolean first = true; (key = nextKey(tokener, first)) != null; first = false) {
+            switch (key) {
+                case "A":
+                    a = nextString(tokener, key);
+                    break;
+                case "B":
+                    b = nextString(tokener, key);
+                    break;
+                case "C":
+                    c = nextString(tokener, key);
+                    break;
+                case "D":
+                    d = nextString(tokener, key);
+                    break;
+                default:
+                    tokener.nextValue();
+                    break;
+            }
+        }
+
+        Map<String, String> options = new HashMap<>();
+        options.put("A", require(a, "A"));
+        options.put("B", require(b, "B"));
+        options.put("C", require(c, "C"));
+        options.put("D", require(d, "D"));
+        return options;
+    }
+
+    /**
+     * Reads the next member name of the current object, consuming the separating ',' before it
+     * and the ':' after it.
+     * @param first whether no member of the object has been read yet
+     * @return the key, or null once the object's closing brace has been read
+     */
+    private String nextKey(JSONTokener tokener, boolean first) {
+        char c = tokener.nextClean();
+        if (c == '}') {
+            return null;
+        }
+        if (!first) {
+            if (c != ',') {
+                throw tokener.syntaxError("Expected a ',' or '}'");
+            }
+            c = tokener.nextClean();
+        }
+        if (c != '"') {
+            throw tokener.syntaxError("Expected a quoted key");
+        }
+        String key = tokener.nextString('"');
+        if (tokener.nextClean() != ':') {
+            throw tokener.syntaxError("Expected a ':' after a key");
+        }
+        return key;
+    }
+
+    private String nextString(JSONTokener tokener, String key) {
+        if (tokener.nextClean() != '"') {
+            throw new JSONException("JSONObject[\"" + key + "\"] is not a string.");
+        }
+        return tokener.nextString('"');
+    }
+
+    private int nextInt(JSONTokener tokener, String key) {
+        Object value = tokener.nextValue();
+        if (value instanceof Number) {
+            return ((Number) value).intValue();
+        }
+        try {
+            return Integer.parseInt(value.toString());
+        } catch (NumberFormatException e) {
+            throw new JSONException("JSONObject[\"" + key + "\"] is not a int.");
+        }
+    }
+
+    private static <T> T require(T value, String key) {
+        if (value == null) {
+            throw new JSONException("JSONObject[\"" + key + "\"] not found.");
+        }
+        return value;
     }
 }
@@ -1,6 +1,12 @@
 package com.jeopardy;
 
+import java.nio.file.Path;
+import java.util.Map;
 import java.util.Scanner;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.LinkedBlockingQueue;
 
 public class Main {
     public static void main(String[] args) {
@@ -74,7 +80,7 @@ public class Main {
             for (Category c : game.getCategories()) {
                 System.out.print(c.getName() + " [");
                 for (Question q : c.getQuestions()) {
-                    if (!q.isAnswered()) {
+                    if (!game.isAnswered(q)) {
                         System.out.print(q.getValue() + " ");
                         anyQuestionAvailable = true;
                     } else {
@@ -151,21 +157,46 @@ public class Main {
 
         // 4. Report
         System.out.println("\nGame Over!");
+        ReportGeneratorFactory reportFormats = new ReportGeneratorFactory();
         while (true) {
-            System.out.println("Generate report? (TXT/PDF/DOCX) or 'skip':");
-            String format = scanner.nextLine().trim();
-            if (format.equalsIgnoreCase("skip")) {
+            System.out.println("Generate reports? (" + String.join("/", reportFormats.getFormats())
+                    + ", several separated by commas, or ALL) or 'skip':");
+            String input = scanner.nextLine().trim();
+            if (input.equalsIgnoreCase("skip")) {
                 break;
             }
-            if (format.equalsIgnoreCase("TXT") || format.equalsIgnoreCase("PDF") || format.equalsIgnoreCase("DOCX")) {
-                game.generateSummaryReport(format);
-                break; // Or allow generating multiple? Let's break after one for simplicity or ask
-                       // again.
-            } else {
-                System.out.println("Invalid format. Please enter TXT, PDF, DOCX, or skip.");
+            String[] formats = input.equalsIgnoreCase("ALL")
+                    ? reportFormats.getFormats().toArray(new String[0])
+                    : input.split("\\s*,\\s*");
+            boolean valid = !input.isEmpty();
+            for (String format : formats) {
+                valid &= reportFormats.getGenerator(format) != null;
             }
+            if (!valid) {
+                System.out.println("Invalid format. Please enter " + String.join(", ", reportFormats.getFormats())
+                        + ", ALL, or skip.");
+                continue;
+            }
+            // The reports are rendered in parallel; their GENERATE_REPORT events are queued for
+            // this thread, which is the one driving the game
+            BlockingQueue<Runnable> gameThread = new LinkedBlockingQueue<>();
+            try (ReportService reports = new ReportService()) {
+                Map<String, CompletableFuture<Path>> pending = reports.submit(game, gameThread::add, Path.of("."),
+                        formats);
+                for (Map.Entry<String, CompletableFuture<Path>> report : pending.entrySet()) {
+                    try {
+                        System.out.println("Generated " + report.getKey() + " report: " + report.getValue().join());
+                    } catch (CompletionException e) {
+                        System.out.println("Failed to generate " + report.getKey() + " report: "
+                                + e.getCause().getMessage());
+                    }
+                }
+            }
+            gameThread.forEach(Runnable::run);
+            break;
         }
 
+        game.close();
         scanner.close();
     }
 }
@@ -0,0 +1,487 @@
+package com.jeopardy;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Parses a CSV question bank by memory-mapping it and tokenizing newline-aligned chunks in parallel.
+ * <p>
+ * The file is cut into roughly equal byte ranges. Each chunk starts at the first line break at or after
+ * its nominal start and owns every record that begins before its nominal end, so a record that crosses
+ * the cut is parsed once by the chunk it starts in. Chunks follow the same RFC 4180 rules as
+ * {@link CSVTokenizer}, working directly on the mapped UTF-8 bytes and only decoding the fields it keeps.
+ * <p>
+ * A chunk cannot tell whether the line break it aligned to sat inside a quoted field. When a chunk's
+ * real end (known once the previous chunk is parsed) disagrees with where the next chunk assumed it
+ * would start, the next chunk is parsed again from the correct offset while merging.
+ * <p>
+ * A single mapping cannot exceed 2 GB, so a chunk is read through a window that is remapped from the
+ * start of the current record whenever a record may run past its end. Chunks of any size, and so files
+ * of any size, are parsed in full.
+ */
+class MappedCSVParser {
+    private static final long DEFAULT_MIN_CHUNK_SIZE = 4L * 1024 * 1024;
+    private static final int FIELDS_PER_ROW = 8;
+
+    private final String fileName;
+    private final ForkJoinPool pool;
+    private final long minChunkSize;
+    private final int mapWindow;
+
+    /**
+     * Constructs a MappedCSVParser for one file.
+     * @param fileName the path to the CSV file
+     * @param pool the pool that parses the chunks
+     */
+    MappedCSVParser(String fileName, ForkJoinPool pool) {
+        this(fileName, pool, DEFAULT_MIN_CHUNK_SIZE);
+    }
+
+    /**
+     * Constructs a MappedCSVParser with a custom lower bound on chunk size.
+     * @param fileName the path to the CSV file
+     * @param pool the pool that parses the chunks
+     * @param minChunkSize the smallest byte range worth parsing as a separate chunk
+     */
+    MappedCSVParser(String fileName, ForkJoinPool pool, long minChunkSize) {
+        this(fileName, pool, minChunkSize, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a MappedCSVParser with a custom lower bound on chunk size and mapping window.
+     * @param fileName the path to the CSV file
+     * @param pool the pool that parses the chunks
+     * @param minChunkSize the smallest byte range worth parsing as a separate chunk
+     * @param mapWindow the most bytes mapped at once; must exceed the longest record
+     */
+    MappedCSVParser(String fileName, ForkJoinPool pool, long minChunkSize, int mapWindow) {
+        this.fileName = fileName;
+        this.pool = pool;
+        this.minChunkSize = minChunkSize;
+        this.mapWindow = mapWindow;
+    }
+
+    /**
+     * Parses the whole file.
+     * @return the categories in order of first appearance, each with its questions in file order
+     * @throws IOException if the file cannot be mapped
+     */
+    List<Category> parse() throws IOException {
+        try (FileChannel channel = FileChannel.open(Path.of(fileName), StandardOpenOption.READ)) {
+            long size = channel.size();
+            int chunkCount = (int) Math.max(1, Math.min(pool.getParallelism() * 4L, size / minChunkSize));
+            long chunkSize = (size + chunkCount - 1) / chunkCount;
+
+            List<ForkJoinTask<Chunk>> tasks = new ArrayList<>(chunkCount);
+            for (int i = 0; i < chunkCount; i++) {
+                long nominalStart = i * chunkSize;
+                long nominalEnd = Math.min(size, nominalStart + chunkSize);
+                boolean first = i == 0;
+                tasks.add(pool.submit(() -> {
+                    long start = first ? 0 : alignToLine(channel, nominalStart, size);
+                    return parseChunk(channel, start, nominalEnd, size, first);
+                }));
+            }
+
+            List<Category> categories = new ArrayList<>();
+            Map<String, Category> categoryMap = new HashMap<>();
+            long expectedStart = 0;
+            long rowOffset = 0;
+            for (int i = 0; i < chunkCount; i++) {
+                Chunk chunk = join(tasks.get(i));
+                if (chunk.start != expectedStart) {
+                    // The previous chunk's last record ran past the line break this chunk aligned to
+                    chunk = parseChunk(channel, expectedStart, Math.min(size, (i + 1) * chunkSize), size, false);
+                }
+                chunk.mergeInto(categories, categoryMap, rowOffset);
+                expectedStart = chunk.end;
+                rowOffset += chunk.lines;
+            }
+            return categories;
+        }
+    }
+
+    private static Chunk join(ForkJoinTask<Chunk> task) throws IOException {
+        try {
+            return task.get();
+        } catch (ExecutionException e) {
+            // Callables' checked exceptions come back wrapped, possibly more than once
+            for (Throwable cause = e.getCause(); cause != null; cause = cause.getCause()) {
+                if (cause instanceof IOException io) {
+                    throw io;
+                }
+            }
+            throw new IOException(e.getCause());
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException(e);
+        }
+    }
+
+    private static long alignToLine(FileChannel channel, long nominalStart, long size) throws IOException {
+        long position = nominalStart - 1;
+        while (position < size) {
+            long window = Math.min(size - position, DEFAULT_MIN_CHUNK_SIZE);
+            MappedByteBuffer map = channel.map(FileChannel.MapMode.READ_ONLY, position, window);
+            for (int i = 0; i < window; i++) {
+                if (map.get(i) == '\n') {
+                    return position + i + 1;
+                }
+            }
+            position += window;
+        }
+        return size;
+    }
+
+    private Chunk parseChunk(FileChannel channel, long start, long nominalEnd, long size, boolean skipHeader)
+            throws IOException {
+        Chunk chunk = new Chunk(start);
+        if (start >= nominalEnd) {
+            chunk.end = start;
+            return chunk;
+        }
+
+        long base = start;
+        RecordReader reader = new RecordReader(map(channel, base, size), 0);
+        boolean header = skipHeader;
+        while (base + reader.position < size && base + reader.position < nominalEnd) {
+            int recordStart = reader.position;
+            long linesBefore = reader.lines;
+            boolean read = reader.readRecord();
+            if (reader.position == reader.limit && base + reader.limit < size) {
+                // The record may run past the window: map a new one from its start and read it again
+                if (recordStart == 0) {
+                    throw new IOException("Record at byte " + base + " of " + fileName + " is longer than "
+                            + mapWindow + " bytes");
+                }
+                base += recordStart;
+                reader = new RecordReader(map(channel, base, size), linesBefore);
+                continue;
+            }
+            if (!read) {
+                continue; // blank line
+            }
+            if (reader.error != null) {
+                if (header) {
+                    throw new CSVFormatException(reader.error, reader.errorRow, (int) reader.errorColumn);
+                }
+                chunk.addError(reader.errorRow, reader.errorColumn, reader.error);
+                continue;
+            }
+            if (header) {
+                header = false;
+                continue;
+            }
+            if (reader.fieldCount < FIELDS_PER_ROW) {
+                chunk.addError(reader.recordRow, 1,
+                        "expected " + FIELDS_PER_ROW + " fields but found " + reader.fieldCount);
+                continue;
+            }
+
+            String valueText = reader.field(1).trim();
+            int value;
+            try {
+                value = Integer.parseInt(valueText);
+            } catch (NumberFormatException e) {
+                chunk.addError(reader.recordRow, reader.fieldColumn(1), "value is not a number: " + valueText);
+                continue;
+            }
+            chunk.add(reader.field(0).trim(), value, reader.field(2).trim(), reader.field(3).trim(),
+                    reader.field(4).trim(), reader.field(5).trim(), reader.field(6).trim(), reader.field(7).trim());
+        }
+        chunk.end = base + reader.position;
+        chunk.lines = reader.lines;
+        return chunk;
+    }
+
+    private MappedByteBuffer map(FileChannel channel, long position, long size) throws IOException {
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, Math.min(size - position, mapWindow));
+    }
+
+    /**
+     * The rows of one chunk, grouped by category in order of first appearance within the chunk.
+     */
+    private class Chunk {
+        private final long start;
+        private long end;
+        private long lines;
+        private final List<Category> categories = new ArrayList<>();
+        private final Map<String, Category> categoryMap = new HashMap<>();
+        private final List<String> errors = new ArrayList<>();
+        private final List<long[]> errorPositions = new ArrayList<>();
+
+        private Chunk(long start) {
+            this.start = start;
+        }
+
+        private void add(String categoryName, int value, String questionText, String optionA, String optionB,
+                String optionC, String optionD, String correctAnswer) {
+            Categories.addQuestion(categories, categoryMap, categoryName, value, questionText, optionA, optionB,
+                    optionC, optionD, correctAnswer);
+        }
+
+        private void addError(long row, long column, String message) {
+            errors.add(message);
+            errorPositions.add(new long[] { row, column });
+        }
+
+        private void mergeInto(List<Category> merged, Map<String, Category> mergedMap, long rowOffset) {
+            for (int i = 0; i < errors.size(); i++) {
+                long[] at = errorPositions.get(i);
+                System.err.println("Skipping malformed row in " + fileName + ": Row " + (rowOffset + at[0])
+                        + ", column " + at[1] + ": " + errors.get(i));
+            }
+            for (Category local : categories) {
+                Category category = mergedMap.get(local.getName());
+                if (category == null) {
+                    mergedMap.put(local.getName(), local);
+                    merged.add(local);
+                } else {
+                    for (Question q : local.getQuestions()) {
+                        category.addQuestion(q);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Tokenizes records straight out of a mapped byte buffer.
+     * Line numbers are relative to the start of the chunk and column numbers to the start of the
+     * mapping, which always begins at the start of a line.
+     */
+    private static class RecordReader {
+        private static final int FIELD_START = 0;
+        private static final int UNQUOTED = 1;
+        private static final int QUOTED = 2;
+        private static final int QUOTE_IN_QUOTED = 3;
+        private static final int AFTER_QUOTED = 4;
+
+        private final MappedByteBuffer map;
+        private final int limit;
+        private int position;
+        private long lines;
+        private int lineStart;
+
+        private byte[] record = new byte[1024];
+        private int recordLength;
+        private int[] fieldStarts = new int[16];
+        private int[] fieldEnds = new int[16];
+        private int[] fieldPositions = new int[16];
+        private int[] fieldLineStarts = new int[16];
+        private int fieldCount;
+        private long recordRow;
+
+        private String error;
+        private long errorRow;
+        private long errorColumn;
+
+        private RecordReader(MappedByteBuffer map, long lines) {
+            this.map = map;
+            this.limit = map.limit();
+            this.lines = lines;
+        }
+
+        /**
+         * Reads the record at the current position.
+         * @return false if the line was blank, true if a record (or an error) was read
+         */
+        private boolean readRecord() {
+            recordLength = 0;
+            fieldCount = 0;
+            error = null;
+            recordRow = lines + 1;
+
+            int state = FIELD_START;
+            int quotePosition = 0;
+            boolean onlyWhitespace = false;
+
+            while (position < limit) {
+                byte b = map.get(position++);
+
+                if (fieldCount == 0 && recordLength == 0 && state == FIELD_START && (b == '\r' || b == '\n')) {
+                    newLine(b);
+                    return false;
+                }
+
+                switch (state) {
+                    case FIELD_START:
+                        startField(position - 1);
+                        if (b == '"') {
+                            state = QUOTED;
+                            quotePosition = position - 1;
+                        } else if (b == ',') {
+                            endField();
+                        } else if (b == '\r' || b == '\n') {
+                            endField();
+                            newLine(b);
+                            return true;
+                        } else {
+                            append(b);
+                            onlyWhitespace = b == ' ' || b == '\t';
+                            state = UNQUOTED;
+                        }
+                        break;
+
+                    case UNQUOTED:
+                        if (b == ',') {
+                            endField();
+                            state = FIELD_START;
+                        } else if (b == '\r' || b == '\n') {
+                            endField();
+                            newLine(b);
+                            return true;
+                        } else if (b == '"') {
+                            if (!onlyWhitespace) {
+                                return malformed("Quote inside an unquoted field", position - 1);
+                            }
+                            recordLength = fieldStarts[fieldCount];
+                            state = QUOTED;
+                            quotePosition = position - 1;
+                        } else {
+                            append(b);
+                            onlyWhitespace &= b == ' ' || b == '\t';
+                        }
+                        break;
+
+                    case QUOTED:
+                        if (b == '"') {
+                            state = QUOTE_IN_QUOTED;
+                        } else {
+                            append(b);
+                            if (b == '\n' || (b == '\r' && !(position < limit && map.get(position) == '\n'))) {
+                                lines++;
+                                lineStart = position;
+                            }
+                        }
+                        break;
+
+                    case QUOTE_IN_QUOTED:
+                        if (b == '"') {
+                            append(b);
+                            state = QUOTED;
+                        } else if (b == ',') {
+                            endField();
+                            state = FIELD_START;
+                        } else if (b == '\r' || b == '\n') {
+                            endField();
+                            newLine(b);
+                            return true;
+                        } else if (b == ' ' || b == '\t') {
+                            state = AFTER_QUOTED;
+                        } else {
+                            return malformed("Unexpected character after closing quote", position - 1);
+                        }
+                        break;
+
+                    default: // AFTER_QUOTED
+                        if (b == ',') {
+                            endField();
+                            state = FIELD_START;
+                        } else if (b == '\r' || b == '\n') {
+                            endField();
+                            newLine(b);
+                            return true;
+                        } else if (b != ' ' && b != '\t') {
+                            return malformed("Unexpected character after closing quote", position - 1);
+                        }
+                        break;
+                }
+            }
+
+            // End of the mapping
+            if (state == QUOTED) {
+                error = "Unterminated quoted field";
+                errorRow = recordRow;
+                errorColumn = column(fieldLineStarts[fieldCount], quotePosition);
+                return true;
+            }
+            if (state == FIELD_START) {
+                startField(position);
+            }
+            endField();
+            return true;
+        }
+
+        private String field(int index) {
+            return new String(record, fieldStarts[index], fieldEnds[index] - fieldStarts[index],
+                    StandardCharsets.UTF_8);
+        }
+
+        private long fieldColumn(int index) {
+            return column(fieldLineStarts[index], fieldPositions[index]);
+        }
+
+        private void newLine(byte b) {
+            if (b == '\r' && position < limit && map.get(position) == '\n') {
+                position++;
+            }
+            lines++;
+            lineStart = position;
+        }
+
+        private void startField(int at) {
+            if (fieldCount == fieldStarts.length) {
+                int size = fieldStarts.length * 2;
+                fieldStarts = Arrays.copyOf(fieldStarts, size);
+                fieldEnds = Arrays.copyOf(fieldEnds, size);
+                fieldPositions = Arrays.copyOf(fieldPositions, size);
+                fieldLineStarts = Arrays.copyOf(fieldLineStarts, size);
+            }
+            fieldStarts[fieldCount] = recordLength;
+            fieldPositions[fieldCount] = at;
+            fieldLineStarts[fieldCount] = lineStart;
+        }
+
+        private void endField() {
+            fieldEnds[fieldCount] = recordLength;
+            fieldCount++;
+        }
+
+        private void append(byte b) {
+            if (recordLength == record.length) {
+                record = Arrays.copyOf(record, record.length * 2);
+            }
+            record[recordLength++] = b;
+        }
+
+        private boolean malformed(String message, int at) {
+            error = message;
+            errorRow = lines + 1;
+            errorColumn = column(lineStart, at);
+            while (position < limit) {
+                byte b = map.get(position++);
+                if (b == '\r' || b == '\n') {
+                    newLine(b);
+                    break;
+                }
+            }
+            return true;
+        }
+
+        /**
+         * Converts a byte offset into a 1-based character column by skipping UTF-8 continuation bytes.
+         */
+        private long column(int lineStartPosition, int at) {
+            long column = 1;
+            for (int i = lineStartPosition; i < at; i++) {
+                if ((map.get(i) & 0xC0) != 0x80) {
+                    column++;
+                }
+            }
+            return column;
+        }
+    }
+}
@@ -1,119 +1,369 @@
 package com.jeopardy;
 
-import org.apache.pdfbox.pdmodel.PDDocument;
-import org.apache.pdfbox.pdmodel.PDPage;
-import org.apache.pdfbox.pdmodel.PDPageContentStream;
+import org.apache.pdfbox.pdmodel.common.PDRectangle;
+import org.apache.pdfbox.pdmodel.font.PDFont;
 import org.apache.pdfbox.pdmodel.font.PDType1Font;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.zip.Deflater;
 
 /**
  * Generates a PDF summary report of a Jeopardy game.
  * Writes player names, gameplay details, and final scores to a PDF file.
+ * <p>
+ * The document is streamed: each page's content is compressed and written to the output as soon as
+ * the page is full, followed by its page object, so memory holds one page of content and the byte
+ * offset of each object written, whatever the length of the session. All pages share one resource
+ * dictionary that names the two standard fonts once. PDFBox supplies the fonts' metrics, which place
+ * the lines, wrap them to the page width and keep every turn on one page, and their encoding.
  */
 public class PDFReport implements ReportGenerator {
+    private static final PDFont TITLE_FONT = PDType1Font.HELVETICA_BOLD;
+    private static final PDFont BODY_FONT = PDType1Font.HELVETICA;
+    private static final float TITLE_SIZE = 16;
+    private static final float BODY_SIZE = 12;
+    private static final float MARGIN = 50;
+    private static final PDRectangle PAGE_SIZE = PDRectangle.LETTER;
 
     /**
-     * Generates a PDF report for the given game and writes it to report.pdf.
-     * @param game the Game to generate a report for
+     * Writes a PDF report.
+     * @param model the report content
+     * @param out the stream to write the report to
+     * @throws IOException if the report cannot be written
      */
     @Override
-    public void generateReport(Game game) {
-        try (PDDocument document = new PDDocument()) {
-            PDPage page = new PDPage();
-            document.addPage(page);
-
-            PDPageContentStream contentStream = new PDPageContentStream(document, page);
-            contentStream.setFont(PDType1Font.HELVETICA_BOLD, 16);
-            contentStream.beginText();
-            contentStream.setLeading(14.5f);
-            contentStream.newLineAtOffset(50, 750);
-            contentStream.showText("JEOPARDY PROGRAMMING GAME REPORT");
-            contentStream.newLine();
-            contentStream.setFont(PDType1Font.HELVETICA, 12);
-            contentStream.showText("================================");
-            contentStream.newLine();
-            contentStream.newLine();
-
-            contentStream.showText("Players: ");
-            for (Player p : game.getPlayers()) {
-                contentStream.showText(p.getName() + " ");
-            }
-            contentStream.newLine();
-            contentStream.newLine();
-
-            contentStream.showText("Gameplay Summary:");
-            contentStream.newLine();
-            contentStream.showText("-----------------");
-            contentStream.newLine();
-
-            List<GameEvent> events = game.getEventLog();
-            int turn = 1;
-            int lines = 8; // Header lines
-
-            for (GameEvent event : events) {
-                if (event.getActivity() == ActivityType.ANSWER_QUESTION) {
-                    if (lines > 45) { // Approx lines per page
-                        contentStream.endText();
-                        contentStream.close();
-
-                        page = new PDPage();
-                        document.addPage(page);
-                        contentStream = new PDPageContentStream(document, page);
-                        contentStream.setFont(PDType1Font.HELVETICA, 12);
-                        contentStream.beginText();
-                        contentStream.setLeading(14.5f);
-                        contentStream.newLineAtOffset(50, 750);
-                        lines = 0;
-                    }
+    public void render(ReportModel model, OutputStream out) throws IOException {
+        PageWriter pages = new PageWriter(out);
+        pages.line(TITLE_FONT, TITLE_SIZE, "JEOPARDY PROGRAMMING GAME REPORT");
+        pages.line(BODY_FONT, BODY_SIZE, "================================");
+        pages.blank();
+
+        StringBuilder players = new StringBuilder("Players: ");
+        for (ReportModel.PlayerSummary p : model.getPlayers()) {
+            players.append(p.getName()).append(' ');
+        }
+        pages.line(BODY_FONT, BODY_SIZE, players.toString());
+        pages.blank();
+
+        pages.line(BODY_FONT, BODY_SIZE, "Gameplay Summary:");
+        pages.line(BODY_FONT, BODY_SIZE, "-----------------");
+
+        List<String> block = new ArrayList<>(3);
+        for (ReportModel.Turn turn : model.getTurns()) {
+            block.clear();
+            block.add("Turn " + turn.getNumber() + ": " + turn.getPlayerName() + " selected "
+                    + turn.getCategory() + " for " + turn.getValue() + " pts");
+            block.add("Answer: " + turn.getAnswer() + " - " + turn.getResult());
+            block.add("Score after turn: " + turn.getScoreAfter());
+            pages.block(BODY_FONT, BODY_SIZE, block);
+            pages.blank();
+        }
 
-                    contentStream.showText("Turn " + turn + ": " + getPlayerName(game, event.getPlayerId())
-                            + " selected " + event.getCategory() + " for " + event.getQuestionValue() + " pts");
-                    contentStream.newLine();
-                    contentStream.showText("Answer: " + event.getAnswerGiven() + " - " + event.getResult());
-                    contentStream.newLine();
-                    contentStream.showText("Score after turn: " + event.getScoreAfterPlay());
-                    contentStream.newLine();
-                    contentStream.newLine();
-                    turn++;
-                    lines += 4;
+        block.clear();
+        block.add("Final Scores:");
+        for (ReportModel.PlayerSummary p : model.getPlayers()) {
+            block.add(p.getName() + ": " + p.getFinalScore());
+        }
+        pages.block(BODY_FONT, BODY_SIZE, block);
+        pages.finish();
+    }
+
+    /**
+     * Retrieves the file extension of PDF reports.
+     * @return "pdf"
+     */
+    @Override
+    public String getExtension() {
+        return "pdf";
+    }
+
+    /**
+     * Lays lines out top to bottom and writes the PDF objects as pages fill up.
+     * <p>
+     * Object numbers are fixed: 1 is the catalog, 2 the page tree (written last, when the page
+     * count is known), 3 and 4 the fonts, 5 the shared resources, then a content stream and a page
+     * object for each page.
+     */
+    private static final class PageWriter {
+        private static final int PAGES_OBJECT = 2;
+        private static final int FIRST_PAGE_OBJECT = 6;
+        private static final String BODY_FONT_NAME = "F1";
+        private static final String TITLE_FONT_NAME = "F2";
+
+        private final OutputStream out;
+        private final float width = PAGE_SIZE.getWidth() - 2 * MARGIN;
+        private final List<String> wrapped = new ArrayList<>();
+        private final List<String> blockLines = new ArrayList<>();
+        private final ByteArrayOutputStream content = new ByteArrayOutputStream(8192);
+        private final StringBuilder ops = new StringBuilder(64);
+        private final Deflater deflater = new Deflater();
+        private byte[] compressed = new byte[8192];
+        private long[] offsets = new long[64]; // by object number
+        private long position;
+        private int pageCount;
+        private boolean pageOpen;
+        private float y;
+        private PDFont currentFont;
+        private float currentSize;
+
+        PageWriter(OutputStream out) throws IOException {
+            this.out = out;
+            write("%PDF-1.4\n%âãÏÓ\n");
+            startObject(1);
+            write("<< /Type /Catalog /Pages " + PAGES_OBJECT + " 0 R >>\nendobj\n");
+            startObject(3);
+            write("<< /Type /Font /Subtype /Type1 /BaseFont /" + BODY_FONT.getName()
+                    + " /Encoding /WinAnsiEncoding >>\nendobj\n");
+            startObject(4);
+            write("<< /Type /Font /Subtype /Type1 /BaseFont /" + TITLE_FONT.getName()
+                    + " /Encoding /WinAnsiEncoding >>\nendobj\n");
+            startObject(5);
+            write("<< /Font << /" + BODY_FONT_NAME + " 3 0 R /" + TITLE_FONT_NAME + " 4 0 R >> >>\nendobj\n");
+        }
+
+        /** Writes one line, wrapped to the page width. */
+        void line(PDFont font, float size, String text) throws IOException {
+            wrap(font, size, text, wrapped);
+            ensureRoom(wrapped.size() * leading(font, size));
+            for (String part : wrapped) {
+                ensureRoom(leading(font, size));
+                show(font, size, part);
+            }
+        }
+
+        /** Writes lines that are kept on one page unless they are longer than a page. */
+        void block(PDFont font, float size, List<String> lines) throws IOException {
+            blockLines.clear();
+            for (String text : lines) {
+                wrap(font, size, text, wrapped);
+                blockLines.addAll(wrapped);
+            }
+            ensureRoom(Math.min(blockLines.size() * leading(font, size), PAGE_SIZE.getHeight() - 2 * MARGIN));
+            for (String part : blockLines) {
+                ensureRoom(leading(font, size));
+                show(font, size, part);
+            }
+        }
+
+        /** Leaves an empty body line, unless at the top or bottom of a page. */
+        void blank() throws IOException {
+            float leading = leading(BODY_FONT, BODY_SIZE);
+            if (pageOpen && y < PAGE_SIZE.getHeight() - MARGIN && y - leading >= MARGIN) {
+                y -= leading;
+            }
+        }
+
+        /** Writes the last page, the page tree and the cross-reference table. */
+        void finish() throws IOException {
+            if (!pageOpen) {
+                newPage(); // a document needs at least one page
+            }
+            closePage();
+            startObject(PAGES_OBJECT);
+            StringBuilder text = new StringBuilder("<< /Type /Pages /Count ").append(pageCount).append(" /Kids [");
+            for (int i = 0; i < pageCount; i++) {
+                text.append(FIRST_PAGE_OBJECT + 2 * i + 1).append(" 0 R ");
+                if (text.length() > 8192) {
+                    write(text);
+                    text.setLength(0);
                 }
             }
+            text.append("] >>\nendobj\n");
 
-            if (lines > 45) {
-                contentStream.endText();
-                contentStream.close();
-                page = new PDPage();
-                document.addPage(page);
-                contentStream = new PDPageContentStream(document, page);
-                contentStream.setFont(PDType1Font.HELVETICA, 12);
-                contentStream.beginText();
-                contentStream.setLeading(14.5f);
-                contentStream.newLineAtOffset(50, 750);
+            int size = FIRST_PAGE_OBJECT + 2 * pageCount;
+            long xref = position + text.length();
+            text.append("xref\n0 ").append(size).append("\n0000000000 65535 f \n");
+            for (int i = 1; i < size; i++) {
+                String offset = Long.toString(offsets[i]);
+                text.append("0000000000", offset.length(), 10).append(offset).append(" 00000 n \n");
+                if (text.length() > 8192) {
+                    write(text);
+                    text.setLength(0);
+                }
             }
+            text.append("trailer\n<< /Size ").append(size).append(" /Root 1 0 R >>\nstartxref\n").append(xref)
+                    .append("\n%%EOF\n");
+            write(text);
+            out.flush();
+            deflater.end();
+        }
 
-            contentStream.showText("Final Scores:");
-            contentStream.newLine();
-            for (Player p : game.getPlayers()) {
-                contentStream.showText(p.getName() + ": " + p.getScore());
-                contentStream.newLine();
+        private void show(PDFont font, float size, String text) throws IOException {
+            ops.setLength(0);
+            if (font != currentFont || size != currentSize) {
+                ops.append('/').append(font == BODY_FONT ? BODY_FONT_NAME : TITLE_FONT_NAME).append(' ');
+                appendNumber(ops, size);
+                ops.append(" Tf\n");
+                currentFont = font;
+                currentSize = size;
             }
+            y -= leading(font, size);
+            ops.append("1 0 0 1 ");
+            appendNumber(ops, MARGIN);
+            ops.append(' ');
+            appendNumber(ops, y);
+            ops.append(" Tm\n(");
+            writeAscii(content, ops);
+            for (byte b : encode(font, text)) {
+                if (b == '(' || b == ')' || b == '\\') {
+                    content.write('\\');
+                }
+                content.write(b);
+            }
+            content.write(')');
+            content.write(' ');
+            content.write('T');
+            content.write('j');
+            content.write('\n');
+        }
 
-            contentStream.endText();
-            contentStream.close();
+        private void ensureRoom(float height) throws IOException {
+            if (!pageOpen || y - height < MARGIN) {
+                newPage();
+            }
+        }
 
-            document.save("report.pdf");
-        } catch (IOException e) {
-            e.printStackTrace();
+        private void newPage() throws IOException {
+            closePage();
+            content.reset();
+            writeAscii(content, "BT\n");
+            y = PAGE_SIZE.getHeight() - MARGIN;
+            currentFont = null;
+            pageOpen = true;
+        }
+
+        private void closePage() throws IOException {
+            if (!pageOpen) {
+                return;
+            }
+            writeAscii(content, "ET\n");
+            byte[] raw = content.toByteArray();
+            deflater.reset();
+            deflater.setInput(raw);
+            deflater.finish();
+            int length = 0;
+            while (!deflater.finished()) {
+                if (length == compressed.length) {
+                    compressed = Arrays.copyOf(compressed, compressed.length * 2);
+                }
+                length += deflater.deflate(compressed, length, compressed.length - length);
+            }
+
+            int contentObject = FIRST_PAGE_OBJECT + 2 * pageCount;
+            startObject(contentObject);
+            write("<< /Length " + length + " /Filter /FlateDecode >>\nstream\n");
+            out.write(compressed, 0, length);
+            position += length;
+            write("\nendstream\nendobj\n");
+            startObject(contentObject + 1);
+            write("<< /Type /Page /Parent " + PAGES_OBJECT + " 0 R /MediaBox [0 0 " + (int) PAGE_SIZE.getWidth()
+                    + " " + (int) PAGE_SIZE.getHeight() + "] /Resources 5 0 R /Contents " + contentObject
+                    + " 0 R >>\nendobj\n");
+            pageCount++;
+            pageOpen = false;
+        }
+
+        private void startObject(int number) throws IOException {
+            if (number >= offsets.length) {
+                offsets = Arrays.copyOf(offsets, Math.max(number + 1, offsets.length * 2));
+            }
+            offsets[number] = position;
+            write(number + " 0 obj\n");
+        }
+
+        private void write(CharSequence text) throws IOException {
+            // Object syntax is ASCII; the binary marker comment after the header is Latin-1
+            byte[] bytes = text.toString().getBytes(StandardCharsets.ISO_8859_1);
+            out.write(bytes);
+            position += bytes.length;
+        }
+
+        private static void writeAscii(ByteArrayOutputStream target, CharSequence text) {
+            for (int i = 0; i < text.length(); i++) {
+                target.write(text.charAt(i));
+            }
+        }
+
+        private void wrap(PDFont font, float size, String text, List<String> lines) throws IOException {
+            lines.clear();
+            String rest = text;
+            while (textWidth(font, size, rest) > width) {
+                // The longest prefix that fits, then back to the last space in it
+                int fits = 1;
+                int tooLong = rest.length();
+                while (tooLong - fits > 1) {
+                    int mid = (fits + tooLong) >>> 1;
+                    if (textWidth(font, size, rest.substring(0, mid)) <= width) {
+                        fits = mid;
+                    } else {
+                        tooLong = mid;
+                    }
+                }
+                int cut = fits;
+                int space = rest.lastIndexOf(' ', cut);
+                if (space > 0) {
+                    cut = space;
+                }
+                lines.add(rest.substring(0, cut));
+                rest = rest.substring(cut).stripLeading();
+            }
+            lines.add(rest);
+        }
+
+        private static float textWidth(PDFont font, float size, String text) throws IOException {
+            float width;
+            try {
+                width = font.getStringWidth(text);
+            } catch (IllegalArgumentException e) {
+                width = font.getStringWidth(encodable(font, text));
+            }
+            return width / 1000 * size;
+        }
+
+        private static float leading(PDFont font, float size) throws IOException {
+            return font.getBoundingBox().getHeight() / 1000 * size;
         }
-    }
 
-    private String getPlayerName(Game game, int playerId) {
-        for (Player p : game.getPlayers()) {
-            if (p.getId() == playerId)
-                return p.getName();
+        private static byte[] encode(PDFont font, String text) throws IOException {
+            try {
+                return font.encode(text);
+            } catch (IllegalArgumentException e) {
+                return font.encode(encodable(font, text)); // a character the font's encoding lacks
+            }
+        }
+
+        private static String encodable(PDFont font, String text) {
+            StringBuilder sb = new StringBuilder(text.length());
+            for (int i = 0; i < text.length(); ) {
+                int cp = text.codePointAt(i);
+                String ch = new String(Character.toChars(cp));
+                try {
+                    font.encode(ch);
+                    sb.append(ch);
+                } catch (IOException | IllegalArgumentException e) {
+                    sb.append('?');
+                }
+                i += Character.charCount(cp);
+            }
+            return sb.toString();
+        }
+
+        private static void appendNumber(StringBuilder sb, float value) {
+            long hundredths = Math.round(value * 100.0);
+            sb.append(hundredths / 100);
+            long fraction = Math.abs(hundredths % 100);
+            if (fraction != 0) {
+                sb.append('.').append(fraction / 10);
+                if (fraction % 10 != 0) {
+                    sb.append(fraction % 10);
+                }
+            }
         }
-        return "Unknown";
     }
 }
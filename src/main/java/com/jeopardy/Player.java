@@ -29,6 +29,13 @@ public class Player {
         this.score += amount;
     }
 
+    /**
+     * Sets the player's score back to zero for a new game.
+     */
+    void resetScore() {
+        this.score = 0;
+    }
+
     /**
      * Retrieves the player's current score.
      * @return the player's current score
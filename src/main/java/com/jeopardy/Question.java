@@ -5,13 +5,16 @@ import java.util.Map;
 /**
  * Represents a question in a Jeopardy game.
  * Each question has text, a point value, multiple choice options, and a correct answer.
+ * <p>
+ * Questions are not modified once their bank has numbered them, so one {@link QuestionBank} can
+ * serve many games at once; whether a question has been answered is tracked per game (see {@link Game#isAnswered(Question)}).
  */
 public class Question {
-    private String questionText;
-    private int value;
-    private Map<String, String> options;
-    private String correctAnswer;
-    private boolean answered;
+    private final String questionText;
+    private final int value;
+    private final Map<String, String> options;
+    private final String correctAnswer;
+    private int bankIndex;
 
     /**
      * Constructs a Question with the given parameters.
@@ -21,11 +24,19 @@ public class Question {
      * @param correctAnswer the key of the correct answer (e.g., "A")
      */
     public Question(String questionText, int value, Map<String, String> options, String correctAnswer) {
+        this(questionText, value, options, correctAnswer, -1);
+    }
+
+    /**
+     * Constructs a Question at a fixed position in a QuestionBank.
+     * @param bankIndex the question's position in its bank, used to track per-game state
+     */
+    Question(String questionText, int value, Map<String, String> options, String correctAnswer, int bankIndex) {
         this.questionText = questionText;
         this.value = value;
         this.options = options;
         this.correctAnswer = correctAnswer;
-        this.answered = false;
+        this.bankIndex = bankIndex;
     }
 
     /**
@@ -34,7 +45,7 @@ public class Question {
      * @return true if the answer is correct, false otherwise
      */
     public boolean checkAnswer(String answer) {
-        return correctAnswer.equalsIgnoreCase(answer);
+        return getCorrectAnswer().equalsIgnoreCase(answer);
     }
 
     /**
@@ -70,18 +81,18 @@ public class Question {
     }
 
     /**
-     * Checks if this question has been answered during the game.
-     * @return true if the question has been answered, false otherwise
+     * Retrieves this question's position in its QuestionBank.
+     * @return the bank index, or -1 if the question does not belong to a bank
      */
-    public boolean isAnswered() {
-        return answered;
+    int getBankIndex() {
+        return bankIndex;
     }
 
     /**
-     * Sets whether this question has been answered.
-     * @param answered true if the question has been answered, false otherwise
+     * Numbers this question as it joins a QuestionBank. Called once, before the bank is shared.
+     * @param bankIndex the question's position in the bank
      */
-    public void setAnswered(boolean answered) {
-        this.answered = answered;
+    void setBankIndex(int bankIndex) {
+        this.bankIndex = bankIndex;
     }
 }
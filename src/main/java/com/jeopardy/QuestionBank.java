@@ -0,0 +1,145 @@
+package com.jeopardy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * A parsed question bank that is read-only once built, so it can be shared by any number of game sessions.
+ * <p>
+ * The bank takes over the categories and questions it is built from rather than copying them, so
+ * a bank compiled to .jqb stays a view over its mapped file. Its category and question lists are
+ * read-only and every question is numbered by its position in the bank, so a game only needs a
+ * bitset over those positions to track which questions it has used.
+ */
+public class QuestionBank {
+    // Rough per-object costs used for cache sizing, not exact layouts
+    private static final int STRING_OVERHEAD = 48;
+    private static final int QUESTION_OVERHEAD = 64;
+    private static final int OPTIONS_OVERHEAD = 224;
+
+    private final List<Category> categories;
+    private final CategoryIndex categoryIndex;
+    private final int questionCount;
+    private final long estimatedBytes;
+    private final String contentHash;
+
+    /**
+     * A question list whose questions already know their bank positions, such as a view of a
+     * compiled bank, so the bank can take it without walking it.
+     */
+    interface NumberedQuestions {
+        /**
+         * Retrieves the bank position of the list's first question; the rest follow in order.
+         * @return the position of the first question
+         */
+        int firstBankIndex();
+
+        /**
+         * Retrieves a rough estimate of the heap the list occupies once fully used.
+         * @return the estimated size in bytes
+         */
+        long estimatedBytes();
+    }
+
+    /**
+     * Constructs a QuestionBank from loaded categories.
+     * The bank takes over the categories and numbers their questions in place, so neither may be
+     * changed or given to another bank afterwards.
+     * @param categories the categories and questions to hold, e.g. from a GameDataLoader
+     */
+    public QuestionBank(List<Category> categories) {
+        this(categories, null);
+    }
+
+    /**
+     * Constructs a QuestionBank from the categories loaded from one version of a file.
+     * @param categories the categories and questions to hold
+     * @param contentHash the SHA-256 of the file the categories were loaded from, in hex
+     */
+    QuestionBank(List<Category> categories, String contentHash) {
+        List<Category> views = new ArrayList<>(categories.size());
+        int index = 0;
+        long bytes = 0;
+        for (Category category : categories) {
+            bytes += STRING_OVERHEAD + category.getName().length();
+
+            List<Question> questions = category.getQuestions();
+            if (questions instanceof NumberedQuestions numbered && numbered.firstBankIndex() == index) {
+                index += questions.size();
+                bytes += numbered.estimatedBytes();
+            } else {
+                if (questions instanceof NumberedQuestions) {
+                    questions = new ArrayList<>(questions); // categories out of file order; number afresh
+                }
+                for (Question q : questions) {
+                    q.setBankIndex(index++);
+                    bytes += QUESTION_OVERHEAD + OPTIONS_OVERHEAD + STRING_OVERHEAD + q.getQuestionText().length()
+                            + STRING_OVERHEAD + q.getCorrectAnswer().length();
+                    for (String option : q.getOptions().values()) {
+                        bytes += STRING_OVERHEAD + (option == null ? 0 : option.length());
+                    }
+                }
+            }
+            Category view = new Category(category.getName(), Collections.unmodifiableList(questions));
+            view.buildIndex();
+            views.add(view);
+        }
+        this.categories = Collections.unmodifiableList(views);
+        this.categoryIndex = new CategoryIndex(views);
+        this.questionCount = index;
+        this.estimatedBytes = bytes;
+        this.contentHash = contentHash;
+    }
+
+    /**
+     * Retrieves the bank's categories. The lists are read-only and shared by every game using this bank.
+     * @return the List of Category objects in load order
+     */
+    public List<Category> getCategories() {
+        return categories;
+    }
+
+    /**
+     * Finds a category by name, ignoring case.
+     * @param name the category name to look up
+     * @return the matching Category, or null if there is none
+     */
+    public Category getCategory(String name) {
+        return categoryIndex.get(name);
+    }
+
+    /**
+     * Retrieves the number of categories in this bank.
+     * @return the category count
+     */
+    public int getCategoryCount() {
+        return categories.size();
+    }
+
+    /**
+     * Retrieves the number of questions in this bank.
+     * Questions are numbered from 0 to this count minus one.
+     * @return the question count
+     */
+    public int getQuestionCount() {
+        return questionCount;
+    }
+
+    /**
+     * Retrieves a rough estimate of the heap this bank occupies, used to bound the bank cache.
+     * @return the estimated size in bytes
+     */
+    public long getEstimatedBytes() {
+        return estimatedBytes;
+    }
+
+    /**
+     * Retrieves the SHA-256 of the file this bank was loaded from, which tells versions of a file
+     * apart even when their size and question count agree.
+     * @return the hash in hex, or null if the bank was not loaded through a QuestionBankCache
+     */
+    public String getContentHash() {
+        return contentHash;
+    }
+}
@@ -0,0 +1,264 @@
+package com.jeopardy;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * A shared, size-bounded cache of parsed question banks.
+ * <p>
+ * Banks are keyed by the file's canonical path, size and modification time, which are read from
+ * the file system on every lookup, so a hit costs no file reads and an edited file is never served
+ * from a stale entry. On a miss the file is hashed with SHA-256 and then loaded with
+ * {@link GameDataLoader#loadFully}; the hash is kept with the bank (see
+ * {@link QuestionBank#getContentHash()}). A load that fails, or a file that changes while it is
+ * being loaded, is not cached. When the estimated size of the cached banks exceeds the limit, the
+ * least recently used banks are evicted; a bank that is over the limit on its own is still cached,
+ * alone, rather than re-parsed for every game. Concurrent requests for a bank that is not yet
+ * cached wait for a single parse rather than each parsing the file.
+ */
+public class QuestionBankCache {
+    /** Default limit on the estimated size of all cached banks. */
+    public static final long DEFAULT_MAX_BYTES = 256L * 1024 * 1024;
+
+    private final long maxBytes;
+    private final LinkedHashMap<BankKey, QuestionBank> banks = new LinkedHashMap<>(16, 0.75f, true);
+    private final Map<String, BankKey> latestKeys = new HashMap<>();
+    private final Map<BankKey, CompletableFuture<QuestionBank>> loading = new HashMap<>();
+    private long cachedBytes;
+    private long hits;
+    private long misses;
+    private long waits;
+    private long evictions;
+
+    /**
+     * Constructs a QuestionBankCache with the default size limit.
+     */
+    public QuestionBankCache() {
+        this(DEFAULT_MAX_BYTES);
+    }
+
+    /**
+     * Constructs a QuestionBankCache holding at most the given estimated number of bytes.
+     * @param maxBytes the limit on the estimated size of all cached banks
+     */
+    public QuestionBankCache(long maxBytes) {
+        if (maxBytes < 0) {
+            throw new IllegalArgumentException("maxBytes must not be negative");
+        }
+        this.maxBytes = maxBytes;
+    }
+
+    /**
+     * Returns the parsed bank for a file, loading and caching it if the current version of the
+     * file has not been seen before.
+     * @param fileName the path to the question bank file
+     * @param loader the loader to parse the file with on a miss
+     * @return the shared, read-only QuestionBank for the file's current contents
+     * @throws IOException if the file cannot be read
+     */
+    public QuestionBank get(String fileName, GameDataLoader loader) throws IOException {
+        BankKey key = keyFor(fileName);
+
+        CompletableFuture<QuestionBank> pending;
+        boolean owner = false;
+        synchronized (this) {
+            QuestionBank bank = banks.get(key);
+            if (bank != null) {
+                hits++;
+                return bank;
+            }
+            pending = loading.get(key);
+            if (pending == null) {
+                misses++;
+                pending = new CompletableFuture<>();
+                loading.put(key, pending);
+                owner = true;
+            } else {
+                waits++; // another caller is already parsing this version
+            }
+        }
+
+        if (!owner) {
+            try {
+                return pending.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Interrupted while waiting for " + fileName, e);
+            } catch (ExecutionException e) {
+                throw new IOException("Failed to load " + fileName, e.getCause());
+            }
+        }
+
+        QuestionBank bank;
+        boolean unchanged;
+        try {
+            String hash = sha256(Path.of(key.path));
+            bank = new QuestionBank(loader.loadFully(fileName), hash);
+            unchanged = key.equals(keyFor(fileName));
+        } catch (IOException | RuntimeException e) {
+            synchronized (this) {
+                loading.remove(key);
+            }
+            pending.completeExceptionally(e);
+            throw e;
+        }
+        synchronized (this) {
+            loading.remove(key);
+            if (unchanged) {
+                put(key, bank);
+            }
+        }
+        pending.complete(bank);
+        return bank;
+    }
+
+    private void put(BankKey key, QuestionBank bank) {
+        BankKey previous = latestKeys.put(key.path, key);
+        if (previous != null && !previous.equals(key)) {
+            QuestionBank stale = banks.remove(previous);
+            if (stale != null) {
+                cachedBytes -= stale.getEstimatedBytes();
+            }
+        }
+        if (bank.getEstimatedBytes() > maxBytes) {
+            System.out.println("Question bank " + key.path + " is estimated at " + bank.getEstimatedBytes()
+                    + " bytes, over the cache limit of " + maxBytes + "; caching it alone.");
+        }
+
+        banks.put(key, bank);
+        cachedBytes += bank.getEstimatedBytes();
+        Iterator<Map.Entry<BankKey, QuestionBank>> eldest = banks.entrySet().iterator();
+        while (cachedBytes > maxBytes && eldest.hasNext()) {
+            Map.Entry<BankKey, QuestionBank> entry = eldest.next();
+            if (entry.getKey().equals(key)) {
+                continue;
+            }
+            cachedBytes -= entry.getValue().getEstimatedBytes();
+            eldest.remove();
+            latestKeys.remove(entry.getKey().path, entry.getKey());
+            evictions++;
+        }
+    }
+
+    private static BankKey keyFor(String fileName) throws IOException {
+        String canonical = new File(fileName).getCanonicalPath();
+        BasicFileAttributes attributes = Files.readAttributes(Path.of(canonical), BasicFileAttributes.class);
+        return new BankKey(canonical, attributes.size(), attributes.lastModifiedTime().toMillis());
+    }
+
+    private static String sha256(Path file) throws IOException {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e); // every JRE is required to provide SHA-256
+        }
+        byte[] buffer = new byte[1 << 16];
+        try (InputStream in = Files.newInputStream(file)) {
+            int n;
+            while ((n = in.read(buffer)) > 0) {
+                digest.update(buffer, 0, n);
+            }
+        }
+        return HexFormat.of().formatHex(digest.digest());
+    }
+
+    /**
+     * Removes every cached bank. Metrics are kept.
+     */
+    public synchronized void clear() {
+        banks.clear();
+        latestKeys.clear();
+        cachedBytes = 0;
+    }
+
+    /**
+     * Retrieves the number of lookups served from the cache.
+     * @return the hit count
+     */
+    public synchronized long getHits() {
+        return hits;
+    }
+
+    /**
+     * Retrieves the number of lookups that had to parse the file.
+     * @return the miss count
+     */
+    public synchronized long getMisses() {
+        return misses;
+    }
+
+    /**
+     * Retrieves the number of lookups that waited for another caller's parse of the same version.
+     * @return the wait count
+     */
+    public synchronized long getWaits() {
+        return waits;
+    }
+
+    /**
+     * Retrieves the number of banks evicted to stay within the size limit.
+     * @return the eviction count
+     */
+    public synchronized long getEvictions() {
+        return evictions;
+    }
+
+    /**
+     * Retrieves the number of banks currently cached.
+     * @return the entry count
+     */
+    public synchronized int size() {
+        return banks.size();
+    }
+
+    /**
+     * Retrieves the estimated size of all cached banks.
+     * @return the estimated size in bytes
+     */
+    public synchronized long getCachedBytes() {
+        return cachedBytes;
+    }
+
+    /**
+     * Identifies one version of one file.
+     */
+    private static final class BankKey {
+        final String path;
+        final long size;
+        final long modified;
+
+        BankKey(String path, long size, long modified) {
+            this.path = path;
+            this.size = size;
+            this.modified = modified;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof BankKey)) {
+                return false;
+            }
+            BankKey other = (BankKey) o;
+            return size == other.size && modified == other.modified && path.equals(other.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return (path.hashCode() * 31 + Long.hashCode(size)) * 31 + Long.hashCode(modified);
+        }
+    }
+}
@@ -0,0 +1,149 @@
+package com.jeopardy;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compiles question banks into the binary .jqb format read by {@link JQBLoader}.
+ * <p>
+ * A .jqb file holds, in order and big-endian:
+ * <ul>
+ *   <li>a header: magic, version, string count, category count and question count;</li>
+ *   <li>the category table: name string, first question and question count per category;</li>
+ *   <li>the question records: value, question text, options A-D and correct answer, where every
+ *       field but the value is an index into the string table;</li>
+ *   <li>the string table: one offset per string plus an end offset, followed by the UTF-8 bytes.</li>
+ * </ul>
+ * Each distinct string is stored once, so repeated category names and option text cost four bytes
+ * per use. Questions of a category are stored contiguously in load order.
+ */
+public class QuestionBankCompiler {
+
+    /**
+     * Compiles categories into a .jqb file, replacing the file if it exists.
+     * @param categories the categories and questions to write, e.g. from any GameDataLoader
+     * @param outputFile the path of the .jqb file to write
+     * @throws IOException if the file cannot be written or the bank is too large for the format
+     */
+    public void compile(List<Category> categories, String outputFile) throws IOException {
+        List<String> strings = new ArrayList<>();
+        Map<String, Integer> stringIndex = new HashMap<>();
+
+        int questionCount = 0;
+        for (Category category : categories) {
+            intern(category.getName(), strings, stringIndex);
+            questionCount += category.getQuestions().size();
+        }
+
+        int[] records = new int[questionCount * JQBLoader.QUESTION_FIELDS];
+        int r = 0;
+        for (Category category : categories) {
+            for (Question q : category.getQuestions()) {
+                Map<String, String> options = q.getOptions();
+                records[r++] = q.getValue();
+                records[r++] = intern(q.getQuestionText(), strings, stringIndex);
+                records[r++] = intern(options.get("A"), strings, stringIndex);
+                records[r++] = intern(options.get("B"), strings, stringIndex);
+                records[r++] = intern(options.get("C"), strings, stringIndex);
+                records[r++] = intern(options.get("D"), strings, stringIndex);
+                records[r++] = intern(q.getCorrectAnswer(), strings, stringIndex);
+            }
+        }
+
+        byte[][] encoded = new byte[strings.size()][];
+        long dataBytes = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = strings.get(i).getBytes(StandardCharsets.UTF_8);
+            dataBytes += encoded[i].length;
+        }
+        long total = JQBLoader.HEADER_BYTES
+                + (long) categories.size() * JQBLoader.CATEGORY_FIELDS * Integer.BYTES
+                + (long) records.length * Integer.BYTES
+                + (long) (encoded.length + 1) * Integer.BYTES
+                + dataBytes;
+        if (total > Integer.MAX_VALUE) {
+            throw new IOException("Question bank is too large for the .jqb format: " + total + " bytes");
+        }
+
+        try (DataOutputStream out = new DataOutputStream(
+                new BufferedOutputStream(new FileOutputStream(outputFile), 1 << 16))) {
+            out.writeInt(JQBLoader.MAGIC);
+            out.writeInt(JQBLoader.VERSION);
+            out.writeInt(encoded.length);
+            out.writeInt(categories.size());
+            out.writeInt(questionCount);
+
+            int first = 0;
+            for (Category category : categories) {
+                int size = category.getQuestions().size();
+                out.writeInt(stringIndex.get(category.getName()));
+                out.writeInt(first);
+                out.writeInt(size);
+                first += size;
+            }
+
+            for (int field : records) {
+                out.writeInt(field);
+            }
+
+            int offset = 0;
+            for (byte[] bytes : encoded) {
+                out.writeInt(offset);
+                offset += bytes.length;
+            }
+            out.writeInt(offset);
+            for (byte[] bytes : encoded) {
+                out.write(bytes);
+            }
+        }
+    }
+
+    private static int intern(String s, List<String> strings, Map<String, Integer> stringIndex) {
+        if (s == null) {
+            s = "";
+        }
+        Integer index = stringIndex.get(s);
+        if (index == null) {
+            index = strings.size();
+            strings.add(s);
+            stringIndex.put(s, index);
+        }
+        return index;
+    }
+
+    /**
+     * Compiles a CSV, JSON or XML question bank from the command line.
+     * Usage: QuestionBankCompiler &lt;input file&gt; &lt;output.jqb&gt;
+     * @param args the input and output file names
+     */
+    public static void main(String[] args) {
+        if (args.length != 2) {
+            System.out.println("Usage: QuestionBankCompiler <input file> <output.jqb>");
+            return;
+        }
+        GameDataLoader loader = new DataLoaderFactory().getLoader(args[0]);
+        if (loader == null) {
+            System.out.println("Error: Unsupported file format.");
+            return;
+        }
+        List<Category> categories = loader.load(args[0]);
+        try {
+            new QuestionBankCompiler().compile(categories, args[1]);
+            int questions = 0;
+            for (Category c : categories) {
+                questions += c.getQuestions().size();
+            }
+            System.out.println("Compiled " + categories.size() + " categories and " + questions
+                    + " questions to " + args[1]);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+}
@@ -1,13 +1,42 @@
 package com.jeopardy;
 
+import java.io.BufferedOutputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+
 /**
  * Interface for report generation strategies.
  * Implementing classes generate different formats of game summary reports.
+ * <p>
+ * Generators render a {@link ReportModel}, which is built from the game in a single pass, so every
+ * format sees the same turns and scores and none of them walks the event log itself.
  */
 public interface ReportGenerator {
     /**
-     * Generates a report for the given game.
+     * Generates a report for the given game and writes it to "report." plus the format's extension.
      * @param game the Game object containing game state and events to report on
      */
-    void generateReport(Game game);
+    default void generateReport(Game game) {
+        ReportModel model = ReportModel.from(game);
+        try (OutputStream out = new BufferedOutputStream(new FileOutputStream("report." + getExtension()))) {
+            render(model, out);
+        } catch (IOException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * Writes a report to a stream. The stream is left open.
+     * @param model the report content
+     * @param out the stream to write the report to
+     * @throws IOException if the report cannot be written
+     */
+    void render(ReportModel model, OutputStream out) throws IOException;
+
+    /**
+     * Retrieves the file extension of this format.
+     * @return the extension, without a dot (e.g., "txt")
+     */
+    String getExtension();
 }
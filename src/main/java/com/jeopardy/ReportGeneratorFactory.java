@@ -0,0 +1,57 @@
+package com.jeopardy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Factory class for creating ReportGenerator instances by format name.
+ * Knows TXT, PDF and DOCX out of the box; further formats can be registered. Format names are
+ * matched case-insensitively.
+ */
+public class ReportGeneratorFactory {
+    private final Map<String, Supplier<ReportGenerator>> generators = new ConcurrentHashMap<>();
+    private final List<String> formats = new ArrayList<>();
+
+    /**
+     * Constructs a ReportGeneratorFactory that knows the built-in formats.
+     */
+    public ReportGeneratorFactory() {
+        register("TXT", TXTReport::new);
+        register("PDF", PDFReport::new);
+        register("DOCX", DOCXReport::new);
+    }
+
+    /**
+     * Registers a report format, replacing any generator already registered under the name.
+     * @param format the format name, e.g. "HTML"
+     * @param generator creates a generator for each report; generators are not shared between threads
+     */
+    public final synchronized void register(String format, Supplier<ReportGenerator> generator) {
+        String key = format.toUpperCase(Locale.ROOT);
+        if (generators.put(key, generator) == null) {
+            formats.add(key);
+        }
+    }
+
+    /**
+     * Returns a new ReportGenerator for a format.
+     * @param format the format name, in any case
+     * @return a generator for the format, or null if unsupported
+     */
+    public ReportGenerator getGenerator(String format) {
+        Supplier<ReportGenerator> generator = generators.get(format.toUpperCase(Locale.ROOT));
+        return generator == null ? null : generator.get();
+    }
+
+    /**
+     * Retrieves the registered format names in registration order.
+     * @return the format names, upper case
+     */
+    public synchronized List<String> getFormats() {
+        return List.copyOf(formats);
+    }
+}
@@ -0,0 +1,289 @@
+package com.jeopardy;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The content of a game summary report, projected from a game's players and event log in one pass.
+ * <p>
+ * Every {@link ReportGenerator} renders from this model instead of walking the event log itself.
+ * Player names are looked up by ID in a map and question texts through the bank's category and
+ * value indexes, so building the model is linear in the number of events whatever the size of the
+ * bank. The model holds no reference to the Game and never changes once built, so it can be
+ * rendered on any thread.
+ */
+public class ReportModel {
+    static final String UNKNOWN_PLAYER = "Unknown";
+    static final String UNKNOWN_QUESTION = "Unknown Question";
+
+    private final String caseId;
+    private final List<PlayerSummary> players;
+    private final List<Turn> turns;
+
+    /**
+     * One answered question in the order it was played.
+     */
+    public static final class Turn {
+        private final int number;
+        private final String playerName;
+        private final String category;
+        private final int value;
+        private final String questionText;
+        private final String answer;
+        private final String result;
+        private final int scoreAfter;
+
+        Turn(int number, String playerName, String category, int value, String questionText, String answer,
+                String result, int scoreAfter) {
+            this.number = number;
+            this.playerName = playerName;
+            this.category = category;
+            this.value = value;
+            this.questionText = questionText;
+            this.answer = answer;
+            this.result = result;
+            this.scoreAfter = scoreAfter;
+        }
+
+        /**
+         * Retrieves the turn number, starting at 1.
+         * @return the turn number
+         */
+        public int getNumber() {
+            return number;
+        }
+
+        /**
+         * Retrieves the name of the player who answered.
+         * @return the player name, or "Unknown" if the player is not in the game
+         */
+        public String getPlayerName() {
+            return playerName;
+        }
+
+        /**
+         * Retrieves the category of the question.
+         * @return the category name
+         */
+        public String getCategory() {
+            return category;
+        }
+
+        /**
+         * Retrieves the point value of the question.
+         * @return the question value
+         */
+        public int getValue() {
+            return value;
+        }
+
+        /**
+         * Retrieves the text of the question.
+         * @return the question text, or "Unknown Question" if the bank does not have it
+         */
+        public String getQuestionText() {
+            return questionText;
+        }
+
+        /**
+         * Retrieves the answer the player gave.
+         * @return the answer text
+         */
+        public String getAnswer() {
+            return answer;
+        }
+
+        /**
+         * Retrieves the result of the answer.
+         * @return the result string (e.g., "Correct", "Incorrect")
+         */
+        public String getResult() {
+            return result;
+        }
+
+        /**
+         * Checks whether the answer was correct.
+         * @return true if the result is "Correct"
+         */
+        public boolean isCorrect() {
+            return "Correct".equals(result);
+        }
+
+        /**
+         * Retrieves the points the turn earned: the question value if correct, otherwise 0.
+         * @return the points earned
+         */
+        public int getPointsEarned() {
+            return isCorrect() ? value : 0;
+        }
+
+        /**
+         * Retrieves the player's score after the turn.
+         * @return the score
+         */
+        public int getScoreAfter() {
+            return scoreAfter;
+        }
+    }
+
+    /**
+     * A player's final score and how their turns went.
+     */
+    public static final class PlayerSummary {
+        private final int id;
+        private final String name;
+        private final int finalScore;
+        private int turns;
+        private int correct;
+        private int pointsEarned;
+
+        PlayerSummary(int id, String name, int finalScore) {
+            this.id = id;
+            this.name = name;
+            this.finalScore = finalScore;
+        }
+
+        /**
+         * Retrieves the player's ID.
+         * @return the player ID
+         */
+        public int getId() {
+            return id;
+        }
+
+        /**
+         * Retrieves the player's name.
+         * @return the player name
+         */
+        public String getName() {
+            return name;
+        }
+
+        /**
+         * Retrieves the player's score at the end of the game.
+         * @return the final score
+         */
+        public int getFinalScore() {
+            return finalScore;
+        }
+
+        /**
+         * Retrieves the number of questions the player answered.
+         * @return the turn count
+         */
+        public int getTurns() {
+            return turns;
+        }
+
+        /**
+         * Retrieves the number of questions the player answered correctly.
+         * @return the correct answer count
+         */
+        public int getCorrect() {
+            return correct;
+        }
+
+        /**
+         * Retrieves the total value of the questions the player answered correctly.
+         * @return the points earned
+         */
+        public int getPointsEarned() {
+            return pointsEarned;
+        }
+    }
+
+    private ReportModel(String caseId, List<PlayerSummary> players, List<Turn> turns) {
+        this.caseId = caseId;
+        this.players = Collections.unmodifiableList(players);
+        this.turns = Collections.unmodifiableList(turns);
+    }
+
+    /**
+     * Builds the report model of a game. Must be called on the game's thread.
+     * @param game the game to report on
+     * @return the report model
+     */
+    public static ReportModel from(Game game) {
+        return build(game.getCaseId(), game.getPlayers(), game.getEventLog(), game.getBank());
+    }
+
+    /**
+     * Builds a report model from players and events.
+     * @param caseId the case ID of the game
+     * @param players the players in seat order, with their final scores
+     * @param events the game's events in the order they happened
+     * @param bank the bank to look question texts up in, or null if it is not available
+     * @return the report model
+     */
+    static ReportModel build(String caseId, List<Player> players, List<GameEvent> events, QuestionBank bank) {
+        List<PlayerSummary> summaries = new ArrayList<>(players.size());
+        Map<Integer, PlayerSummary> byId = new HashMap<>();
+        for (Player p : players) {
+            PlayerSummary summary = new PlayerSummary(p.getId(), p.getName(), p.getScore());
+            summaries.add(summary);
+            byId.putIfAbsent(p.getId(), summary);
+        }
+
+        List<Turn> turns = new ArrayList<>();
+        for (GameEvent event : events) {
+            if (event.getActivity() != ActivityType.ANSWER_QUESTION) {
+                continue;
+            }
+            PlayerSummary player = byId.get(event.getPlayerId());
+            Turn turn = new Turn(turns.size() + 1, player == null ? UNKNOWN_PLAYER : player.name,
+                    event.getCategory(), event.getQuestionValue(),
+                    questionText(bank, event.getCategory(), event.getQuestionValue()), event.getAnswerGiven(),
+                    event.getResult(), event.getScoreAfterPlay());
+            turns.add(turn);
+            if (player != null) {
+                player.turns++;
+                if (turn.isCorrect()) {
+                    player.correct++;
+                    player.pointsEarned += turn.getValue();
+                }
+            }
+        }
+        return new ReportModel(caseId, summaries, turns);
+    }
+
+    private static String questionText(QuestionBank bank, String categoryName, int value) {
+        if (bank == null || categoryName == null) {
+            return UNKNOWN_QUESTION;
+        }
+        Category c = bank.getCategory(categoryName);
+        if (c != null) {
+            Question q = c.getQuestion(value);
+            if (q != null) {
+                return q.getQuestionText();
+            }
+        }
+        return UNKNOWN_QUESTION;
+    }
+
+    /**
+     * Retrieves the case ID of the reported game.
+     * @return the case ID
+     */
+    public String getCaseId() {
+        return caseId;
+    }
+
+    /**
+     * Retrieves the players in seat order, with their final scores and aggregates.
+     * @return an unmodifiable list of player summaries
+     */
+    public List<PlayerSummary> getPlayers() {
+        return players;
+    }
+
+    /**
+     * Retrieves the answered questions in the order they were played.
+     * @return an unmodifiable list of turns
+     */
+    public List<Turn> getTurns() {
+        return turns;
+    }
+}
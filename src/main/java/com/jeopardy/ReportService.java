@@ -0,0 +1,164 @@
+package com.jeopardy;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+/**
+ * Renders game summary reports in several formats at once, off the game's thread.
+ * <p>
+ * {@link #submit} takes a snapshot of the game on the caller's thread: copies of the players with
+ * their scores and of the event log, plus the question bank, which is never modified once loaded.
+ * That costs one array copy of the log, after which the game can go straight on to its next
+ * session. The report model is built from the snapshot once, on a worker, and every requested
+ * format is then rendered from it on its own worker, so the reports are ready in about the time
+ * of the slowest format rather than the sum of all of them.
+ * <p>
+ * The workers are a fixed pool with a bounded queue. A submission that does not fit is not
+ * waited for: its futures fail with a RejectedExecutionException, so the game thread never blocks
+ * on report rendering.
+ */
+public class ReportService implements AutoCloseable {
+    private static final AtomicInteger POOL_SEQUENCE = new AtomicInteger();
+
+    private final ReportGeneratorFactory factory;
+    private final ThreadPoolExecutor workers;
+
+    /**
+     * Constructs a ReportService with the built-in formats, one worker per built-in format or
+     * processor, whichever is more, and room for 64 queued tasks.
+     */
+    public ReportService() {
+        this(new ReportGeneratorFactory(), Math.max(3, Runtime.getRuntime().availableProcessors()), 64);
+    }
+
+    /**
+     * Constructs a ReportService.
+     * @param factory the formats that can be requested
+     * @param threads the number of worker threads
+     * @param queueCapacity the number of tasks that may wait for a worker
+     */
+    public ReportService(ReportGeneratorFactory factory, int threads, int queueCapacity) {
+        this.factory = factory;
+        int pool = POOL_SEQUENCE.incrementAndGet();
+        AtomicInteger threadSequence = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(threads, threads, 30, TimeUnit.SECONDS,
+                new ArrayBlockingQueue<>(queueCapacity), r -> {
+                    Thread t = new Thread(r, "report-" + pool + "-" + threadSequence.incrementAndGet());
+                    t.setDaemon(true);
+                    return t;
+                });
+        this.workers.allowCoreThreadTimeOut(true);
+    }
+
+    /**
+     * Renders reports of a game in the given formats. Must be called on the game's thread; returns
+     * without waiting for any report.
+     * <p>
+     * Each report is written to "report-" plus the case ID and the format's extension in the
+     * directory, through a temporary file that is moved into place once complete. When a report
+     * has been written, a GENERATE_REPORT event is handed to {@code owner} to log on the game's
+     * thread before its future completes.
+     *
+     * @param game the game to report on
+     * @param owner runs the GENERATE_REPORT events on the game's thread, e.g. {@link GameActor#executor()}
+     * @param directory the directory to write the reports to
+     * @param formats the format names, e.g. "TXT", "PDF"
+     * @return a future per format, in the order given, completed with the report's path or failed
+     *         if the format is unsupported, the report could not be written or the service is full
+     */
+    public Map<String, CompletableFuture<Path>> submit(Game game, Executor owner, Path directory,
+            String... formats) {
+        String caseId = game.getCaseId();
+        List<Player> players = new ArrayList<>(game.getPlayers().size());
+        for (Player p : game.getPlayers()) {
+            Player copy = new Player(p.getId(), p.getName());
+            copy.addPoints(p.getScore());
+            players.add(copy);
+        }
+        List<GameEvent> events = List.copyOf(game.getEventLog());
+        QuestionBank bank = game.getBank();
+
+        CompletableFuture<ReportModel> model = execute(() -> ReportModel.build(caseId, players, events, bank));
+        Map<String, CompletableFuture<Path>> reports = new LinkedHashMap<>();
+        for (String format : formats) {
+            String name = format.toUpperCase(Locale.ROOT);
+            if (reports.containsKey(name)) {
+                continue;
+            }
+            ReportGenerator generator = factory.getGenerator(name);
+            CompletableFuture<Path> report;
+            if (generator == null) {
+                report = CompletableFuture.failedFuture(
+                        new IllegalArgumentException("Unsupported report format: " + format));
+            } else {
+                Path file = directory.resolve("report-" + caseId + "." + generator.getExtension());
+                report = model.thenCompose(m -> execute(() -> write(generator, m, file)))
+                        .whenComplete((path, error) -> {
+                            if (error == null) {
+                                owner.execute(() -> game.reportGenerated(name));
+                            }
+                        });
+            }
+            reports.put(name, report);
+        }
+        return reports;
+    }
+
+    private <T> CompletableFuture<T> execute(Supplier<T> task) {
+        try {
+            return CompletableFuture.supplyAsync(task, workers);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+    }
+
+    /**
+     * Writes a report through a temporary file in the target's directory, which is moved over the
+     * target once complete, so a report file is never seen half written.
+     */
+    static Path write(ReportGenerator generator, ReportModel model, Path file) {
+        Path partial = null;
+        try {
+            partial = Files.createTempFile(file.toAbsolutePath().getParent(), file.getFileName().toString(), ".part");
+            try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(partial))) {
+                generator.render(model, out);
+            }
+            return Files.move(partial, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            try {
+                if (partial != null) {
+                    Files.deleteIfExists(partial);
+                }
+            } catch (IOException ignored) {
+                // the original failure is the one worth reporting
+            }
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Stops accepting reports. Reports already submitted are still written.
+     */
+    @Override
+    public void close() {
+        workers.shutdown();
+    }
+}
@@ -0,0 +1,246 @@
+package com.jeopardy;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Aggregate results of a {@link GameSimulator} run: wins and final score distribution per seat,
+ * how often the winner came from behind, and how often each question was answered correctly.
+ * <p>
+ * Every worker fills its own instance and the simulator merges them, so recording is plain field
+ * and array updates with no synchronization. Final scores are counted in fixed-width buckets sized
+ * from the bank's point values, so percentiles are exact for small banks and bucket-accurate for
+ * large ones.
+ */
+public class SimulationStats {
+    private static final int MAX_BUCKETS = 4096;
+
+    private final QuestionBank bank;
+    private final int seats;
+    private final int minScore;
+    private final int bucketWidth;
+
+    private long games;
+    private long ties;
+    private long comebacks;
+    private final long[] wins;
+    private final long[] scoreSums;
+    private final long[] scoreSquares;
+    private final long[][] scoreBuckets; // per seat
+    private final long[] attempts; // by bank index
+    private final long[] correct;
+
+    SimulationStats(QuestionBank bank, int seats) {
+        this.bank = bank;
+        this.seats = seats;
+        long total = 0;
+        int step = 0;
+        for (Category c : bank.getCategories()) {
+            for (Question q : c.getQuestions()) {
+                total += Math.abs(q.getValue());
+                step = gcd(step, Math.abs(q.getValue()));
+            }
+        }
+        int range = (int) Math.min(Integer.MAX_VALUE / 2, total);
+        step = Math.max(1, step);
+        long exactBuckets = 2L * range / step + 1;
+        this.bucketWidth = (int) Math.min(Integer.MAX_VALUE / 2,
+                step * ((exactBuckets + MAX_BUCKETS - 1) / MAX_BUCKETS));
+        this.minScore = -range;
+
+        this.wins = new long[seats];
+        this.scoreSums = new long[seats];
+        this.scoreSquares = new long[seats];
+        this.scoreBuckets = new long[seats][(int) (2L * range / bucketWidth) + 1];
+        this.attempts = new long[bank.getQuestionCount()];
+        this.correct = new long[bank.getQuestionCount()];
+    }
+
+    private static int gcd(int a, int b) {
+        while (b != 0) {
+            int t = a % b;
+            a = b;
+            b = t;
+        }
+        return a;
+    }
+
+    void recordAnswer(int bankIndex, boolean right) {
+        attempts[bankIndex]++;
+        if (right) {
+            correct[bankIndex]++;
+        }
+    }
+
+    /**
+     * Records one finished game.
+     * @param finalScores the score of each seat at the end
+     * @param halfwayScores the score of each seat after half of the questions
+     */
+    void recordGame(int[] finalScores, int[] halfwayScores) {
+        games++;
+        int winner = 0;
+        boolean tied = false;
+        int halfwayLead = halfwayScores[0];
+        for (int seat = 0; seat < seats; seat++) {
+            int score = finalScores[seat];
+            scoreSums[seat] += score;
+            scoreSquares[seat] += (long) score * score;
+            scoreBuckets[seat][(score - minScore) / bucketWidth]++;
+            if (seat > 0) {
+                if (score > finalScores[winner]) {
+                    winner = seat;
+                    tied = false;
+                } else if (score == finalScores[winner]) {
+                    tied = true;
+                }
+                halfwayLead = Math.max(halfwayLead, halfwayScores[seat]);
+            }
+        }
+        if (tied) {
+            ties++;
+        } else {
+            wins[winner]++;
+            if (halfwayScores[winner] < halfwayLead) {
+                comebacks++;
+            }
+        }
+    }
+
+    void merge(SimulationStats other) {
+        games += other.games;
+        ties += other.ties;
+        comebacks += other.comebacks;
+        for (int seat = 0; seat < seats; seat++) {
+            wins[seat] += other.wins[seat];
+            scoreSums[seat] += other.scoreSums[seat];
+            scoreSquares[seat] += other.scoreSquares[seat];
+            for (int b = 0; b < scoreBuckets[seat].length; b++) {
+                scoreBuckets[seat][b] += other.scoreBuckets[seat][b];
+            }
+        }
+        for (int i = 0; i < attempts.length; i++) {
+            attempts[i] += other.attempts[i];
+            correct[i] += other.correct[i];
+        }
+    }
+
+    /**
+     * Retrieves the number of games played.
+     * @return the game count
+     */
+    public long getGames() {
+        return games;
+    }
+
+    /**
+     * Retrieves the share of games a seat won outright.
+     * @param seat the seat, in the order the strategies were given
+     * @return the win rate, from 0 to 1
+     */
+    public double getWinRate(int seat) {
+        return games == 0 ? 0 : (double) wins[seat] / games;
+    }
+
+    /**
+     * Retrieves the share of games that ended with two or more seats sharing the top score.
+     * @return the tie rate, from 0 to 1
+     */
+    public double getTieRate() {
+        return games == 0 ? 0 : (double) ties / games;
+    }
+
+    /**
+     * Retrieves the share of games whose winner was behind the leader halfway through.
+     * @return the comeback rate, from 0 to 1
+     */
+    public double getComebackRate() {
+        return games == 0 ? 0 : (double) comebacks / games;
+    }
+
+    /**
+     * Retrieves a seat's mean final score.
+     * @param seat the seat
+     * @return the mean score
+     */
+    public double getMeanScore(int seat) {
+        return games == 0 ? 0 : (double) scoreSums[seat] / games;
+    }
+
+    /**
+     * Retrieves the standard deviation of a seat's final score.
+     * @param seat the seat
+     * @return the standard deviation
+     */
+    public double getScoreStdDev(int seat) {
+        if (games == 0) {
+            return 0;
+        }
+        double mean = getMeanScore(seat);
+        return Math.sqrt(Math.max(0, (double) scoreSquares[seat] / games - mean * mean));
+    }
+
+    /**
+     * Retrieves a percentile of a seat's final score.
+     * @param seat the seat
+     * @param percentile the percentile, from 0 to 100
+     * @return the lowest score bucket at or above that share of games
+     */
+    public int getScorePercentile(int seat, double percentile) {
+        long target = (long) Math.ceil(games * percentile / 100);
+        long seen = 0;
+        long[] buckets = scoreBuckets[seat];
+        for (int b = 0; b < buckets.length; b++) {
+            seen += buckets[b];
+            if (seen >= Math.max(1, target)) {
+                return minScore + b * bucketWidth;
+            }
+        }
+        return minScore + (buckets.length - 1) * bucketWidth;
+    }
+
+    /**
+     * Retrieves how often a question was answered wrongly.
+     * @param question a question from the simulated bank
+     * @return the share of wrong answers from 0 to 1, or NaN if the question was never played
+     */
+    public double getDifficulty(Question question) {
+        int index = question.getBankIndex();
+        if (index < 0 || attempts[index] == 0) {
+            return Double.NaN;
+        }
+        return 1 - (double) correct[index] / attempts[index];
+    }
+
+    /**
+     * Retrieves the questions answered wrongly most often.
+     * @param count the maximum number of questions to return
+     * @return the hardest played questions, hardest first
+     */
+    public List<Question> getHardestQuestions(int count) {
+        List<Question> played = new ArrayList<>();
+        for (Category c : bank.getCategories()) {
+            for (Question q : c.getQuestions()) {
+                if (attempts[q.getBankIndex()] > 0) {
+                    played.add(q);
+                }
+            }
+        }
+        played.sort(Comparator.comparingDouble(this::getDifficulty).reversed());
+        return played.subList(0, Math.min(count, played.size()));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games: %d, ties: %.1f%%, comebacks: %.1f%%%n", games, getTieRate() * 100,
+                getComebackRate() * 100));
+        for (int seat = 0; seat < seats; seat++) {
+            sb.append(String.format("Seat %d: wins %.1f%%, mean %.0f, sd %.0f, p10 %d, median %d, p90 %d%n", seat + 1,
+                    getWinRate(seat) * 100, getMeanScore(seat), getScoreStdDev(seat),
+                    getScorePercentile(seat, 10), getScorePercentile(seat, 50), getScorePercentile(seat, 90)));
+        }
+        return sb.toString();
+    }
+}
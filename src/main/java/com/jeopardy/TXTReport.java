@@ -1,10 +1,10 @@
 package com.jeopardy;
 
-import java.io.FileWriter;
 import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.PrintWriter;
-import java.time.format.DateTimeFormatter;
-import java.util.List;
+import java.nio.charset.Charset;
 
 /**
  * Generates a text-based summary report of a Jeopardy game.
@@ -13,97 +13,54 @@ import java.util.List;
 public class TXTReport implements ReportGenerator {
 
     /**
-     * Generates a text report for the given game and writes it to report.txt.
-     * @param game the Game to generate a report for
+     * Writes a text report, in the platform's default charset.
+     * @param model the report content
+     * @param out the stream to write the report to
+     * @throws IOException if the report cannot be written
      */
     @Override
-    public void generateReport(Game game) {
-        try (PrintWriter writer = new PrintWriter(new FileWriter("report.txt"))) {
-            writer.println("JEOPARDY PROGRAMMING GAME REPORT");
-            writer.println("================================");
-            writer.println();
-
-            // Assuming we can get players from game
-            writer.print("Players: ");
-            for (Player p : game.getPlayers()) {
-                writer.print(p.getName() + " ");
-            }
-            writer.println();
-            writer.println();
+    public void render(ReportModel model, OutputStream out) throws IOException {
+        PrintWriter writer = new PrintWriter(new OutputStreamWriter(out, Charset.defaultCharset()));
+        writer.println("JEOPARDY PROGRAMMING GAME REPORT");
+        writer.println("================================");
+        writer.println();
 
-            writer.println("Gameplay Summary:");
-            writer.println("-----------------");
-
-            List<GameEvent> events = game.getEventLog();
-            int turn = 1;
-            for (GameEvent event : events) {
-                if (event.getActivity() == ActivityType.ANSWER_QUESTION) {
-                    writer.println("Turn " + turn + ": " + getPlayerName(game, event.getPlayerId()) + " selected "
-                            + event.getCategory() + " for " + event.getQuestionValue() + " pts");
-                    writer.println("Question: " + getQuestionText(game, event.getCategory(), event.getQuestionValue())); // This
-                                                                                                                         // might
-                                                                                                                         // be
-                                                                                                                         // hard
-                                                                                                                         // if
-                                                                                                                         // we
-                                                                                                                         // don't
-                                                                                                                         // store
-                                                                                                                         // question
-                                                                                                                         // text
-                                                                                                                         // in
-                                                                                                                         // event
-                    // Actually, the sample report shows question text. We should probably store it
-                    // in event or look it up.
-                    // The event log has category and value. We can look up the question in the game
-                    // categories.
-                    writer.println("Answer: " + event.getAnswerGiven() + " — " + event.getResult() + " (+"
-                            + (event.getResult().equals("Correct") ? event.getQuestionValue() : "0") + " pts)");
-                    writer.println("Score after turn: " + getPlayerName(game, event.getPlayerId()) + " = "
-                            + event.getScoreAfterPlay());
-                    writer.println();
-                    turn++;
-                }
-            }
+        writer.print("Players: ");
+        for (ReportModel.PlayerSummary p : model.getPlayers()) {
+            writer.print(p.getName() + " ");
+        }
+        writer.println();
+        writer.println();
 
-            writer.println("Final Scores:");
-            for (Player p : game.getPlayers()) {
-                writer.println(p.getName() + ": " + p.getScore());
-            }
+        writer.println("Gameplay Summary:");
+        writer.println("-----------------");
 
-        } catch (IOException e) {
-            e.printStackTrace();
+        for (ReportModel.Turn turn : model.getTurns()) {
+            writer.println("Turn " + turn.getNumber() + ": " + turn.getPlayerName() + " selected "
+                    + turn.getCategory() + " for " + turn.getValue() + " pts");
+            writer.println("Question: " + turn.getQuestionText());
+            writer.println("Answer: " + turn.getAnswer() + " — " + turn.getResult() + " (+"
+                    + turn.getPointsEarned() + " pts)");
+            writer.println("Score after turn: " + turn.getPlayerName() + " = " + turn.getScoreAfter());
+            writer.println();
         }
-    }
 
-    /**
-     * Retrieves the name of a player by their ID.
-     * @param game the Game containing the players
-     * @param playerId the ID of the player to find
-     * @return the player's name, or "Unknown" if not found
-     */
-    private String getPlayerName(Game game, int playerId) {
-        for (Player p : game.getPlayers()) {
-            if (p.getId() == playerId)
-                return p.getName();
+        writer.println("Final Scores:");
+        for (ReportModel.PlayerSummary p : model.getPlayers()) {
+            writer.println(p.getName() + ": " + p.getFinalScore());
+        }
+        writer.flush(); // the caller owns the stream
+        if (writer.checkError()) {
+            throw new IOException("Failed to write the text report");
         }
-        return "Unknown";
     }
 
     /**
-     * Retrieves the text of a question from a specific category by its value.
-     * @param game the Game containing the categories
-     * @param categoryName the name of the category
-     * @param value the point value of the question
-     * @return the question text, or "Unknown Question" if not found
+     * Retrieves the file extension of text reports.
+     * @return "txt"
      */
-    private String getQuestionText(Game game, String categoryName, int value) {
-        for (Category c : game.getCategories()) {
-            if (c.getName().equals(categoryName)) {
-                Question q = c.getQuestion(value);
-                if (q != null)
-                    return q.getQuestionText();
-            }
-        }
-        return "Unknown Question";
+    @Override
+    public String getExtension() {
+        return "txt";
     }
 }
@@ -60,6 +60,7 @@ public class TestGame {
         game.generateSummaryReport("PDF");
         game.generateSummaryReport("DOCX");
 
+        game.close();
         System.out.println("Test Complete.");
     }
 }
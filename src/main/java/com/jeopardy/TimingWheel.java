@@ -0,0 +1,282 @@
+package com.jeopardy;
+
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * A hierarchical timing wheel that runs many short-lived timers on one thread.
+ * <p>
+ * Time is cut into ticks (1 ms by default). Four wheels of 256 slots each cover 256 ticks,
+ * 256² ticks, and so on; a timer sits in the finest wheel whose range reaches its deadline and is
+ * moved down a level each time the wheel below wraps around. Scheduling and cancelling are O(1):
+ * both just enqueue the timer on a lock-free queue that the ticker thread drains at the next tick,
+ * so callers never contend on the wheel itself. Expired tasks run on the ticker thread and should
+ * only hand work off, e.g. to a game's actor.
+ */
+public final class TimingWheel implements AutoCloseable {
+    /** Default tick length. */
+    public static final long DEFAULT_TICK_MILLIS = 1;
+
+    private static final int WHEEL_BITS = 8;
+    private static final int WHEEL_SIZE = 1 << WHEEL_BITS;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    private static final int LEVELS = 4;
+    private static final long MAX_TICKS = 1L << (WHEEL_BITS * LEVELS);
+
+    private static final int PENDING = 0;
+    private static final int CANCELLED = 1;
+    private static final int EXPIRED = 2;
+
+    private final long tickNanos;
+    private final long startNanos;
+    private final Timeout[][] heads = new Timeout[LEVELS][WHEEL_SIZE];
+    private final ConcurrentLinkedQueue<Timeout> additions = new ConcurrentLinkedQueue<>();
+    private final ConcurrentLinkedQueue<Timeout> cancellations = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pending = new AtomicInteger();
+    private final Thread ticker;
+    private volatile boolean running = true;
+    private long currentTick; // ticker thread only
+
+    /**
+     * Constructs a TimingWheel with 1 ms ticks and starts its ticker thread.
+     */
+    public TimingWheel() {
+        this(DEFAULT_TICK_MILLIS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Constructs a TimingWheel and starts its ticker thread.
+     * @param tick the length of one tick; timers fire at most about one tick late
+     * @param unit the unit of tick
+     */
+    public TimingWheel(long tick, TimeUnit unit) {
+        this.tickNanos = unit.toNanos(tick);
+        if (tickNanos <= 0) {
+            throw new IllegalArgumentException("tick must be positive");
+        }
+        this.startNanos = System.nanoTime();
+        this.ticker = new Thread(this::run, "timing-wheel");
+        ticker.setDaemon(true);
+        ticker.start();
+    }
+
+    /**
+     * Schedules a task to run once after a delay.
+     * @param delay how long to wait
+     * @param unit the unit of delay
+     * @param task the task to run on the ticker thread; keep it short
+     * @return a handle that can cancel the timer
+     */
+    public Timeout schedule(long delay, TimeUnit unit, Runnable task) {
+        long deadline = System.nanoTime() - startNanos + Math.max(0, unit.toNanos(delay));
+        long deadlineTick = (deadline + tickNanos - 1) / tickNanos; // round up so timers never fire early
+        Timeout timeout = new Timeout(this, deadlineTick, task);
+        pending.incrementAndGet();
+        additions.add(timeout);
+        if (!running) {
+            timeout.cancel();
+        }
+        return timeout;
+    }
+
+    /**
+     * Retrieves the number of timers scheduled but neither expired nor cancelled.
+     * @return the pending timer count
+     */
+    public int getPendingCount() {
+        return pending.get();
+    }
+
+    /**
+     * Stops the ticker thread. Timers that have not expired never run.
+     */
+    @Override
+    public void close() {
+        running = false;
+        LockSupport.unpark(ticker);
+        try {
+            ticker.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void run() {
+        while (running) {
+            long target = (System.nanoTime() - startNanos) / tickNanos;
+            drainCancellations();
+            drainAdditions();
+            while (currentTick < target) {
+                currentTick++;
+                cascade();
+                expire(heads[0], (int) (currentTick & WHEEL_MASK));
+            }
+            long nextTickAt = startNanos + (currentTick + 1) * tickNanos;
+            LockSupport.parkNanos(this, nextTickAt - System.nanoTime());
+        }
+    }
+
+    private void drainCancellations() {
+        Timeout t;
+        while ((t = cancellations.poll()) != null) {
+            if (t.level >= 0) {
+                unlink(t);
+            }
+        }
+    }
+
+    private void drainAdditions() {
+        Timeout t;
+        while ((t = additions.poll()) != null) {
+            if (t.state.get() == PENDING) {
+                place(t);
+            }
+        }
+    }
+
+    /**
+     * Puts a timer in the finest wheel that reaches its deadline, or runs it if it is already due.
+     */
+    private void place(Timeout t) {
+        long delta = t.deadlineTick - currentTick;
+        if (delta <= 0) {
+            fire(t);
+            return;
+        }
+        // Beyond the top wheel: park it at the far end and re-place it when it comes round
+        long placeTick = delta >= MAX_TICKS ? currentTick + MAX_TICKS - 1 : t.deadlineTick;
+        delta = placeTick - currentTick;
+        int level = 0;
+        while (delta >= 1L << (WHEEL_BITS * (level + 1))) {
+            level++;
+        }
+        int slot = (int) ((placeTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+        Timeout[] wheel = heads[level];
+        t.level = level;
+        t.slot = slot;
+        t.prev = null;
+        t.next = wheel[slot];
+        if (t.next != null) {
+            t.next.prev = t;
+        }
+        wheel[slot] = t;
+    }
+
+    private void unlink(Timeout t) {
+        if (t.prev != null) {
+            t.prev.next = t.next;
+        } else {
+            heads[t.level][t.slot] = t.next;
+        }
+        if (t.next != null) {
+            t.next.prev = t.prev;
+        }
+        t.prev = null;
+        t.next = null;
+        t.level = -1;
+    }
+
+    /**
+     * Moves the timers of every coarser wheel whose range starts at this tick down a level,
+     * coarsest first so timers can fall through several levels at once.
+     */
+    private void cascade() {
+        for (int level = LEVELS - 1; level > 0; level--) {
+            long mask = (1L << (WHEEL_BITS * level)) - 1;
+            if ((currentTick & mask) == 0) {
+                int slot = (int) ((currentTick >>> (WHEEL_BITS * level)) & WHEEL_MASK);
+                Timeout t = heads[level][slot];
+                heads[level][slot] = null;
+                while (t != null) {
+                    Timeout next = t.next;
+                    t.prev = null;
+                    t.next = null;
+                    t.level = -1;
+                    place(t);
+                    t = next;
+                }
+            }
+        }
+    }
+
+    private void expire(Timeout[] wheel, int slot) {
+        Timeout t = wheel[slot];
+        wheel[slot] = null;
+        while (t != null) {
+            Timeout next = t.next;
+            t.prev = null;
+            t.next = null;
+            t.level = -1;
+            if (t.deadlineTick > currentTick) {
+                place(t); // a far-future timer that was parked early
+            } else {
+                fire(t);
+            }
+            t = next;
+        }
+    }
+
+    private void fire(Timeout t) {
+        if (!t.state.compareAndSet(PENDING, EXPIRED)) {
+            return;
+        }
+        pending.decrementAndGet();
+        try {
+            t.task.run();
+        } catch (RuntimeException e) {
+            e.printStackTrace();
+        }
+    }
+
+    /**
+     * A handle to one scheduled timer.
+     */
+    public static final class Timeout {
+        private final TimingWheel wheel;
+        private final Runnable task;
+        private final AtomicInteger state = new AtomicInteger(PENDING);
+        // Wheel position, owned by the ticker thread
+        private long deadlineTick;
+        private int level = -1;
+        private int slot;
+        private Timeout prev;
+        private Timeout next;
+
+        Timeout(TimingWheel wheel, long deadlineTick, Runnable task) {
+            this.wheel = wheel;
+            this.deadlineTick = deadlineTick;
+            this.task = task;
+        }
+
+        /**
+         * Cancels the timer if it has not run yet. Safe to call from any thread, more than once.
+         * @return true if this call cancelled the timer
+         */
+        public boolean cancel() {
+            if (!state.compareAndSet(PENDING, CANCELLED)) {
+                return false;
+            }
+            wheel.pending.decrementAndGet();
+            wheel.cancellations.add(this);
+            return true;
+        }
+
+        /**
+         * Checks whether the timer has fired.
+         * @return true if the task has been run
+         */
+        public boolean isExpired() {
+            return state.get() == EXPIRED;
+        }
+
+        /**
+         * Checks whether the timer was cancelled before it fired.
+         * @return true if cancelled
+         */
+        public boolean isCancelled() {
+            return state.get() == CANCELLED;
+        }
+    }
+}
@@ -5,9 +5,18 @@ import org.w3c.dom.Element;
 import org.w3c.dom.Node;
 import org.w3c.dom.NodeList;
 
+import javax.xml.XMLConstants;
 import javax.xml.parsers.DocumentBuilder;
 import javax.xml.parsers.DocumentBuilderFactory;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.BufferedInputStream;
 import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
@@ -16,8 +25,29 @@ import java.util.Map;
 /**
  * Loads game data from XML files.
  * Expects XML format with QuestionItem elements containing Category, Value, QuestionText, Options, and CorrectAnswer.
+ * <p>
+ * By default the file is read with a StAX cursor and each Question is created as soon as its
+ * QuestionItem end tag is seen, so no document tree is ever built. The original DOM parser remains
+ * available for comparison. Both parsers refuse DOCTYPE declarations, which rules out external
+ * entities and entity-expansion attacks.
  */
 public class XMLLoader implements GameDataLoader {
+    private final boolean useDom;
+
+    /**
+     * Constructs an XMLLoader that streams the file with StAX.
+     */
+    public XMLLoader() {
+        this(false);
+    }
+
+    /**
+     * Constructs an XMLLoader with the chosen parser.
+     * @param useDom true to parse into a DOM Document, false to stream with StAX
+     */
+    public XMLLoader(boolean useDom) {
+        this.useDom = useDom;
+    }
 
     /**
      * Loads categories and questions from an XML file.
@@ -26,56 +56,163 @@ public class XMLLoader implements GameDataLoader {
      */
     @Override
     public List<Category> load(String fileName) {
+        try {
+            return loadFully(fileName);
+        } catch (IOException e) {
+            e.printStackTrace();
+            return new ArrayList<>();
+        }
+    }
+
+    /**
+     * Loads categories and questions from an XML file, failing if it cannot be read or parsed in full.
+     * @param fileName the path to the XML file to load
+     * @return a List of Category objects parsed from the XML
+     * @throws IOException if the file cannot be read or is not a valid question bank
+     */
+    @Override
+    public List<Category> loadFully(String fileName) throws IOException {
         List<Category> categories = new ArrayList<>();
         Map<String, Category> categoryMap = new HashMap<>();
 
         try {
-            File inputFile = new File(fileName);
-            DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
-            DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
-            Document doc = dBuilder.parse(inputFile);
-            doc.getDocumentElement().normalize();
-
-            NodeList nList = doc.getElementsByTagName("QuestionItem");
-
-            for (int temp = 0; temp < nList.getLength(); temp++) {
-                Node nNode = nList.item(temp);
-
-                if (nNode.getNodeType() == Node.ELEMENT_NODE) {
-                    Element eElement = (Element) nNode;
-
-                    String categoryName = eElement.getElementsByTagName("Category").item(0).getTextContent();
-                    int value = Integer.parseInt(eElement.getElementsByTagName("Value").item(0).getTextContent());
-                    String questionText = eElement.getElementsByTagName("QuestionText").item(0).getTextContent();
-                    String correctAnswer = eElement.getElementsByTagName("CorrectAnswer").item(0).getTextContent();
-
-                    Element optionsElement = (Element) eElement.getElementsByTagName("Options").item(0);
-                    String optionA = optionsElement.getElementsByTagName("OptionA").item(0).getTextContent();
-                    String optionB = optionsElement.getElementsByTagName("OptionB").item(0).getTextContent();
-                    String optionC = optionsElement.getElementsByTagName("OptionC").item(0).getTextContent();
-                    String optionD = optionsElement.getElementsByTagName("OptionD").item(0).getTextContent();
-
-                    Category category = categoryMap.get(categoryName);
-                    if (category == null) {
-                        category = new Category(categoryName);
-                        categoryMap.put(categoryName, category);
-                        categories.add(category);
-                    }
+            if (useDom) {
+                loadDom(fileName, categories, categoryMap);
+            } else {
+                loadStreaming(fileName, categories, categoryMap);
+            }
+        } catch (IOException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException("Failed to parse " + fileName, e);
+        }
+
+        return categories;
+    }
+
+    private void loadStreaming(String fileName, List<Category> categories, Map<String, Category> categoryMap)
+            throws Exception {
+        XMLInputFactory factory = XMLInputFactory.newFactory();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
 
-                    Map<String, String> options = new HashMap<>();
-                    options.put("A", optionA);
-                    options.put("B", optionB);
-                    options.put("C", optionC);
-                    options.put("D", optionD);
+        try (InputStream in = new BufferedInputStream(new FileInputStream(fileName))) {
+            XMLStreamReader reader = factory.createXMLStreamReader(in);
+            try {
+                boolean inItem = false;
+                String categoryName = null;
+                String value = null;
+                String questionText = null;
+                String correctAnswer = null;
+                String optionA = null;
+                String optionB = null;
+                String optionC = null;
+                String optionD = null;
 
-                    Question question = new Question(questionText, value, options, correctAnswer);
-                    category.addQuestion(question);
+                while (reader.hasNext()) {
+                    int event = reader.next();
+                    if (event == XMLStreamConstants.DTD) {
+                        throw new XMLStreamException("DOCTYPE declarations are not allowed", reader.getLocation());
+                    }
+                    if (event == XMLStreamConstants.START_ELEMENT) {
+                        String name = reader.getLocalName();
+                        if (name.equals("QuestionItem")) {
+                            inItem = true;
+                            categoryName = null;
+                            value = null;
+                            questionText = null;
+                            correctAnswer = null;
+                            optionA = null;
+                            optionB = null;
+                            optionC = null;
+                            optionD = null;
+                        } else if (inItem) {
+                            // Like getElementsByTagName(...).item(0), the first matching element wins
+                            switch (name) {
+                                case "Category":
+                                    categoryName = first(categoryName, reader);
+                                    break;
+                                case "Value":
+                                    value = first(value, reader);
+                                    break;
+                                case "QuestionText":
+                                    questionText = first(questionText, reader);
+                                    break;
+                                case "CorrectAnswer":
+                                    correctAnswer = first(correctAnswer, reader);
+                                    break;
+                                case "OptionA":
+                                    optionA = first(optionA, reader);
+                                    break;
+                                case "OptionB":
+                                    optionB = first(optionB, reader);
+                                    break;
+                                case "OptionC":
+                                    optionC = first(optionC, reader);
+                                    break;
+                                case "OptionD":
+                                    optionD = first(optionD, reader);
+                                    break;
+                                default:
+                                    break;
+                            }
+                        }
+                    } else if (event == XMLStreamConstants.END_ELEMENT && inItem
+                            && reader.getLocalName().equals("QuestionItem")) {
+                        inItem = false;
+                        if (categoryName == null || value == null || questionText == null || correctAnswer == null
+                                || optionA == null || optionB == null || optionC == null || optionD == null) {
+                            throw new XMLStreamException("QuestionItem is missing a required element",
+                                    reader.getLocation());
+                        }
+                        Categories.addQuestion(categories, categoryMap, categoryName, Integer.parseInt(value.trim()),
+                                questionText, optionA, optionB, optionC, optionD, correctAnswer);
+                    }
                 }
+            } finally {
+                reader.close();
             }
-        } catch (Exception e) {
-            e.printStackTrace();
         }
+    }
 
-        return categories;
+    private static String first(String current, XMLStreamReader reader) throws XMLStreamException {
+        String text = reader.getElementText();
+        return current != null ? current : text;
+    }
+
+    private void loadDom(String fileName, List<Category> categories, Map<String, Category> categoryMap)
+            throws Exception {
+        File inputFile = new File(fileName);
+        DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
+        dbFactory.setFeature("http://apache.org/xml/features/disallow-doctype-decl", true);
+        dbFactory.setFeature(XMLConstants.FEATURE_SECURE_PROCESSING, true);
+        dbFactory.setExpandEntityReferences(false);
+        DocumentBuilder dBuilder = dbFactory.newDocumentBuilder();
+        Document doc = dBuilder.parse(inputFile);
+        doc.getDocumentElement().normalize();
+
+        NodeList nList = doc.getElementsByTagName("QuestionItem");
+
+        for (int temp = 0; temp < nList.getLength(); temp++) {
+            Node nNode = nList.item(temp);
+
+            if (nNode.getNodeType() == Node.ELEMENT_NODE) {
+                Element eElement = (Element) nNode;
+
+                String categoryName = eElement.getElementsByTagName("Category").item(0).getTextContent();
+                int value = Integer.parseInt(eElement.getElementsByTagName("Value").item(0).getTextContent());
+                String questionText = eElement.getElementsByTagName("QuestionText").item(0).getTextContent();
+                String correctAnswer = eElement.getElementsByTagName("CorrectAnswer").item(0).getTextContent();
+
+                Element optionsElement = (Element) eElement.getElementsByTagName("Options").item(0);
+                String optionA = optionsElement.getElementsByTagName("OptionA").item(0).getTextContent();
+                String optionB = optionsElement.getElementsByTagName("OptionB").item(0).getTextContent();
+                String optionC = optionsElement.getElementsByTagName("OptionC").item(0).getTextContent();
+                String optionD = optionsElement.getElementsByTagName("OptionD").item(0).getTextContent();
+
+                Categories.addQuestion(categories, categoryMap, categoryName, value, questionText, optionA, optionB,
+                        optionC, optionD, correctAnswer);
+            }
+        }
     }
 }
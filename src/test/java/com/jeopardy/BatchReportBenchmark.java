@@ -0,0 +1,86 @@
+package com.jeopardy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Writes event logs of many interleaved games, split over several files, and times the batch
+ * report tool over them in events per minute.
+ * Not a unit test: run main() from the test classpath after mvn test-compile, optionally passing the number of games and the parallelism.
+ */
+public class BatchReportBenchmark {
+    private static final int TURNS_PER_GAME = 30;
+    private static final int GAMES_AT_ONCE = 256;
+
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 20_000;
+        int parallelism = args.length > 1 ? Integer.parseInt(args[1]) : Runtime.getRuntime().availableProcessors();
+        Path dir = Files.createTempDirectory("batch-benchmark");
+        try {
+            List<Path> logs = new ArrayList<>();
+            long events = 0;
+            // Games run GAMES_AT_ONCE at a time, one event each in turn; a new file starts every 4 batches
+            for (int batch = 0; batch < games / GAMES_AT_ONCE; batch++) {
+                if (batch % 4 == 0) {
+                    logs.add(dir.resolve("game_event_log-" + logs.size() + ".csv"));
+                }
+                try (GameEventLogger logger = new GameEventLogger(logs.get(logs.size() - 1).toString(), 4096, 0)) {
+                    events += writeGames(logger, batch);
+                }
+            }
+            long bytes = 0;
+            for (Path log : logs) {
+                bytes += Files.size(log);
+            }
+            System.out.printf("%,d games, %,d events, %,d MB in %d logs, parallelism %d%n", games, events,
+                    bytes >> 20, logs.size(), parallelism);
+
+            for (String formats : new String[] { "TXT", "TXT,DOCX" }) {
+                Path out = dir.resolve("reports-" + formats.replace(',', '-'));
+                long start = System.nanoTime();
+                long reported = new BatchReportGenerator(parallelism).run(logs, out, formats.split(","));
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%-8s %,d games in %.2f s: %,.0f events/min%n", formats, reported, seconds,
+                        events / seconds * 60);
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    private static long writeGames(GameEventLogger logger, int batch) {
+        long events = 0;
+        long time = 1_700_000_000_000_000_000L;
+        for (int g = 0; g < GAMES_AT_ONCE; g++) {
+            String caseId = "GAME" + batch + "-" + g;
+            for (int p = 1; p <= 3; p++) {
+                logger.update(new GameEvent(caseId, p, ActivityType.ENTER_PLAYER_NAME, time++, "Added player: P" + p,
+                        0, null, null, 0));
+                events++;
+            }
+            logger.update(new GameEvent(caseId, 0, ActivityType.START_GAME, time++, "Game Started", 0, null, null, 0));
+            events++;
+        }
+        for (int t = 0; t < TURNS_PER_GAME; t++) {
+            for (int g = 0; g < GAMES_AT_ONCE; g++) {
+                String caseId = "GAME" + batch + "-" + g;
+                int player = 1 + t % 3;
+                int score = (t / 3 + 1) * 100;
+                logger.update(new GameEvent(caseId, player, ActivityType.SELECT_CATEGORY, time++, "Loops", 0, null,
+                        null, 0));
+                logger.update(new GameEvent(caseId, player, ActivityType.ANSWER_QUESTION, time++, "Loops", 100, "A",
+                        "Correct", score));
+                logger.update(new GameEvent(caseId, player, ActivityType.SCORE_UPDATED, time++, "Score updated",
+                        score, null, null, 0));
+                events += 3;
+            }
+        }
+        return events;
+    }
+}
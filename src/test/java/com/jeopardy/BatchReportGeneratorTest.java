@@ -0,0 +1,136 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class BatchReportGeneratorTest { // archived logs in, one report per game out, resumable
+
+    private static void play(Game game, int value, String answer) {
+        game.selectCategory(game.getCategories().get(0).getName());
+        game.selectQuestion(value);
+        game.answerQuestion(answer);
+    }
+
+    private static Game newGame(GameEventLogger logger, String... names) {
+        Game game = new Game(new EventManager(ActivityType.values()), logger);
+        game.loadGameData("sample_game_CSV.csv");
+        for (String name : names) {
+            game.addPlayer(name);
+        }
+        game.startGame();
+        return game;
+    }
+
+    /**
+     * Logs two games with interleaved events and splits the log in two, as a rotation would.
+     */
+    private static Game[] writeLogs(Path first, Path second) throws IOException {
+        Path log = first.resolveSibling("whole.csv");
+        Game a;
+        Game b;
+        try (GameEventLogger logger = new GameEventLogger(log.toString(), 1, 0)) {
+            a = newGame(logger, "Alice", "Bob");
+            b = newGame(logger, "Cara");
+            play(a, 100, "A");
+            play(b, 100, "B");
+            play(a, 200, "A");
+            play(b, 200, "C");
+            play(a, 300, "C");
+        }
+        List<String> lines = Files.readAllLines(log);
+        int half = lines.size() / 2;
+        Files.write(first, lines.subList(0, half));
+        Files.write(second, lines.subList(half, lines.size()));
+        return new Game[] { a, b };
+    }
+
+    private static byte[] liveReport(Game game) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new TXTReport().render(ReportModel.from(game), out);
+        return out.toByteArray();
+    }
+
+    @Test
+    void testReportsMatchTheLiveGames(@TempDir Path dir) throws Exception {
+        Path first = dir.resolve("log-1.csv");
+        Path second = dir.resolve("log-2.csv");
+        Game[] games = writeLogs(first, second);
+        Path out = dir.resolve("reports");
+
+        long reported = new BatchReportGenerator(2).run(List.of(first, second), out, "TXT", "DOCX");
+        assertEquals(2, reported);
+        for (Game game : games) {
+            assertArrayEquals(liveReport(game), Files.readAllBytes(out.resolve("report-" + game.getCaseId() + ".txt")));
+            assertTrue(Files.exists(out.resolve("report-" + game.getCaseId() + ".docx")));
+        }
+        assertFalse(Files.exists(out.resolve(BatchReportGenerator.WORK_DIRECTORY)));
+        assertEquals(0, new BatchReportGenerator(2).run(List.of(first, second), out, "TXT"));
+    }
+
+    @Test
+    void testInterruptedBatchResumesWhereItStopped(@TempDir Path dir) throws Exception {
+        Path first = dir.resolve("log-1.csv");
+        Path second = dir.resolve("log-2.csv");
+        Game[] games = writeLogs(first, second);
+        String failing = games[1].getCaseId();
+        AtomicBoolean broken = new AtomicBoolean(true);
+        ReportGeneratorFactory factory = new ReportGeneratorFactory();
+        factory.register("FLAKY", () -> new TXTReport() {
+            @Override
+            public void render(ReportModel model, OutputStream out) throws IOException {
+                if (broken.get() && model.getCaseId().equals(failing)) {
+                    throw new IOException("disk full");
+                }
+                super.render(model, out);
+            }
+        });
+        Path out = dir.resolve("reports");
+        List<Path> logs = List.of(first, second);
+
+        assertEquals(1, new BatchReportGenerator(factory, new GameReplayer(), 1).run(logs, out, "FLAKY"));
+        assertTrue(Files.exists(out.resolve("report-" + games[0].getCaseId() + ".txt")));
+        assertFalse(Files.exists(out.resolve("report-" + failing + ".txt")));
+        assertTrue(Files.exists(out.resolve(BatchReportGenerator.WORK_DIRECTORY)));
+
+        broken.set(false);
+        assertEquals(1, new BatchReportGenerator(factory, new GameReplayer(), 1).run(logs, out, "FLAKY"));
+        assertArrayEquals(liveReport(games[1]), Files.readAllBytes(out.resolve("report-" + failing + ".txt")));
+        assertFalse(Files.exists(out.resolve(BatchReportGenerator.WORK_DIRECTORY)));
+    }
+
+    @Test
+    void testOversizedPartitionsAreSplitAgain(@TempDir Path dir) throws Exception {
+        Path log = dir.resolve("log.csv");
+        try (GameEventLogger logger = new GameEventLogger(log.toString(), 64, 0)) {
+            long time = 1_700_000_000_000_000_000L;
+            for (int g = 0; g < 40; g++) {
+                String caseId = "GAME-" + g;
+                logger.update(new GameEvent(caseId, 1, ActivityType.ENTER_PLAYER_NAME, time++, "Added player: P" + g,
+                        0, null, null, 0));
+                logger.update(new GameEvent(caseId, 0, ActivityType.START_GAME, time++, "Game Started", 0, null,
+                        null, 0));
+                logger.update(new GameEvent(caseId, 1, ActivityType.ANSWER_QUESTION, time++, "Loops", 100, "A",
+                        "Correct", 100));
+            }
+        }
+        Path out = dir.resolve("reports");
+
+        // Two partitions of 256 bytes cannot hold 40 games, so they must be split in further rounds
+        assertEquals(40, new BatchReportGenerator(new ReportGeneratorFactory(), new GameReplayer(), 2, 256, 2)
+                .run(List.of(log), out, "TXT"));
+        for (int g = 0; g < 40; g++) {
+            assertTrue(Files.exists(out.resolve("report-GAME-" + g + ".txt")));
+        }
+        String partitioned = Files.readAllLines(out.resolve(BatchReportGenerator.MANIFEST_FILE)).get(0);
+        assertTrue(Integer.parseInt(partitioned.substring(partitioned.indexOf(' ') + 1)) > 2, partitioned);
+    }
+}
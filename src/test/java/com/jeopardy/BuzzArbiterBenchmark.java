@@ -0,0 +1,57 @@
+package com.jeopardy;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CyclicBarrier;
+
+/**
+ * Measures how long BuzzArbiter.buzz takes when hundreds of simulated buzzers hit the same round
+ * at once, reporting the median and 99th percentile per-buzz latency over many rounds.
+ * Not a unit test: run main() from the test classpath after mvn test-compile, optionally passing the buzzer count.
+ */
+public class BuzzArbiterBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int buzzers = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int rounds = 2000;
+        BuzzArbiter arbiter = new BuzzArbiter(0, 0, 0);
+        long[] latencies = new long[buzzers * rounds];
+        CyclicBarrier start = new CyclicBarrier(buzzers + 1);
+        CyclicBarrier end = new CyclicBarrier(buzzers + 1);
+
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < buzzers; i++) {
+            int player = i;
+            threads.add(Thread.ofPlatform().daemon().start(() -> {
+                try {
+                    for (int r = 0; r < rounds; r++) {
+                        start.await();
+                        long t = System.nanoTime();
+                        arbiter.buzz(player, t);
+                        latencies[r * buzzers + player] = System.nanoTime() - t;
+                        end.await();
+                    }
+                } catch (Exception e) {
+                    e.printStackTrace();
+                }
+            }));
+        }
+        for (int r = 0; r < rounds; r++) {
+            arbiter.open(buzzers, System.nanoTime());
+            start.await();
+            end.await();
+            if (arbiter.getWinner() < 0) {
+                throw new IllegalStateException("Round " + r + " has no winner");
+            }
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+
+        Arrays.sort(latencies);
+        System.out.printf("%d buzzers x %d rounds: median %,d ns, p99 %,d ns, max %,d ns%n", buzzers, rounds,
+                latencies[latencies.length / 2], latencies[(int) (latencies.length * 0.99)],
+                latencies[latencies.length - 1]);
+    }
+}
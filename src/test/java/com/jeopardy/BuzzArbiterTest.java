@@ -0,0 +1,132 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+class BuzzArbiterTest { // exactly one buzz may win, and lockouts must hold
+
+    @Test
+    void testExactlyOneWinnerUnderContention() throws InterruptedException {
+        int buzzers = 300;
+        BuzzArbiter arbiter = new BuzzArbiter(0, 0, 0);
+        for (int round = 0; round < 20; round++) {
+            arbiter.open(buzzers, System.nanoTime());
+            CountDownLatch go = new CountDownLatch(1);
+            AtomicInteger won = new AtomicInteger();
+            AtomicInteger late = new AtomicInteger();
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < buzzers; i++) {
+                int player = i;
+                Thread t = Thread.ofVirtual().start(() -> {
+                    try {
+                        go.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    BuzzArbiter.Result r = arbiter.buzz(player, System.nanoTime());
+                    (r == BuzzArbiter.Result.WON ? won : late).incrementAndGet();
+                });
+                threads.add(t);
+            }
+            go.countDown();
+            for (Thread t : threads) {
+                t.join();
+            }
+            assertEquals(1, won.get());
+            assertEquals(buzzers - 1, late.get());
+            assertEquals(BuzzArbiter.Result.WON, arbiter.getOutcome(arbiter.getWinner()));
+        }
+    }
+
+    @Test
+    void testRecordsStayWithTheRoundTheyWereDecidedIn() throws InterruptedException {
+        BuzzArbiter arbiter = new BuzzArbiter(0, 0, 0);
+        arbiter.open(4, System.nanoTime());
+        AtomicBoolean stop = new AtomicBoolean();
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < 4; i++) {
+            int player = i;
+            threads.add(Thread.ofPlatform().start(() -> {
+                while (!stop.get()) {
+                    arbiter.buzz(player, System.nanoTime());
+                }
+            }));
+        }
+        try {
+            for (int round = 0; round < 300; round++) { //reopens race the buzzers
+                int winner;
+                while ((winner = arbiter.getWinner()) < 0 || arbiter.getOutcome(winner) != BuzzArbiter.Result.WON) {
+                    Thread.yield();
+                }
+                assertEquals(0, arbiter.getDelayAfterWinner(winner)); //the stamp of this round's winning buzz
+                assertTrue(arbiter.getBuzzCount(winner) >= 1);
+                arbiter.reopen(winner, System.nanoTime());
+            }
+        } finally {
+            stop.set(true);
+            for (Thread t : threads) {
+                t.join();
+            }
+        }
+    }
+
+    @Test
+    void testEarlyBuzzLockoutAndWrongAnswerPenalty() {
+        BuzzArbiter arbiter = new BuzzArbiter(1_000, 5_000, 1_000_000);
+        long t0 = 1_000_000_000L;
+        arbiter.open(3, t0);
+
+        assertEquals(BuzzArbiter.Result.EARLY, arbiter.buzz(0, t0 + 500)); //before arming
+        assertEquals(BuzzArbiter.Result.LOCKED_OUT, arbiter.buzz(0, t0 + 2_000)); //still serving lockout
+        assertEquals(BuzzArbiter.Result.WON, arbiter.buzz(1, t0 + 2_000));
+        assertEquals(BuzzArbiter.Result.LATE, arbiter.buzz(2, t0 + 2_100));
+        assertEquals(100, arbiter.getDelayAfterWinner(2));
+
+        arbiter.reopen(1, t0 + 3_000); //player 1 answered wrongly
+        assertEquals(BuzzArbiter.Result.LOCKED_OUT, arbiter.buzz(1, t0 + 4_000));
+        assertEquals(BuzzArbiter.Result.WON, arbiter.buzz(0, t0 + 6_000)); //early lockout expired
+        arbiter.close();
+        assertEquals(BuzzArbiter.Result.CLOSED, arbiter.buzz(2, t0 + 7_000));
+    }
+
+    @Test
+    void testBuzzInGameLogsBuzzesAndGivesControlToWinner() {
+        Game game = new Game(new EventManager(ActivityType.values()), null);
+        game.enableBuzzIn(new BuzzArbiter(0, 0, Long.MAX_VALUE / 2));
+        game.loadGameData("sample_game_CSV.csv");
+        game.addPlayer("Alice");
+        game.addPlayer("Bob");
+        game.addPlayer("Cara");
+        game.startGame();
+
+        Category cat = game.getCategories().get(0);
+        Question q = cat.getQuestions().get(0);
+        game.selectCategory(cat.getName());
+        game.selectQuestion(q.getValue());
+        game.answerQuestion("A"); //nobody has buzzed, so nobody may answer
+        assertFalse(game.isAnswered(q));
+
+        assertEquals(BuzzArbiter.Result.WON, game.buzz(2));
+        assertEquals(BuzzArbiter.Result.LATE, game.buzz(3));
+        game.answerQuestion("Z"); //wrong: Bob is penalized and the question reopens
+        assertFalse(game.isAnswered(q));
+        assertEquals(BuzzArbiter.Result.LOCKED_OUT, game.buzz(2));
+        assertEquals(BuzzArbiter.Result.WON, game.buzz(3));
+        game.answerQuestion(q.getCorrectAnswer());
+
+        assertTrue(game.isAnswered(q));
+        assertEquals("Cara", game.getCurrentPlayer().getName()); //correct answer takes control
+        assertEquals(q.getValue(), game.getPlayers().get(2).getScore());
+        long buzzEvents = game.getEventLog().stream()
+                .filter(e -> e.getActivity() == ActivityType.BUZZ_IN || e.getActivity() == ActivityType.BUZZ_REJECTED)
+                .count();
+        assertEquals(4, buzzEvents);
+        game.close();
+    }
+}
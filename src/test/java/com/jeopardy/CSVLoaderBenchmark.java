@@ -0,0 +1,66 @@
+package com.jeopardy;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures CSVLoader throughput on a generated question bank, comparing the streaming
+ * BufferedReader-style path with memory-mapped parallel parsing at increasing pool sizes.
+ * Not a unit test: run main() from the test classpath after mvn test-compile, optionally passing the row count.
+ */
+public class CSVLoaderBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path bank = Files.createTempFile("csv_loader_benchmark", ".csv");
+        try {
+            writeBank(bank, rows);
+            System.out.printf("%,d rows, %,d MB%n", rows, Files.size(bank) / (1024 * 1024));
+            int cores = Runtime.getRuntime().availableProcessors();
+            for (int round = 0; round < 3; round++) {
+                System.out.println("Round " + (round + 1));
+                run("streaming", new CSVLoader(), bank, rows);
+                for (int threads = 1; threads <= cores; threads *= 2) {
+                    ForkJoinPool pool = new ForkJoinPool(threads);
+                    run("mapped x" + threads, new CSVLoader(pool), bank, rows);
+                    pool.shutdown();
+                }
+            }
+        } finally {
+            Files.deleteIfExists(bank);
+        }
+    }
+
+    static void run(String label, GameDataLoader loader, Path bank, int rows) {
+        System.gc();
+        long start = System.nanoTime();
+        List<Category> categories = loader.load(bank.toString());
+        long elapsed = System.nanoTime() - start;
+
+        int loaded = 0;
+        for (Category c : categories) {
+            loaded += c.getQuestions().size();
+        }
+        if (loaded != rows) {
+            throw new IllegalStateException(label + " loaded " + loaded + " of " + rows + " rows");
+        }
+        System.out.printf("  %-10s %6d ms  %,12.0f rows/s%n", label, elapsed / 1_000_000,
+                rows / (elapsed / 1e9));
+    }
+
+    static void writeBank(Path bank, int rows) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(bank, StandardCharsets.UTF_8)) {
+            out.write("Category,Value,Question,OptionA,OptionB,OptionC,OptionD,CorrectAnswer\n");
+            for (int i = 0; i < rows; i++) {
+                out.write("Category " + (i % 1000) + "," + ((i % 5) + 1) * 100
+                        + ",\"Question " + i + ", which has a comma and \"\"quotes\"\"?\",int num;,float num;,"
+                        + "num int;,integer num;," + "ABCD".charAt(i % 4) + "\n");
+            }
+        }
+    }
+}
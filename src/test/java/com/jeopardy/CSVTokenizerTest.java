@@ -0,0 +1,70 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.StringReader;
+
+class CSVTokenizerTest { // tests RFC 4180 quoting rules and error reporting
+
+    @Test
+    void testQuotedFieldsWithCommasQuotesAndNewlines() throws IOException {
+        String csv = "a,\"b, with comma\",\"say \"\"hi\"\"\"\r\n"
+                + "\"multi\nline\",,last\n";
+        CSVTokenizer tokenizer = new CSVTokenizer(new StringReader(csv));
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(3, tokenizer.getFieldCount());
+        assertEquals("a", tokenizer.getField(0));
+        assertEquals("b, with comma", tokenizer.getField(1));
+        assertEquals("say \"hi\"", tokenizer.getField(2)); //doubled quotes unescaped
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(2, tokenizer.getRow());
+        assertEquals("multi\nline", tokenizer.getField(0));
+        assertEquals("", tokenizer.getField(1));
+        assertEquals("last", tokenizer.getField(2));
+
+        assertFalse(tokenizer.nextRecord());
+    }
+
+    @Test
+    void testBlankLinesAndTrailingEmptyField() throws IOException {
+        CSVTokenizer tokenizer = new CSVTokenizer(new StringReader("\n\nx,y,\n\n"));
+
+        assertTrue(tokenizer.nextRecord());
+        assertEquals(3, tokenizer.getRow());
+        assertEquals(3, tokenizer.getFieldCount());
+        assertEquals("", tokenizer.getField(2));
+        assertFalse(tokenizer.nextRecord());
+    }
+
+    @Test
+    void testMalformedRowReportsPositionAndRecovers() throws IOException {
+        CSVTokenizer tokenizer = new CSVTokenizer(new StringReader("ok,1\nbad\"quote,2\n\"x\"y,3\nfine,4\n"));
+
+        assertTrue(tokenizer.nextRecord());
+
+        CSVFormatException error = assertThrows(CSVFormatException.class, tokenizer::nextRecord);
+        assertEquals(2, error.getRow());
+        assertEquals(4, error.getColumn());
+
+        error = assertThrows(CSVFormatException.class, tokenizer::nextRecord);
+        assertEquals(3, error.getRow());
+        assertEquals(4, error.getColumn()); //character after the closing quote
+
+        assertTrue(tokenizer.nextRecord()); //tokenizer carries on after the bad lines
+        assertEquals("fine", tokenizer.getField(0));
+        assertEquals(4, tokenizer.getRow());
+    }
+
+    @Test
+    void testUnterminatedQuoteAtEndOfInput() {
+        CSVTokenizer tokenizer = new CSVTokenizer(new StringReader("a,\"never closed\n"));
+
+        CSVFormatException error = assertThrows(CSVFormatException.class, tokenizer::nextRecord);
+        assertEquals(1, error.getRow());
+        assertEquals(3, error.getColumn());
+    }
+}
@@ -0,0 +1,36 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+class CategoryIndexTest { // index must agree with an equalsIgnoreCase scan of the board
+
+    @Test
+    void testCaseInsensitiveLookupOnLargeBoard() {
+        List<Category> board = new ArrayList<>();
+        for (int i = 0; i < 5000; i++) {
+            board.add(new Category("Category " + i));
+        }
+        board.add(new Category("Straße"));
+        board.add(new Category("STRASSE")); //distinct under equalsIgnoreCase
+        board.add(new Category("category 7")); //shadowed by "Category 7"
+
+        CategoryIndex index = new CategoryIndex(board);
+        for (int i = 0; i < 5000; i++) {
+            assertSame(board.get(i), index.get("CATEGORY " + i));
+        }
+        assertSame(board.get(7), index.get("category 7"));
+        assertSame(board.get(5000), index.get("STRAßE"));
+        assertSame(board.get(5001), index.get("strasse"));
+        assertNull(index.get("Category 5000"));
+        assertNull(index.get(null));
+    }
+
+    @Test
+    void testEmptyIndex() {
+        assertNull(new CategoryIndex(new ArrayList<>()).get("Anything"));
+    }
+}
@@ -3,6 +3,7 @@ package com.jeopardy;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -43,4 +44,44 @@ public class CategoryTest {//tests that check for question logic withing the cat
 
         assertNull(category.getQuestion(999)); //error handling check for non-existent value
     }
+
+    @Test
+    public void testValueLookupAcrossGrowthKeepsFirstMatch() {
+        Category category = new Category("Mega");
+        Map<String, String> options = new HashMap<>();
+        options.put("A", "Answer A");
+
+        Question first = new Question("First 100", 100, options, "A");
+        category.addQuestion(first);
+        assertSame(first, category.getQuestion(100)); //index built on first lookup
+
+        for (int v = 200; v <= 100_000; v += 100) {
+            category.addQuestion(new Question("Q" + v, v, options, "A"));
+        }
+        category.addQuestion(new Question("Second 100", 100, options, "A"));
+
+        assertSame(first, category.getQuestion(100)); //duplicate values resolve to the earliest question
+        assertEquals("Q55500", category.getQuestion(55_500).getQuestionText());
+        assertNull(category.getQuestion(150));
+    }
+
+    @Test
+    public void testReplacedQuestionIsSeenByValueLookup() {
+        Category category = new Category("Swaps");
+        Map<String, String> options = new HashMap<>();
+        options.put("A", "Answer A");
+        category.addQuestion(new Question("Old 100", 100, options, "A"));
+        category.addQuestion(new Question("Q200", 200, options, "A"));
+        assertEquals("Old 100", category.getQuestion(100).getQuestionText());
+
+        Question replacement = new Question("New 300", 300, options, "A");
+        category.getQuestions().set(0, replacement); //same size, different question
+        assertNull(category.getQuestion(100));
+        assertSame(replacement, category.getQuestion(300));
+
+        Collections.swap(category.getQuestions(), 0, 1);
+        category.getQuestions().subList(0, 1).clear();
+        assertNull(category.getQuestion(200));
+        assertSame(replacement, category.getQuestion(300));
+    }
 }
@@ -0,0 +1,105 @@
+package com.jeopardy;
+
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Renders DOCX reports of growing sessions with the streaming writer and with a POI XWPFDocument
+ * built the way DOCXReport used to, and reports the time and peak heap of each.
+ * Not a unit test: run main() from the test classpath after mvn test-compile, optionally passing the largest turn count.
+ */
+public class DOCXReportBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int maxTurns = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Path file = Files.createTempFile("report-benchmark", ".docx");
+        try {
+            for (int turns = 1_000; turns <= maxTurns; turns *= 10) {
+                ReportModel model = ReportModels.synthetic(turns, "Alice", "Bob", "Cara");
+                for (int round = 0; round < 2; round++) {
+                    measure("stream", turns, file, out -> new DOCXReport().render(model, out));
+                    measure("xwpf  ", turns, file, out -> renderWithXwpf(model, out));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private interface Renderer {
+        void render(OutputStream out) throws IOException;
+    }
+
+    private static void measure(String label, int turns, Path file, Renderer renderer) throws IOException {
+        System.gc();
+        long baseline = heap(false);
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+        long start = System.nanoTime();
+        try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+            renderer.render(out);
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s %,9d turns: %6.2f s, %,7d KB file, peak heap above the model %,8d KB%n", label,
+                turns, seconds, Files.size(file) / 1024, (heap(true) - baseline) / 1024);
+    }
+
+    private static long heap(boolean peak) {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                used += (peak ? pool.getPeakUsage() : pool.getUsage()).getUsed();
+            }
+        }
+        return used;
+    }
+
+    private static void renderWithXwpf(ReportModel model, OutputStream out) throws IOException {
+        try (XWPFDocument document = new XWPFDocument()) {
+            XWPFRun titleRun = document.createParagraph().createRun();
+            titleRun.setText("JEOPARDY PROGRAMMING GAME REPORT");
+            titleRun.setBold(true);
+            titleRun.setFontSize(16);
+
+            XWPFRun playersRun = document.createParagraph().createRun();
+            playersRun.setText("Players: ");
+            for (ReportModel.PlayerSummary p : model.getPlayers()) {
+                playersRun.setText(p.getName() + " ");
+            }
+
+            XWPFRun summaryHeaderRun = document.createParagraph().createRun();
+            summaryHeaderRun.setText("Gameplay Summary:");
+            summaryHeaderRun.setBold(true);
+
+            for (ReportModel.Turn turn : model.getTurns()) {
+                XWPFParagraph p = document.createParagraph();
+                XWPFRun r = p.createRun();
+                r.setText("Turn " + turn.getNumber() + ": " + turn.getPlayerName() + " selected "
+                        + turn.getCategory() + " for " + turn.getValue() + " pts");
+                r.addBreak();
+                r.setText("Answer: " + turn.getAnswer() + " - " + turn.getResult());
+                r.addBreak();
+                r.setText("Score after turn: " + turn.getScoreAfter());
+            }
+
+            XWPFRun finalScoresRun = document.createParagraph().createRun();
+            finalScoresRun.setText("Final Scores:");
+            finalScoresRun.setBold(true);
+            for (ReportModel.PlayerSummary p : model.getPlayers()) {
+                document.createParagraph().createRun().setText(p.getName() + ": " + p.getFinalScore());
+            }
+            document.write(out);
+        }
+    }
+}
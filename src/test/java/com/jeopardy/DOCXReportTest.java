@@ -0,0 +1,40 @@
+package com.jeopardy;
+
+import org.apache.poi.xwpf.usermodel.XWPFDocument;
+import org.apache.poi.xwpf.usermodel.XWPFParagraph;
+import org.apache.poi.xwpf.usermodel.XWPFRun;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.util.List;
+
+class DOCXReportTest { // the streamed package must open in POI like the old XWPF report
+
+    @Test
+    void testStreamedDocumentOpensWithSameParagraphs() throws Exception {
+        ReportModel model = ReportModels.synthetic(50, "Alice", "B&B <Bob>");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new DOCXReport().render(model, out);
+        out.write(0); // the stream is left open
+
+        try (XWPFDocument document = new XWPFDocument(new ByteArrayInputStream(out.toByteArray(), 0,
+                out.size() - 1))) {
+            List<XWPFParagraph> paragraphs = document.getParagraphs();
+            assertEquals(3 + 50 + 1 + 2, paragraphs.size());
+
+            XWPFRun title = paragraphs.get(0).getRuns().get(0);
+            assertEquals("JEOPARDY PROGRAMMING GAME REPORT", title.text());
+            assertTrue(title.isBold());
+            assertEquals(16, title.getFontSizeAsDouble()); // half-points in the XML
+            assertEquals("Players: Alice B&B <Bob> ", paragraphs.get(1).getText());
+            assertTrue(paragraphs.get(2).getRuns().get(0).isBold());
+
+            assertEquals("Turn 2: B&B <Bob> selected Loops for 100 pts\nAnswer: B - Incorrect\nScore after turn: 100",
+                    paragraphs.get(4).getText());
+            assertEquals("Final Scores:", paragraphs.get(53).getText());
+            assertEquals("Alice: 0", paragraphs.get(54).getText());
+        }
+    }
+}
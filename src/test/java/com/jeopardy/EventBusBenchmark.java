@@ -0,0 +1,53 @@
+package com.jeopardy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+
+/**
+ * Compares the cost the game thread pays per event for synchronous and asynchronous dispatch
+ * when the only listener is a file logger that writes every event (the worst case for the game loop).
+ * BLOCK shows the sustained-overload case where the game thread is throttled to the logger's speed;
+ * DROP_OLDEST and SPILL show what the game thread pays when it is not.
+ * Not a unit test: run main() from the test classpath after mvn test-compile.
+ */
+public class EventBusBenchmark {
+    private static final int EVENTS = 200_000;
+
+    public static void main(String[] args) throws IOException {
+        Path log = Files.createTempFile("event_bus_benchmark", ".csv");
+        try {
+            for (int round = 0; round < 3; round++) { // first rounds warm up the JIT
+                System.out.println("Round " + (round + 1));
+                run("sync", new EventManager(ActivityType.values()), log);
+                for (BackpressurePolicy policy : BackpressurePolicy.values()) {
+                    run("async " + policy, new EventManager(4096, policy, ActivityType.values()), log);
+                }
+            }
+        } finally {
+            Files.deleteIfExists(log);
+        }
+    }
+
+    private static void run(String label, EventManager manager, Path log) {
+        GameEventLogger logger = new GameEventLogger(log.toString(), 1, 0); // one write per event
+        for (ActivityType type : ActivityType.values()) {
+            manager.subscribe(type, logger);
+        }
+
+        GameEvent event = new GameEvent("BENCH", 1, ActivityType.ANSWER_QUESTION, LocalDateTime.now(), "Arrays",
+                200, "B", "Correct", 200);
+        long start = System.nanoTime();
+        for (int i = 0; i < EVENTS; i++) {
+            manager.notify(ActivityType.ANSWER_QUESTION, event);
+        }
+        long published = System.nanoTime() - start;
+        manager.close();
+        long delivered = System.nanoTime() - start;
+        logger.close();
+
+        System.out.printf("  %-18s game thread %6.1f ns/event, all delivered after %5d ms%n", label,
+                (double) published / EVENTS, delivered / 1_000_000);
+    }
+}
@@ -0,0 +1,78 @@
+package com.jeopardy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.stream.Stream;
+
+/**
+ * Appends millions of events to an EventJournal and to the CSV GameEventLogger and reports the
+ * append rate of each, then the rate of a full sequential scan and of index lookups in the journal.
+ * Not a unit test: run main() from the test classpath after mvn test-compile, optionally passing the event count.
+ */
+public class EventJournalBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int count = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        // Each game logs 64 consecutive events, like one session after another
+        GameEvent[] events = new GameEvent[count];
+        LocalDateTime base = LocalDateTime.of(2024, 1, 1, 12, 0);
+        for (int i = 0; i < events.length; i++) {
+            String caseId = i % 64 == 0 ? "GAME-" + (i / 64) : events[i - 1].getCaseId();
+            ActivityType activity = i % 2 == 0 ? ActivityType.SELECT_QUESTION : ActivityType.ANSWER_QUESTION;
+            events[i] = new GameEvent(caseId, 1 + i % 3, activity, base.plusNanos(i * 1000L), "Science",
+                    100 * (1 + i % 5), i % 2 == 0 ? null : "Mercury", i % 2 == 0 ? null : "Correct", i * 100);
+        }
+
+        Path dir = Files.createTempDirectory("journal-benchmark");
+        for (int round = 0; round < 3; round++) {
+            Path journalDir = dir.resolve("journal-" + round);
+            long start = System.nanoTime();
+            try (EventJournal journal = new EventJournal(journalDir)) {
+                for (int i = 0; i < count; i++) {
+                    journal.update(events[i]);
+                }
+                journal.sync();
+            }
+            report("journal append", count, start);
+
+            start = System.nanoTime();
+            try (EventJournal journal = new EventJournal(journalDir)) {
+                report("journal open+index", count, start);
+                long[] seen = new long[1];
+                start = System.nanoTime();
+                journal.scan(e -> seen[0] += e.getScoreAfterPlay());
+                report("journal scan", count, start);
+
+                start = System.nanoTime();
+                int lookups = 1000;
+                int found = 0;
+                for (int i = 0; i < lookups; i++) {
+                    found += journal.readGame("GAME-" + (i * 7919L % (count / 64))).size();
+                }
+                System.out.printf("journal readGame: %.1f us/lookup (%d events)%n",
+                        (System.nanoTime() - start) / 1e3 / lookups, found);
+            }
+
+            Path csv = dir.resolve("log-" + round + ".csv");
+            start = System.nanoTime();
+            GameEventLogger logger = new GameEventLogger(csv.toString(), 4096, 1000);
+            for (int i = 0; i < count; i++) {
+                logger.update(events[i]);
+            }
+            logger.close();
+            report("csv append", count, start);
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    private static void report(String label, int count, long start) {
+        double seconds = (System.nanoTime() - start) / 1e9;
+        System.out.printf("%s: %d events in %.2f s (%.2f M events/s)%n", label, count, seconds, count / seconds / 1e6);
+    }
+}
@@ -0,0 +1,112 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+class EventJournalTest { // records must come back exactly, and a torn tail must be cut cleanly
+
+    private static final LocalDateTime T0 = LocalDateTime.of(2024, 5, 1, 12, 0, 0, 123456789);
+
+    private static GameEvent event(String caseId, int i) {
+        return new GameEvent(caseId, i % 3, ActivityType.ANSWER_QUESTION, T0.plusSeconds(i), "Café, Tea & More", i,
+                i % 2 == 0 ? "A, or B" : null, "Correct", i * 10);
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    @Test
+    void testRoundTripAcrossSegmentsWithIndexLookups() throws IOException {
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            try (EventJournal journal = new EventJournal(dir, 4096)) {
+                for (int i = 0; i < 3000; i++) {
+                    journal.update(event(i % 10 == 0 ? "GAME-B" : "GAME-A", i));
+                }
+                assertTrue(journal.getSegmentCount() > 10); //rotated many times
+            }
+
+            try (EventJournal journal = new EventJournal(dir, 4096)) {
+                assertEquals(3000, journal.getEventCount()); //index rebuilt on open
+                List<GameEvent> all = new ArrayList<>();
+                journal.scan(all::add);
+                assertEquals(3000, all.size());
+                GameEvent e = all.get(42);
+                assertEquals("GAME-A", e.getCaseId());
+                assertEquals(T0.plusSeconds(42), e.getTimestamp());
+                assertEquals("Café, Tea & More", e.getCategory()); //no comma mangling, non-ASCII kept
+                assertEquals("A, or B", e.getAnswerGiven());
+                assertNull(all.get(43).getAnswerGiven());
+                assertEquals(420, e.getScoreAfterPlay());
+
+                List<GameEvent> b = journal.readGame("GAME-B");
+                assertEquals(300, b.size());
+                assertEquals(2990, b.get(299).getQuestionValue());
+
+                List<GameEvent> late = new ArrayList<>();
+                journal.scanFrom(T0.plusSeconds(2500), late::add);
+                assertEquals(500, late.size());
+                assertEquals(2500, late.get(0).getQuestionValue());
+            }
+        } finally {
+            deleteTree(dir);
+        }
+    }
+
+    @Test
+    void testTornTailIsCutAndJournalKeepsAppending() throws IOException {
+        Path dir = Files.createTempDirectory("journal");
+        try {
+            try (EventJournal journal = new EventJournal(dir, 64 * 1024)) {
+                for (int i = 0; i < 100; i++) {
+                    journal.update(event("GAME-A", i));
+                }
+            }
+            Path segment;
+            try (Stream<Path> files = Files.list(dir)) {
+                segment = files.findFirst().orElseThrow();
+            }
+            try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+                ByteBuffer length = ByteBuffer.allocate(4);
+                long offset = 0;
+                for (int i = 0; i < 99; i++) { //walk to the last record
+                    length.clear();
+                    channel.read(length, offset);
+                    offset += 8 + length.getInt(0);
+                }
+                channel.write(ByteBuffer.wrap(new byte[] { 0x55 }), offset + 20); //half-written last record
+                channel.write(ByteBuffer.wrap(new byte[] { 0x7F }), 60 * 1024); //stale garbage further on
+            }
+
+            try (EventJournal journal = new EventJournal(dir, 64 * 1024)) {
+                assertEquals(99, journal.getEventCount());
+                journal.update(event("GAME-A", 500));
+            }
+            try (EventJournal journal = new EventJournal(dir, 64 * 1024)) {
+                List<GameEvent> events = journal.readGame("GAME-A");
+                assertEquals(100, events.size());
+                assertEquals(98, events.get(98).getQuestionValue());
+                assertEquals(500, events.get(99).getQuestionValue());
+            }
+        } finally {
+            deleteTree(dir);
+        }
+    }
+}
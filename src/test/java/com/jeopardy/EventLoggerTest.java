@@ -38,6 +38,7 @@ public class EventLoggerTest {
                     result, scoreAfter);
 
             logger.update(event);
+            logger.close(); // lines are buffered until the batch is committed
 
             assertTrue(Files.exists(logPath), "Log file should exist after update");
             //not the neatest way to assert this but it works :D
@@ -61,4 +62,45 @@ public class EventLoggerTest {
             }
         }
     }
+
+    @Test
+    public void testGroupCommitWritesOnBatchSizeAndExit() throws IOException {
+        Path logPath = Files.createTempFile("group_commit_log", ".csv");
+        try {
+            GameEventLogger logger = new GameEventLogger(logPath.toString(), 3, 0);
+            LocalDateTime now = LocalDateTime.now();
+
+            logger.update(new GameEvent("CASE", 1, ActivityType.SELECT_CATEGORY, now, "cat", 0, null, null, 0));
+            logger.update(new GameEvent("CASE", 1, ActivityType.SELECT_QUESTION, now, "cat", 100, null, null, 0));
+            assertEquals(0, Files.readAllLines(logPath).size()); // batch not full yet
+
+            logger.update(new GameEvent("CASE", 1, ActivityType.ANSWER_QUESTION, now, "cat", 100, "A", "Correct",
+                    100));
+            assertEquals(3, Files.readAllLines(logPath).size()); // third event commits the group
+
+            logger.update(new GameEvent("CASE", 0, ActivityType.EXIT_GAME, now, "bye", 0, null, null, 0));
+            assertEquals(4, Files.readAllLines(logPath).size()); // exit is committed straight away
+
+            logger.close();
+            logger.update(new GameEvent("CASE", 0, ActivityType.START_GAME, now, "late", 0, null, null, 0));
+            assertEquals(4, Files.readAllLines(logPath).size()); // closed loggers ignore events
+        } finally {
+            Files.deleteIfExists(logPath);
+        }
+    }
+
+    @Test
+    public void testGamesShareTheDefaultLogger() {
+        GameEventLogger held = GameEventLogger.acquireShared();
+        try {
+            Game game = new Game();
+            assertSame(held, GameEventLogger.acquireShared()); // no file or flush task per game
+            GameEventLogger.releaseShared(held);
+            game.close();
+            assertSame(held, GameEventLogger.acquireShared()); // still open while someone uses it
+            GameEventLogger.releaseShared(held);
+        } finally {
+            GameEventLogger.releaseShared(held);
+        }
+    }
 }
@@ -3,9 +3,15 @@ package com.jeopardy;
 import org.junit.jupiter.api.Test;
 import static org.junit.jupiter.api.Assertions.*;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 class EventManagerTest { // tests subscribe/notify/unsubscribe logic for EventManager
 
@@ -68,4 +74,202 @@ class EventManagerTest { // tests subscribe/notify/unsubscribe logic for EventMa
         assertEquals(1, rec.size());
         assertSame(ev, rec.get(0)); //event check
     }
+
+    @Test
+    void testListenerCanUnsubscribeItselfDuringNotify() {
+        EventManager manager = new EventManager(ActivityType.START_GAME);
+        AtomicInteger calls = new AtomicInteger();
+        Listener once = new Listener() {
+            @Override
+            public void update(GameEvent event) {
+                calls.incrementAndGet();
+                manager.unsubscribe(ActivityType.START_GAME, this); //used to throw ConcurrentModificationException
+            }
+        };
+        manager.subscribe(ActivityType.START_GAME, once);
+        manager.subscribe(ActivityType.START_GAME, e -> calls.incrementAndGet());
+
+        GameEvent event = new GameEvent("CASE1", 1, ActivityType.START_GAME, LocalDateTime.now(), "cat", 0, null,
+                null, 0);
+        manager.notify(ActivityType.START_GAME, event);
+        manager.notify(ActivityType.START_GAME, event);
+
+        assertEquals(3, calls.get()); // both listeners first time, only the second one after
+    }
+
+    @Test
+    void testConcurrentSubscribeWhileNotifying() throws InterruptedException {
+        EventManager manager = new EventManager();
+        AtomicBoolean failed = new AtomicBoolean();
+        AtomicBoolean done = new AtomicBoolean();
+        GameEvent event = new GameEvent("CASE1", 1, ActivityType.SCORE_UPDATED, LocalDateTime.now(), "cat", 0,
+                null, null, 0);
+
+        Thread notifier = new Thread(() -> {
+            try {
+                while (!done.get()) {
+                    manager.notify(ActivityType.SCORE_UPDATED, event);
+                }
+            } catch (RuntimeException e) {
+                failed.set(true);
+            }
+        });
+        notifier.start();
+        for (int i = 0; i < 10_000; i++) {
+            Listener l = e -> { };
+            manager.subscribe(ActivityType.SCORE_UPDATED, l);
+            manager.unsubscribe(ActivityType.SCORE_UPDATED, l);
+        }
+        done.set(true);
+        notifier.join();
+
+        assertFalse(failed.get());
+    }
+
+    @Test
+    void testAsyncDeliversInOrderForEveryPolicy() {
+        for (BackpressurePolicy policy : BackpressurePolicy.values()) {
+            EventManager manager = new EventManager(8, policy, ActivityType.ANSWER_QUESTION);
+            List<Integer> received = new CopyOnWriteArrayList<>();
+            manager.subscribe(ActivityType.ANSWER_QUESTION, e -> received.add(e.getQuestionValue()));
+
+            for (int i = 0; i < 1000; i++) { // far more events than ring slots
+                manager.notify(ActivityType.ANSWER_QUESTION, new GameEvent("CASE", 1,
+                        ActivityType.ANSWER_QUESTION, LocalDateTime.now(), "cat", i, "A", "Correct", i));
+            }
+            manager.flush();
+
+            if (policy != BackpressurePolicy.DROP_OLDEST) {
+                assertEquals(1000, received.size(), policy + " should deliver every event");
+            }
+            for (int i = 1; i < received.size(); i++) {
+                assertTrue(received.get(i - 1) < received.get(i), policy + " order check"); //gaps only when dropping
+            }
+            assertEquals(999, received.get(received.size() - 1));
+            manager.close();
+        }
+    }
+
+    @Test
+    void testDuplicateSubscriptionsBehaveAlikeInBothModes() {
+        for (EventManager manager : new EventManager[] { new EventManager(),
+                new EventManager(16, BackpressurePolicy.BLOCK) }) {
+            List<GameEvent> rec = new CopyOnWriteArrayList<>();
+            Listener first = new RecordingListener(rec);
+            Listener equal = new RecordingListener(rec); // a different instance, but equal
+            manager.subscribe(ActivityType.START_GAME, first);
+            manager.subscribe(ActivityType.START_GAME, first);
+            GameEvent event = new GameEvent("CASE", 1, ActivityType.START_GAME, LocalDateTime.now(), "cat", 0,
+                    null, null, 0);
+            manager.notify(ActivityType.START_GAME, event);
+            manager.flush();
+            assertEquals(2, rec.size(), "async " + manager.isAsync()); //once per subscription
+
+            manager.unsubscribe(ActivityType.START_GAME, equal); //removes one subscription, matched by equals
+            manager.notify(ActivityType.START_GAME, event);
+            manager.flush();
+            assertEquals(3, rec.size(), "async " + manager.isAsync());
+
+            manager.unsubscribe(ActivityType.START_GAME, first);
+            manager.notify(ActivityType.START_GAME, event);
+            manager.close();
+            assertEquals(3, rec.size(), "async " + manager.isAsync());
+        }
+    }
+
+    private static final class RecordingListener implements Listener {
+        private final List<GameEvent> received;
+
+        RecordingListener(List<GameEvent> received) {
+            this.received = received;
+        }
+
+        @Override
+        public void update(GameEvent event) {
+            received.add(event);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof RecordingListener other && other.received == received;
+        }
+
+        @Override
+        public int hashCode() {
+            return System.identityHashCode(received);
+        }
+    }
+
+    @Test
+    void testAsyncDropOldestNeverBlocksOnSlowListener() throws InterruptedException {
+        EventManager manager = new EventManager(4, BackpressurePolicy.DROP_OLDEST, ActivityType.START_GAME);
+        CountDownLatch release = new CountDownLatch(1);
+        List<GameEvent> received = new CopyOnWriteArrayList<>();
+        manager.subscribe(ActivityType.START_GAME, e -> {
+            try {
+                release.await(5, TimeUnit.SECONDS); // stuck listener
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+            received.add(e);
+        });
+
+        for (int i = 0; i < 100; i++) { // would deadlock with BLOCK
+            manager.notify(ActivityType.START_GAME, new GameEvent("CASE", 1, ActivityType.START_GAME,
+                    LocalDateTime.now(), "cat", i, null, null, 0));
+        }
+        release.countDown();
+        manager.close();
+
+        assertTrue(received.size() < 100);
+        assertEquals(99, received.get(received.size() - 1).getQuestionValue()); //newest event survives
+    }
+
+    @Test
+    void testAsyncOnlyDeliversSubscribedTypes() {
+        EventManager manager = new EventManager(16, BackpressurePolicy.BLOCK);
+        List<GameEvent> rec = new CopyOnWriteArrayList<>();
+        manager.subscribe(ActivityType.SCORE_UPDATED, rec::add);
+
+        manager.notify(ActivityType.START_GAME, new GameEvent("CASE", 1, ActivityType.START_GAME,
+                LocalDateTime.now(), "cat", 0, null, null, 0));
+        manager.notify(ActivityType.SCORE_UPDATED, new GameEvent("CASE", 1, ActivityType.SCORE_UPDATED,
+                LocalDateTime.now(), "cat", 0, null, null, 100));
+        manager.close();
+
+        assertEquals(1, rec.size());
+        assertEquals(ActivityType.SCORE_UPDATED, rec.get(0).getActivity());
+    }
+
+    @Test
+    void testUnsubscribedGroupNoLongerHoldsBackTheRing() throws InterruptedException {
+        EventManager manager = new EventManager(4, BackpressurePolicy.BLOCK, ActivityType.START_GAME);
+        CountDownLatch entered = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Listener stuck = e -> {
+            entered.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException ex) {
+                Thread.currentThread().interrupt();
+            }
+        };
+        List<GameEvent> rec = new CopyOnWriteArrayList<>();
+        manager.subscribe(ActivityType.START_GAME, stuck);
+        manager.subscribe(ActivityType.START_GAME, rec::add);
+        manager.notify(ActivityType.START_GAME, new GameEvent("CASE", 1, ActivityType.START_GAME,
+                LocalDateTime.now(), "cat", 0, null, null, 0));
+        assertTrue(entered.await(5, TimeUnit.SECONDS));
+
+        manager.unsubscribe(ActivityType.START_GAME, stuck); //its last subscription
+        assertTimeoutPreemptively(Duration.ofSeconds(5), () -> {
+            for (int i = 1; i < 100; i++) { // would block on the stuck group's position in a ring of 4
+                manager.notify(ActivityType.START_GAME, new GameEvent("CASE", 1, ActivityType.START_GAME,
+                        LocalDateTime.now(), "cat", i, null, null, 0));
+            }
+            manager.close(); // neither waits for the stuck thread
+        });
+        assertEquals(100, rec.size());
+        release.countDown();
+    }
 }
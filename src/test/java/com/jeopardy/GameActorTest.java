@@ -0,0 +1,65 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.RejectedExecutionException;
+
+class GameActorTest { // commands from many threads must apply one at a time, in order per sender
+
+    @Test
+    void testConcurrentCommandsAreSerialized() throws Exception {
+        GameActor actor = new GameActor(new Game(new EventManager(ActivityType.values()), null));
+        List<Thread> senders = new ArrayList<>();
+        for (int t = 0; t < 8; t++) {
+            String tag = "S" + t + "-";
+            Thread sender = new Thread(() -> {
+                for (int i = 0; i < 1000; i++) {
+                    actor.addPlayer(tag + i);
+                }
+            });
+            senders.add(sender);
+            sender.start();
+        }
+        for (Thread sender : senders) {
+            sender.join();
+        }
+
+        List<Player> players = actor.submit(Game::getPlayers).join();
+        assertEquals(8000, players.size()); //no lost updates
+        Set<Integer> ids = new HashSet<>();
+        for (Player p : players) {
+            ids.add(p.getId());
+        }
+        assertEquals(8000, ids.size()); //ids come from players.size(), so duplicates would mean a race
+        int[] next = new int[8];
+        for (Player p : players) {
+            String name = p.getName();
+            int sender = Integer.parseInt(name.substring(1, name.indexOf('-')));
+            assertEquals(next[sender]++, Integer.parseInt(name.substring(name.indexOf('-') + 1)),
+                    "sender " + sender + " out of order"); //each sender's commands apply in the order sent
+        }
+        actor.shutdown().join();
+    }
+
+    @Test
+    void testFailuresAndShutdown() {
+        GameActor actor = new GameActor(new Game(new EventManager(ActivityType.values()), null));
+        CompletableFuture<Object> failing = actor.submit(g -> {
+            throw new IllegalStateException("boom");
+        });
+        CompletionException e = assertThrows(CompletionException.class, failing::join);
+        assertTrue(e.getCause() instanceof IllegalStateException);
+
+        assertFalse(actor.selectCategory("Nothing loaded").join()); //actor keeps running after a failure
+        actor.shutdown().join();
+        e = assertThrows(CompletionException.class, () -> actor.startGame().join());
+        assertTrue(e.getCause() instanceof RejectedExecutionException);
+    }
+}
@@ -0,0 +1,61 @@
+package com.jeopardy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * Checkpoints thousands of mid-game sessions repeatedly and reports the cost on the game thread
+ * (taking the checkpoint) separately from the background cost (encoding and writing the files).
+ * Not a unit test: run main() from the test classpath after mvn test-compile, optionally passing the session count.
+ */
+public class GameCheckpointBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int sessions = args.length > 0 ? Integer.parseInt(args[0]) : 5000;
+        List<Game> games = new ArrayList<>(sessions);
+        for (int i = 0; i < sessions; i++) {
+            Game game = new Game(new EventManager(ActivityType.values()), null);
+            game.loadGameData("sample_game_CSV.csv");
+            game.addPlayer("Alice");
+            game.addPlayer("Bob");
+            game.addPlayer("Cara");
+            game.startGame();
+            for (int c = 0; c < 3; c++) {
+                Category cat = game.getCategories().get(c);
+                for (Question q : cat.getQuestions()) {
+                    game.selectCategory(cat.getName());
+                    game.selectQuestion(q.getValue());
+                    game.answerQuestion(q.getCorrectAnswer());
+                }
+            }
+            games.add(game);
+        }
+
+        Path dir = Files.createTempDirectory("checkpoint-benchmark");
+        for (boolean force : new boolean[] { false, true }) {
+            try (GameCheckpointer checkpointer = new GameCheckpointer(dir, force)) {
+                for (int round = 0; round < 3; round++) {
+                    long start = System.nanoTime();
+                    for (Game game : games) {
+                        checkpointer.checkpoint(game);
+                    }
+                    long taken = System.nanoTime();
+                    checkpointer.flush();
+                    long written = System.nanoTime();
+                    System.out.printf("force=%b: %d sessions, game thread %.2f us/session, written after %.0f ms"
+                            + " (%.0f us/session)%n", force, sessions, (taken - start) / 1e3 / sessions,
+                            (written - start) / 1e6, (written - start) / 1e3 / sessions);
+                }
+            }
+        }
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        }
+    }
+}
@@ -0,0 +1,119 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Stream;
+
+class GameCheckpointTest { // checkpoint plus event tail must restore exactly the live state
+
+    private static void answer(Game game, int category, int question, boolean correct) {
+        Category c = game.getCategories().get(category);
+        Question q = c.getQuestions().get(question);
+        game.selectCategory(c.getName());
+        game.selectQuestion(q.getValue());
+        game.answerQuestion(correct ? q.getCorrectAnswer() : "Z");
+    }
+
+    private static void deleteTree(Path dir) throws IOException {
+        try (Stream<Path> files = Files.walk(dir)) {
+            for (Path p : files.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(p);
+            }
+        }
+    }
+
+    @Test
+    void testResumeFromCheckpointAndEventTail() throws IOException {
+        Path dir = Files.createTempDirectory("checkpoints");
+        try (GameCheckpointer checkpointer = new GameCheckpointer(dir)) {
+            Game live = new Game(new EventManager(ActivityType.values()), null);
+            live.loadGameData("sample_game_CSV.csv");
+            live.addPlayer("Alice");
+            live.addPlayer("Bob");
+            live.startGame();
+            answer(live, 0, 0, true);
+            answer(live, 1, 0, false);
+            checkpointer.checkpoint(live);
+            answer(live, 2, 1, true); //only in the event tail
+            checkpointer.flush();
+
+            GameCheckpoint checkpoint = checkpointer.read(live.getCaseId());
+            assertNotNull(checkpoint);
+            assertEquals("sample_game_CSV.csv", checkpoint.getBankFile());
+            assertEquals(live.getEventLog().size() - 4, checkpoint.getEventPosition());
+            try (Stream<Path> files = Files.list(dir)) {
+                assertEquals(1, files.count()); //temp file renamed away
+            }
+
+            Game restored = new GameReplayer().resume(checkpoint, live.getEventLog());
+            assertEquals(live.getCaseId(), restored.getCaseId());
+            assertEquals(live.getEventLog().size(), restored.getEventLog().size());
+            assertEquals(live.getPlayers().get(0).getScore(), restored.getPlayers().get(0).getScore());
+            assertEquals(live.getPlayers().get(1).getScore(), restored.getPlayers().get(1).getScore());
+            assertEquals("Bob", restored.getCurrentPlayer().getName());
+            assertTrue(restored.isAnswered(restored.getCategories().get(1).getQuestions().get(0)));
+            assertTrue(restored.isAnswered(restored.getCategories().get(2).getQuestions().get(1)));
+            assertFalse(restored.isAnswered(restored.getCategories().get(2).getQuestions().get(0)));
+        } finally {
+            deleteTree(dir);
+        }
+    }
+
+    @Test
+    void testCorruptCheckpointIsRejectedAndShortLogFallsBackToReplay() throws IOException {
+        Path dir = Files.createTempDirectory("checkpoints");
+        try (GameCheckpointer checkpointer = new GameCheckpointer(dir, false)) {
+            Game live = new Game(new EventManager(ActivityType.values()), null);
+            live.loadGameData("sample_game_CSV.csv");
+            live.addPlayer("Alice");
+            live.startGame();
+            answer(live, 0, 0, true);
+            checkpointer.checkpoint(live);
+            checkpointer.flush();
+
+            Path file = dir.resolve(live.getCaseId() + ".ckpt");
+            byte[] bytes = Files.readAllBytes(file);
+            bytes[bytes.length / 2] ^= 1;
+            Files.write(file, bytes);
+            assertThrows(IOException.class, () -> checkpointer.read(live.getCaseId()));
+            assertTrue(checkpointer.readAll().isEmpty()); //skipped, not fatal
+
+            GameCheckpoint checkpoint = live.checkpoint();
+            List<GameEvent> lostTail = live.getEventLog().subList(0, 3); //log lost events the checkpoint covers
+            Game restored = new GameReplayer().resume(checkpoint, lostTail);
+            assertEquals(0, restored.getPlayers().get(0).getScore()); //rebuilt from the log alone
+        } finally {
+            deleteTree(dir);
+        }
+    }
+
+    @Test
+    void testCheckpointOfAnEditedBankIsNotUsed() {
+        Game live = new Game(new EventManager(ActivityType.values()), null);
+        live.loadGameData("sample_game_CSV.csv");
+        live.addPlayer("Alice");
+        live.startGame();
+        answer(live, 0, 0, true);
+        GameCheckpoint checkpoint = live.checkpoint();
+        assertNotNull(checkpoint.getBankHash());
+        assertEquals(live.getBank().getContentHash(), checkpoint.getBankHash());
+
+        // Same file name and question count, different content: only the hash tells them apart
+        List<Category> edited = new CSVLoader().load("sample_game_CSV.csv");
+        QuestionBank other = new QuestionBank(edited, "0".repeat(64));
+        int[] loads = new int[1];
+        Game restored = new GameReplayer(file -> {
+            loads[0]++;
+            return other;
+        }).resume(checkpoint, live.getEventLog());
+        assertEquals(2, loads[0]); //once for the checkpoint, once more replaying the log's own load
+        assertEquals(live.getPlayers().get(0).getScore(), restored.getPlayers().get(0).getScore());
+        live.close();
+    }
+}
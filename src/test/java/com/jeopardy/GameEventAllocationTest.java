@@ -0,0 +1,101 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.lang.management.ManagementFactory;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+
+class GameEventAllocationTest { // turns should only allocate the events they keep
+
+    private static final com.sun.management.ThreadMXBean THREADS =
+            (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+
+    @Test
+    void testTurnAllocatesOnlyItsEvents() throws Exception {
+        Path log = Files.createTempFile("allocation", ".csv");
+        GameEventLogger logger = new GameEventLogger(log.toString(), 4096, 0);
+        try {
+            Game game = new Game(new EventManager(ActivityType.values()), logger);
+            game.loadGameData("sample_game_CSV.csv");
+            game.addPlayer("Alice");
+            game.addPlayer("Bob");
+            game.startGame();
+
+            int started = game.getEventLog().size();
+            playGames(game, 3000); // warm up so the JIT has compiled the turn
+            int perGame = (game.getEventLog().size() - started) / 3000;
+
+            // Best of several rounds, so a collection or a late compilation during one round does
+            // not decide the outcome. The log's array is grown beforehand, outside the measurement.
+            double perEvent = Double.MAX_VALUE;
+            for (int round = 0; round < 5; round++) {
+                ArrayList<GameEvent> eventLog = (ArrayList<GameEvent>) game.getEventLog();
+                int logged = eventLog.size();
+                eventLog.ensureCapacity(logged + 200 * perGame);
+                long before = THREADS.getCurrentThreadAllocatedBytes();
+                playGames(game, 200);
+                long gameBytes = THREADS.getCurrentThreadAllocatedBytes() - before;
+                perEvent = Math.min(perEvent, (double) gameBytes / (eventLog.size() - logged));
+            }
+
+            // What the kept events themselves cost, measured the same way
+            GameEvent[] kept = new GameEvent[100_000];
+            long before = THREADS.getCurrentThreadAllocatedBytes();
+            for (int i = 0; i < kept.length; i++) {
+                kept[i] = new GameEvent("GAME", 1, ActivityType.ANSWER_QUESTION, (long) i, "cat", 100, "a", "r", i);
+            }
+            double eventBytes = (double) (THREADS.getCurrentThreadAllocatedBytes() - before) / kept.length;
+
+            // A few bytes per event cover this test's own loops and the logger's batch writes; any
+            // further object per event, even an empty one, is over the limit
+            assertTrue(perEvent <= eventBytes + 16,
+                    "a turn allocated " + perEvent + " bytes per event, the event itself " + eventBytes);
+        } finally {
+            logger.close();
+            Files.deleteIfExists(log);
+        }
+    }
+
+    private static void playGames(Game game, int count) {
+        for (int g = 0; g < count; g++) {
+            game.rematch();
+            for (Category c : game.getCategories()) {
+                for (Question q : c.getQuestions()) {
+                    game.selectCategory(c.getName());
+                    game.selectQuestion(q.getValue());
+                    game.answerQuestion(g % 2 == 0 ? q.getCorrectAnswer() : "wrong");
+                }
+            }
+        }
+    }
+
+    @Test
+    void testLazyTimestampMatchesIsoLog() throws Exception {
+        LocalDateTime[] times = { LocalDateTime.of(2024, 2, 29, 23, 59, 59, 120_000_000),
+                LocalDateTime.of(1969, 12, 31, 0, 0, 0, 5), LocalDateTime.of(2025, 1, 1, 8, 30) };
+        Path log = Files.createTempFile("timestamps", ".csv");
+        try {
+            GameEventLogger logger = new GameEventLogger(log.toString(), 1, 0);
+            for (LocalDateTime t : times) {
+                GameEvent event = new GameEvent("CASE", 1, ActivityType.START_GAME, t, "cat", 0, null, null, 0);
+                GameEvent lean = new GameEvent("CASE", 1, ActivityType.START_GAME, event.getTimeNanos(), "cat", 0,
+                        null, null, 0);
+                assertEquals(t, lean.getTimestamp()); // built lazily from the raw nanoseconds
+                logger.update(lean);
+            }
+            logger.close();
+            List<String> lines = Files.readAllLines(log);
+            for (int i = 0; i < times.length; i++) {
+                assertEquals(DateTimeFormatter.ISO_LOCAL_DATE_TIME.format(times[i]), lines.get(i).split(",")[3]);
+            }
+        } finally {
+            Files.deleteIfExists(log);
+        }
+    }
+}
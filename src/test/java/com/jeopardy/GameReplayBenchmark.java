@@ -0,0 +1,69 @@
+package com.jeopardy;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Plays enough games to log about a million events, then measures how fast GameReplayer rebuilds
+ * them from memory and how fast GameEventLogReader plus GameReplayer rebuild them from the CSV log.
+ * Not a unit test: run main() from the test classpath after mvn test-compile, optionally passing the game count.
+ */
+public class GameReplayBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int games = args.length > 0 ? Integer.parseInt(args[0]) : 10_000;
+        Path log = Files.createTempFile("replay-benchmark", ".csv");
+        GameEventLogger logger = new GameEventLogger(log.toString(), GameEventLogger.DEFAULT_MAX_BATCH_EVENTS, 0);
+        List<List<GameEvent>> histories = new ArrayList<>(games);
+        Random random = new Random(1);
+        long events = 0;
+        for (int g = 0; g < games; g++) {
+            Game game = new Game(new EventManager(ActivityType.values()), logger);
+            game.loadGameData("sample_game_CSV.csv");
+            game.addPlayer("Alice");
+            game.addPlayer("Bob");
+            game.addPlayer("Cara");
+            game.startGame();
+            for (Category c : game.getCategories()) {
+                for (Question q : c.getQuestions()) {
+                    game.selectCategory(c.getName());
+                    game.selectQuestion(q.getValue());
+                    game.answerQuestion(random.nextBoolean() ? q.getCorrectAnswer() : "Z");
+                }
+            }
+            histories.add(game.getEventLog());
+            events += game.getEventLog().size();
+        }
+        logger.close();
+        System.out.printf("%d games, %d events, log %d MB%n", games, events, Files.size(log) >> 20);
+
+        GameReplayer replayer = new GameReplayer();
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            long checksum = 0;
+            for (List<GameEvent> history : histories) {
+                checksum += replayer.replay(history).getPlayers().get(0).getScore();
+            }
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("in-memory replay: %.0f ms, %.2f M events/s (checksum %d)%n", seconds * 1000,
+                    events / seconds / 1e6, checksum);
+        }
+        histories = null; // only the log is needed from here on
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            Map<String, List<GameEvent>> read = new GameEventLogReader().read(log.toString());
+            long parsed = System.nanoTime();
+            for (List<GameEvent> history : read.values()) {
+                replayer.replay(history);
+            }
+            long end = System.nanoTime();
+            System.out.printf("CSV read %.0f ms (%.2f M events/s) + replay %.0f ms%n", (parsed - start) / 1e6,
+                    events / ((parsed - start) / 1e9) / 1e6, (end - parsed) / 1e6);
+        }
+        Files.delete(log);
+    }
+}
@@ -0,0 +1,106 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+class GameReplayerTest { // a replayed game must match the live one it was logged from
+
+    private static void play(Game game) {
+        game.loadGameData("sample_game_CSV.csv");
+        game.addPlayer("Alice");
+        game.addPlayer("Bob, Jr."); //commas in details must survive the CSV round trip
+        game.startGame();
+        List<Category> cats = game.getCategories();
+        game.selectCategory(cats.get(0).getName());
+        game.selectQuestion(cats.get(0).getQuestions().get(0).getValue());
+        game.answerQuestion(cats.get(0).getQuestions().get(0).getCorrectAnswer());
+        game.selectCategory(cats.get(1).getName().toUpperCase()); //lookups ignore case
+        game.selectQuestion(cats.get(1).getQuestions().get(2).getValue());
+        game.answerQuestion("Z, or maybe Y");
+        game.selectCategory(cats.get(2).getName());
+        game.selectQuestion(cats.get(2).getQuestions().get(1).getValue());
+        game.answerQuestion(cats.get(2).getQuestions().get(1).getCorrectAnswer());
+    }
+
+    private static void assertSameState(Game expected, Game actual) {
+        assertEquals(expected.getCaseId(), actual.getCaseId());
+        assertEquals(expected.getPlayers().size(), actual.getPlayers().size());
+        for (int i = 0; i < expected.getPlayers().size(); i++) {
+            assertEquals(expected.getPlayers().get(i).getName(), actual.getPlayers().get(i).getName());
+            assertEquals(expected.getPlayers().get(i).getScore(), actual.getPlayers().get(i).getScore());
+        }
+        assertEquals(expected.getCurrentPlayer().getId(), actual.getCurrentPlayer().getId());
+        for (int c = 0; c < expected.getCategories().size(); c++) {
+            for (int q = 0; q < expected.getCategories().get(c).getQuestions().size(); q++) {
+                assertEquals(expected.isAnswered(expected.getCategories().get(c).getQuestions().get(q)),
+                        actual.isAnswered(actual.getCategories().get(c).getQuestions().get(q)));
+            }
+        }
+    }
+
+    @Test
+    void testReplayMatchesLiveGameAndCanStopAtAPlay() {
+        Game live = new Game(new EventManager(ActivityType.values()), null);
+        play(live);
+
+        Game replayed = new GameReplayer().replay(live.getEventLog());
+        assertSameState(live, replayed);
+        assertEquals(live.getEventLog().size(), replayed.getEventLog().size());
+
+        Game afterOne = new GameReplayer().replay(live.getEventLog(), 1);
+        assertEquals(100, afterOne.getPlayers().get(0).getScore());
+        assertEquals("Bob, Jr.", afterOne.getCurrentPlayer().getName()); //turn passed after the first play
+        assertTrue(afterOne.isAnswered(afterOne.getCategories().get(0).getQuestions().get(0)));
+        assertFalse(afterOne.isAnswered(afterOne.getCategories().get(1).getQuestions().get(2)));
+
+        afterOne.selectCategory(afterOne.getCategories().get(1).getName()); //replayed game can carry on
+        assertNotNull(afterOne.selectQuestion(afterOne.getCategories().get(1).getQuestions().get(2).getValue()));
+    }
+
+    @Test
+    void testReplayFromCsvLogSkipsTornLine() throws IOException {
+        Path log = Files.createTempFile("replay", ".csv");
+        try {
+            GameEventLogger logger = new GameEventLogger(log.toString(), 1, 0);
+            Game live = new Game(new EventManager(ActivityType.values()), logger);
+            play(live);
+            logger.close();
+            Files.writeString(log, live.getCaseId() + ",2,ANSWER_QUES", StandardOpenOption.APPEND); //crash mid-line
+
+            List<GameEvent> events = new GameEventLogReader().readGame(log.toString(), live.getCaseId());
+            assertEquals(live.getEventLog().size(), events.size());
+            assertEquals(live.getEventLog().get(5).getTimestamp(), events.get(5).getTimestamp());
+            assertSameState(live, new GameReplayer().replay(events));
+        } finally {
+            Files.deleteIfExists(log);
+        }
+    }
+
+    @Test
+    void testBuzzInReplayGivesControlToWinner() {
+        Game live = new Game(new EventManager(ActivityType.values()), null);
+        live.enableBuzzIn(new BuzzArbiter(0, 0, Long.MAX_VALUE / 2));
+        live.loadGameData("sample_game_CSV.csv");
+        live.addPlayer("Alice");
+        live.addPlayer("Bob");
+        live.startGame();
+        Category cat = live.getCategories().get(0);
+        Question q = cat.getQuestions().get(0);
+        live.selectCategory(cat.getName());
+        live.selectQuestion(q.getValue());
+        live.buzz(1);
+        live.answerQuestion("Z"); //Alice misses and the question reopens
+        live.buzz(2);
+        live.answerQuestion(q.getCorrectAnswer());
+
+        Game replayed = new GameReplayer().replay(live.getEventLog());
+        assertSameState(live, replayed);
+        assertEquals("Bob", replayed.getCurrentPlayer().getName());
+    }
+}
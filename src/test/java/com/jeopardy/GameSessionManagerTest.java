@@ -0,0 +1,157 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+class GameSessionManagerTest { // many sessions per JVM, surviving passivation intact
+
+    @Test
+    void testTenThousandSessions() {
+        GameSessionManager manager = new GameSessionManager(64, 0, () -> new EventManager(ActivityType.values()), null);
+        List<String> ids = new ArrayList<>();
+        for (int i = 0; i < 10_000; i++) {
+            ids.add(manager.create().getCaseId());
+        }
+        Set<String> unique = new HashSet<>(ids);
+        assertEquals(10_000, unique.size()); //case IDs never collide
+        assertEquals(10_000, manager.size());
+
+        int active = 0;
+        for (GameSessionManager.ShardLoad load : manager.getShardLoad()) {
+            assertTrue(load.getActive() > 0); //sessions spread over every shard
+            active += load.getActive();
+        }
+        assertEquals(10_000, active);
+
+        for (String id : ids) {
+            assertEquals(id, manager.get(id).getCaseId());
+        }
+        assertTrue(manager.expire(ids.get(0)));
+        assertNull(manager.get(ids.get(0)));
+        assertFalse(manager.expire(ids.get(0)));
+        manager.close();
+        assertEquals(0, manager.size());
+    }
+
+    @Test
+    void testPassivatedSessionResumes() {
+        GameSessionManager manager = new GameSessionManager(4, 0, () -> new EventManager(ActivityType.values()), null);
+        GameActor session = manager.create();
+        String id = session.getCaseId();
+        session.loadGameData("sample_game_CSV.csv");
+        session.addPlayer("Alice");
+        session.addPlayer("Bob");
+        session.startGame();
+        Category cat = session.submit(g -> g.getCategories().get(0)).join();
+        Question q = cat.getQuestions().get(0);
+        session.selectCategory(cat.getName());
+        session.selectQuestion(q.getValue());
+        session.answerQuestion(q.getCorrectAnswer());
+        Game game = session.submit(g -> g).join();
+        int events = session.submit(g -> g.getEventLog().size()).join();
+        List<GameEvent> log = session.submit(Game::getEventLog).join();
+
+        assertEquals(1, manager.passivateOlderThan(Long.MAX_VALUE).join());
+        assertEquals(1, manager.getShardLoad().stream().mapToInt(GameSessionManager.ShardLoad::getPassivated).sum());
+
+        assertSame(session, manager.get(id)); //the handle survives passivation
+        Game resumed = session.submit(g -> g).join();
+        assertNotSame(game, resumed);
+        assertEquals(id, resumed.getCaseId());
+        assertEquals("Bob", resumed.getCurrentPlayer().getName()); //turn carried over
+        assertEquals(q.getValue(), resumed.getPlayers().get(0).getScore());
+        assertTrue(resumed.isAnswered(q));
+        assertEquals(events, resumed.getEventLog().size());
+        assertSame(log, resumed.getEventLog()); //moved through passivation, never copied
+        assertSame(resumed, session.submit(g -> g).join()); //stays live once rebuilt
+        assertEquals(1, manager.getShardLoad().stream().mapToLong(GameSessionManager.ShardLoad::getRestores).sum());
+        manager.close();
+    }
+
+    @Test
+    void testPassivationNeverLosesMoves() {
+        GameSessionManager manager = new GameSessionManager(4, 0, () -> new EventManager(ActivityType.values()), null);
+        GameActor session = manager.create();
+        List<CompletableFuture<Integer>> passivations = new ArrayList<>();
+        for (int i = 0; i < 200; i++) {
+            session.addPlayer("P" + i); //sent without waiting, interleaved with passivations
+            passivations.add(manager.passivateOlderThan(Long.MAX_VALUE));
+        }
+        int passivated = 0;
+        for (CompletableFuture<Integer> done : passivations) {
+            passivated += done.join();
+        }
+        assertTrue(passivated > 0);
+        assertEquals(200, session.submit(g -> g.getPlayers().size()).join());
+        manager.close();
+        assertThrows(CompletionException.class, () -> session.addPlayer("late").join());
+    }
+
+    @Test
+    void testHeldSessionInUseIsNotPassivated() throws Exception {
+        GameSessionManager manager = new GameSessionManager(4, 0, () -> new EventManager(ActivityType.values()), null);
+        GameActor session = manager.create();
+        long created = System.currentTimeMillis();
+        Thread.sleep(50);
+        session.addPlayer("Alice").join(); //played through the held actor, never looked up again
+
+        assertEquals(0, manager.passivateOlderThan(created + 25).join());
+        assertFalse(session.isPassivated());
+        assertEquals(1, manager.passivateOlderThan(Long.MAX_VALUE).join());
+        manager.close();
+    }
+
+    @Test
+    void testOpenQuestionTimesOutWhilePassivated() throws Exception {
+        List<GameEvent> timeouts = new CopyOnWriteArrayList<>();
+        Listener log = e -> {
+            if (e.getActivity() == ActivityType.QUESTION_TIMEOUT) {
+                timeouts.add(e);
+            }
+        };
+        try (TimingWheel wheel = new TimingWheel()) {
+            GameSessionManager manager = new GameSessionManager(4, 0, () -> new EventManager(ActivityType.values()),
+                    log);
+            GameActor session = manager.create();
+            session.submit(g -> {
+                g.enableTimers(wheel, session.executor(), 200, 200);
+                g.loadGameData("sample_game_CSV.csv");
+                g.addPlayer("Alice");
+                g.addPlayer("Bob");
+                g.startGame();
+                Category cat = g.getCategories().get(0);
+                g.selectCategory(cat.getName());
+                return g.selectQuestion(cat.getQuestions().get(0).getValue());
+            }).join();
+            assertEquals(1, manager.passivateOlderThan(Long.MAX_VALUE).join());
+
+            long deadline = System.currentTimeMillis() + 5000;
+            while (timeouts.isEmpty() && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10); // no command is sent; the open question alone must bring the game back
+            }
+            assertEquals(1, timeouts.size());
+            assertEquals("Bob", session.submit(g -> g.getCurrentPlayer().getName()).join()); //turn passed on
+
+            // The time limits themselves survive too
+            session.submit(g -> {
+                Category cat = g.getCategories().get(1);
+                g.selectCategory(cat.getName());
+                return g.selectQuestion(cat.getQuestions().get(0).getValue());
+            }).join();
+            deadline = System.currentTimeMillis() + 5000;
+            while (timeouts.size() < 2 && System.currentTimeMillis() < deadline) {
+                Thread.sleep(10);
+            }
+            assertEquals(2, timeouts.size());
+            manager.close();
+        }
+    }
+}
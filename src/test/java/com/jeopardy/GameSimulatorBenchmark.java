@@ -0,0 +1,29 @@
+package com.jeopardy;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Measures how many complete simulated games per second GameSimulator plays on the sample bank,
+ * on one worker and on every core.
+ * Not a unit test: run main() from the test classpath after mvn test-compile, optionally passing the game count.
+ */
+public class GameSimulatorBenchmark {
+
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 2_000_000;
+        QuestionBank bank = new DataLoaderFactory().loadBank("sample_game_CSV.csv");
+        List<BotStrategy> bots = List.of(new AccuracyProfile(0.7), new AccuracyProfile(0.6), new AccuracyProfile(0.5));
+        int cores = Runtime.getRuntime().availableProcessors();
+
+        for (int threads : new int[] { 1, cores }) {
+            GameSimulator simulator = new GameSimulator(bank, bots, new ForkJoinPool(threads));
+            simulator.run(games / 10, 1); // warm-up
+            long start = System.nanoTime();
+            SimulationStats stats = simulator.run(games, 2);
+            double seconds = (System.nanoTime() - start) / 1e9;
+            System.out.printf("%d worker(s): %d games in %.2f s, %.0f games/s (%.0f per worker)%n", threads,
+                    stats.getGames(), seconds, games / seconds, games / seconds / threads);
+        }
+    }
+}
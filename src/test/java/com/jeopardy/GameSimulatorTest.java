@@ -0,0 +1,50 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+class GameSimulatorTest { // runs must be repeatable and reflect the bots' strengths
+
+    private static SimulationStats run(QuestionBank bank, List<BotStrategy> bots, int parallelism) {
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            return new GameSimulator(bank, bots, pool).run(5000, 7);
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void testRunIsRepeatableAcrossPoolSizes() {
+        QuestionBank bank = new DataLoaderFactory().loadBank("sample_game_CSV.csv");
+        List<BotStrategy> bots = List.of(new AccuracyProfile(0.5), new AccuracyProfile(0.5));
+        SimulationStats one = run(bank, bots, 1);
+        SimulationStats four = run(bank, bots, 4);
+
+        assertEquals(5000, one.getGames());
+        assertEquals(one.toString(), four.toString()); //per-game seeds, not per-batch
+        assertEquals(one.getComebackRate(), four.getComebackRate());
+        Question q = bank.getCategories().get(0).getQuestions().get(0);
+        assertEquals(one.getDifficulty(q), four.getDifficulty(q));
+    }
+
+    @Test
+    void testStrongerBotWinsAndWeakCategoryIsHardest() {
+        QuestionBank bank = new DataLoaderFactory().loadBank("sample_game_CSV.csv");
+        Category weak = bank.getCategories().get(1);
+        AccuracyProfile strong = new AccuracyProfile(0.9).setAccuracy(weak.getName(), 0.1);
+        AccuracyProfile average = new AccuracyProfile(0.5).setAccuracy(weak.getName(), 0.1);
+        SimulationStats stats = new GameSimulator(bank, List.of(strong, average)).run(20000, 42);
+
+        assertTrue(stats.getWinRate(0) > stats.getWinRate(1));
+        assertTrue(stats.getMeanScore(0) > stats.getMeanScore(1));
+        assertTrue(stats.getScorePercentile(0, 10) <= stats.getScorePercentile(0, 90));
+        assertTrue(stats.getComebackRate() > 0 && stats.getComebackRate() < 1);
+        for (Question q : stats.getHardestQuestions(weak.getQuestions().size())) {
+            assertTrue(weak.getQuestions().contains(q)); //both bots struggle in the weak category
+        }
+    }
+}
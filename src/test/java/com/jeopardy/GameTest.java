@@ -79,5 +79,27 @@ class GameTest {
         // This suggests Game needs better testability (dependency injection).
         // For now, let's stick to what we can test easily.
     }
+
+    @Test
+    void testGamesShareBankButNotAnsweredState() {
+        Game other = new Game();
+        game.loadGameData("sample_game_CSV.csv");
+        other.loadGameData("sample_game_CSV.csv");
+        assertSame(game.getCategories(), other.getCategories()); // one bank serves both games
+
+        game.addPlayer("Alice");
+        game.startGame();
+        Category cat = game.getCategories().get(0);
+        Question q = cat.getQuestions().get(0);
+        game.selectCategory(cat.getName());
+        assertSame(q, game.selectQuestion(q.getValue()));
+        game.answerQuestion(q.getCorrectAnswer());
+
+        assertTrue(game.isAnswered(q));
+        assertFalse(other.isAnswered(q));
+        assertNull(game.selectQuestion(q.getValue())); // cannot be picked twice
+        game.close();
+        other.close();
+    }
     
 }
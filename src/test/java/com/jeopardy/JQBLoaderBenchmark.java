@@ -0,0 +1,55 @@
+package com.jeopardy;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Measures how long a compiled .jqb bank takes to load, compared with parsing the same bank
+ * from CSV, how long building a QuestionBank over it takes, and how long a full pass over the mapped questions takes afterwards.
+ * Not a unit test: run main() from the test classpath after mvn test-compile, optionally passing the question count.
+ */
+public class JQBLoaderBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int rows = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        Path csv = Files.createTempFile("jqb_benchmark", ".csv");
+        Path bank = Files.createTempFile("jqb_benchmark", ".jqb");
+        try {
+            CSVLoaderBenchmark.writeBank(csv, rows);
+            List<Category> source = new CSVLoader().load(csv.toString());
+            long start = System.nanoTime();
+            new QuestionBankCompiler().compile(source, bank.toString());
+            System.out.printf("%,d questions: compiled in %d ms, CSV %,d MB, .jqb %,d MB%n", rows,
+                    (System.nanoTime() - start) / 1_000_000, Files.size(csv) / (1024 * 1024),
+                    Files.size(bank) / (1024 * 1024));
+            source = null;
+
+            for (int round = 0; round < 3; round++) {
+                System.out.println("Round " + (round + 1));
+                CSVLoaderBenchmark.run("csv", new CSVLoader(), csv, rows);
+                CSVLoaderBenchmark.run("jqb", new JQBLoader(), bank, rows);
+
+                start = System.nanoTime();
+                QuestionBank wrapped = new QuestionBank(new JQBLoader().load(bank.toString()));
+                System.out.printf("  %-10s %6d ms  (%,d questions)%n", "jqb bank",
+                        (System.nanoTime() - start) / 1_000_000, wrapped.getQuestionCount());
+
+                List<Category> categories = new JQBLoader().load(bank.toString());
+                start = System.nanoTime();
+                long checksum = 0;
+                for (Category c : categories) {
+                    for (Question q : c.getQuestions()) {
+                        checksum += q.getValue() + q.getQuestionText().length();
+                    }
+                }
+                System.out.printf("  %-10s %6d ms  (checksum %d)%n", "jqb scan",
+                        (System.nanoTime() - start) / 1_000_000, checksum);
+            }
+        } finally {
+            Files.deleteIfExists(csv);
+            Files.deleteIfExists(bank);
+        }
+    }
+}
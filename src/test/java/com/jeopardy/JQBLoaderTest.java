@@ -0,0 +1,101 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.List;
+
+class JQBLoaderTest { // compiled banks must load back exactly what was compiled
+
+    @Test
+    void testRoundTripThroughCompiler() throws IOException {
+        List<Category> source = new CSVLoader().load("sample_game_CSV.csv");
+        Path bank = Files.createTempFile("compiled_bank", ".jqb");
+        try {
+            new QuestionBankCompiler().compile(source, bank.toString());
+            GameDataLoader loader = new DataLoaderFactory().getLoader(bank.toString());
+            assertTrue(loader instanceof JQBLoader);
+            List<Category> loaded = loader.load(bank.toString());
+
+            assertEquals(source.size(), loaded.size());
+            for (int i = 0; i < source.size(); i++) {
+                assertEquals(source.get(i).getName(), loaded.get(i).getName());
+                List<Question> expected = source.get(i).getQuestions();
+                List<Question> actual = loaded.get(i).getQuestions();
+                assertEquals(expected.size(), actual.size());
+                for (int j = 0; j < expected.size(); j++) {
+                    assertEquals(expected.get(j).getQuestionText(), actual.get(j).getQuestionText());
+                    assertEquals(expected.get(j).getValue(), actual.get(j).getValue());
+                    assertEquals(expected.get(j).getOptions(), actual.get(j).getOptions());
+                    assertEquals(expected.get(j).getCorrectAnswer(), actual.get(j).getCorrectAnswer());
+                }
+            }
+
+            Question q = loaded.get(0).getQuestion(100);
+            assertTrue(q.checkAnswer(q.getCorrectAnswer().toLowerCase()));
+            assertSame(q, loaded.get(0).getQuestion(100)); //views are stable once created
+        } finally {
+            Files.deleteIfExists(bank);
+        }
+    }
+
+    @Test
+    void testBankKeepsTheMappedQuestions() throws IOException {
+        List<Category> source = new CSVLoader().load("sample_game_CSV.csv");
+        Path file = Files.createTempFile("compiled_bank", ".jqb");
+        try {
+            new QuestionBankCompiler().compile(source, file.toString());
+            List<Category> loaded = new JQBLoader().load(file.toString());
+            QuestionBank bank = new QuestionBank(loaded);
+
+            int index = 0;
+            for (int c = 0; c < loaded.size(); c++) {
+                List<Question> questions = bank.getCategories().get(c).getQuestions();
+                for (int i = 0; i < questions.size(); i++) {
+                    assertSame(loaded.get(c).getQuestions().get(i), questions.get(i)); // not copied
+                    assertEquals(index++, questions.get(i).getBankIndex());
+                }
+            }
+            assertEquals(index, bank.getQuestionCount());
+            assertThrows(UnsupportedOperationException.class,
+                    () -> bank.getCategories().get(0).getQuestions().remove(0));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testNonBankFileIsRejected() throws IOException {
+        Path bank = Files.createTempFile("not_a_bank", ".jqb");
+        try {
+            Files.writeString(bank, "Category,Value,Question\nA,100,Q\n");
+            assertTrue(new JQBLoader().load(bank.toString()).isEmpty());
+        } finally {
+            Files.deleteIfExists(bank);
+        }
+    }
+
+    @Test
+    void testStringIndexOutOfRangeIsRejected() throws IOException {
+        List<Category> source = new CSVLoader().load("sample_game_CSV.csv");
+        Path bank = Files.createTempFile("corrupt_bank", ".jqb");
+        try {
+            new QuestionBankCompiler().compile(source, bank.toString());
+            byte[] bytes = Files.readAllBytes(bank);
+            ByteBuffer buffer = ByteBuffer.wrap(bytes);
+            int categories = buffer.getInt(12);
+            int records = JQBLoader.HEADER_BYTES + categories * JQBLoader.CATEGORY_FIELDS * Integer.BYTES;
+            buffer.putInt(records + 6 * Integer.BYTES, buffer.getInt(8)); // first answer points past the table
+            Files.write(bank, bytes);
+
+            IOException e = assertThrows(IOException.class, () -> new JQBLoader().loadFully(bank.toString()));
+            assertTrue(e.getMessage().contains("out of range"), e.getMessage());
+        } finally {
+            Files.deleteIfExists(bank);
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.jeopardy;
+
+import org.json.JSONException;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+class JSONLoaderTest { // streaming loader must honour the same field contract as the old tree loader
+
+    @Test
+    void testFieldsInAnyOrderAndUnknownFieldsSkipped() throws IOException {
+        String json = "[ {\"CorrectAnswer\": \"B\", \"Extra\": {\"nested\": [1, 2, {\"x\": null}]},"
+                + " \"Options\": {\"D\": \"d\", \"C\": \"c\", \"B\": \"b \\\"quoted\\\"\", \"A\": \"a\"},"
+                + " \"Value\": \"300\", \"Question\": \"Q1\", \"Category\": \"Cat\"},"
+                + " {\"Category\": \"Cat\", \"Value\": 100, \"Question\": \"Q2\","
+                + " \"Options\": {\"A\": \"1\", \"B\": \"2\", \"C\": \"3\", \"D\": \"4\"}, \"CorrectAnswer\": \"A\"} ]";
+        Path file = Files.createTempFile("stream_json", ".json");
+        try {
+            Files.writeString(file, json);
+            List<Category> categories = new JSONLoader().load(file.toString());
+
+            assertEquals(1, categories.size());
+            List<Question> questions = categories.get(0).getQuestions();
+            assertEquals(2, questions.size());
+            assertEquals("Q1", questions.get(0).getQuestionText());
+            assertEquals(300, questions.get(0).getValue()); //numeric strings accepted like getInt
+            assertEquals("b \"quoted\"", questions.get(0).getOptions().get("B"));
+            assertEquals("Q2", questions.get(1).getQuestionText());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testMissingFieldIsRejected() throws IOException {
+        Path file = Files.createTempFile("stream_json", ".json");
+        try {
+            Files.writeString(file, "[{\"Category\": \"Cat\", \"Value\": 100, \"Question\": \"Q\"}]");
+            assertThrows(JSONException.class, () -> new JSONLoader().load(file.toString()));
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testMisplacedCommasAreRejected() throws IOException {
+        Path file = Files.createTempFile("stream_json", ".json");
+        String[] malformed = {
+                "[{, \"Category\": \"Cat\", \"Value\": 100}]", // leading comma
+                "[{\"Category\": \"Cat\" \"Value\": 100}]", // missing comma
+                "[{\"Category\": \"Cat\", \"Value\": 100,}]", // trailing comma
+                "[{\"Category\": \"Cat\", \"Value\": 100, \"Question\": \"Q\", \"CorrectAnswer\": \"A\","
+                        + " \"Options\": {\"A\": \"1\" \"B\": \"2\", \"C\": \"3\", \"D\": \"4\"}}]" };
+        try {
+            for (String json : malformed) {
+                Files.writeString(file, json);
+                assertThrows(JSONException.class, () -> new JSONLoader().load(file.toString()), json);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
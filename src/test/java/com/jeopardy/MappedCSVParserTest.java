@@ -0,0 +1,99 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+class MappedCSVParserTest { // parallel chunked parsing must match the streaming loader exactly
+
+    @Test
+    void testParallelChunksMatchStreamingLoad() throws IOException {
+        StringBuilder csv = new StringBuilder("Category,Value,Question,OptionA,OptionB,OptionC,OptionD,CorrectAnswer\n");
+        for (int i = 0; i < 2000; i++) {
+            String question = i % 7 == 0
+                    ? "\"Question " + i + "\nspans lines\n, and has \"\"quotes\"\"\"" // newlines inside quotes
+                    : "Question " + i;
+            csv.append("Cat ").append((i * 31) % 17).append(',').append(i).append(',').append(question)
+                    .append(",a,b,c,d,").append("ABCD".charAt(i % 4)).append(i % 3 == 0 ? "\r\n" : "\n");
+        }
+        Path bank = Files.createTempFile("mapped_csv", ".csv");
+        try {
+            Files.writeString(bank, csv, StandardCharsets.UTF_8);
+
+            List<Category> expected = new CSVLoader().load(bank.toString());
+            for (long chunkSize : new long[] { 64, 1000, 4096 }) { // tiny chunks force lots of cuts
+                for (int window : new int[] { Integer.MAX_VALUE, 256 }) { // a small window forces remapping
+                    assertSameBank(expected, parse(bank, chunkSize, window));
+                }
+            }
+        } finally {
+            Files.deleteIfExists(bank);
+        }
+    }
+
+    @Test
+    void testRecordLongerThanWindowIsRejected() throws IOException {
+        Path bank = Files.createTempFile("mapped_csv", ".csv");
+        try {
+            Files.writeString(bank, "Category,Value,Question,OptionA,OptionB,OptionC,OptionD,CorrectAnswer\n"
+                    + "Loops,100," + "x".repeat(1000) + ",a,b,c,d,A\n", StandardCharsets.UTF_8);
+            assertThrows(IOException.class, () -> parse(bank, 4096, 256));
+        } finally {
+            Files.deleteIfExists(bank);
+        }
+    }
+
+    @Test
+    void testMalformedHeaderRejectsTheFile() throws IOException {
+        Path bank = Files.createTempFile("mapped_csv", ".csv");
+        try {
+            Files.writeString(bank, "Category,Va\"lue,Question,OptionA,OptionB,OptionC,OptionD,CorrectAnswer\n"
+                    + "Loops,100,What is a loop?,a,b,c,d,A\n", StandardCharsets.UTF_8);
+            //skipping the header would take the first question for it
+            assertThrows(CSVFormatException.class, () -> new CSVLoader().loadFully(bank.toString()));
+            assertThrows(CSVFormatException.class, () -> parse(bank, 4096, Integer.MAX_VALUE));
+            assertTrue(new CSVLoader().load(bank.toString()).isEmpty());
+        } finally {
+            Files.deleteIfExists(bank);
+        }
+    }
+
+    private static List<Category> parse(Path bank, long chunkSize, int window) throws IOException {
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            return new MappedCSVParser(bank.toString(), pool, chunkSize, window).parse();
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    private static void assertSameBank(List<Category> expected, List<Category> actual) {
+
+        assertEquals(expected.size(), actual.size());
+        for (int c = 0; c < expected.size(); c++) {
+            assertEquals(expected.get(c).getName(), actual.get(c).getName()); //first-appearance order
+            List<Question> e = expected.get(c).getQuestions();
+            List<Question> a = actual.get(c).getQuestions();
+            assertEquals(e.size(), a.size());
+            for (int q = 0; q < e.size(); q++) {
+                assertEquals(e.get(q).getValue(), a.get(q).getValue()); //question order
+                assertEquals(e.get(q).getQuestionText(), a.get(q).getQuestionText());
+                assertEquals(e.get(q).getCorrectAnswer(), a.get(q).getCorrectAnswer());
+            }
+        }
+    }
+
+    @Test
+    void testMappedLoaderOnSampleFile() {
+        List<Category> categories = new CSVLoader(ForkJoinPool.commonPool()).load("sample_game_CSV.csv");
+        assertFalse(categories.isEmpty());
+        assertEquals("Variables & Data Types", categories.get(0).getName());
+        assertEquals(100, categories.get(0).getQuestions().get(0).getValue());
+    }
+}
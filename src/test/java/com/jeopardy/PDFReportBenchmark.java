@@ -0,0 +1,65 @@
+package com.jeopardy;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * Renders PDF reports of growing sessions to a file and reports the time, file size and the peak
+ * heap used above the report model while rendering, which should not grow with the session.
+ * Not a unit test: run main() from the test classpath after mvn test-compile, optionally passing the largest turn count.
+ */
+public class PDFReportBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int maxTurns = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Path file = Files.createTempFile("report-benchmark", ".pdf");
+        try {
+            for (int turns = 1_000; turns <= maxTurns; turns *= 10) {
+                ReportModel model = ReportModels.synthetic(turns, "Alice", "Bob", "Cara");
+                System.gc();
+                long baseline = heapUsed();
+                resetPeaks();
+                long start = System.nanoTime();
+                try (OutputStream out = new BufferedOutputStream(Files.newOutputStream(file))) {
+                    new PDFReport().render(model, out);
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+                System.out.printf("%,d turns: %.2f s, %,d KB file, peak heap above the model %,d KB%n", turns,
+                        seconds, Files.size(file) / 1024, (peakHeap() - baseline) / 1024);
+            }
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    private static long heapUsed() {
+        long used = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                used += pool.getUsage().getUsed();
+            }
+        }
+        return used;
+    }
+
+    private static void resetPeaks() {
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            pool.resetPeakUsage();
+        }
+    }
+
+    private static long peakHeap() {
+        long peak = 0;
+        for (MemoryPoolMXBean pool : ManagementFactory.getMemoryPoolMXBeans()) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+        return peak;
+    }
+}
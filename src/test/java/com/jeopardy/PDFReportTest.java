@@ -0,0 +1,41 @@
+package com.jeopardy;
+
+import org.apache.pdfbox.pdmodel.PDDocument;
+import org.apache.pdfbox.text.PDFTextStripper;
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+
+class PDFReportTest { // paginated by font metrics, fonts shared across pages
+
+    @Test
+    void testTurnsArePaginatedWithoutSplitting() throws Exception {
+        ReportModel model = ReportModels.synthetic(200, "Alice", "Zoë 李");
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        new PDFReport().render(model, out);
+
+        try (PDDocument document = PDDocument.load(out.toByteArray())) {
+            int pages = document.getNumberOfPages();
+            assertTrue(pages > 1);
+            // One resource dictionary, shared by every page
+            assertSame(document.getPage(0).getResources().getCOSObject(),
+                    document.getPage(pages - 1).getResources().getCOSObject());
+
+            PDFTextStripper stripper = new PDFTextStripper();
+            for (int p = 1; p <= pages; p++) {
+                stripper.setStartPage(p);
+                stripper.setEndPage(p);
+                String text = stripper.getText(document);
+                int starts = text.split("Turn \\d+:", -1).length - 1;
+                int ends = text.split("Score after turn:", -1).length - 1;
+                assertEquals(starts, ends, "page " + p + " splits a turn");
+            }
+            stripper.setStartPage(1);
+            stripper.setEndPage(pages);
+            String all = stripper.getText(document);
+            assertTrue(all.contains("Turn 200: Zoë ? selected Loops for 100 pts")); // no glyph for 李
+            assertTrue(all.contains("Final Scores:"));
+        }
+    }
+}
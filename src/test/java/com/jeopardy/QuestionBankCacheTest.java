@@ -0,0 +1,154 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+class QuestionBankCacheTest { // banks are parsed once per file version and evicted least recently used first
+
+    private static final String HEADER = "Category,Value,Question,OptionA,OptionB,OptionC,OptionD,CorrectAnswer\n";
+
+    @Test
+    void testHitsMissesAndInvalidation() throws IOException {
+        Path file = Files.createTempFile("cached_bank", ".csv");
+        try {
+            Files.writeString(file, HEADER + "Cat,100,Q1,a,b,c,d,A\n");
+            QuestionBankCache cache = new QuestionBankCache();
+
+            QuestionBank first = cache.get(file.toString(), new CSVLoader());
+            QuestionBank second = cache.get(file.toString(), new CSVLoader());
+            assertSame(first, second);
+            assertEquals(1, cache.getMisses());
+            assertEquals(1, cache.getHits());
+
+            Files.writeString(file, HEADER + "Cat,100,Q1,a,b,c,d,A\nCat,200,Q2,a,b,c,d,B\n");
+            Files.setLastModifiedTime(file, FileTime.fromMillis(System.currentTimeMillis() + 60_000));
+            QuestionBank edited = cache.get(file.toString(), new CSVLoader());
+            assertEquals(2, edited.getQuestionCount()); //edited file is reparsed
+            assertEquals(2, cache.getMisses());
+            assertEquals(1, cache.size()); //old version is dropped, not kept around
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testLeastRecentlyUsedEviction() throws IOException {
+        Path a = Files.createTempFile("bank_a", ".csv");
+        Path b = Files.createTempFile("bank_b", ".csv");
+        Path c = Files.createTempFile("bank_c", ".csv");
+        try {
+            for (Path p : List.of(a, b, c)) {
+                Files.writeString(p, HEADER + "Cat,100,Question from " + p.getFileName() + ",a,b,c,d,A\n");
+            }
+            long oneBank = new QuestionBankCache().get(a.toString(), new CSVLoader()).getEstimatedBytes();
+            QuestionBankCache cache = new QuestionBankCache(oneBank * 2 + oneBank / 2);
+
+            cache.get(a.toString(), new CSVLoader());
+            cache.get(b.toString(), new CSVLoader());
+            cache.get(a.toString(), new CSVLoader()); //a is now more recent than b
+            cache.get(c.toString(), new CSVLoader());
+
+            assertEquals(1, cache.getEvictions());
+            assertEquals(2, cache.size());
+            cache.get(a.toString(), new CSVLoader());
+            assertEquals(3, cache.getMisses()); //a survived, b was evicted
+        } finally {
+            Files.deleteIfExists(a);
+            Files.deleteIfExists(b);
+            Files.deleteIfExists(c);
+        }
+    }
+
+    @Test
+    void testFailedLoadsAreNotCachedAndOversizedBanksAre() throws Exception {
+        Path file = Files.createTempFile("cached_bank", ".csv");
+        try {
+            Files.writeString(file, HEADER + "Cat,100,Q1,a,b,c,d,A\n");
+            QuestionBankCache cache = new QuestionBankCache(1); // every bank is over the limit
+            AtomicBoolean failing = new AtomicBoolean(true);
+            GameDataLoader flaky = new GameDataLoader() {
+                @Override
+                public List<Category> load(String fileName) {
+                    return new CSVLoader().load(fileName);
+                }
+
+                @Override
+                public List<Category> loadFully(String fileName) throws IOException {
+                    if (failing.get()) {
+                        throw new IOException("read error");
+                    }
+                    return load(fileName);
+                }
+            };
+
+            assertThrows(IOException.class, () -> cache.get(file.toString(), flaky));
+            assertEquals(0, cache.size());
+            failing.set(false);
+            QuestionBank bank = cache.get(file.toString(), flaky);
+            assertEquals(1, bank.getQuestionCount());
+            assertEquals(64, bank.getContentHash().length());
+            assertSame(bank, cache.get(file.toString(), flaky)); // kept although over the limit
+            assertEquals(2, cache.getMisses());
+            assertEquals(1, cache.getHits());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    void testConcurrentRequestsWaitForOneParse() throws Exception {
+        Path file = Files.createTempFile("cached_bank", ".csv");
+        try {
+            Files.writeString(file, HEADER + "Cat,100,Q1,a,b,c,d,A\n");
+            QuestionBankCache cache = new QuestionBankCache();
+            CountDownLatch parsing = new CountDownLatch(1);
+            CountDownLatch release = new CountDownLatch(1);
+            GameDataLoader slow = fileName -> {
+                parsing.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return new CSVLoader().load(fileName);
+            };
+
+            CompletableFuture<QuestionBank> first = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return cache.get(file.toString(), slow);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            assertTrue(parsing.await(10, TimeUnit.SECONDS));
+            CompletableFuture<QuestionBank> second = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return cache.get(file.toString(), slow);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            while (cache.getWaits() == 0) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            assertSame(first.get(10, TimeUnit.SECONDS), second.get(10, TimeUnit.SECONDS));
+            assertEquals(1, cache.getMisses());
+            assertEquals(1, cache.getWaits());
+            assertEquals(0, cache.getHits()); // a wait is not a hit
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.jeopardy;
+
+import java.io.OutputStream;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds report models and renders text reports for synthetic sessions of growing length, to show
+ * the cost per turn stays flat as sessions grow.
+ * Not a unit test: run main() from the test classpath after mvn test-compile, optionally passing the largest turn count.
+ */
+public class ReportBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int maxTurns = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        QuestionBank bank = new DataLoaderFactory().loadBank("sample_game_CSV.csv");
+        List<Question> questions = new ArrayList<>();
+        List<String> categories = new ArrayList<>();
+        for (Category c : bank.getCategories()) {
+            for (Question q : c.getQuestions()) {
+                questions.add(q);
+                categories.add(c.getName());
+            }
+        }
+        List<Player> players = new ArrayList<>();
+        for (int i = 1; i <= 4; i++) {
+            players.add(new Player(i, "Player " + i));
+        }
+
+        for (int turns = 10_000; turns <= maxTurns; turns *= 10) {
+            List<GameEvent> events = new ArrayList<>(turns * 3);
+            for (int t = 0; t < turns; t++) {
+                int q = t % questions.size();
+                int player = 1 + t % players.size();
+                int value = questions.get(q).getValue();
+                events.add(new GameEvent("BENCH", player, ActivityType.SELECT_QUESTION, (long) t, categories.get(q),
+                        value, null, null, 0));
+                events.add(new GameEvent("BENCH", player, ActivityType.ANSWER_QUESTION, (long) t, categories.get(q),
+                        value, "A", t % 3 == 0 ? "Correct" : "Incorrect", t * 10));
+                events.add(new GameEvent("BENCH", player, ActivityType.SCORE_UPDATED, (long) t, "Score updated", 0,
+                        null, null, t * 10));
+            }
+
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                ReportModel model = ReportModel.build("BENCH", players, events, bank);
+                long built = System.nanoTime();
+                new TXTReport().render(model, OutputStream.nullOutputStream());
+                long rendered = System.nanoTime();
+                System.out.printf("%,d turns: model %.0f ns/turn, text %.0f ns/turn%n", turns,
+                        (double) (built - start) / turns, (double) (rendered - built) / turns);
+            }
+        }
+    }
+}
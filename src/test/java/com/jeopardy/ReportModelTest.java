@@ -0,0 +1,73 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.Charset;
+import java.util.List;
+
+class ReportModelTest { // one model, every renderer
+
+    private static Game playedGame() {
+        Game game = new Game(new EventManager(ActivityType.values()), null);
+        game.loadGameData("sample_game_CSV.csv");
+        game.addPlayer("Alice");
+        game.addPlayer("Bob");
+        game.startGame();
+        Category cat = game.getCategories().get(0);
+        game.selectCategory(cat.getName());
+        game.selectQuestion(100);
+        game.answerQuestion("A"); // Alice, correct
+        game.selectCategory(cat.getName());
+        game.selectQuestion(200);
+        game.answerQuestion("A"); // Bob, wrong
+        return game;
+    }
+
+    @Test
+    void testModelHasTurnsScoresAndAggregates() {
+        Game game = playedGame();
+        ReportModel model = ReportModel.from(game);
+
+        assertEquals(game.getCaseId(), model.getCaseId());
+        List<ReportModel.Turn> turns = model.getTurns();
+        assertEquals(2, turns.size());
+        ReportModel.Turn first = turns.get(0);
+        assertEquals(1, first.getNumber());
+        assertEquals("Alice", first.getPlayerName());
+        assertEquals("Which of the following declares an integer variable in C++?", first.getQuestionText());
+        assertTrue(first.isCorrect());
+        assertEquals(100, first.getPointsEarned());
+        assertEquals("Bob", turns.get(1).getPlayerName());
+        assertEquals(0, turns.get(1).getPointsEarned());
+
+        ReportModel.PlayerSummary alice = model.getPlayers().get(0);
+        assertEquals(100, alice.getFinalScore());
+        assertEquals(1, alice.getTurns());
+        assertEquals(1, alice.getCorrect());
+        ReportModel.PlayerSummary bob = model.getPlayers().get(1);
+        assertEquals(1, bob.getTurns());
+        assertEquals(0, bob.getCorrect());
+        assertEquals(game.getPlayers().get(1).getScore(), bob.getFinalScore());
+    }
+
+    @Test
+    void testEveryFormatRendersToAStream() throws Exception {
+        ReportModel model = ReportModel.from(playedGame());
+
+        ByteArrayOutputStream txt = new ByteArrayOutputStream();
+        new TXTReport().render(model, txt);
+        String text = txt.toString(Charset.defaultCharset());
+        assertTrue(text.contains("Turn 1: Alice selected Variables & Data Types for 100 pts"));
+        assertTrue(text.contains("Answer: A — Correct (+100 pts)"));
+        assertTrue(text.contains("Final Scores:"));
+
+        for (ReportGenerator generator : new ReportGenerator[] { new PDFReport(), new DOCXReport() }) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            generator.render(model, out);
+            assertTrue(out.size() > 0, generator.getExtension() + " report is empty");
+            out.write('x'); // still usable after rendering
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.jeopardy;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Report models of made-up sessions, shared by the report tests and benchmarks.
+ */
+final class ReportModels {
+
+    private ReportModels() {
+    }
+
+    /**
+     * Builds a model of a session in which the players take turns answering, alternately right and wrong.
+     * @param turns the number of answered questions
+     * @param names the player names, in turn order
+     */
+    static ReportModel synthetic(int turns, String... names) {
+        List<Player> players = new ArrayList<>();
+        for (int i = 0; i < names.length; i++) {
+            players.add(new Player(i + 1, names[i]));
+        }
+        List<GameEvent> events = new ArrayList<>();
+        for (int t = 0; t < turns; t++) {
+            events.add(new GameEvent("CASE", 1 + t % names.length, ActivityType.ANSWER_QUESTION, (long) t,
+                    "Loops", 100, "B", t % 2 == 0 ? "Correct" : "Incorrect", t * 100));
+        }
+        return ReportModel.build("CASE", players, events, null);
+    }
+}
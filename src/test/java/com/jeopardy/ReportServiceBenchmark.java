@@ -0,0 +1,71 @@
+package com.jeopardy;
+
+import java.io.BufferedOutputStream;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.stream.Stream;
+
+/**
+ * Renders TXT, PDF and DOCX reports of a long session one after another on the game thread and
+ * then through a ReportService, and reports how long the game thread was held and how long until
+ * every report was written. With enough cores the service should take about as long as the
+ * slowest format, and hold the game thread only for the snapshot.
+ * Not a unit test: run main() from the test classpath after mvn test-compile, optionally passing the turn count.
+ */
+public class ReportServiceBenchmark {
+
+    public static void main(String[] args) throws Exception {
+        int turns = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Game game = new Game(new EventManager(ActivityType.values()), null);
+        game.loadGameData("sample_game_CSV.csv");
+        game.addPlayer("Alice");
+        game.addPlayer("Bob");
+        game.addPlayer("Cara");
+        game.startGame();
+        for (int t = 0; t < turns; t++) {
+            game.getEventLog().add(new GameEvent(game.getCaseId(), 1 + t % 3, ActivityType.ANSWER_QUESTION,
+                    (long) t, "Loops", 100, "B", t % 2 == 0 ? "Correct" : "Incorrect", t * 100));
+        }
+        System.out.printf("%d cores, %,d turns%n", Runtime.getRuntime().availableProcessors(), turns);
+
+        Path dir = Files.createTempDirectory("report-benchmark");
+        Queue<Runnable> gameThread = new ConcurrentLinkedQueue<>();
+        try (ReportService service = new ReportService()) {
+            for (int round = 0; round < 3; round++) {
+                long start = System.nanoTime();
+                ReportModel model = ReportModel.from(game);
+                for (String format : new String[] { "TXT", "PDF", "DOCX" }) {
+                    long formatStart = System.nanoTime();
+                    ReportGenerator generator = new ReportGeneratorFactory().getGenerator(format);
+                    try (OutputStream out = new BufferedOutputStream(
+                            Files.newOutputStream(dir.resolve("serial." + generator.getExtension())))) {
+                        generator.render(model, out);
+                    }
+                    System.out.printf("  %-4s %6.1f ms%n", format, (System.nanoTime() - formatStart) / 1e6);
+                }
+                double serial = (System.nanoTime() - start) / 1e6;
+                System.out.printf("serial:  game thread held %7.1f ms, all written after %7.1f ms%n", serial, serial);
+
+                start = System.nanoTime();
+                Map<String, CompletableFuture<Path>> reports = service.submit(game, gameThread::add, dir,
+                        "TXT", "PDF", "DOCX");
+                double held = (System.nanoTime() - start) / 1e6;
+                CompletableFuture.allOf(reports.values().toArray(CompletableFuture<?>[]::new)).join();
+                System.out.printf("service: game thread held %7.1f ms, all written after %7.1f ms%n", held,
+                        (System.nanoTime() - start) / 1e6);
+                gameThread.forEach(Runnable::run);
+                gameThread.clear();
+            }
+        } finally {
+            try (Stream<Path> files = Files.walk(dir)) {
+                files.sorted(Comparator.reverseOrder()).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+
+class ReportServiceTest { // formats in parallel, events back on the game thread
+
+    private static Game playedGame() {
+        Game game = new Game(new EventManager(ActivityType.values()), null);
+        game.loadGameData("sample_game_CSV.csv");
+        game.addPlayer("Alice");
+        game.addPlayer("Bob");
+        game.startGame();
+        Category cat = game.getCategories().get(0);
+        game.selectCategory(cat.getName());
+        game.selectQuestion(100);
+        game.answerQuestion("A"); // Alice, correct
+        return game;
+    }
+
+    @Test
+    void testFormatsAreWrittenAndLoggedOnTheOwner(@TempDir Path dir) throws Exception {
+        Game game = playedGame();
+        LinkedBlockingQueue<Runnable> gameThread = new LinkedBlockingQueue<>();
+        try (ReportService service = new ReportService()) {
+            Map<String, CompletableFuture<Path>> reports = service.submit(game, gameThread::add, dir,
+                    "txt", "PDF", "DOCX", "HTML");
+            assertEquals(4, reports.size());
+
+            for (String format : new String[] { "TXT", "PDF", "DOCX" }) {
+                Path file = reports.get(format).get(30, TimeUnit.SECONDS);
+                assertEquals(dir.resolve("report-" + game.getCaseId() + "." + format.toLowerCase()), file);
+                assertTrue(Files.size(file) > 0);
+            }
+            ExecutionException unsupported = assertThrows(ExecutionException.class, () -> reports.get("HTML").get());
+            assertInstanceOf(IllegalArgumentException.class, unsupported.getCause());
+        }
+        try (var files = Files.list(dir)) {
+            assertEquals(3, files.count()); // no partial files left behind
+        }
+
+        long logged = game.getEventLog().stream().filter(e -> e.getActivity() == ActivityType.GENERATE_REPORT).count();
+        assertEquals(0, logged); // not until the game's thread runs them
+        gameThread.forEach(Runnable::run);
+        logged = game.getEventLog().stream().filter(e -> e.getActivity() == ActivityType.GENERATE_REPORT).count();
+        assertEquals(3, logged);
+    }
+
+    @Test
+    void testSubmitDoesNotWaitAndRendersTheSnapshot(@TempDir Path dir) throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ReportGeneratorFactory factory = new ReportGeneratorFactory();
+        factory.register("score", () -> new ReportGenerator() {
+            @Override
+            public void render(ReportModel model, OutputStream out) throws IOException {
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    throw new IOException(e);
+                }
+                out.write(String.valueOf(model.getPlayers().get(0).getFinalScore()).getBytes(StandardCharsets.UTF_8));
+            }
+
+            @Override
+            public String getExtension() {
+                return "score";
+            }
+        });
+
+        Game game = playedGame();
+        try (ReportService service = new ReportService(factory, 1, 1)) {
+            CompletableFuture<Path> first = service.submit(game, Runnable::run, dir, "SCORE").get("SCORE");
+            assertTrue(started.await(30, TimeUnit.SECONDS));
+            assertFalse(first.isDone());
+            game.getPlayers().get(0).addPoints(1_000); // the game goes on while the report renders
+
+            // The worker is busy and the next submission fills the queue, so the one after fails
+            // instead of blocking
+            Path later = Files.createDirectory(dir.resolve("later"));
+            CompletableFuture<Path> second = service.submit(game, Runnable::run, later, "SCORE").get("SCORE");
+            Map<String, CompletableFuture<Path>> overflow = service.submit(game, Runnable::run, dir, "TXT");
+            CompletionException rejected = assertThrows(CompletionException.class, () -> overflow.get("TXT").join());
+            assertInstanceOf(RejectedExecutionException.class, rejected.getCause());
+
+            release.countDown();
+            assertEquals("100", Files.readString(first.get(30, TimeUnit.SECONDS)));
+            assertEquals("1100", Files.readString(second.get(30, TimeUnit.SECONDS)));
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.jeopardy;
+
+import java.util.Arrays;
+import java.util.Random;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Schedules 100k question timers on one TimingWheel with deadlines spread over a few seconds,
+ * cancels half of them as if answered, and reports how late the rest fire (median, 99th percentile
+ * and worst case) along with the cost of scheduling and cancelling.
+ * Not a unit test: run main() from the test classpath after mvn test-compile, optionally passing the timer count.
+ */
+public class TimingWheelBenchmark {
+
+    public static void main(String[] args) throws InterruptedException {
+        int timers = args.length > 0 ? Integer.parseInt(args[0]) : 100_000;
+        Random random = new Random(42);
+        long[] deadlines = new long[timers];
+        long[] firedAt = new long[timers];
+        TimingWheel.Timeout[] handles = new TimingWheel.Timeout[timers];
+        CountDownLatch done = new CountDownLatch(timers / 2);
+
+        try (TimingWheel wheel = new TimingWheel()) {
+            long scheduleStart = System.nanoTime();
+            for (int i = 0; i < timers; i++) {
+                int id = i;
+                long delayMillis = 500 + random.nextInt(2500);
+                deadlines[i] = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(delayMillis);
+                handles[i] = wheel.schedule(delayMillis, TimeUnit.MILLISECONDS, () -> {
+                    firedAt[id] = System.nanoTime();
+                    done.countDown();
+                });
+            }
+            long scheduleNanos = System.nanoTime() - scheduleStart;
+
+            long cancelStart = System.nanoTime();
+            for (int i = 1; i < timers; i += 2) {
+                handles[i].cancel();
+            }
+            long cancelNanos = System.nanoTime() - cancelStart;
+
+            if (!done.await(30, TimeUnit.SECONDS)) {
+                throw new IllegalStateException(done.getCount() + " timers never fired");
+            }
+            long[] lateness = new long[timers / 2];
+            for (int i = 0; i < timers; i += 2) {
+                lateness[i / 2] = firedAt[i] - deadlines[i];
+            }
+            Arrays.sort(lateness);
+            System.out.printf("%d timers: schedule %d ns/timer, cancel %d ns/timer%n", timers,
+                    scheduleNanos / timers, cancelNanos / (timers / 2));
+            System.out.printf("lateness: min %.2f ms, median %.2f ms, p99 %.2f ms, max %.2f ms%n",
+                    lateness[0] / 1e6, lateness[lateness.length / 2] / 1e6,
+                    lateness[(int) (lateness.length * 0.99)] / 1e6, lateness[lateness.length - 1] / 1e6);
+            System.out.println("pending after run: " + wheel.getPendingCount());
+        }
+    }
+}
@@ -0,0 +1,129 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+class TimingWheelTest { // timers must fire once, never early, and stay quiet once cancelled
+
+    @Test
+    void testTimersFireInDeadlineOrderAndCancelledOnesDoNot() throws InterruptedException {
+        try (TimingWheel wheel = new TimingWheel()) {
+            List<Integer> fired = new CopyOnWriteArrayList<>();
+            CountDownLatch done = new CountDownLatch(3);
+            long start = System.nanoTime();
+            wheel.schedule(60, TimeUnit.MILLISECONDS, () -> { fired.add(60); done.countDown(); });
+            wheel.schedule(20, TimeUnit.MILLISECONDS, () -> { fired.add(20); done.countDown(); });
+            TimingWheel.Timeout cancelled = wheel.schedule(40, TimeUnit.MILLISECONDS, () -> fired.add(40));
+            wheel.schedule(300, TimeUnit.MILLISECONDS, () -> { fired.add(300); done.countDown(); }); //lives in the second wheel
+            assertTrue(cancelled.cancel());
+            assertFalse(cancelled.cancel()); //second cancel is a no-op
+
+            assertTrue(done.await(5, TimeUnit.SECONDS));
+            assertTrue(System.nanoTime() - start >= TimeUnit.MILLISECONDS.toNanos(300)); //never early
+            assertEquals(List.of(20, 60, 300), fired);
+            assertTrue(cancelled.isCancelled());
+            assertEquals(0, wheel.getPendingCount());
+        }
+    }
+
+    @Test
+    void testUnansweredQuestionTimesOutAndTurnPasses() throws InterruptedException {
+        try (TimingWheel wheel = new TimingWheel()) {
+            GameActor actor = new GameActor(new Game(new EventManager(ActivityType.values()), null));
+            actor.submit(g -> {
+                g.enableTimers(wheel, actor.executor(), 50, 50);
+                g.loadGameData("sample_game_CSV.csv");
+                g.addPlayer("Alice");
+                g.addPlayer("Bob");
+                g.startGame();
+                Category cat = g.getCategories().get(0);
+                g.selectCategory(cat.getName());
+                return g.selectQuestion(cat.getQuestions().get(0).getValue());
+            }).join();
+
+            Thread.sleep(300);
+            actor.submit(g -> {
+                assertEquals("Bob", g.getCurrentPlayer().getName()); //Alice ran out of time
+                assertTrue(g.isAnswered(g.getCategories().get(0).getQuestions().get(0)));
+                assertEquals(1, g.getEventLog().stream()
+                        .filter(e -> e.getActivity() == ActivityType.QUESTION_TIMEOUT).count());
+
+                Category cat = g.getCategories().get(0);
+                g.selectCategory(cat.getName());
+                g.selectQuestion(cat.getQuestions().get(1).getValue());
+                g.answerQuestion("A"); //answered in time, so the timer must not fire
+                return null;
+            }).join();
+
+            Thread.sleep(200);
+            long timeouts = actor.submit(g -> g.getEventLog().stream()
+                    .filter(e -> e.getActivity() == ActivityType.QUESTION_TIMEOUT).count()).join();
+            assertEquals(1, timeouts);
+            assertEquals("Alice", actor.submit(g -> g.getCurrentPlayer().getName()).join());
+            actor.shutdown().join();
+        }
+    }
+
+    @Test
+    void testSilentBuzzWinnerLosesTheQuestionToOthers() throws InterruptedException {
+        try (TimingWheel wheel = new TimingWheel()) {
+            GameActor actor = new GameActor(new Game(new EventManager(ActivityType.values()), null));
+            Question q = actor.submit(g -> {
+                g.enableBuzzIn(new BuzzArbiter(0, 0, Long.MAX_VALUE / 2));
+                g.enableTimers(wheel, actor.executor(), 50, 100);
+                g.loadGameData("sample_game_CSV.csv");
+                g.addPlayer("Alice");
+                g.addPlayer("Bob");
+                g.startGame();
+                Category cat = g.getCategories().get(0);
+                g.selectCategory(cat.getName());
+                return g.selectQuestion(cat.getQuestions().get(0).getValue());
+            }).join();
+            assertEquals(BuzzArbiter.Result.WON, actor.submit(g -> g.buzz(2)).join());
+
+            Thread.sleep(400); //Bob never answers, then nobody else buzzes
+            actor.submit(g -> {
+                assertTrue(g.isAnswered(q));
+                assertEquals(2, g.getEventLog().stream()
+                        .filter(e -> e.getActivity() == ActivityType.QUESTION_TIMEOUT).count()); //Bob's answer window, then the reopened buzz window
+                assertEquals("Alice", g.getCurrentPlayer().getName()); //control stays with the selector
+                return null;
+            }).join();
+            actor.shutdown().join();
+        }
+    }
+
+    @Test
+    void testAnswerWindowShorterThanBuzzWindowIsEnforced() throws InterruptedException {
+        try (TimingWheel wheel = new TimingWheel()) {
+            GameActor actor = new GameActor(new Game(new EventManager(ActivityType.values()), null));
+            actor.submit(g -> {
+                g.enableBuzzIn(new BuzzArbiter(0, 0, Long.MAX_VALUE / 2));
+                g.enableTimers(wheel, actor.executor(), 50, 5000);
+                g.loadGameData("sample_game_CSV.csv");
+                g.addPlayer("Alice");
+                g.addPlayer("Bob");
+                g.startGame();
+                Category cat = g.getCategories().get(0);
+                g.selectCategory(cat.getName());
+                return g.selectQuestion(cat.getQuestions().get(0).getValue());
+            }).join();
+            assertEquals(BuzzArbiter.Result.WON, actor.submit(g -> g.buzz(2)).join());
+
+            Thread.sleep(400); //well inside the buzz window, well past Bob's answer window
+            actor.submit(g -> {
+                assertEquals(1, g.getEventLog().stream()
+                        .filter(e -> e.getActivity() == ActivityType.QUESTION_TIMEOUT && e.getPlayerId() == 2)
+                        .count());
+                assertNull(g.getBuzzWinner()); //the question is open to Alice again
+                return null;
+            }).join();
+            actor.shutdown().join();
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.jeopardy;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryPoolMXBean;
+import java.lang.management.MemoryType;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * Compares the StAX and DOM paths of XMLLoader on generated banks of 10k, 100k and 1M items,
+ * reporting load time and peak heap (summed peak usage of the heap memory pools during the load).
+ * Not a unit test: run main() from the test classpath after mvn test-compile, with a heap large
+ * enough for the DOM path at 1M items (e.g. -Xmx4g), optionally passing the item counts.
+ */
+public class XMLLoaderBenchmark {
+
+    public static void main(String[] args) throws IOException {
+        int[] sizes = {10_000, 100_000, 1_000_000};
+        if (args.length > 0) {
+            sizes = new int[args.length];
+            for (int i = 0; i < args.length; i++) {
+                sizes[i] = Integer.parseInt(args[i]);
+            }
+        }
+
+        for (int items : sizes) {
+            Path bank = Files.createTempFile("xml_loader_benchmark", ".xml");
+            try {
+                writeBank(bank, items);
+                System.out.printf("%,d items, %,d MB%n", items, Files.size(bank) / (1024 * 1024));
+                for (int round = 0; round < 3; round++) {
+                    run("stax", new XMLLoader(), bank, items);
+                    run("dom", new XMLLoader(true), bank, items);
+                }
+            } finally {
+                Files.deleteIfExists(bank);
+            }
+        }
+    }
+
+    static void run(String label, GameDataLoader loader, Path bank, int items) {
+        System.gc();
+        List<MemoryPoolMXBean> heapPools = ManagementFactory.getMemoryPoolMXBeans();
+        long baseline = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            if (pool.getType() == MemoryType.HEAP) {
+                pool.resetPeakUsage();
+                baseline += pool.getUsage().getUsed();
+            }
+        }
+
+        long start = System.nanoTime();
+        List<Category> categories = loader.load(bank.toString());
+        long elapsed = System.nanoTime() - start;
+
+        long peak = 0;
+        for (MemoryPoolMXBean pool : heapPools) {
+            if (pool.getType() == MemoryType.HEAP) {
+                peak += pool.getPeakUsage().getUsed();
+            }
+        }
+
+        int loaded = 0;
+        for (Category c : categories) {
+            loaded += c.getQuestions().size();
+        }
+        if (loaded != items) {
+            throw new IllegalStateException(label + " loaded " + loaded + " of " + items + " items");
+        }
+        System.out.printf("  %-5s %6d ms  peak heap +%,6d MB%n", label, elapsed / 1_000_000,
+                (peak - baseline) / (1024 * 1024));
+    }
+
+    static void writeBank(Path bank, int items) throws IOException {
+        try (BufferedWriter out = Files.newBufferedWriter(bank, StandardCharsets.UTF_8)) {
+            out.write("<?xml version='1.0' encoding='utf-8'?>\n<JeopardyQuestions>");
+            for (int i = 0; i < items; i++) {
+                out.write("<QuestionItem><Category>Category " + (i % 1000) + " &amp; more</Category><Value>"
+                        + ((i % 5) + 1) * 100 + "</Value><QuestionText>Question " + i
+                        + ": is 5 &gt; 2?</QuestionText><Options><OptionA>int num;</OptionA>"
+                        + "<OptionB>float num;</OptionB><OptionC>num int;</OptionC><OptionD>integer num;</OptionD>"
+                        + "</Options><CorrectAnswer>" + "ABCD".charAt(i % 4) + "</CorrectAnswer></QuestionItem>\n");
+            }
+            out.write("</JeopardyQuestions>\n");
+        }
+    }
+}
@@ -0,0 +1,51 @@
+package com.jeopardy;
+
+import org.junit.jupiter.api.Test;
+import static org.junit.jupiter.api.Assertions.*;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+class XMLLoaderTest { // StAX loader must match the DOM loader and refuse entity tricks
+
+    @Test
+    void testStreamingMatchesDom() {
+        List<Category> streamed = new XMLLoader().load("sample_game_XML.xml");
+        List<Category> dom = new XMLLoader(true).load("sample_game_XML.xml");
+
+        assertEquals(dom.size(), streamed.size());
+        for (int i = 0; i < dom.size(); i++) {
+            assertEquals(dom.get(i).getName(), streamed.get(i).getName());
+            List<Question> expected = dom.get(i).getQuestions();
+            List<Question> actual = streamed.get(i).getQuestions();
+            assertEquals(expected.size(), actual.size());
+            for (int j = 0; j < expected.size(); j++) {
+                assertEquals(expected.get(j).getQuestionText(), actual.get(j).getQuestionText());
+                assertEquals(expected.get(j).getValue(), actual.get(j).getValue());
+                assertEquals(expected.get(j).getOptions(), actual.get(j).getOptions());
+                assertEquals(expected.get(j).getCorrectAnswer(), actual.get(j).getCorrectAnswer());
+            }
+        }
+        assertEquals("Variables & Data Types", streamed.get(0).getName()); //predefined entities still decoded
+    }
+
+    @Test
+    void testEntityExpansionIsRefused() throws IOException {
+        String xml = "<?xml version=\"1.0\"?>\n"
+                + "<!DOCTYPE JeopardyQuestions [<!ENTITY a \"aaaaaaaaaa\"><!ENTITY b \"&a;&a;&a;&a;&a;&a;&a;&a;\">]>\n"
+                + "<JeopardyQuestions><QuestionItem><Category>&b;</Category><Value>100</Value>"
+                + "<QuestionText>Q</QuestionText><Options><OptionA>a</OptionA><OptionB>b</OptionB>"
+                + "<OptionC>c</OptionC><OptionD>d</OptionD></Options><CorrectAnswer>A</CorrectAnswer>"
+                + "</QuestionItem></JeopardyQuestions>";
+        Path file = Files.createTempFile("entity_xml", ".xml");
+        try {
+            Files.writeString(file, xml);
+            assertTrue(new XMLLoader().load(file.toString()).isEmpty());
+            assertTrue(new XMLLoader(true).load(file.toString()).isEmpty());
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+}